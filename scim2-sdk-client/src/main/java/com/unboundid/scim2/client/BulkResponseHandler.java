@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.bulk.BulkOperationResult;
+
+/**
+ * An interface for handling a bulk response as it is read. The result of each
+ * bulk operation is passed to the handler in the order it is received, without
+ * reading the entire bulk response into memory first. See
+ * {@link com.unboundid.scim2.client.requests.BulkRequestBuilder#invoke(
+ * BulkResponseHandler, boolean)}.
+ *
+ * @since 6.0.1
+ */
+@FunctionalInterface
+public interface BulkResponseHandler
+{
+  /**
+   * Handle the result of a bulk operation.
+   *
+   * @param result  The result of a bulk operation.
+   * @return {@code true} to continue processing the bulk response or
+   *         {@code false} to immediately stop further processing of the
+   *         response.
+   */
+  boolean result(@NotNull final BulkOperationResult result);
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.bulk.BulkOperation;
+import com.unboundid.scim2.common.bulk.BulkOperationResult;
+import com.unboundid.scim2.common.bulk.BulkRequest;
+import com.unboundid.scim2.common.bulk.BulkResponse;
+import com.unboundid.scim2.common.exceptions.ContentTooLargeException;
+import com.unboundid.scim2.common.exceptions.NotImplementedException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.exceptions.ServerErrorException;
+import com.unboundid.scim2.common.exceptions.runtime.BulkRequestException;
+import com.unboundid.scim2.common.messages.PatchOperation;
+import com.unboundid.scim2.common.types.BulkConfig;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import tools.jackson.core.JacksonException;
+
+import jakarta.ws.rs.ProcessingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client-side utility that turns individual write operations into SCIM bulk
+ * requests. Each call to {@link #write}, {@link #create}, {@link #replace},
+ * {@link #modify}, or {@link #delete} adds an operation to the current batch
+ * and returns a future for its {@link BulkOperationResult}. A batch is sent to
+ * the {@code /Bulk} endpoint when it reaches the maximum number of operations
+ * or the maximum payload size of the service provider, or when the flush
+ * interval has elapsed since its first operation was added.
+ * <br><br>
+ *
+ * Several batches may be in flight at once. When the maximum number of
+ * batches is in flight, the calls that send another batch block until one of
+ * them completes. Operations in different batches may therefore be applied in
+ * any order, and a {@code bulkId} reference is only resolved if both
+ * operations are in the same batch. Callers that depend on the order of two
+ * operations should wait for the future of the first before submitting the
+ * second.
+ * <br><br>
+ *
+ * Every operation is given a {@code bulkId} if it does not have one, and its
+ * result is found in the bulk response by that {@code bulkId}. The service
+ * provider must therefore return the {@code bulkId} of every operation in its
+ * result, as this SDK does.
+ * <br><br>
+ *
+ * The future of an operation completes with its result, which may describe a
+ * failure of that operation, such as a {@code 409 Conflict} status. The future
+ * completes exceptionally if the bulk request as a whole failed, if the bulk
+ * response did not contain a result for the operation, or if the operation is
+ * larger than the maximum payload size on its own. The futures of a batch are
+ * completed once it no longer counts towards the maximum number of batches in
+ * flight, so their dependent actions may add operations. For example:
+ * <pre>
+ *   try (BulkWriter writer = new BulkWriter(scimService))
+ *   {
+ *     for (UserResource user : users)
+ *     {
+ *       writer.create("/Users", user).thenAccept(this::logResult);
+ *     }
+ *   }
+ * </pre>
+ *
+ * This class is thread-safe.
+ *
+ * @since 6.0.1
+ */
+public class BulkWriter implements AutoCloseable
+{
+  /**
+   * The default time in milliseconds that a batch waits for more operations
+   * before it is sent.
+   */
+  public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100L;
+
+  /**
+   * The default maximum number of batches that are in flight at once.
+   */
+  public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+  @NotNull
+  private static final AtomicLong WRITER_COUNTER = new AtomicLong();
+
+  @NotNull
+  private final ScimService service;
+
+  private final int maxOperations;
+
+  private final int maxPayloadSize;
+
+  private final int envelopeSize;
+
+  private final long flushIntervalMillis;
+
+  @NotNull
+  private final Semaphore batchesInFlight;
+
+  @NotNull
+  private final ScheduledExecutorService scheduler;
+
+  @NotNull
+  private final String bulkIdPrefix;
+
+  @NotNull
+  private final AtomicLong bulkIdCounter = new AtomicLong();
+
+  @NotNull
+  private final Object lock = new Object();
+
+  @NotNull
+  private Batch batch = new Batch();
+
+  @Nullable
+  private ScheduledFuture<?> scheduledFlush;
+
+  /**
+   * The number of batches that were taken to be sent, and whose futures have
+   * not all been completed yet. This is guarded by the lock.
+   */
+  private int unfinishedBatches;
+
+  private boolean closed;
+
+  /**
+   * Create a new bulk writer that uses the bulk limits from the service
+   * provider configuration of the SCIM service, with the default flush
+   * interval and the default maximum number of batches in flight.
+   *
+   * @param service  The SCIM service.
+   * @throws NotImplementedException If the service provider does not support
+   *                                 bulk requests.
+   * @throws ScimException If the service provider configuration could not be
+   *                       retrieved.
+   */
+  public BulkWriter(@NotNull final ScimService service)
+      throws ScimException
+  {
+    this(service, service.getServiceProviderConfig().getBulk(),
+        DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_BATCHES_IN_FLIGHT);
+  }
+
+  /**
+   * Create a new bulk writer.
+   *
+   * @param service              The SCIM service.
+   * @param bulkConfig           The bulk limits of the service provider.
+   * @param flushIntervalMillis  The time in milliseconds that a batch waits for
+   *                             more operations before it is sent.
+   * @param maxBatchesInFlight   The maximum number of batches that are in
+   *                             flight at once.
+   * @throws NotImplementedException If the bulk configuration indicates that
+   *                                 bulk requests are not supported.
+   */
+  public BulkWriter(@NotNull final ScimService service,
+                    @NotNull final BulkConfig bulkConfig,
+                    final long flushIntervalMillis,
+                    final int maxBatchesInFlight)
+      throws NotImplementedException
+  {
+    if (!bulkConfig.isSupported() || bulkConfig.getMaxOperations() < 1 ||
+        bulkConfig.getMaxPayloadSize() < 1)
+    {
+      throw new NotImplementedException(
+          "The service provider does not support bulk requests");
+    }
+    if (flushIntervalMillis < 0 || maxBatchesInFlight < 1)
+    {
+      throw new IllegalArgumentException(
+          "A non-negative flush interval and at least one batch in flight "
+              + "are required");
+    }
+
+    this.service = service;
+    this.maxOperations = bulkConfig.getMaxOperations();
+    this.maxPayloadSize = bulkConfig.getMaxPayloadSize();
+    this.envelopeSize = sizeOf(new BulkRequest(List.of()));
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.batchesInFlight = new Semaphore(maxBatchesInFlight);
+    this.bulkIdPrefix = "bw" + WRITER_COUNTER.incrementAndGet() + "-";
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "BulkWriter flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Add a request to create a resource.
+   *
+   * @param endpoint  The resource endpoint, such as {@code /Users}.
+   * @param resource  The resource to create.
+   * @return A future for the result of the operation.
+   */
+  @NotNull
+  public CompletableFuture<BulkOperationResult> create(
+      @NotNull final String endpoint,
+      @NotNull final ScimResource resource)
+  {
+    return write(BulkOperation.post(endpoint, resource));
+  }
+
+  /**
+   * Add a request to replace a resource.
+   *
+   * @param path      The path of the resource, such as {@code /Users/1}.
+   * @param resource  The new state of the resource.
+   * @return A future for the result of the operation.
+   */
+  @NotNull
+  public CompletableFuture<BulkOperationResult> replace(
+      @NotNull final String path,
+      @NotNull final ScimResource resource)
+  {
+    return write(BulkOperation.put(path, resource));
+  }
+
+  /**
+   * Add a request to modify a resource.
+   *
+   * @param path        The path of the resource, such as {@code /Users/1}.
+   * @param operations  The patch operations to apply.
+   * @return A future for the result of the operation.
+   */
+  @NotNull
+  public CompletableFuture<BulkOperationResult> modify(
+      @NotNull final String path,
+      @NotNull final List<PatchOperation> operations)
+  {
+    return write(BulkOperation.patch(path, operations));
+  }
+
+  /**
+   * Add a request to delete a resource.
+   *
+   * @param path  The path of the resource, such as {@code /Users/1}.
+   * @return A future for the result of the operation.
+   */
+  @NotNull
+  public CompletableFuture<BulkOperationResult> delete(
+      @NotNull final String path)
+  {
+    return write(BulkOperation.delete(path));
+  }
+
+  /**
+   * Add a bulk operation to the current batch. If the operation does not fit
+   * into the current batch, the current batch is sent first, which may block
+   * until a batch in flight has completed. If the operation does not have a
+   * {@code bulkId}, one is set on it so that its result can be found in the
+   * bulk response.
+   *
+   * @param operation  The bulk operation.
+   * @return A future for the result of the operation.
+   * @throws IllegalStateException If this writer has been closed.
+   */
+  @NotNull
+  public CompletableFuture<BulkOperationResult> write(
+      @NotNull final BulkOperation operation)
+  {
+    if (operation.getBulkId() == null)
+    {
+      operation.setBulkId(bulkIdPrefix + bulkIdCounter.incrementAndGet());
+    }
+    Pending pending = new Pending(operation, sizeOf(operation));
+    if (envelopeSize + pending.size > maxPayloadSize)
+    {
+      pending.future.completeExceptionally(new ContentTooLargeException(
+          "The bulk operation is larger than the maximum payload size of "
+              + maxPayloadSize + " bytes"));
+      return pending.future;
+    }
+
+    List<Batch> fullBatches = new ArrayList<>(2);
+    synchronized (lock)
+    {
+      if (closed)
+      {
+        throw new IllegalStateException("The bulk writer has been closed");
+      }
+      if (!batch.fits(pending))
+      {
+        fullBatches.add(takeBatch());
+      }
+      batch.add(pending);
+      if (batch.operations.size() >= maxOperations)
+      {
+        fullBatches.add(takeBatch());
+      }
+      else if (batch.operations.size() == 1)
+      {
+        scheduledFlush = scheduler.schedule(this::flush,
+            flushIntervalMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    for (Batch full : fullBatches)
+    {
+      send(full);
+    }
+    return pending.future;
+  }
+
+  /**
+   * Send the current batch, if it contains any operations. This may block
+   * until a batch in flight has completed.
+   */
+  public void flush()
+  {
+    Batch full;
+    synchronized (lock)
+    {
+      full = takeBatch();
+    }
+    send(full);
+  }
+
+  /**
+   * Send the current batch and wait until all batches in flight have
+   * completed, including a batch that is being sent by a scheduled flush or by
+   * another thread. Operations may not be added after the writer has been
+   * closed.
+   */
+  @Override
+  public void close()
+  {
+    synchronized (lock)
+    {
+      if (closed)
+      {
+        return;
+      }
+      closed = true;
+    }
+
+    flush();
+    boolean interrupted = false;
+    synchronized (lock)
+    {
+      while (unfinishedBatches > 0)
+      {
+        try
+        {
+          lock.wait();
+        }
+        catch (InterruptedException e)
+        {
+          interrupted = true;
+        }
+      }
+    }
+    scheduler.shutdownNow();
+    if (interrupted)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Remove the current batch so that it can be sent, and start a new one. The
+   * caller must hold the lock, and must send the batch that is returned.
+   *
+   * @return The batch that was removed.
+   */
+  @NotNull
+  private Batch takeBatch()
+  {
+    Batch full = batch;
+    batch = new Batch();
+    if (!full.operations.isEmpty())
+    {
+      unfinishedBatches++;
+    }
+    if (scheduledFlush != null)
+    {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    return full;
+  }
+
+  /**
+   * Send a batch as a bulk request, and complete the futures of its
+   * operations once the response arrives. The batch no longer counts towards
+   * the maximum number of batches in flight before the futures are completed,
+   * so that their dependent actions may send another batch.
+   *
+   * @param full  The batch to send.
+   */
+  private void send(@NotNull final Batch full)
+  {
+    if (full.operations.isEmpty())
+    {
+      return;
+    }
+
+    List<BulkOperation> operations = new ArrayList<>(full.operations.size());
+    for (Pending pending : full.operations)
+    {
+      operations.add(pending.operation);
+    }
+
+    batchesInFlight.acquireUninterruptibly();
+    try
+    {
+      service.bulkRequest().append(operations).invokeAsync()
+          .whenComplete((response, error) -> {
+            batchesInFlight.release();
+            try
+            {
+              if (error != null)
+              {
+                full.fail(error);
+              }
+              else
+              {
+                full.complete(response);
+              }
+            }
+            finally
+            {
+              finished();
+            }
+          });
+    }
+    catch (RuntimeException e)
+    {
+      batchesInFlight.release();
+      try
+      {
+        full.fail(e);
+      }
+      finally
+      {
+        finished();
+      }
+    }
+  }
+
+  /**
+   * Record that the futures of a batch that was sent have been completed, and
+   * wake up a thread that is waiting in {@link #close()}.
+   */
+  private void finished()
+  {
+    synchronized (lock)
+    {
+      unfinishedBatches--;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Compute the size of an object once it is serialized as JSON.
+   *
+   * @param value  The object to serialize.
+   * @return The number of bytes of the serialized object.
+   * @throws ProcessingException If the object could not be serialized.
+   */
+  private static int sizeOf(@NotNull final Object value)
+  {
+    try
+    {
+      return JsonUtils.getObjectWriter().writeValueAsBytes(value).length;
+    }
+    catch (JacksonException e)
+    {
+      throw new ProcessingException(e);
+    }
+  }
+
+  /**
+   * A bulk operation waiting for its result.
+   */
+  private static final class Pending
+  {
+    @NotNull
+    private final BulkOperation operation;
+
+    private final int size;
+
+    @NotNull
+    private final CompletableFuture<BulkOperationResult> future =
+        new CompletableFuture<>();
+
+    /**
+     * Create a new pending operation.
+     *
+     * @param operation  The bulk operation.
+     * @param size       The size of the serialized operation.
+     */
+    private Pending(@NotNull final BulkOperation operation, final int size)
+    {
+      this.operation = operation;
+      this.size = size;
+    }
+  }
+
+  /**
+   * The operations of a single bulk request.
+   */
+  private final class Batch
+  {
+    @NotNull
+    private final List<Pending> operations = new ArrayList<>();
+
+    private int payloadSize = envelopeSize;
+
+    /**
+     * Indicates whether an operation fits into this batch without exceeding
+     * the maximum payload size.
+     *
+     * @param pending  The operation.
+     * @return {@code true} if the operation fits into this batch.
+     */
+    private boolean fits(@NotNull final Pending pending)
+    {
+      // Each operation after the first is preceded by a comma.
+      int separator = operations.isEmpty() ? 0 : 1;
+      return payloadSize + separator + pending.size <= maxPayloadSize;
+    }
+
+    /**
+     * Add an operation to this batch.
+     *
+     * @param pending  The operation.
+     */
+    private void add(@NotNull final Pending pending)
+    {
+      payloadSize += (operations.isEmpty() ? 0 : 1) + pending.size;
+      operations.add(pending);
+    }
+
+    /**
+     * Complete the futures of the operations with the results in the bulk
+     * response, which are matched with the operations by their
+     * {@code bulkId}. Results without a known {@code bulkId} are ignored.
+     *
+     * @param response  The bulk response.
+     */
+    private void complete(@NotNull final BulkResponse response)
+    {
+      Map<String, Pending> byBulkId = new HashMap<>();
+      for (Pending pending : operations)
+      {
+        Pending previous =
+            byBulkId.put(pending.operation.getBulkId(), pending);
+        if (previous != null)
+        {
+          // The result is matched with the last operation with the bulk ID.
+          previous.future.completeExceptionally(new BulkRequestException(
+              "Another operation in the bulk request has the same bulk ID "
+                  + pending.operation.getBulkId()));
+        }
+      }
+
+      for (BulkOperationResult result : response)
+      {
+        Pending pending = (result.getBulkId() == null) ? null :
+            byBulkId.remove(result.getBulkId());
+        if (pending != null)
+        {
+          pending.future.complete(result);
+        }
+      }
+
+      for (Pending pending : byBulkId.values())
+      {
+        pending.future.completeExceptionally(new ServerErrorException(
+            "The bulk response did not contain a result for the operation"));
+      }
+    }
+
+    /**
+     * Complete the futures of all operations exceptionally.
+     *
+     * @param error  The failure of the bulk request.
+     */
+    private void fail(@NotNull final Throwable error)
+    {
+      for (Pending pending : operations)
+      {
+        pending.future.completeExceptionally(error);
+      }
+    }
+  }
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.client.requests.RetrieveRequestBuilder;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.NotModifiedException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.messages.ListResponse;
+import com.unboundid.scim2.common.types.AttributeDefinition;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.types.ResourceTypeResource;
+import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.types.ServiceProviderConfigResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+
+import jakarta.ws.rs.ProcessingException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.unboundid.scim2.common.utils.ApiConstants.RESOURCE_TYPES_ENDPOINT;
+import static com.unboundid.scim2.common.utils.ApiConstants.SCHEMAS_ENDPOINT;
+import static com.unboundid.scim2.common.utils.ApiConstants.SERVICE_PROVIDER_CONFIG_ENDPOINT;
+import static com.unboundid.scim2.common.utils.StaticUtils.toLowerCase;
+
+/**
+ * A cache of the discovery information of a SCIM service provider: its
+ * service provider configuration, resource types, and schemas. A cache is
+ * created with {@link ScimService#enableDiscoveryCache(long)}, after which
+ * the discovery methods of the {@link ScimService} are answered from the cache
+ * instead of sending a request for every call.
+ * <br><br>
+ *
+ * The three discovery endpoints are requested concurrently when the cache is
+ * created. The cached information is held in an immutable snapshot that is
+ * replaced as a whole when the cache is refreshed, so reads never block and
+ * always see consistent information. The cache is refreshed in the background
+ * at a fixed interval. A refresh requests the three discovery endpoints again,
+ * and revalidates the service provider configuration with a conditional
+ * request when it has a version. The snapshot is only replaced if any of the
+ * information has changed. A failed background refresh leaves the previous
+ * information in place, and is reported by {@link #getRefreshFailure()}.
+ * <br><br>
+ *
+ * The discovery resources returned by the cache are shared by all callers
+ * and must not be modified. Modifying them would also make them disagree
+ * with the attribute definitions that the cache has indexed.
+ * <br><br>
+ *
+ * In addition to the discovery resources themselves, the cache provides the
+ * {@link AttributeDefinition} of any attribute path of a resource type, which
+ * may be used for client-side validation or when building filters and patch
+ * operations.
+ * <pre>
+ *   DiscoveryCache discovery = scimService.enableDiscoveryCache(600_000L);
+ *   AttributeDefinition definition = discovery.getAttributeDefinition(
+ *       "User", Path.fromString("name.familyName"));
+ * </pre>
+ *
+ * This class is thread-safe.
+ *
+ * @since 6.0.1
+ */
+public final class DiscoveryCache implements AutoCloseable
+{
+  @NotNull
+  private static final URI SERVICE_PROVIDER_CONFIG_URI =
+      URI.create(SERVICE_PROVIDER_CONFIG_ENDPOINT);
+
+  @NotNull
+  private final ScimService service;
+
+  @Nullable
+  private final ScheduledExecutorService scheduler;
+
+  @NotNull
+  private volatile Snapshot snapshot;
+
+  @Nullable
+  private volatile Exception refreshFailure;
+
+  /**
+   * Create a new discovery cache and fetch the discovery information.
+   *
+   * @param service  The SCIM service whose discovery information is cached.
+   * @param refreshIntervalMillis  The interval at which the cache is refreshed
+   *                               in the background, in milliseconds. A value
+   *                               of {@code 0} disables background refreshes.
+   * @throws ScimException  If the discovery information could not be
+   *                        retrieved.
+   */
+  DiscoveryCache(@NotNull final ScimService service,
+                 final long refreshIntervalMillis)
+      throws ScimException
+  {
+    if (refreshIntervalMillis < 0)
+    {
+      throw new IllegalArgumentException(
+          "The refresh interval must not be negative");
+    }
+    this.service = service;
+    this.snapshot = fetch(null);
+    if (refreshIntervalMillis > 0)
+    {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DiscoveryCache refresh");
+        thread.setDaemon(true);
+        return thread;
+      });
+      scheduler.scheduleWithFixedDelay(this::refreshInBackground,
+          refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    else
+    {
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Retrieves the service provider configuration.
+   *
+   * @return  The service provider configuration, which must not be modified.
+   */
+  @NotNull
+  public ServiceProviderConfigResource getServiceProviderConfig()
+  {
+    return snapshot.serviceProviderConfig();
+  }
+
+  /**
+   * Retrieves the resource types supported by the service provider.
+   *
+   * @return  An unmodifiable list of the resource types, which must not be
+   *          modified.
+   */
+  @NotNull
+  public List<ResourceTypeResource> getResourceTypes()
+  {
+    return snapshot.resourceTypes();
+  }
+
+  /**
+   * Retrieves a resource type supported by the service provider.
+   *
+   * @param name  The name of the resource type, which is not case-sensitive.
+   * @return  The resource type, which must not be modified, or {@code null}
+   *          if the service provider does not support a resource type with
+   *          the name.
+   */
+  @Nullable
+  public ResourceTypeResource getResourceType(@NotNull final String name)
+  {
+    return snapshot.resourceTypesByName().get(toLowerCase(name));
+  }
+
+  /**
+   * Retrieves the schemas supported by the service provider.
+   *
+   * @return  An unmodifiable list of the schemas, which must not be
+   *          modified.
+   */
+  @NotNull
+  public List<SchemaResource> getSchemas()
+  {
+    return snapshot.schemas();
+  }
+
+  /**
+   * Retrieves a schema supported by the service provider.
+   *
+   * @param id  The schema URN, which is not case-sensitive.
+   * @return  The schema, which must not be modified, or {@code null} if the
+   *          service provider does not support a schema with the URN.
+   */
+  @Nullable
+  public SchemaResource getSchema(@NotNull final String id)
+  {
+    return snapshot.schemasById().get(toLowerCase(id));
+  }
+
+  /**
+   * Retrieves the definition of an attribute of a resource type. The path may
+   * refer to a core attribute with or without the core schema URN, to an
+   * extension attribute with the URN of the schema extension, to a common
+   * attribute such as {@code meta.created}, or to a sub-attribute of any of
+   * these. Any value filters in the path are ignored.
+   *
+   * @param resourceType  The name of the resource type, which is not
+   *                      case-sensitive.
+   * @param path  The attribute path.
+   * @return  The attribute definition, or {@code null} if the resource type
+   *          or the attribute is not defined.
+   */
+  @Nullable
+  public AttributeDefinition getAttributeDefinition(
+      @NotNull final String resourceType,
+      @NotNull final Path path)
+  {
+    Map<String, AttributeDefinition> attributes =
+        snapshot.attributesByResourceType().get(toLowerCase(resourceType));
+    if (attributes == null || path.size() == 0)
+    {
+      return null;
+    }
+
+    StringBuilder key = new StringBuilder();
+    if (path.getSchemaUrn() != null)
+    {
+      key.append(toLowerCase(path.getSchemaUrn())).append(':');
+    }
+    for (int i = 0; i < path.size(); i++)
+    {
+      key.append(i == 0 ? "" : ".")
+          .append(toLowerCase(path.getElement(i).getAttribute()));
+    }
+    return attributes.get(key.toString());
+  }
+
+  /**
+   * Refreshes the cache. The discovery endpoints are requested again, and the
+   * cached information is kept if none of it has changed.
+   *
+   * @throws ScimException  If the discovery information could not be
+   *                        retrieved. The previous information is kept.
+   */
+  public void refresh() throws ScimException
+  {
+    snapshot = fetch(snapshot);
+    refreshFailure = null;
+  }
+
+  /**
+   * Retrieves the failure of the latest background refresh.
+   *
+   * @return  The exception that caused the latest refresh to fail, or
+   *          {@code null} if it succeeded.
+   */
+  @Nullable
+  public Exception getRefreshFailure()
+  {
+    return refreshFailure;
+  }
+
+  /**
+   * Stops the background refreshes. The cached information remains available,
+   * and may still be refreshed with {@link #refresh()}.
+   */
+  @Override
+  public void close()
+  {
+    if (scheduler != null)
+    {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Refreshes the cache in the background, recording any failure.
+   */
+  private void refreshInBackground()
+  {
+    try
+    {
+      refresh();
+    }
+    catch (ScimException | RuntimeException e)
+    {
+      refreshFailure = e;
+    }
+  }
+
+  /**
+   * Retrieves the discovery information. The three discovery endpoints are
+   * requested concurrently. The service provider configuration is revalidated
+   * with a conditional request if it has a version, but the resource types and
+   * schemas are always requested again, since a service provider may change
+   * them without changing the version of its configuration.
+   *
+   * @param current  The current snapshot, or {@code null} if there is none.
+   * @return  The new snapshot, or the current snapshot if none of the
+   *          discovery information has changed.
+   * @throws ScimException  If the discovery information could not be
+   *                        retrieved.
+   */
+  @NotNull
+  private Snapshot fetch(@Nullable final Snapshot current)
+      throws ScimException
+  {
+    RetrieveRequestBuilder.Typed configRequest =
+        service.retrieveRequest(SERVICE_PROVIDER_CONFIG_URI);
+    String version = (current == null) ? null : current.version();
+    if (version != null)
+    {
+      configRequest.ifNoneMatch(version);
+    }
+    CompletableFuture<ServiceProviderConfigResource> config =
+        configRequest.invokeAsync(ServiceProviderConfigResource.class)
+            .toCompletableFuture();
+    CompletableFuture<ListResponse<ResourceTypeResource>> resourceTypes =
+        service.searchRequest(RESOURCE_TYPES_ENDPOINT)
+            .invokeAsync(ResourceTypeResource.class)
+            .toCompletableFuture();
+    CompletableFuture<ListResponse<SchemaResource>> schemas =
+        service.searchRequest(SCHEMAS_ENDPOINT)
+            .invokeAsync(SchemaResource.class)
+            .toCompletableFuture();
+
+    ServiceProviderConfigResource configResource;
+    try
+    {
+      configResource = join(config);
+    }
+    catch (NotModifiedException e)
+    {
+      // Only a conditional request, which requires a current snapshot, may
+      // be answered with a 304 response.
+      if (current == null)
+      {
+        throw e;
+      }
+      configResource = current.serviceProviderConfig();
+    }
+    List<ResourceTypeResource> resourceTypeList =
+        join(resourceTypes).getResources();
+    List<SchemaResource> schemaList = join(schemas).getResources();
+
+    if (current != null &&
+        configResource.equals(current.serviceProviderConfig()) &&
+        resourceTypeList.equals(current.resourceTypes()) &&
+        schemaList.equals(current.schemas()))
+    {
+      return current;
+    }
+    return Snapshot.create(configResource, resourceTypeList, schemaList);
+  }
+
+  /**
+   * Waits for the result of a discovery request.
+   *
+   * @param <T>  The type of the result.
+   * @param future  The future result of the request.
+   * @return  The result.
+   * @throws ScimException  If the service provider responded with an error.
+   */
+  @NotNull
+  private static <T> T join(@NotNull final CompletableFuture<T> future)
+      throws ScimException
+  {
+    try
+    {
+      return future.get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new ProcessingException(e);
+    }
+    catch (ExecutionException e)
+    {
+      Throwable cause = (e.getCause() instanceof CompletionException) ?
+          e.getCause().getCause() : e.getCause();
+      if (cause instanceof ScimException scimException)
+      {
+        throw scimException;
+      }
+      if (cause instanceof RuntimeException runtimeException)
+      {
+        throw runtimeException;
+      }
+      throw new ProcessingException(cause);
+    }
+  }
+
+  /**
+   * An immutable snapshot of the discovery information.
+   *
+   * @param serviceProviderConfig  The service provider configuration.
+   * @param version  The version of the service provider configuration, if
+   *                 any.
+   * @param resourceTypes  The resource types.
+   * @param resourceTypesByName  The resource types by lowercase name.
+   * @param schemas  The schemas.
+   * @param schemasById  The schemas by lowercase URN.
+   * @param attributesByResourceType  The attribute definitions of each
+   *                                  resource type by lowercase name, keyed by
+   *                                  lowercase attribute path.
+   */
+  private record Snapshot(
+      @NotNull ServiceProviderConfigResource serviceProviderConfig,
+      @Nullable String version,
+      @NotNull List<ResourceTypeResource> resourceTypes,
+      @NotNull Map<String, ResourceTypeResource> resourceTypesByName,
+      @NotNull List<SchemaResource> schemas,
+      @NotNull Map<String, SchemaResource> schemasById,
+      @NotNull Map<String, Map<String, AttributeDefinition>>
+          attributesByResourceType)
+  {
+    /**
+     * Create a snapshot and index the discovery resources.
+     *
+     * @param config  The service provider configuration.
+     * @param resourceTypes  The resource types.
+     * @param schemas  The schemas.
+     * @return  The snapshot.
+     */
+    @NotNull
+    private static Snapshot create(
+        @NotNull final ServiceProviderConfigResource config,
+        @NotNull final List<ResourceTypeResource> resourceTypes,
+        @NotNull final List<SchemaResource> schemas)
+    {
+      Map<String, SchemaResource> schemasById = new HashMap<>();
+      for (SchemaResource schema : schemas)
+      {
+        schemasById.put(toLowerCase(schema.getId()), schema);
+      }
+
+      Map<String, ResourceTypeResource> resourceTypesByName = new HashMap<>();
+      Map<String, Map<String, AttributeDefinition>> attributes =
+          new HashMap<>();
+      for (ResourceTypeResource resourceType : resourceTypes)
+      {
+        String name = toLowerCase(resourceType.getName());
+        resourceTypesByName.put(name, resourceType);
+
+        Map<String, AttributeDefinition> definitions = new HashMap<>();
+        index(definitions, "", SchemaUtils.COMMON_ATTRIBUTE_DEFINITIONS);
+        SchemaResource core = (resourceType.getSchema() == null) ? null :
+            schemasById.get(toLowerCase(resourceType.getSchema().toString()));
+        if (core != null)
+        {
+          index(definitions, "", core.getAttributes());
+          index(definitions, toLowerCase(core.getId()) + ":",
+              core.getAttributes());
+        }
+        if (resourceType.getSchemaExtensions() != null)
+        {
+          for (ResourceTypeResource.SchemaExtension extension :
+              resourceType.getSchemaExtensions())
+          {
+            SchemaResource schema =
+                schemasById.get(toLowerCase(extension.getSchema().toString()));
+            if (schema != null)
+            {
+              index(definitions, toLowerCase(schema.getId()) + ":",
+                  schema.getAttributes());
+            }
+          }
+        }
+        attributes.put(name, Map.copyOf(definitions));
+      }
+
+      Meta meta = config.getMeta();
+      return new Snapshot(config,
+          (meta == null) ? null : meta.getVersion(),
+          List.copyOf(resourceTypes), Map.copyOf(resourceTypesByName),
+          List.copyOf(schemas), Map.copyOf(schemasById),
+          Map.copyOf(attributes));
+    }
+
+    /**
+     * Add attribute definitions and their sub-attributes to an index.
+     *
+     * @param index  The index.
+     * @param prefix  The lowercase prefix of the paths of the attributes.
+     * @param definitions  The attribute definitions.
+     */
+    private static void index(
+        @NotNull final Map<String, AttributeDefinition> index,
+        @NotNull final String prefix,
+        @Nullable final Collection<AttributeDefinition> definitions)
+    {
+      if (definitions == null)
+      {
+        return;
+      }
+      for (AttributeDefinition definition : definitions)
+      {
+        String path = prefix + toLowerCase(definition.getName());
+        index.put(path, definition);
+        index(index, path + ".", definition.getSubAttributes());
+      }
+    }
+  }
+}
@@ -0,0 +1,947 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.messages.ListResponse;
+import com.unboundid.scim2.common.messages.PatchRequest;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.types.ResourceTypeResource;
+import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.types.ServiceProviderConfigResource;
+
+import jakarta.ws.rs.ProcessingException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ScimInterface} that spreads requests across several replicas of
+ * the same SCIM service provider, such as regional deployments that share a
+ * data store. Each replica is accessed through its own {@link ScimService},
+ * so that request settings such as a
+ * {@link com.unboundid.scim2.client.requests.ResiliencePolicy} may be
+ * configured per replica.
+ * <br><br>
+ *
+ * Read requests are sent to a replica chosen by the {@link Strategy} of the
+ * balancer. The balancer samples two healthy replicas at random and picks the
+ * one with the lower cost, which is either its number of outstanding requests,
+ * or its recent latency weighted by its outstanding requests. If a read fails
+ * because of the replica, it is retried once on another replica.
+ * <br><br>
+ *
+ * A replica that fails several requests in a row, because it could not be
+ * connected to, did not respond in time, or responded with a server error, is
+ * ejected and receives no requests until the ejection period has elapsed. If
+ * every replica is ejected, requests are spread across all of them. Client
+ * errors, such as {@code 404 Not Found}, and other processing errors, such as
+ * a response that cannot be read, do not count as failures.
+ * <br><br>
+ *
+ * By default, write requests are pinned to the first healthy replica, so that
+ * conflicting writes are not applied by different replicas at once. Since the
+ * replicas may not see a write at the same time, reads of a resource that was
+ * recently written by this client may be pinned to the replica that applied
+ * the write with {@link #readYourWrites(long)}. Requests that are based on a
+ * previously retrieved resource, such as {@link #replace(ScimResource)}, are
+ * always sent to the replica that its {@code meta.location} refers to. If the
+ * replicas report locations under a shared base URI instead, such as the
+ * address of a global load balancer, that base URI should be set with
+ * {@link #baseUri(URI)} so that writes of those resources pin their reads.
+ * <pre>
+ *   LoadBalancedScimService scim = new LoadBalancedScimService(
+ *       LoadBalancedScimService.Strategy.LEAST_OUTSTANDING,
+ *       List.of(new ScimService(east), new ScimService(west)))
+ *       .readYourWrites(5_000L);
+ *   UserResource user = scim.create("Users", newUser);
+ *   user = scim.retrieve("Users", user.getId(), UserResource.class);
+ * </pre>
+ *
+ * This class is thread-safe.
+ *
+ * @since 6.0.1
+ */
+public class LoadBalancedScimService implements ScimInterface
+{
+  /**
+   * The strategies for choosing the replica of a read request.
+   */
+  public enum Strategy
+  {
+    /**
+     * Prefer the replica with the fewest outstanding requests.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Prefer the replica with the lowest exponentially weighted moving average
+     * of its response times, multiplied by its number of outstanding requests
+     * plus one.
+     */
+    EWMA_LATENCY
+  }
+
+  /**
+   * The default number of consecutive failures after which a replica is
+   * ejected.
+   */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+  /**
+   * The default time in milliseconds that an ejected replica receives no
+   * requests.
+   */
+  public static final long DEFAULT_EJECTION_MILLIS = 30_000L;
+
+  /**
+   * The time constant of the moving average of the response times, in
+   * nanoseconds. A sample of this age has about a third of the weight of a
+   * new sample.
+   */
+  private static final double EWMA_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  /**
+   * The number of read-your-writes pins above which expired pins are removed.
+   */
+  private static final int PIN_CLEANUP_THRESHOLD = 10_000;
+
+  @NotNull
+  private final Strategy strategy;
+
+  @NotNull
+  private final List<Replica> replicas;
+
+  @NotNull
+  private final Map<String, Pin> pins = new ConcurrentHashMap<>();
+
+  private volatile int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+  private volatile long ejectionNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_EJECTION_MILLIS);
+
+  private volatile long readYourWritesNanos;
+
+  private volatile boolean pinWrites = true;
+
+  @Nullable
+  private volatile URI baseUri;
+
+  /**
+   * Create a new load-balanced client.
+   *
+   * @param strategy  The strategy for choosing the replica of a read request.
+   * @param services  The SCIM services of the replicas. The first replica is
+   *                  preferred for write requests.
+   */
+  public LoadBalancedScimService(@NotNull final Strategy strategy,
+                                 @NotNull final List<ScimService> services)
+  {
+    if (services.isEmpty())
+    {
+      throw new IllegalArgumentException("At least one replica is required");
+    }
+    this.strategy = strategy;
+    List<Replica> list = new ArrayList<>(services.size());
+    for (ScimService service : services)
+    {
+      list.add(new Replica(service));
+    }
+    this.replicas = List.copyOf(list);
+  }
+
+  /**
+   * Sets when a replica is ejected. By default, a replica is ejected for
+   * {@value #DEFAULT_EJECTION_MILLIS} milliseconds after
+   * {@value #DEFAULT_FAILURE_THRESHOLD} consecutive failures.
+   *
+   * @param threshold  The number of consecutive failures after which a replica
+   *                   is ejected, or {@code 0} to never eject replicas.
+   * @param ejectionMillis  The time in milliseconds that an ejected replica
+   *                        receives no requests.
+   * @return  This balancer.
+   */
+  @NotNull
+  public LoadBalancedScimService ejection(final int threshold,
+                                          final long ejectionMillis)
+  {
+    if (threshold < 0 || ejectionMillis < 0)
+    {
+      throw new IllegalArgumentException(
+          "The failure threshold and ejection time must not be negative");
+    }
+    this.failureThreshold = threshold;
+    this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+    return this;
+  }
+
+  /**
+   * Pins the reads of recently written resources to the replica that applied
+   * the write. After a resource is created, replaced, modified, or deleted,
+   * reads of that resource and searches of its endpoint are sent to the same
+   * replica for the provided time, as long as the replica is healthy. This is
+   * disabled by default.
+   *
+   * @param windowMillis  The time in milliseconds that reads remain pinned
+   *                      after a write, or {@code 0} to disable pinning.
+   * @return  This balancer.
+   */
+  @NotNull
+  public LoadBalancedScimService readYourWrites(final long windowMillis)
+  {
+    if (windowMillis < 0)
+    {
+      throw new IllegalArgumentException("The window must not be negative");
+    }
+    this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    return this;
+  }
+
+  /**
+   * Sets whether write requests are pinned to the first healthy replica, which
+   * is the default. Otherwise, write requests are spread across the replicas
+   * like read requests, which is only appropriate if the replicas resolve
+   * conflicting writes.
+   *
+   * @param pinWrites  Whether write requests are pinned to the first healthy
+   *                   replica.
+   * @return  This balancer.
+   */
+  @NotNull
+  public LoadBalancedScimService pinWrites(final boolean pinWrites)
+  {
+    this.pinWrites = pinWrites;
+    return this;
+  }
+
+  /**
+   * Sets the base URI of the logical service that the replicas belong to, if
+   * the locations of the resources that they return refer to that base URI
+   * rather than to the base URI of a replica. The locations of resources are
+   * resolved against this base URI to pin the reads of resources that are
+   * written with {@link #replace(ScimResource)},
+   * {@link #modify(ScimResource, PatchRequest)}, or
+   * {@link #delete(ScimResource)}.
+   *
+   * @param baseUri  The base URI of the logical service, such as
+   *                 {@code https://scim.example.com/v2/}.
+   * @return  This balancer.
+   */
+  @NotNull
+  public LoadBalancedScimService baseUri(@NotNull final URI baseUri)
+  {
+    String uri = baseUri.toString();
+    this.baseUri = uri.endsWith("/") ? baseUri : URI.create(uri + "/");
+    return this;
+  }
+
+  /**
+   * Retrieves the base URIs of the replicas that are not ejected.
+   *
+   * @return  The base URIs of the healthy replicas, in the order that the
+   *          replicas were provided.
+   */
+  @NotNull
+  public List<URI> getHealthyReplicas()
+  {
+    long now = System.nanoTime();
+    List<URI> healthy = new ArrayList<>(replicas.size());
+    for (Replica replica : replicas)
+    {
+      if (replica.isHealthy(now))
+      {
+        healthy.add(replica.service.getBaseUri());
+      }
+    }
+    return healthy;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public ServiceProviderConfigResource getServiceProviderConfig()
+      throws ScimException
+  {
+    return read(null, ScimService::getServiceProviderConfig);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public ListResponse<ResourceTypeResource> getResourceTypes()
+      throws ScimException
+  {
+    return read(null, ScimService::getResourceTypes);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public ResourceTypeResource getResourceType(@NotNull final String name)
+      throws ScimException
+  {
+    return read(null, service -> service.getResourceType(name));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public ListResponse<SchemaResource> getSchemas()
+      throws ScimException
+  {
+    return read(null, ScimService::getSchemas);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public SchemaResource getSchema(@NotNull final String id)
+      throws ScimException
+  {
+    return read(null, service -> service.getSchema(id));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T create(@NotNull final String endpoint,
+                                           @NotNull final T resource)
+      throws ScimException
+  {
+    Replica replica = chooseWriteReplica();
+    T created = replica.invoke(service -> service.create(endpoint, resource));
+    if (created.getId() != null)
+    {
+      pin(endpoint, created.getId(), replica);
+    }
+    return created;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T retrieve(@NotNull final String endpoint,
+                                             @NotNull final String id,
+                                             @NotNull final Class<T> cls)
+      throws ScimException
+  {
+    return read(key(endpoint, id),
+        service -> service.retrieve(endpoint, id, cls));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T retrieve(@NotNull final T resource)
+      throws ScimException
+  {
+    Replica owner = findOwner(resource);
+    if (owner != null)
+    {
+      return owner.invoke(service -> service.retrieve(resource));
+    }
+    return read(null, service -> service.retrieve(resource));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T replace(@NotNull final T resource)
+      throws ScimException
+  {
+    return write(resource, service -> service.replace(resource));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T modify(
+      @NotNull final String endpoint,
+      @NotNull final String id,
+      @NotNull final PatchRequest patchRequest,
+      @NotNull final Class<T> clazz)
+      throws ScimException
+  {
+    Replica replica = chooseWriteReplica();
+    T modified = replica.invoke(
+        service -> service.modify(endpoint, id, patchRequest, clazz));
+    pin(endpoint, id, replica);
+    return modified;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> T modify(
+      @NotNull final T resource,
+      @NotNull final PatchRequest patchRequest)
+      throws ScimException
+  {
+    return write(resource, service -> service.modify(resource, patchRequest));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void delete(@NotNull final String endpoint, @NotNull final String id)
+      throws ScimException
+  {
+    Replica replica = chooseWriteReplica();
+    replica.invoke(service -> {
+      service.delete(endpoint, id);
+      return null;
+    });
+    pin(endpoint, id, replica);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T extends ScimResource> void delete(@NotNull final T resource)
+      throws ScimException
+  {
+    write(resource, service -> {
+      service.delete(resource);
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public <T extends ScimResource> ListResponse<T> search(
+      @NotNull final String endpoint,
+      @Nullable final String filter,
+      @NotNull final Class<T> clazz)
+      throws ScimException
+  {
+    return read(key(endpoint, null),
+        service -> service.search(endpoint, filter, clazz));
+  }
+
+  /**
+   * Sends a read request to a replica that is chosen by the strategy of this
+   * balancer, or to the replica that the read is pinned to. If the request
+   * fails because of the chosen replica, it is retried once on another
+   * replica.
+   *
+   * @param <R>  The type of the result.
+   * @param pinKey  The key of the read-your-writes pin of the request, or
+   *                {@code null} if the request is never pinned.
+   * @param call  The request.
+   * @return  The result of the request.
+   * @throws ScimException  If the request failed.
+   */
+  @Nullable
+  private <R> R read(@Nullable final String pinKey,
+                     @NotNull final Call<R> call)
+      throws ScimException
+  {
+    Replica pinned = (pinKey == null) ? null : findPin(pinKey);
+    Replica replica = (pinned != null) ? pinned : choose(null);
+    try
+    {
+      return replica.invoke(call);
+    }
+    catch (ScimException | ProcessingException e)
+    {
+      Replica other = isReplicaFailure(e) ? choose(replica) : null;
+      if (other == null)
+      {
+        throw e;
+      }
+      return other.invoke(call);
+    }
+  }
+
+  /**
+   * Sends a write request that is based on a previously retrieved resource.
+   * The request is sent to the replica that the location of the resource
+   * refers to, if any.
+   *
+   * @param <R>  The type of the result.
+   * @param resource  The resource.
+   * @param call  The request.
+   * @return  The result of the request.
+   * @throws ScimException  If the request failed.
+   */
+  @Nullable
+  private <R> R write(@NotNull final ScimResource resource,
+                      @NotNull final Call<R> call)
+      throws ScimException
+  {
+    Replica owner = findOwner(resource);
+    Replica replica = (owner != null) ? owner : chooseWriteReplica();
+    R result = replica.invoke(call);
+
+    // The request succeeded, so the resource has a location. It is relative
+    // to the base URI of its replica, or otherwise to the base URI of the
+    // logical service. The reads of a resource whose location is under
+    // neither are not pinned, since its endpoint is unknown.
+    URI location = resource.getMeta().getLocation();
+    URI base = (owner != null) ? owner.service.getBaseUri() : baseUri;
+    URI relative = (base == null) ? location : base.relativize(location);
+    String path = relative.isAbsolute() ? null : relative.getPath();
+    int separator = (path == null) ? -1 : path.lastIndexOf('/');
+    if (separator > 0)
+    {
+      pin(path.substring(0, separator), path.substring(separator + 1),
+          replica);
+    }
+    return result;
+  }
+
+  /**
+   * Chooses the replica of a write request.
+   *
+   * @return  The first healthy replica if writes are pinned, or a replica
+   *          chosen by the strategy of this balancer otherwise.
+   */
+  @NotNull
+  private Replica chooseWriteReplica()
+  {
+    if (!pinWrites)
+    {
+      return choose(null);
+    }
+    long now = System.nanoTime();
+    for (Replica replica : replicas)
+    {
+      if (replica.isHealthy(now))
+      {
+        return replica;
+      }
+    }
+    return replicas.get(0);
+  }
+
+  /**
+   * Chooses a replica with the strategy of this balancer. Two healthy
+   * replicas are sampled at random, and the one with the lower cost is
+   * chosen. If no replica is healthy, all replicas are considered.
+   *
+   * @param excluded  A replica that must not be chosen, or {@code null} if
+   *                  any replica may be chosen.
+   * @return  The chosen replica. The return value may only be {@code null} if
+   *          a replica is excluded.
+   */
+  @Nullable
+  private Replica choose(@Nullable final Replica excluded)
+  {
+    long now = System.nanoTime();
+    List<Replica> candidates = new ArrayList<>(replicas.size());
+    for (Replica replica : replicas)
+    {
+      if (replica != excluded && replica.isHealthy(now))
+      {
+        candidates.add(replica);
+      }
+    }
+    if (candidates.isEmpty())
+    {
+      for (Replica replica : replicas)
+      {
+        if (replica != excluded)
+        {
+          candidates.add(replica);
+        }
+      }
+    }
+
+    if (candidates.size() <= 1)
+    {
+      return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first)
+    {
+      second++;
+    }
+    Replica a = candidates.get(first);
+    Replica b = candidates.get(second);
+    return (a.cost(strategy) <= b.cost(strategy)) ? a : b;
+  }
+
+  /**
+   * Finds the replica that the location of a resource refers to.
+   *
+   * @param resource  The resource.
+   * @return  The replica whose base URI contains the location of the
+   *          resource, or {@code null} if there is none.
+   */
+  @Nullable
+  private Replica findOwner(@NotNull final ScimResource resource)
+  {
+    Meta meta = resource.getMeta();
+    URI location = (meta == null) ? null : meta.getLocation();
+    if (location == null || !location.isAbsolute())
+    {
+      return null;
+    }
+    for (Replica replica : replicas)
+    {
+      URI base = replica.service.getBaseUri();
+      if (!base.relativize(location).equals(location))
+      {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pins reads of a resource and searches of its endpoint to a replica, if
+   * read-your-writes is enabled.
+   *
+   * @param endpoint  The endpoint of the resource.
+   * @param id  The ID of the resource.
+   * @param replica  The replica that applied a write of the resource.
+   */
+  private void pin(@NotNull final String endpoint,
+                   @NotNull final String id,
+                   @NotNull final Replica replica)
+  {
+    long window = readYourWritesNanos;
+    if (window == 0)
+    {
+      return;
+    }
+
+    long now = System.nanoTime();
+    if (pins.size() > PIN_CLEANUP_THRESHOLD)
+    {
+      pins.values().removeIf(pin -> pin.isExpired(now));
+    }
+    Pin pin = new Pin(replica, now + window);
+    pins.put(key(endpoint, id), pin);
+    pins.put(key(endpoint, null), pin);
+  }
+
+  /**
+   * Finds the replica that reads are pinned to.
+   *
+   * @param key  The key of the pin.
+   * @return  The replica, or {@code null} if the reads are not pinned, or if
+   *          the replica is not healthy.
+   */
+  @Nullable
+  private Replica findPin(@NotNull final String key)
+  {
+    Pin pin = pins.get(key);
+    if (pin == null)
+    {
+      return null;
+    }
+    long now = System.nanoTime();
+    if (pin.isExpired(now))
+    {
+      pins.remove(key, pin);
+      return null;
+    }
+    return pin.replica().isHealthy(now) ? pin.replica() : null;
+  }
+
+  /**
+   * Creates the key of a read-your-writes pin.
+   *
+   * @param endpoint  The endpoint, with or without surrounding slashes.
+   * @param id  The ID of a resource, or {@code null} for the endpoint itself.
+   * @return  The key.
+   */
+  @NotNull
+  private static String key(@NotNull final String endpoint,
+                            @Nullable final String id)
+  {
+    int start = endpoint.startsWith("/") ? 1 : 0;
+    int end = endpoint.endsWith("/") ?
+        Math.max(start, endpoint.length() - 1) : endpoint.length();
+    String path = endpoint.substring(start, end);
+    return (id == null) ? path : path + "/" + id;
+  }
+
+  /**
+   * Determines whether a request failed because of the replica, rather than
+   * because of the request.
+   *
+   * @param e  The exception of the request.
+   * @return  {@code true} if the replica could not be connected to, did not
+   *          respond in time, or responded with a server error.
+   */
+  private static boolean isReplicaFailure(@NotNull final Exception e)
+  {
+    if (e instanceof ScimException scimException)
+    {
+      Integer status = scimException.getScimError().getStatus();
+      return status != null && status >= 500;
+    }
+    if (!(e instanceof ProcessingException))
+    {
+      return false;
+    }
+
+    // Other processing errors, such as a response that cannot be parsed, are
+    // not caused by the availability of the replica.
+    for (Throwable cause = e.getCause(); cause != null;
+         cause = cause.getCause())
+    {
+      if (cause instanceof ConnectException ||
+          cause instanceof NoRouteToHostException ||
+          cause instanceof UnknownHostException ||
+          cause instanceof SocketTimeoutException ||
+          cause instanceof HttpTimeoutException ||
+          cause instanceof TimeoutException)
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A request to a replica.
+   *
+   * @param <R>  The type of the result.
+   */
+  @FunctionalInterface
+  private interface Call<R>
+  {
+    /**
+     * Sends the request.
+     *
+     * @param service  The SCIM service of the replica.
+     * @return  The result of the request.
+     * @throws ScimException  If the request failed.
+     */
+    @Nullable
+    R call(@NotNull ScimService service) throws ScimException;
+  }
+
+  /**
+   * A read-your-writes pin.
+   *
+   * @param replica  The replica that reads are pinned to.
+   * @param expiresNanos  The value of {@link System#nanoTime()} at which the
+   *                      pin expires.
+   */
+  private record Pin(@NotNull Replica replica, long expiresNanos)
+  {
+    /**
+     * Determines whether the pin has expired.
+     *
+     * @param now  The current value of {@link System#nanoTime()}.
+     * @return  {@code true} if the pin has expired.
+     */
+    private boolean isExpired(final long now)
+    {
+      return now - expiresNanos >= 0;
+    }
+  }
+
+  /**
+   * A replica and its load and health.
+   */
+  private final class Replica
+  {
+    @NotNull
+    private final ScimService service;
+
+    @NotNull
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    @NotNull
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long ejectedUntilNanos;
+
+    private volatile boolean ejected;
+
+    private double ewmaNanos;
+
+    private long lastSampleNanos;
+
+    /**
+     * Create a new replica.
+     *
+     * @param service  The SCIM service of the replica.
+     */
+    private Replica(@NotNull final ScimService service)
+    {
+      this.service = service;
+    }
+
+    /**
+     * Sends a request to this replica, and records its outcome.
+     *
+     * @param <R>  The type of the result.
+     * @param call  The request.
+     * @return  The result of the request.
+     * @throws ScimException  If the request failed.
+     */
+    @Nullable
+    private <R> R invoke(@NotNull final Call<R> call) throws ScimException
+    {
+      outstanding.incrementAndGet();
+      long start = System.nanoTime();
+      try
+      {
+        R result = call.call(service);
+        succeeded(start);
+        return result;
+      }
+      catch (ScimException | RuntimeException e)
+      {
+        if (isReplicaFailure(e))
+        {
+          failed();
+        }
+        else
+        {
+          succeeded(start);
+        }
+        throw e;
+      }
+      finally
+      {
+        outstanding.decrementAndGet();
+      }
+    }
+
+    /**
+     * Records a response from this replica.
+     *
+     * @param start  The value of {@link System#nanoTime()} when the request was
+     *               sent.
+     */
+    private void succeeded(final long start)
+    {
+      consecutiveFailures.set(0);
+      long now = System.nanoTime();
+      synchronized (this)
+      {
+        double weight = (lastSampleNanos == 0) ? 0.0 :
+            Math.exp(-(now - lastSampleNanos) / EWMA_DECAY_NANOS);
+        ewmaNanos = ewmaNanos * weight + (now - start) * (1.0 - weight);
+        lastSampleNanos = now;
+      }
+    }
+
+    /**
+     * Records a failure of this replica, and ejects it if it has failed too
+     * many times in a row.
+     */
+    private void failed()
+    {
+      int threshold = failureThreshold;
+      if (threshold > 0 &&
+          consecutiveFailures.incrementAndGet() >= threshold)
+      {
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+        ejected = true;
+      }
+    }
+
+    /**
+     * Determines whether this replica is healthy.
+     *
+     * @param now  The current value of {@link System#nanoTime()}.
+     * @return  {@code true} if this replica is not ejected.
+     */
+    private boolean isHealthy(final long now)
+    {
+      return !ejected || now - ejectedUntilNanos >= 0;
+    }
+
+    /**
+     * Computes the cost of sending a request to this replica.
+     *
+     * @param strategy  The strategy of the balancer.
+     * @return  The cost, where lower is better.
+     */
+    private double cost(@NotNull final Strategy strategy)
+    {
+      int load = outstanding.get();
+      if (strategy == Strategy.LEAST_OUTSTANDING)
+      {
+        return load;
+      }
+      synchronized (this)
+      {
+        return ewmaNanos * (load + 1);
+      }
+    }
+  }
+}
@@ -0,0 +1,954 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.client.requests.SearchRequestBuilder;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.ListResponse;
+import com.unboundid.scim2.common.messages.SortOrder;
+
+import jakarta.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A client-side utility that exports all resources of an endpoint by running
+ * several searches concurrently. The result set is split into partitions, each
+ * described by a {@link Filter}, and every partition is paged through by its
+ * own search request. The resources of all partitions are merged into a single
+ * {@link SearchResultHandler}.
+ * <br><br>
+ *
+ * The partitions must together cover every resource that should be exported,
+ * and should not overlap, since a resource that matches two partitions is
+ * exported twice. The {@link #prefixPartitions} and
+ * {@link #lastModifiedPartitions} methods create common partitionings, and any
+ * other list of filters may be used as well. For example:
+ * <pre>
+ *   PartitionedExport export = new PartitionedExport(scimService, "Users",
+ *       PartitionedExport.idPrefixPartitions())
+ *       .parallelism(16)
+ *       .pageSize(500);
+ *   export.invoke(handler, UserResource.class);
+ * </pre>
+ *
+ * A page request that fails with an I/O error, a server error, or a
+ * {@code 429 Too Many Requests} response is retried before the export fails,
+ * and the pages of a partition that were already exported are not requested
+ * again. If the {@link ScimService} was created with a
+ * {@link com.unboundid.scim2.client.requests.ResiliencePolicy}, page requests
+ * are retried by the policy instead, so that its rate limit, backoff, and
+ * circuit breakers apply to the retries. The progress of every partition is
+ * available from {@link #getProgress()}, including while the export is
+ * running.
+ *
+ * @since 6.0.1
+ */
+public class PartitionedExport
+{
+  /**
+   * The lowercase hexadecimal digits, which are the first characters of
+   * identifiers such as UUIDs.
+   */
+  @NotNull
+  public static final String HEX_ALPHABET = "0123456789abcdef";
+
+  /**
+   * The default number of partitions that are exported concurrently.
+   */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /**
+   * The default number of results requested per page.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  /**
+   * The default number of attempts made for each page request.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /**
+   * The default delay before the first retry of a page request, in
+   * milliseconds. The delay doubles with every further retry.
+   */
+  public static final long DEFAULT_RETRY_DELAY_MILLIS = 1000L;
+
+  @NotNull
+  private final ScimService service;
+
+  @NotNull
+  private final String endpoint;
+
+  @NotNull
+  private final List<Partition> partitions = new ArrayList<>();
+
+  @Nullable
+  private Filter filter;
+
+  @Nullable
+  private String sortBy;
+
+  @Nullable
+  private SortOrder sortOrder;
+
+  @Nullable
+  private String[] attributes;
+
+  @Nullable
+  private String[] excludedAttributes;
+
+  private boolean useCursors;
+
+  private int parallelism = DEFAULT_PARALLELISM;
+
+  private int pageSize = DEFAULT_PAGE_SIZE;
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+  private long retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
+  /**
+   * Create a new partitioned export.
+   *
+   * @param service     The SCIM service to export from.
+   * @param endpoint    The resource endpoint, such as {@code /Users}.
+   * @param partitions  The filters that split the result set into partitions.
+   */
+  public PartitionedExport(@NotNull final ScimService service,
+                           @NotNull final String endpoint,
+                           @NotNull final List<Filter> partitions)
+  {
+    if (partitions.isEmpty())
+    {
+      throw new IllegalArgumentException("At least one partition is required");
+    }
+    this.service = service;
+    this.endpoint = endpoint;
+    for (Filter partition : partitions)
+    {
+      this.partitions.add(new Partition(partition));
+    }
+  }
+
+  /**
+   * Creates partitions that match the values of an attribute by their first
+   * character, using a {@code sw} filter for each character of the alphabet.
+   * Resources whose value starts with a character that is not in the alphabet
+   * are not matched by any partition, so the alphabet must include every
+   * character that a value may start with.
+   *
+   * @param attributePath  The path of a single-valued string attribute.
+   * @param alphabet       The characters that the values may start with.
+   * @return The partition filters.
+   * @throws BadRequestException If the path could not be parsed.
+   */
+  @NotNull
+  public static List<Filter> prefixPartitions(
+      @NotNull final String attributePath,
+      @NotNull final String alphabet)
+      throws BadRequestException
+  {
+    List<Filter> filters = new ArrayList<>(alphabet.length());
+    for (int i = 0; i < alphabet.length(); i++)
+    {
+      filters.add(Filter.sw(attributePath, String.valueOf(alphabet.charAt(i))));
+    }
+    return filters;
+  }
+
+  /**
+   * Creates 16 partitions that match resources by the first character of their
+   * {@code id}, for service providers that assign lowercase hexadecimal
+   * identifiers such as UUIDs.
+   *
+   * @return The partition filters.
+   */
+  @NotNull
+  public static List<Filter> idPrefixPartitions()
+  {
+    try
+    {
+      return prefixPartitions("id", HEX_ALPHABET);
+    }
+    catch (BadRequestException e)
+    {
+      // This should never happen since the path is valid.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Creates partitions that match resources by equally sized ranges of their
+   * {@code meta.lastModified} attribute. The first partition also matches all
+   * resources modified before {@code start}, and the last partition also
+   * matches all resources modified after {@code end}. Resources without a
+   * {@code meta.lastModified} value are not matched by any partition.
+   *
+   * @param start  The start of the time range.
+   * @param end    The end of the time range, which must be after the start.
+   * @param count  The number of partitions to create.
+   * @return The partition filters.
+   */
+  @NotNull
+  public static List<Filter> lastModifiedPartitions(@NotNull final Date start,
+                                                    @NotNull final Date end,
+                                                    final int count)
+  {
+    if (count < 1 || !end.after(start))
+    {
+      throw new IllegalArgumentException(
+          "At least one partition and a non-empty time range are required");
+    }
+
+    try
+    {
+      String path = "meta.lastModified";
+      long span = end.getTime() - start.getTime();
+      List<Filter> filters = new ArrayList<>(count);
+      Date lower = null;
+      for (int i = 1; i <= count; i++)
+      {
+        Date upper = (i == count) ? null :
+            new Date(start.getTime() + span * i / count);
+        if (lower == null && upper == null)
+        {
+          filters.add(Filter.pr(path));
+        }
+        else if (lower == null)
+        {
+          filters.add(Filter.lt(path, upper));
+        }
+        else if (upper == null)
+        {
+          filters.add(Filter.ge(path, lower));
+        }
+        else
+        {
+          filters.add(Filter.and(Filter.ge(path, lower),
+                                 Filter.lt(path, upper)));
+        }
+        lower = upper;
+      }
+      return filters;
+    }
+    catch (BadRequestException e)
+    {
+      // This should never happen since the path is valid.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Restrict the export to resources that match a filter, in addition to the
+   * partition filters.
+   *
+   * @param filter  The filter, or {@code null} to export all resources.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport filter(@Nullable final Filter filter)
+  {
+    this.filter = filter;
+    return this;
+  }
+
+  /**
+   * Request sorting of the resources within each partition. Sorting keeps
+   * index-based pagination stable while resources are being modified.
+   *
+   * @param sortBy     The attribute used to order the resources.
+   * @param sortOrder  The order in which the sortBy parameter is applied.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport sort(@Nullable final String sortBy,
+                                @Nullable final SortOrder sortOrder)
+  {
+    this.sortBy = sortBy;
+    this.sortOrder = sortOrder;
+    return this;
+  }
+
+  /**
+   * Specifies the attributes to export.
+   *
+   * @param attributes  The attributes to export.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport attributes(@NotNull final String... attributes)
+  {
+    this.attributes = attributes;
+    this.excludedAttributes = null;
+    return this;
+  }
+
+  /**
+   * Specifies the attributes to exclude from the export.
+   *
+   * @param excludedAttributes  The attributes to exclude.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport excludedAttributes(
+      @NotNull final String... excludedAttributes)
+  {
+    this.excludedAttributes = excludedAttributes;
+    this.attributes = null;
+    return this;
+  }
+
+  /**
+   * Specifies whether each partition is paged through with cursor-based
+   * pagination as defined by
+   * <a href="https://datatracker.ietf.org/doc/html/rfc9865">RFC 9865</a>,
+   * instead of index-based pagination.
+   *
+   * @param useCursors  {@code true} to use cursor-based pagination.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport useCursors(final boolean useCursors)
+  {
+    this.useCursors = useCursors;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of partitions that are exported concurrently.
+   *
+   * @param parallelism  The maximum number of concurrent searches.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport parallelism(final int parallelism)
+  {
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("The parallelism must be positive");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Sets the number of results requested per page.
+   *
+   * @param pageSize  The desired maximum number of results per page.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport pageSize(final int pageSize)
+  {
+    if (pageSize < 1)
+    {
+      throw new IllegalArgumentException("The page size must be positive");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * Sets how often a failed page request is attempted before the export fails.
+   * These settings are ignored if the {@link ScimService} has a
+   * {@link com.unboundid.scim2.client.requests.ResiliencePolicy}, which
+   * retries the requests itself.
+   *
+   * @param maxAttempts       The maximum number of attempts for each page.
+   * @param retryDelayMillis  The delay before the first retry in milliseconds.
+   *                          The delay doubles with every further retry.
+   * @return This export.
+   */
+  @NotNull
+  public PartitionedExport retry(final int maxAttempts,
+                                 final long retryDelayMillis)
+  {
+    if (maxAttempts < 1 || retryDelayMillis < 0)
+    {
+      throw new IllegalArgumentException(
+          "At least one attempt and a non-negative delay are required");
+    }
+    this.maxAttempts = maxAttempts;
+    this.retryDelayMillis = retryDelayMillis;
+    return this;
+  }
+
+  /**
+   * Run the export. The partitions are exported concurrently, and every
+   * exported resource is passed to the handler. Calls to the handler are
+   * serialized, so it does not need to be thread-safe, but the resources of
+   * different partitions are interleaved. If the handler returns
+   * {@code false}, the export stops. Once all partitions are complete, the
+   * total number of exported resources is passed to
+   * {@link SearchResultHandler#totalResults}. The other methods of the handler
+   * are not called, since the merged result set has no pages.
+   *
+   * @param <T> The type of objects to return.
+   * @param resultHandler  The handler for the exported resources.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return The number of exported resources.
+   * @throws ProcessingException If a JAX-RS runtime exception occurred, or if
+   *                             the calling thread was interrupted.
+   * @throws ScimException If the SCIM service provider responded with an error.
+   */
+  public <T> long invoke(@NotNull final SearchResultHandler<T> resultHandler,
+                         @NotNull final Class<T> cls)
+      throws ScimException
+  {
+    for (Partition partition : partitions)
+    {
+      partition.reset();
+    }
+
+    Merger<T> merger = new Merger<>(resultHandler);
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(parallelism, partitions.size()));
+    try
+    {
+      CompletionService<Void> completion =
+          new ExecutorCompletionService<>(executor);
+      for (Partition partition : partitions)
+      {
+        completion.submit(() -> {
+          exportPartition(partition, merger, cls);
+          return null;
+        });
+      }
+
+      for (int i = 0; i < partitions.size(); i++)
+      {
+        completion.take().get();
+      }
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      merger.stopped.set(true);
+      throw new ProcessingException(e);
+    }
+    catch (ExecutionException e)
+    {
+      merger.stopped.set(true);
+      Throwable cause = e.getCause();
+      if (cause instanceof ScimException scimException)
+      {
+        throw scimException;
+      }
+      if (cause instanceof RuntimeException runtimeException)
+      {
+        throw runtimeException;
+      }
+      throw new ProcessingException(cause);
+    }
+    finally
+    {
+      executor.shutdownNow();
+      for (Partition partition : partitions)
+      {
+        partition.state.compareAndSet(
+            PartitionState.RUNNING, PartitionState.CANCELLED);
+        partition.state.compareAndSet(
+            PartitionState.PENDING, PartitionState.CANCELLED);
+      }
+    }
+
+    long total = merger.exported.get();
+    resultHandler.totalResults((int) Math.min(total, Integer.MAX_VALUE));
+    return total;
+  }
+
+  /**
+   * Returns the progress of every partition, in the order that the partitions
+   * were provided. This may be called while the export is running.
+   *
+   * @return The progress of every partition.
+   */
+  @NotNull
+  public List<PartitionProgress> getProgress()
+  {
+    List<PartitionProgress> progress = new ArrayList<>(partitions.size());
+    for (Partition partition : partitions)
+    {
+      progress.add(partition.snapshot());
+    }
+    return progress;
+  }
+
+  /**
+   * Page through a single partition and pass its resources to the merger.
+   *
+   * @param <T> The type of objects to return.
+   * @param partition  The partition to export.
+   * @param merger     The merger of the partitions.
+   * @param cls  The Java class object used to determine the type to return.
+   * @throws ScimException If the SCIM service provider responded with an error.
+   * @throws InterruptedException If the export was cancelled.
+   */
+  private <T> void exportPartition(@NotNull final Partition partition,
+                                   @NotNull final Merger<T> merger,
+                                   @NotNull final Class<T> cls)
+      throws ScimException, InterruptedException
+  {
+    partition.state.set(PartitionState.RUNNING);
+    Filter partitionFilter = (filter == null) ? partition.filter :
+        Filter.and(filter, partition.filter);
+    int startIndex = 1;
+    String cursor = useCursors ? "" : null;
+    try
+    {
+      while (!merger.stopped.get())
+      {
+        ListResponse<T> page =
+            fetchPage(partition, partitionFilter, startIndex, cursor, cls);
+        partition.pages.incrementAndGet();
+        partition.totalResults.set(page.getTotalResults());
+
+        List<T> resources = page.getResources();
+        if (!merger.accept(resources))
+        {
+          break;
+        }
+        partition.exported.addAndGet(resources.size());
+
+        if (cursor != null)
+        {
+          cursor = page.getNextCursor();
+          if (cursor == null)
+          {
+            break;
+          }
+        }
+        else
+        {
+          // The service provider may return fewer results than requested.
+          startIndex += resources.size();
+          if (resources.isEmpty() || startIndex > page.getTotalResults())
+          {
+            break;
+          }
+        }
+      }
+      partition.state.set(merger.stopped.get() ?
+          PartitionState.CANCELLED : PartitionState.COMPLETE);
+    }
+    catch (ScimException | RuntimeException | InterruptedException e)
+    {
+      partition.state.set(merger.stopped.get() ?
+          PartitionState.CANCELLED : PartitionState.FAILED);
+      throw e;
+    }
+  }
+
+  /**
+   * Request a single page of a partition, retrying the request if it fails
+   * with an error that may be transient.
+   *
+   * @param <T> The type of objects to return.
+   * @param partition        The partition that is exported.
+   * @param partitionFilter  The filter of the partition.
+   * @param startIndex       The index of the first result of the page.
+   * @param cursor           The cursor of the page, or {@code null} if
+   *                         index-based pagination is used.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return The page.
+   * @throws ScimException If the SCIM service provider responded with an error.
+   * @throws InterruptedException If the export was cancelled.
+   */
+  @NotNull
+  private <T> ListResponse<T> fetchPage(@NotNull final Partition partition,
+                                        @NotNull final Filter partitionFilter,
+                                        final int startIndex,
+                                        @Nullable final String cursor,
+                                        @NotNull final Class<T> cls)
+      throws ScimException, InterruptedException
+  {
+    // A resilience policy already retries the request.
+    int attempts = service.getResiliencePolicy() == null ? maxAttempts : 1;
+    for (int attempt = 1; ; attempt++)
+    {
+      SearchRequestBuilder request =
+          service.searchRequest(endpoint).filter(partitionFilter);
+      if (sortBy != null)
+      {
+        request.sort(sortBy, sortOrder);
+      }
+      if (attributes != null)
+      {
+        request.attributes(attributes);
+      }
+      if (excludedAttributes != null)
+      {
+        request.excludedAttributes(excludedAttributes);
+      }
+      if (cursor != null)
+      {
+        request.pageWithCursor(cursor, pageSize);
+      }
+      else
+      {
+        request.page(startIndex, pageSize);
+      }
+
+      try
+      {
+        return request.invoke(cls);
+      }
+      catch (ScimException | ProcessingException e)
+      {
+        if (attempt >= attempts || !isRetryable(e))
+        {
+          throw e;
+        }
+        partition.retries.incrementAndGet();
+        Thread.sleep(retryDelayMillis << Math.min(attempt - 1, 20));
+      }
+    }
+  }
+
+  /**
+   * Indicates whether a failed page request may succeed when it is retried.
+   * Server errors, {@code 429 Too Many Requests} responses, and I/O errors
+   * are retried. Other processing errors, such as a response that cannot be
+   * parsed, are not, since they would fail again.
+   *
+   * @param e  The exception of the failed request.
+   * @return {@code true} if the request should be retried.
+   */
+  private static boolean isRetryable(@NotNull final Exception e)
+  {
+    if (e instanceof ScimException scimException)
+    {
+      Integer status = scimException.getScimError().getStatus();
+      return status != null && (status >= 500 || status == 429);
+    }
+    for (Throwable cause = e.getCause(); cause != null;
+         cause = cause.getCause())
+    {
+      if (cause instanceof IOException)
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The state of a partition of an export.
+   */
+  public enum PartitionState
+  {
+    /**
+     * The partition has not been started.
+     */
+    PENDING,
+
+    /**
+     * The partition is being exported.
+     */
+    RUNNING,
+
+    /**
+     * All resources of the partition have been exported.
+     */
+    COMPLETE,
+
+    /**
+     * The export of the partition failed.
+     */
+    FAILED,
+
+    /**
+     * The export was stopped before the partition was complete.
+     */
+    CANCELLED
+  }
+
+  /**
+   * A snapshot of the progress of a partition of an export.
+   */
+  public static final class PartitionProgress
+  {
+    @NotNull
+    private final Filter filter;
+
+    @NotNull
+    private final PartitionState state;
+
+    private final int totalResults;
+
+    private final long resourcesExported;
+
+    private final long pagesRetrieved;
+
+    private final long retries;
+
+    /**
+     * Create a new snapshot of the progress of a partition.
+     *
+     * @param filter             The filter of the partition.
+     * @param state              The state of the partition.
+     * @param totalResults       The number of resources in the partition.
+     * @param resourcesExported  The number of exported resources.
+     * @param pagesRetrieved     The number of retrieved pages.
+     * @param retries            The number of retried page requests.
+     */
+    private PartitionProgress(@NotNull final Filter filter,
+                              @NotNull final PartitionState state,
+                              final int totalResults,
+                              final long resourcesExported,
+                              final long pagesRetrieved,
+                              final long retries)
+    {
+      this.filter = filter;
+      this.state = state;
+      this.totalResults = totalResults;
+      this.resourcesExported = resourcesExported;
+      this.pagesRetrieved = pagesRetrieved;
+      this.retries = retries;
+    }
+
+    /**
+     * Retrieves the filter of the partition.
+     *
+     * @return The filter of the partition.
+     */
+    @NotNull
+    public Filter getFilter()
+    {
+      return filter;
+    }
+
+    /**
+     * Retrieves the state of the partition.
+     *
+     * @return The state of the partition.
+     */
+    @NotNull
+    public PartitionState getState()
+    {
+      return state;
+    }
+
+    /**
+     * Retrieves the number of resources in the partition, as reported by the
+     * service provider in the most recent page.
+     *
+     * @return The number of resources in the partition, or {@code -1} if no
+     *         page has been retrieved yet.
+     */
+    public int getTotalResults()
+    {
+      return totalResults;
+    }
+
+    /**
+     * Retrieves the number of resources of the partition that have been
+     * exported.
+     *
+     * @return The number of exported resources.
+     */
+    public long getResourcesExported()
+    {
+      return resourcesExported;
+    }
+
+    /**
+     * Retrieves the number of pages of the partition that have been retrieved.
+     *
+     * @return The number of retrieved pages.
+     */
+    public long getPagesRetrieved()
+    {
+      return pagesRetrieved;
+    }
+
+    /**
+     * Retrieves the number of page requests of the partition that were
+     * retried.
+     *
+     * @return The number of retried page requests.
+     */
+    public long getRetries()
+    {
+      return retries;
+    }
+
+    /**
+     * Retrieves a string representation of this progress.
+     *
+     * @return A string representation of this progress.
+     */
+    @Override
+    @NotNull
+    public String toString()
+    {
+      return "PartitionProgress{" +
+          "filter=" + filter +
+          ", state=" + state +
+          ", totalResults=" + totalResults +
+          ", resourcesExported=" + resourcesExported +
+          ", pagesRetrieved=" + pagesRetrieved +
+          ", retries=" + retries +
+          '}';
+    }
+  }
+
+  /**
+   * The progress counters of a partition.
+   */
+  private static final class Partition
+  {
+    @NotNull
+    private final Filter filter;
+
+    @NotNull
+    private final AtomicReference<PartitionState> state =
+        new AtomicReference<>();
+
+    @NotNull
+    private final AtomicInteger totalResults = new AtomicInteger();
+
+    @NotNull
+    private final AtomicLong exported = new AtomicLong();
+
+    @NotNull
+    private final AtomicLong pages = new AtomicLong();
+
+    @NotNull
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Create the counters of a partition.
+     *
+     * @param filter  The filter of the partition.
+     */
+    private Partition(@NotNull final Filter filter)
+    {
+      this.filter = filter;
+      reset();
+    }
+
+    /**
+     * Reset the counters before an export.
+     */
+    private void reset()
+    {
+      state.set(PartitionState.PENDING);
+      totalResults.set(-1);
+      exported.set(0);
+      pages.set(0);
+      retries.set(0);
+    }
+
+    /**
+     * Take a snapshot of the counters.
+     *
+     * @return The snapshot.
+     */
+    @NotNull
+    private PartitionProgress snapshot()
+    {
+      return new PartitionProgress(filter, state.get(), totalResults.get(),
+          exported.get(), pages.get(), retries.get());
+    }
+  }
+
+  /**
+   * Serializes the delivery of the resources of all partitions to the result
+   * handler.
+   *
+   * @param <T> The type of the resources.
+   */
+  private static final class Merger<T>
+  {
+    @NotNull
+    private final SearchResultHandler<T> resultHandler;
+
+    @NotNull
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    @NotNull
+    private final AtomicLong exported = new AtomicLong();
+
+    /**
+     * Create a new merger.
+     *
+     * @param resultHandler  The handler for the exported resources.
+     */
+    private Merger(@NotNull final SearchResultHandler<T> resultHandler)
+    {
+      this.resultHandler = resultHandler;
+    }
+
+    /**
+     * Pass a page of resources to the result handler.
+     *
+     * @param resources  The resources of the page.
+     * @return {@code false} if the export has been stopped.
+     */
+    private synchronized boolean accept(@NotNull final List<T> resources)
+    {
+      for (T resource : resources)
+      {
+        if (stopped.get())
+        {
+          return false;
+        }
+        exported.incrementAndGet();
+        if (!resultHandler.resource(resource))
+        {
+          stopped.set(true);
+          return false;
+        }
+      }
+      return !stopped.get();
+    }
+  }
+}
@@ -37,6 +37,7 @@ import com.unboundid.scim2.client.requests.CreateRequestBuilder;
 import com.unboundid.scim2.client.requests.DeleteRequestBuilder;
 import com.unboundid.scim2.client.requests.ModifyRequestBuilder;
 import com.unboundid.scim2.client.requests.ReplaceRequestBuilder;
+import com.unboundid.scim2.client.requests.ResiliencePolicy;
 import com.unboundid.scim2.client.requests.RetrieveRequestBuilder;
 import com.unboundid.scim2.client.requests.SearchRequestBuilder;
 import com.unboundid.scim2.common.ScimResource;
@@ -89,6 +90,9 @@ public class ScimService implements ScimInterface
   @Nullable
   private volatile ServiceProviderConfigResource serviceProviderConfig;
 
+  @Nullable
+  private volatile DiscoveryCache discoveryCache;
+
   /**
    * Create a new client instance to the SCIM 2 service provider at the
    * provided WebTarget. The path of the WebTarget should be the base URI
@@ -103,6 +107,100 @@ public class ScimService implements ScimInterface
     this.baseTarget = baseTarget.register(new JacksonJsonProvider(mapper));
   }
 
+  /**
+   * Create a new client instance to the SCIM 2 service provider at the
+   * provided WebTarget, whose requests are rate limited, retried, and guarded
+   * by circuit breakers according to the provided policy. The path of the
+   * WebTarget should be the base URI SCIM 2 service (i.e.,
+   * {@code https://host/scim/v2}).
+   *
+   * @param baseTarget The web target for the base URI of the SCIM 2 service
+   *                   provider.
+   * @param policy     The resilience policy for all requests of this client.
+   *
+   * @since 6.0.1
+   */
+  public ScimService(@NotNull final WebTarget baseTarget,
+                     @NotNull final ResiliencePolicy policy)
+  {
+    this(baseTarget.property(ResiliencePolicy.PROPERTY, policy));
+  }
+
+  /**
+   * Retrieve the base URI of the SCIM service provider.
+   *
+   * @return The base URI, such as {@code https://host/scim/v2}.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public URI getBaseUri()
+  {
+    return baseTarget.getUri();
+  }
+
+  /**
+   * Retrieve the resilience policy of the requests of this client.
+   *
+   * @return The resilience policy, or {@code null} if the requests of this
+   *         client have no policy.
+   *
+   * @since 6.0.1
+   */
+  @Nullable
+  public ResiliencePolicy getResiliencePolicy()
+  {
+    return (baseTarget.getConfiguration().getProperty(ResiliencePolicy.PROPERTY)
+        instanceof ResiliencePolicy policy) ? policy : null;
+  }
+
+  /**
+   * Enable caching of the discovery information of the service provider.
+   * The service provider configuration, resource types, and schemas are
+   * retrieved concurrently, and the discovery methods of this client are
+   * answered from the cache from then on. The cache is refreshed in the
+   * background at the provided interval. Any previously enabled cache is
+   * closed. The discovery resources returned from the cache are shared, and
+   * must not be modified.
+   *
+   * @param refreshIntervalMillis  The interval at which the cache is refreshed
+   *                               in the background, in milliseconds. A value
+   *                               of {@code 0} disables background refreshes.
+   * @return  The discovery cache, which also provides the definitions of the
+   *          attributes of each resource type.
+   * @throws ScimException if the discovery information could not be
+   *                       retrieved.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public synchronized DiscoveryCache enableDiscoveryCache(
+      final long refreshIntervalMillis)
+      throws ScimException
+  {
+    DiscoveryCache cache = new DiscoveryCache(this, refreshIntervalMillis);
+    DiscoveryCache previous = discoveryCache;
+    discoveryCache = cache;
+    if (previous != null)
+    {
+      previous.close();
+    }
+    return cache;
+  }
+
+  /**
+   * Retrieve the discovery cache of this client.
+   *
+   * @return The discovery cache, or {@code null} if it has not been enabled.
+   *
+   * @since 6.0.1
+   */
+  @Nullable
+  public DiscoveryCache getDiscoveryCache()
+  {
+    return discoveryCache;
+  }
+
   /**
    * Retrieve the service provider configuration.
    *
@@ -113,6 +211,11 @@ public class ScimService implements ScimInterface
   public ServiceProviderConfigResource getServiceProviderConfig()
       throws ScimException
   {
+    DiscoveryCache cache = discoveryCache;
+    if (cache != null)
+    {
+      return cache.getServiceProviderConfig();
+    }
     if (serviceProviderConfig == null)
     {
       serviceProviderConfig = retrieve(
@@ -132,6 +235,11 @@ public class ScimService implements ScimInterface
   public ListResponse<ResourceTypeResource> getResourceTypes()
       throws ScimException
   {
+    DiscoveryCache cache = discoveryCache;
+    if (cache != null)
+    {
+      return new ListResponse<>(cache.getResourceTypes());
+    }
     return searchRequest(RESOURCE_TYPES_ENDPOINT).
         invoke(ResourceTypeResource.class);
   }
@@ -147,6 +255,13 @@ public class ScimService implements ScimInterface
   public ResourceTypeResource getResourceType(@NotNull final String name)
       throws ScimException
   {
+    DiscoveryCache cache = discoveryCache;
+    ResourceTypeResource resourceType =
+        (cache == null) ? null : cache.getResourceType(name);
+    if (resourceType != null)
+    {
+      return resourceType;
+    }
     return retrieve(RESOURCE_TYPES_ENDPOINT, name, ResourceTypeResource.class);
   }
 
@@ -160,6 +275,11 @@ public class ScimService implements ScimInterface
   public ListResponse<SchemaResource> getSchemas()
       throws ScimException
   {
+    DiscoveryCache cache = discoveryCache;
+    if (cache != null)
+    {
+      return new ListResponse<>(cache.getSchemas());
+    }
     return searchRequest(SCHEMAS_ENDPOINT).invoke(SchemaResource.class);
   }
 
@@ -174,6 +294,12 @@ public class ScimService implements ScimInterface
   public SchemaResource getSchema(@NotNull final String id)
       throws ScimException
   {
+    DiscoveryCache cache = discoveryCache;
+    SchemaResource schema = (cache == null) ? null : cache.getSchema(id);
+    if (schema != null)
+    {
+      return schema;
+    }
     return retrieve(SCHEMAS_ENDPOINT, id, SchemaResource.class);
   }
 
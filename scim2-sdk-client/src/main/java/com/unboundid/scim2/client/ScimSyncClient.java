@@ -0,0 +1,832 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.client;
+
+import com.unboundid.scim2.client.requests.SearchRequestBuilder;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.exceptions.NotImplementedException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.ListResponse;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.utils.DateTimeUtils;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A client-side utility that synchronizes the resources of an endpoint
+ * incrementally. Each call to {@link #sync} retrieves only the resources that
+ * were created or modified since the previous call, in the order of their
+ * {@code meta.lastModified} values, and passes them to a
+ * {@link ChangeHandler}.
+ * <br><br>
+ *
+ * The progress of the synchronization is kept as a {@link Watermark} for each
+ * endpoint in a {@link WatermarkStore}, such as the file created by
+ * {@link #fileStore}. The watermark records the latest
+ * {@code meta.lastModified} value that was handled, and the resources that
+ * were handled at that time. A search for resources modified at or after the
+ * watermark therefore returns the resources that share its timestamp again,
+ * and these are skipped, so that no resource is missed or reported twice
+ * because another resource was modified at the same time. The watermark is
+ * stored after every page of results, so if a synchronization is interrupted,
+ * the next one resumes after the last complete page. Since a page may be
+ * handled again in that case, handlers should process changes idempotently.
+ * <br><br>
+ *
+ * Service providers that assign {@code meta.lastModified} values before a
+ * change becomes visible to searches, such as replicated deployments, may
+ * return a change with a timestamp that is older than the watermark. An
+ * overlap may be configured with {@link #overlap(long)} to search that much
+ * earlier than the watermark, and changes in the overlap that were already
+ * handled are skipped as well. For example:
+ * <pre>
+ *   ScimSyncClient sync = new ScimSyncClient(scimService,
+ *       ScimSyncClient.fileStore(Paths.get("scim-watermarks.json")))
+ *       .overlap(60_000L);
+ *   sync.sync("Users", UserResource.class, (type, user) -> {
+ *     directory.apply(type, user);
+ *     return true;
+ *   });
+ * </pre>
+ *
+ * Deleted resources no longer match any search, so deletions are not
+ * reported. The service provider must support sorting, and should support
+ * cursor-based pagination as defined by
+ * <a href="https://datatracker.ietf.org/doc/html/rfc9865">RFC 9865</a>. If it
+ * does not, {@link #useCursors(boolean)} switches to searches that restart at
+ * the latest timestamp of every page.
+ *
+ * @since 6.0.1
+ */
+public class ScimSyncClient
+{
+  /**
+   * The default number of results requested per page.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+
+  @NotNull
+  private static final String LAST_MODIFIED = "meta.lastModified";
+
+  @NotNull
+  private final ScimService service;
+
+  @NotNull
+  private final WatermarkStore store;
+
+  @Nullable
+  private Filter filter;
+
+  private int pageSize = DEFAULT_PAGE_SIZE;
+
+  private long overlapMillis;
+
+  private boolean useCursors = true;
+
+  /**
+   * Create a new synchronization client.
+   *
+   * @param service  The SCIM service to synchronize from.
+   * @param store    The store of the watermarks of the endpoints.
+   * @throws NotImplementedException If the service provider does not support
+   *                                 sorting.
+   * @throws ScimException If the service provider configuration could not be
+   *                       retrieved.
+   */
+  public ScimSyncClient(@NotNull final ScimService service,
+                        @NotNull final WatermarkStore store)
+      throws ScimException
+  {
+    if (!service.getServiceProviderConfig().getSort().isSupported())
+    {
+      throw new NotImplementedException(
+          "The service provider does not support sorting");
+    }
+    this.service = service;
+    this.store = store;
+  }
+
+  /**
+   * Restrict the synchronization to resources that match a filter. Since the
+   * filter determines which resources have been handled, the watermarks of
+   * different filters are stored separately.
+   *
+   * @param filter  The filter, or {@code null} to synchronize all resources.
+   * @return This synchronization client.
+   */
+  @NotNull
+  public ScimSyncClient filter(@Nullable final Filter filter)
+  {
+    this.filter = filter;
+    return this;
+  }
+
+  /**
+   * Set the number of results requested per page. The default is
+   * {@value #DEFAULT_PAGE_SIZE}.
+   *
+   * @param pageSize  The number of results requested per page.
+   * @return This synchronization client.
+   */
+  @NotNull
+  public ScimSyncClient pageSize(final int pageSize)
+  {
+    if (pageSize < 1)
+    {
+      throw new IllegalArgumentException("The page size must be positive");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * Set how much earlier than the watermark a synchronization starts. Changes
+   * in the overlap that were already handled are not reported again. The
+   * default is no overlap.
+   *
+   * @param overlapMillis  The overlap in milliseconds.
+   * @return This synchronization client.
+   */
+  @NotNull
+  public ScimSyncClient overlap(final long overlapMillis)
+  {
+    if (overlapMillis < 0)
+    {
+      throw new IllegalArgumentException("The overlap must not be negative");
+    }
+    this.overlapMillis = overlapMillis;
+    return this;
+  }
+
+  /**
+   * Set whether pages are requested with cursors, which is the default.
+   * Otherwise, every page is requested with a new search for the resources
+   * modified at or after the latest timestamp of the previous page.
+   *
+   * @param useCursors  Whether pages are requested with cursors.
+   * @return This synchronization client.
+   */
+  @NotNull
+  public ScimSyncClient useCursors(final boolean useCursors)
+  {
+    this.useCursors = useCursors;
+    return this;
+  }
+
+  /**
+   * Retrieves the watermark of an endpoint.
+   *
+   * @param endpoint  The resource endpoint, such as {@code /Users}.
+   * @return The watermark, or {@code null} if the endpoint has not been
+   *         synchronized yet.
+   */
+  @Nullable
+  public Watermark getWatermark(@NotNull final String endpoint)
+  {
+    return store.load(key(endpoint));
+  }
+
+  /**
+   * Removes the watermark of an endpoint, so that the next synchronization
+   * reports every resource.
+   *
+   * @param endpoint  The resource endpoint, such as {@code /Users}.
+   */
+  public void reset(@NotNull final String endpoint)
+  {
+    store.remove(key(endpoint));
+  }
+
+  /**
+   * Retrieves the resources of an endpoint that were created or modified
+   * since the previous synchronization, and passes them to a handler in the
+   * order of their {@code meta.lastModified} values.
+   *
+   * @param <T> The Java type of the resources.
+   * @param endpoint  The resource endpoint, such as {@code /Users}.
+   * @param cls  The Java class object used to determine the type to return.
+   * @param handler  The handler for the changed resources.
+   * @return The number of changes passed to the handler.
+   * @throws ScimException If the SCIM service provider responded with an error.
+   */
+  public <T extends ScimResource> long sync(
+      @NotNull final String endpoint,
+      @NotNull final Class<T> cls,
+      @NotNull final ChangeHandler<T> handler)
+      throws ScimException
+  {
+    String key = key(endpoint);
+    Watermark previous = store.load(key);
+    Progress progress = new Progress(previous, overlapMillis);
+    Date since = (previous == null) ? null :
+        new Date(previous.getLastModified().getTime() - overlapMillis);
+
+    String cursor = useCursors ? "" : null;
+    int startIndex = 1;
+    while (true)
+    {
+      ListResponse<T> page =
+          fetchPage(endpoint, since, startIndex, cursor, cls);
+      long newestBefore = progress.newest;
+      boolean stopped = !progress.handle(page.getResources(), handler);
+      if (progress.newest != Long.MIN_VALUE)
+      {
+        store.save(key, progress.toWatermark());
+      }
+      if (stopped || page.getResources().isEmpty())
+      {
+        break;
+      }
+
+      if (cursor != null)
+      {
+        cursor = page.getNextCursor();
+        if (cursor == null)
+        {
+          break;
+        }
+      }
+      else if (progress.newest > newestBefore)
+      {
+        // Restart at the latest timestamp, whose resources are skipped.
+        since = new Date(progress.newest);
+        startIndex = 1;
+      }
+      else
+      {
+        // No resource of the page is newer than the previous pages, such as
+        // when the page is full of resources with the same timestamp, or of
+        // resources in the overlap that were already handled. Continue with
+        // the next page of the same search.
+        startIndex += page.getResources().size();
+        if (startIndex > page.getTotalResults())
+        {
+          break;
+        }
+      }
+    }
+    return progress.changes;
+  }
+
+  /**
+   * Creates a watermark store that keeps the watermarks in memory.
+   *
+   * @return The watermark store.
+   */
+  @NotNull
+  public static WatermarkStore inMemoryStore()
+  {
+    Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+    return new WatermarkStore()
+    {
+      @Override
+      @Nullable
+      public Watermark load(@NotNull final String key)
+      {
+        return watermarks.get(key);
+      }
+
+      @Override
+      public void save(@NotNull final String key,
+                       @NotNull final Watermark watermark)
+      {
+        watermarks.put(key, watermark);
+      }
+
+      @Override
+      public void remove(@NotNull final String key)
+      {
+        watermarks.remove(key);
+      }
+    };
+  }
+
+  /**
+   * Creates a watermark store that keeps the watermarks of all endpoints in a
+   * JSON file. The file is replaced atomically whenever a watermark is saved.
+   *
+   * @param file  The file, which is created if it does not exist.
+   * @return The watermark store.
+   */
+  @NotNull
+  public static WatermarkStore fileStore(
+      @NotNull final java.nio.file.Path file)
+  {
+    return new FileWatermarkStore(file);
+  }
+
+  /**
+   * Request a single page of changed resources.
+   *
+   * @param <T> The Java type of the resources.
+   * @param endpoint    The resource endpoint.
+   * @param since       The earliest {@code meta.lastModified} value to return,
+   *                    or {@code null} to return all resources.
+   * @param startIndex  The index of the first result of the page.
+   * @param cursor      The cursor of the page, or {@code null} if cursors are
+   *                    not used.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return The page.
+   * @throws ScimException If the SCIM service provider responded with an error.
+   */
+  @NotNull
+  private <T> ListResponse<T> fetchPage(@NotNull final String endpoint,
+                                        @Nullable final Date since,
+                                        final int startIndex,
+                                        @Nullable final String cursor,
+                                        @NotNull final Class<T> cls)
+      throws ScimException
+  {
+    Filter changed;
+    try
+    {
+      changed = (since == null) ? Filter.pr(LAST_MODIFIED) :
+          Filter.ge(LAST_MODIFIED, since);
+    }
+    catch (BadRequestException e)
+    {
+      // This should never happen since the path is valid.
+      throw new IllegalStateException(e);
+    }
+
+    SearchRequestBuilder request = service.searchRequest(endpoint)
+        .filter((filter == null) ? changed : Filter.and(filter, changed))
+        .sort(LAST_MODIFIED, SortOrder.ASCENDING);
+    if (cursor != null)
+    {
+      request.pageWithCursor(cursor, pageSize);
+    }
+    else
+    {
+      request.page(startIndex, pageSize);
+    }
+    return request.invoke(cls);
+  }
+
+  /**
+   * Creates the key of the watermark of an endpoint.
+   *
+   * @param endpoint  The resource endpoint.
+   * @return The key, which includes the filter of this client.
+   */
+  @NotNull
+  private String key(@NotNull final String endpoint)
+  {
+    String path = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+    return (filter == null) ? path : path + "?filter=" + filter;
+  }
+
+  /**
+   * The kinds of changes.
+   */
+  public enum ChangeType
+  {
+    /**
+     * The resource was created since the previous synchronization, or this is
+     * the first synchronization of the endpoint.
+     */
+    CREATED,
+
+    /**
+     * The resource was modified since the previous synchronization.
+     */
+    MODIFIED
+  }
+
+  /**
+   * A handler for the changes that are found by a synchronization.
+   *
+   * @param <T> The Java type of the resources.
+   */
+  @FunctionalInterface
+  public interface ChangeHandler<T extends ScimResource>
+  {
+    /**
+     * Handle a changed resource.
+     *
+     * @param type      The kind of change.
+     * @param resource  The changed resource.
+     * @return {@code true} to continue the synchronization, or {@code false}
+     *         to stop it after this resource.
+     */
+    boolean change(@NotNull ChangeType type, @NotNull T resource);
+  }
+
+  /**
+   * A store of the watermarks of endpoints. Implementations must be
+   * thread-safe.
+   */
+  public interface WatermarkStore
+  {
+    /**
+     * Load a watermark.
+     *
+     * @param key  The key of the watermark.
+     * @return The watermark, or {@code null} if there is none.
+     */
+    @Nullable
+    Watermark load(@NotNull String key);
+
+    /**
+     * Save a watermark, replacing any previous watermark with the same key.
+     *
+     * @param key  The key of the watermark.
+     * @param watermark  The watermark.
+     */
+    void save(@NotNull String key, @NotNull Watermark watermark);
+
+    /**
+     * Remove a watermark.
+     *
+     * @param key  The key of the watermark.
+     */
+    void remove(@NotNull String key);
+  }
+
+  /**
+   * The progress of the synchronization of an endpoint. It consists of the
+   * latest {@code meta.lastModified} value that was handled, and the
+   * {@code meta.lastModified} values of the resources that were handled at or
+   * within the overlap before that time.
+   */
+  public static final class Watermark
+  {
+    @NotNull
+    private final Date lastModified;
+
+    @NotNull
+    private final Map<String, Long> recent;
+
+    /**
+     * Create a new watermark.
+     *
+     * @param lastModified  The latest {@code meta.lastModified} value that was
+     *                      handled.
+     * @param recent  The {@code meta.lastModified} values, in milliseconds
+     *                since the epoch, of the recently handled resources by
+     *                their IDs.
+     */
+    public Watermark(@NotNull final Date lastModified,
+                     @NotNull final Map<String, Long> recent)
+    {
+      this.lastModified = new Date(lastModified.getTime());
+      this.recent = Map.copyOf(recent);
+    }
+
+    /**
+     * Retrieves the latest {@code meta.lastModified} value that was handled.
+     *
+     * @return The latest {@code meta.lastModified} value that was handled.
+     */
+    @NotNull
+    public Date getLastModified()
+    {
+      return new Date(lastModified.getTime());
+    }
+
+    /**
+     * Retrieves the {@code meta.lastModified} values of the recently handled
+     * resources.
+     *
+     * @return The {@code meta.lastModified} values, in milliseconds since the
+     *         epoch, by resource ID.
+     */
+    @NotNull
+    public Map<String, Long> getRecent()
+    {
+      return recent;
+    }
+
+    /**
+     * Converts this watermark to JSON, such as for a custom
+     * {@link WatermarkStore}.
+     *
+     * @return The JSON form of this watermark.
+     */
+    @NotNull
+    public ObjectNode toJson()
+    {
+      ObjectNode node = JsonUtils.getJsonNodeFactory().objectNode();
+      node.put("lastModified", DateTimeUtils.format(lastModified));
+      ObjectNode recentNode = node.putObject("recent");
+      for (Map.Entry<String, Long> entry : recent.entrySet())
+      {
+        recentNode.put(entry.getKey(),
+            DateTimeUtils.format(new Date(entry.getValue())));
+      }
+      return node;
+    }
+
+    /**
+     * Creates a watermark from its JSON form.
+     *
+     * @param node  The JSON form of the watermark.
+     * @return The watermark.
+     * @throws IllegalArgumentException If the JSON is not a valid watermark.
+     */
+    @NotNull
+    public static Watermark fromJson(@NotNull final JsonNode node)
+        throws IllegalArgumentException
+    {
+      JsonNode lastModified = node.get("lastModified");
+      if (lastModified == null || !lastModified.isString())
+      {
+        throw new IllegalArgumentException("The watermark has no lastModified");
+      }
+      Map<String, Long> recent = new HashMap<>();
+      JsonNode recentNode = node.path("recent");
+      for (Map.Entry<String, JsonNode> entry : recentNode.properties())
+      {
+        recent.put(entry.getKey(),
+            DateTimeUtils.parse(entry.getValue().asString()).getTimeInMillis());
+      }
+      return new Watermark(
+          DateTimeUtils.parse(lastModified.asString()).getTime(), recent);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull
+    public String toString()
+    {
+      return toJson().toString();
+    }
+  }
+
+  /**
+   * The progress of a single synchronization.
+   */
+  private static final class Progress
+  {
+    @Nullable
+    private final Watermark previous;
+
+    private final long overlapMillis;
+
+    @NotNull
+    private final Map<String, Long> handled;
+
+    private long newest = Long.MIN_VALUE;
+
+    private long changes;
+
+    /**
+     * Create the progress of a synchronization.
+     *
+     * @param previous  The watermark of the previous synchronization, if any.
+     * @param overlapMillis  The overlap in milliseconds.
+     */
+    private Progress(@Nullable final Watermark previous,
+                     final long overlapMillis)
+    {
+      this.previous = previous;
+      this.overlapMillis = overlapMillis;
+      this.handled = (previous == null) ?
+          new HashMap<>() : new HashMap<>(previous.getRecent());
+      if (previous != null)
+      {
+        newest = previous.getLastModified().getTime();
+      }
+    }
+
+    /**
+     * Pass the changed resources of a page to a handler, skipping the
+     * resources that were already handled.
+     *
+     * @param <T> The Java type of the resources.
+     * @param resources  The resources of the page.
+     * @param handler  The handler.
+     * @return {@code false} if the handler stopped the synchronization.
+     */
+    private <T extends ScimResource> boolean handle(
+        @NotNull final Iterable<T> resources,
+        @NotNull final ChangeHandler<T> handler)
+    {
+      for (T resource : resources)
+      {
+        Meta meta = resource.getMeta();
+        Calendar lastModified = (meta == null) ? null : meta.getLastModified();
+        if (lastModified != null && resource.getId() != null)
+        {
+          long time = lastModified.getTimeInMillis();
+          Long handledTime = handled.put(resource.getId(), time);
+          if (handledTime != null && handledTime == time)
+          {
+            continue;
+          }
+          newest = Math.max(newest, time);
+        }
+
+        changes++;
+        if (!handler.change(typeOf(resource), resource))
+        {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Determines the kind of a change. A resource is new if it was not
+     * handled before, and was created within the overlap of the previous
+     * watermark or later.
+     *
+     * @param resource  The changed resource.
+     * @return The kind of change.
+     */
+    @NotNull
+    private ChangeType typeOf(@NotNull final ScimResource resource)
+    {
+      Meta meta = resource.getMeta();
+      Calendar created = (meta == null) ? null : meta.getCreated();
+      if (previous == null || created == null)
+      {
+        return ChangeType.CREATED;
+      }
+      long since = previous.getLastModified().getTime() - overlapMillis;
+      if (created.getTimeInMillis() >= since &&
+          !previous.getRecent().containsKey(resource.getId()))
+      {
+        return ChangeType.CREATED;
+      }
+      return ChangeType.MODIFIED;
+    }
+
+    /**
+     * Creates the watermark of the resources handled so far. Resources that
+     * were modified before the overlap are forgotten.
+     *
+     * @return The watermark.
+     */
+    @NotNull
+    private Watermark toWatermark()
+    {
+      handled.values().removeIf(time -> time < newest - overlapMillis);
+      return new Watermark(new Date(newest), handled);
+    }
+  }
+
+  /**
+   * A watermark store that keeps the watermarks in a JSON file.
+   */
+  private static final class FileWatermarkStore implements WatermarkStore
+  {
+    @NotNull
+    private final java.nio.file.Path file;
+
+    /**
+     * Create a new file watermark store.
+     *
+     * @param file  The file.
+     */
+    private FileWatermarkStore(@NotNull final java.nio.file.Path file)
+    {
+      this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public synchronized Watermark load(@NotNull final String key)
+    {
+      JsonNode watermark = read().get(key);
+      return (watermark == null) ? null : Watermark.fromJson(watermark);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void save(@NotNull final String key,
+                                  @NotNull final Watermark watermark)
+    {
+      ObjectNode watermarks = read();
+      watermarks.set(key, watermark.toJson());
+      write(watermarks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void remove(@NotNull final String key)
+    {
+      ObjectNode watermarks = read();
+      if (watermarks.remove(key) != null)
+      {
+        write(watermarks);
+      }
+    }
+
+    /**
+     * Read the watermarks from the file.
+     *
+     * @return The watermarks by key.
+     * @throws UncheckedIOException If the file could not be read.
+     */
+    @NotNull
+    private ObjectNode read() throws UncheckedIOException
+    {
+      if (!Files.exists(file))
+      {
+        return JsonUtils.getJsonNodeFactory().objectNode();
+      }
+      try
+      {
+        JsonNode node = JsonUtils.getObjectReader().readTree(
+            Files.readString(file, StandardCharsets.UTF_8));
+        if (node instanceof ObjectNode objectNode)
+        {
+          return objectNode;
+        }
+        throw new IOException("The watermark file " + file +
+            " does not contain a JSON object");
+      }
+      catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+      catch (JacksonException e)
+      {
+        throw new UncheckedIOException(new IOException(e));
+      }
+    }
+
+    /**
+     * Write the watermarks to the file, replacing it atomically.
+     *
+     * @param watermarks  The watermarks by key.
+     * @throws UncheckedIOException If the file could not be written.
+     */
+    private void write(@NotNull final ObjectNode watermarks)
+        throws UncheckedIOException
+    {
+      java.nio.file.Path temp =
+          file.resolveSibling(file.getFileName() + ".tmp");
+      try
+      {
+        Files.writeString(temp,
+            JsonUtils.getObjectWriter().writeValueAsString(watermarks),
+            StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch (IOException e)
+      {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
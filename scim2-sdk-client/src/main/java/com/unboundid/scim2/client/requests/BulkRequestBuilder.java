@@ -32,21 +32,36 @@
 
 package com.unboundid.scim2.client.requests;
 
+import com.unboundid.scim2.client.BulkResponseHandler;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.bulk.BulkOpType;
 import com.unboundid.scim2.common.bulk.BulkOperation;
+import com.unboundid.scim2.common.bulk.BulkOperationResult;
 import com.unboundid.scim2.common.bulk.BulkRequest;
 import com.unboundid.scim2.common.bulk.BulkResponse;
 import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
 
 import jakarta.ws.rs.HttpMethod;
-import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.ResponseProcessingException;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
+import static com.unboundid.scim2.common.utils.StaticUtils.toLowerCase;
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
 
@@ -139,9 +154,9 @@ public class BulkRequestBuilder
       throws ScimException
   {
     BulkRequest request = new BulkRequest(operations);
-    var entity = Entity.entity(generify(request), getContentType());
+    var entity = buildEntity(request);
 
-    try (Response response = buildRequest().method(HttpMethod.POST, entity))
+    try (Response response = send(buildRequest(), HttpMethod.POST, entity))
     {
       if (response.getStatusInfo().getFamily() == SUCCESSFUL)
       {
@@ -153,4 +168,213 @@ public class BulkRequestBuilder
       }
     }
   }
+
+  /**
+   * Invoke the SCIM bulk request and pass the result of each bulk operation
+   * to a handler as the bulk response is read. Unlike {@link #invoke()}, the
+   * bulk response is never held in memory in its entirety.
+   *
+   * @param resultHandler  The handler for the bulk operation results.
+   * @throws ProcessingException If a JAX-RS runtime exception occurred.
+   * @throws ScimException If the SCIM service responded with an error.
+   *
+   * @since 6.0.1
+   */
+  public void invoke(@NotNull final BulkResponseHandler resultHandler)
+      throws ScimException
+  {
+    invoke(resultHandler, true);
+  }
+
+  /**
+   * Invoke the SCIM bulk request and pass the result of each bulk operation
+   * to a handler as the bulk response is read. Unlike {@link #invoke()}, the
+   * bulk response is never held in memory in its entirety.
+   *
+   * @param resultHandler  The handler for the bulk operation results.
+   * @param readResponses  Indicates whether the {@code response} of each bulk
+   *                       operation result should be read. If this is
+   *                       {@code false}, the responses are skipped without
+   *                       being parsed into objects, and
+   *                       {@link BulkOperationResult#getResponse()} returns
+   *                       {@code null} for every result.
+   * @throws ProcessingException If a JAX-RS runtime exception occurred.
+   * @throws ScimException If the SCIM service responded with an error.
+   *
+   * @since 6.0.1
+   */
+  public void invoke(@NotNull final BulkResponseHandler resultHandler,
+                     final boolean readResponses)
+      throws ScimException
+  {
+    BulkRequest request = new BulkRequest(operations);
+    var entity = buildEntity(request);
+
+    try (Response response = send(buildRequest(), HttpMethod.POST, entity))
+    {
+      if (response.getStatusInfo().getFamily() != SUCCESSFUL)
+      {
+        throw toScimException(response);
+      }
+
+      try (InputStream i = response.readEntity(InputStream.class);
+           JsonParser parser = JsonUtils.getObjectReader().createParser(i))
+      {
+        parser.nextToken();
+        while (!parser.isClosed() && parser.nextToken() != JsonToken.END_OBJECT)
+        {
+          String field = String.valueOf(parser.currentName());
+          parser.nextToken();
+          if (!toLowerCase(field).equals("operations"))
+          {
+            // Skip the "schemas" and any other field.
+            parser.skipChildren();
+            continue;
+          }
+
+          while (parser.nextToken() == JsonToken.START_OBJECT)
+          {
+            if (!resultHandler.result(readResult(parser, readResponses)))
+            {
+              return;
+            }
+          }
+        }
+      }
+      catch (IOException | JacksonException e)
+      {
+        throw new ResponseProcessingException(response, e);
+      }
+    }
+  }
+
+  /**
+   * Read a single bulk operation result from a bulk response. The parser must
+   * be positioned at the start of the result object.
+   *
+   * @param parser         The parser of the bulk response.
+   * @param readResponses  Indicates whether the {@code response} should be
+   *                       read or skipped.
+   * @return The bulk operation result.
+   * @throws JacksonException If the result could not be read.
+   */
+  @NotNull
+  private static BulkOperationResult readResult(
+      @NotNull final JsonParser parser,
+      final boolean readResponses)
+      throws JacksonException
+  {
+    ObjectNode fields = JsonUtils.getJsonNodeFactory().objectNode();
+    ObjectNode resultResponse = null;
+    while (parser.nextToken() != JsonToken.END_OBJECT)
+    {
+      String field = String.valueOf(parser.currentName());
+      parser.nextToken();
+      if (!toLowerCase(field).equals("response"))
+      {
+        fields.set(field, parser.readValueAsTree());
+      }
+      else if (readResponses)
+      {
+        JsonNode node = parser.readValueAsTree();
+        resultResponse = node.isObject() ? (ObjectNode) node : null;
+      }
+      else
+      {
+        parser.skipChildren();
+      }
+    }
+
+    BulkOperationResult result =
+        JsonUtils.nodeToValue(fields, BulkOperationResult.class);
+    return result.setResponse(resultResponse);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <br><br>
+   * A bulk request modifies the resources of its PUT, PATCH, and DELETE
+   * operations. Their paths are resolved against the parent of the bulk
+   * endpoint, which is the base URI of the service provider.
+   */
+  @Override
+  void invalidateCachedResources(@NotNull final String method)
+  {
+    ResourceCache cache = ResourceCache.of(target().getConfiguration());
+    if (cache == null)
+    {
+      return;
+    }
+
+    String baseUri = target().getUri().toString();
+    if (baseUri.endsWith("/"))
+    {
+      baseUri = baseUri.substring(0, baseUri.length() - 1);
+    }
+    URI base = URI.create(baseUri.substring(0, baseUri.lastIndexOf('/') + 1));
+    for (BulkOperation operation : operations)
+    {
+      if (operation.getMethod() == BulkOpType.POST)
+      {
+        continue;
+      }
+
+      String path = operation.getPath();
+      try
+      {
+        cache.invalidate(base.resolve(
+            path.startsWith("/") ? path.substring(1) : path));
+      }
+      catch (IllegalArgumentException e)
+      {
+        // The path is not a valid URI reference, so it cannot be cached.
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <br><br>
+   * A bulk request is also safe to repeat if every operation is either a PUT
+   * or a DELETE. A bulk ID does not make a POST operation safe to repeat,
+   * since it is only scoped to a single bulk request.
+   */
+  @Override
+  boolean isIdempotent(@NotNull final String method,
+                       @NotNull final ResiliencePolicy policy)
+  {
+    if (super.isIdempotent(method, policy))
+    {
+      return true;
+    }
+    for (BulkOperation operation : operations)
+    {
+      boolean idempotent = switch (operation.getMethod())
+      {
+        case PUT, DELETE -> true;
+        default -> false;
+      };
+      if (!idempotent)
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Invoke the SCIM bulk request asynchronously.
+   *
+   * @return  A stage that completes with the bulk response, or completes
+   *          exceptionally with the ScimException or ProcessingException that
+   *          {@link #invoke()} would have thrown.
+   */
+  @NotNull
+  public CompletionStage<BulkResponse> invokeAsync()
+  {
+    BulkRequest request = new BulkRequest(operations);
+    var entity = buildEntity(request);
+    return invokeAsync(buildRequest(), HttpMethod.POST, entity,
+        response -> response.readEntity(BulkResponse.class));
+  }
 }
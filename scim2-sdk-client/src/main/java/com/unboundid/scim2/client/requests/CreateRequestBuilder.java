@@ -36,10 +36,11 @@ import com.unboundid.scim2.common.ScimResource;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.exceptions.ScimException;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
-import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
 
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
@@ -91,8 +92,8 @@ public class CreateRequestBuilder<T extends ScimResource>
   @NotNull
   public <C> C invoke(@NotNull final Class<C> cls) throws ScimException
   {
-    var entity = Entity.entity(generify(resource), getContentType());
-    try (Response response = buildRequest().post(entity))
+    var entity = buildEntity(resource);
+    try (Response response = send(buildRequest(), HttpMethod.POST, entity))
     {
       if (response.getStatusInfo().getFamily() == SUCCESSFUL)
       {
@@ -104,4 +105,35 @@ public class CreateRequestBuilder<T extends ScimResource>
       }
     }
   }
+
+  /**
+   * Invoke the SCIM create request asynchronously.
+   *
+   * @return A stage that completes with the successfully created SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke()} would have thrown.
+   */
+  @NotNull
+  @SuppressWarnings("unchecked")
+  public CompletionStage<T> invokeAsync()
+  {
+    return invokeAsync((Class<T>) resource.getClass());
+  }
+
+  /**
+   * Invoke the SCIM create request asynchronously.
+   *
+   * @param <C> The type of object to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the successfully created SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke(Class)} would have thrown.
+   */
+  @NotNull
+  public <C> CompletionStage<C> invokeAsync(@NotNull final Class<C> cls)
+  {
+    var entity = buildEntity(resource);
+    return invokeAsync(buildRequest(), HttpMethod.POST, entity,
+        response -> response.readEntity(cls));
+  }
 }
@@ -36,11 +36,13 @@ import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.ScimException;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
 
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
@@ -99,7 +101,7 @@ public class DeleteRequestBuilder extends RequestBuilder<DeleteRequestBuilder>
    */
   public void invoke() throws ScimException
   {
-    try (Response response = buildRequest().delete())
+    try (Response response = send(buildRequest(), HttpMethod.DELETE, null))
     {
       if (response.getStatusInfo().getFamily() != SUCCESSFUL)
       {
@@ -107,4 +109,18 @@ public class DeleteRequestBuilder extends RequestBuilder<DeleteRequestBuilder>
       }
     }
   }
+
+  /**
+   * Invoke the SCIM delete request asynchronously.
+   *
+   * @return A stage that completes when the resource has been deleted, or
+   *         completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke()} would have thrown.
+   */
+  @NotNull
+  public CompletionStage<Void> invokeAsync()
+  {
+    return invokeAsync(buildRequest(), HttpMethod.DELETE, null,
+        response -> null);
+  }
 }
@@ -44,7 +44,6 @@ import tools.jackson.databind.JsonNode;
 
 import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
-import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.HttpHeaders;
@@ -52,6 +51,7 @@ import jakarta.ws.rs.core.Response;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
@@ -163,6 +163,36 @@ public abstract class ModifyRequestBuilder<T extends ModifyRequestBuilder<T>>
     {
       return invokeInternal(cls);
     }
+
+    /**
+     * Invoke the SCIM PATCH request asynchronously.
+     *
+     * @return A stage that completes with the successfully modified SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke()} would have thrown.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public CompletionStage<T> invokeAsync()
+    {
+      return invokeAsync((Class<T>) resource.getClass());
+    }
+
+    /**
+     * Invoke the SCIM PATCH request asynchronously.
+     *
+     * @param <C> The type of object to return.
+     * @param cls The Java class object used to determine the type to return.
+     * @return A stage that completes with the successfully modified SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke(Class)} would have
+     *         thrown.
+     */
+    @NotNull
+    public <C> CompletionStage<C> invokeAsync(@NotNull final Class<C> cls)
+    {
+      return invokeInternalAsync(cls);
+    }
   }
 
 
@@ -210,6 +240,22 @@ public abstract class ModifyRequestBuilder<T extends ModifyRequestBuilder<T>>
     {
       return invokeInternal(cls);
     }
+
+    /**
+     * Invoke the SCIM modify request asynchronously.
+     *
+     * @param <T> The type of object to return.
+     * @param cls The Java class object used to determine the type to return.
+     * @return A stage that completes with the successfully modified SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke(Class)} would have
+     *         thrown.
+     */
+    @NotNull
+    public <T> CompletionStage<T> invokeAsync(@NotNull final Class<T> cls)
+    {
+      return invokeInternalAsync(cls);
+    }
   }
 
   /**
@@ -227,8 +273,8 @@ public abstract class ModifyRequestBuilder<T extends ModifyRequestBuilder<T>>
       throws ScimException
   {
     PatchRequest patchRequest = new PatchRequest(operations);
-    var entity = Entity.entity(generify(patchRequest), getContentType());
-    try (Response response = buildRequest().method(HttpMethod.PATCH, entity))
+    var entity = buildEntity(patchRequest);
+    try (Response response = send(buildRequest(), HttpMethod.PATCH, entity))
     {
       if (response.getStatusInfo().getFamily() == SUCCESSFUL)
       {
@@ -241,6 +287,27 @@ public abstract class ModifyRequestBuilder<T extends ModifyRequestBuilder<T>>
     }
   }
 
+  /**
+   * Core method for invoking a SCIM PATCH request asynchronously and returning
+   * the response as the provided class.
+   *
+   * @param <G> The Java type that should be returned.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the successfully modified SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invokeInternal(Class)} would have
+   *         thrown.
+   */
+  @NotNull
+  protected <G> CompletionStage<G> invokeInternalAsync(
+      @NotNull final Class<G> cls)
+  {
+    PatchRequest patchRequest = new PatchRequest(operations);
+    var entity = buildEntity(patchRequest);
+    return invokeAsync(buildRequest(), HttpMethod.PATCH, entity,
+        response -> response.readEntity(cls));
+  }
+
   /**
    * Set value of the attribute specified by the path, replacing any existing
    * value(s).
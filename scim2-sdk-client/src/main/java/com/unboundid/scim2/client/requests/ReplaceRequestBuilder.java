@@ -37,12 +37,13 @@ import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.ScimException;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
-import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
 
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
@@ -124,8 +125,8 @@ public class ReplaceRequestBuilder<T extends ScimResource>
   @NotNull
   public <C> C invoke(@NotNull final Class<C> cls) throws ScimException
   {
-    var entity = Entity.entity(generify(resource), getContentType());
-    try (Response response = buildRequest().put(entity))
+    var entity = buildEntity(resource);
+    try (Response response = send(buildRequest(), HttpMethod.PUT, entity))
     {
       if (response.getStatusInfo().getFamily() == SUCCESSFUL)
       {
@@ -137,4 +138,35 @@ public class ReplaceRequestBuilder<T extends ScimResource>
       }
     }
   }
+
+  /**
+   * Invoke the SCIM replace request asynchronously.
+   *
+   * @return A stage that completes with the successfully replaced SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke()} would have thrown.
+   */
+  @NotNull
+  @SuppressWarnings("unchecked")
+  public CompletionStage<T> invokeAsync()
+  {
+    return invokeAsync((Class<T>) resource.getClass());
+  }
+
+  /**
+   * Invoke the SCIM replace request asynchronously.
+   *
+   * @param <C> The type of object to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the successfully replaced SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke(Class)} would have thrown.
+   */
+  @NotNull
+  public <C> CompletionStage<C> invokeAsync(@NotNull final Class<C> cls)
+  {
+    var entity = buildEntity(resource);
+    return invokeAsync(buildRequest(), HttpMethod.PUT, entity,
+        response -> response.readEntity(cls));
+  }
 }
@@ -33,17 +33,22 @@
 package com.unboundid.scim2.client.requests;
 
 import com.unboundid.scim2.client.ScimServiceException;
+import com.unboundid.scim2.common.BaseScimResource;
 import com.unboundid.scim2.common.GenericScimResource;
 import com.unboundid.scim2.common.ScimResource;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.ScimException;
 import com.unboundid.scim2.common.messages.ErrorResponse;
+import com.unboundid.scim2.common.utils.JsonUtils;
 import com.unboundid.scim2.common.utils.StaticUtils;
 import tools.jackson.core.JacksonException;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.InvocationCallback;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedHashMap;
@@ -53,8 +58,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 import static com.unboundid.scim2.common.utils.ApiConstants.MEDIA_TYPE_SCIM;
+import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
 /**
  * Abstract SCIM request builder.
@@ -65,7 +74,7 @@ public class RequestBuilder<T extends RequestBuilder<T>>
    * The web target to send the request.
    */
   @NotNull
-  private WebTarget target;
+  private final WebTarget target;
 
   /**
    * Arbitrary request headers.
@@ -84,6 +93,34 @@ public class RequestBuilder<T extends RequestBuilder<T>>
   @Nullable
   private String contentType = MEDIA_TYPE_SCIM;
 
+  /**
+   * Whether a request builder class overrides {@link #generify}.
+   */
+  @NotNull
+  private static final ClassValue<Boolean> GENERIFY_OVERRIDDEN =
+      new ClassValue<>()
+      {
+        @Override
+        @NotNull
+        protected Boolean computeValue(@NotNull final Class<?> type)
+        {
+          for (Class<?> c = type; c != RequestBuilder.class;
+               c = c.getSuperclass())
+          {
+            try
+            {
+              c.getDeclaredMethod("generify", ScimResource.class);
+              return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+              // Check the superclass.
+            }
+          }
+          return false;
+        }
+      };
+
   @NotNull
   private final List<String> accept = new ArrayList<>();
 
@@ -226,6 +263,144 @@ public class RequestBuilder<T extends RequestBuilder<T>>
     }
   }
 
+  /**
+   * Send a request and return the response. If the web target of this builder
+   * has a {@link ResiliencePolicy}, the request is rate limited and retried
+   * according to the policy. If it has a {@link ResourceCache}, the cached
+   * copies of the resources that the request may modify are discarded.
+   *
+   * @param request The Invocation.Builder for the request.
+   * @param method The HTTP method of the request.
+   * @param entity The request entity, or {@code null} if there is none.
+   * @return The response, which must be closed by the caller.
+   * @throws ProcessingException If a JAX-RS runtime exception occurred.
+   * @throws ScimException If the circuit breaker of the resilience policy
+   *                       rejected the request.
+   */
+  @NotNull
+  Response send(@NotNull final Invocation.Builder request,
+                @NotNull final String method,
+                @Nullable final Entity<?> entity)
+      throws ScimException
+  {
+    ResiliencePolicy policy = ResiliencePolicy.of(target.getConfiguration());
+    try
+    {
+      if (policy == null)
+      {
+        return sendOnce(request, method, entity);
+      }
+      return policy.execute(target.getUri(), isIdempotent(method, policy),
+          () -> sendOnce(request, method, entity));
+    }
+    finally
+    {
+      invalidateCachedResources(method);
+    }
+  }
+
+  /**
+   * Send a request through the JAX-RS {@link jakarta.ws.rs.client.AsyncInvoker}
+   * of the provided builder without blocking the calling thread. When the
+   * response arrives, a successful response is converted with the provided
+   * reader and any other response is converted with
+   * {@link #toScimException(Response)}, so the returned stage fails with the
+   * same exceptions that the blocking {@code invoke} methods throw. Transport
+   * failures complete the stage with the {@link ProcessingException} reported
+   * by the JAX-RS runtime. The response is always closed once it has been
+   * read. If the web target of this builder has a {@link ResiliencePolicy},
+   * the request is rate limited and retried according to the policy, and if it
+   * has a {@link ResourceCache}, the cached copies of the resources that the
+   * request may modify are discarded.
+   *
+   * @param <C> The type of object the stage completes with.
+   * @param request The Invocation.Builder for the request.
+   * @param method The HTTP method of the request.
+   * @param entity The request entity, or {@code null} if there is none.
+   * @param reader The function that reads a successful response.
+   * @return A stage that completes when the response has been processed.
+   */
+  @NotNull
+  <C> CompletionStage<C> invokeAsync(
+      @NotNull final Invocation.Builder request,
+      @NotNull final String method,
+      @Nullable final Entity<?> entity,
+      @NotNull final Function<Response, C> reader)
+  {
+    ResiliencePolicy policy = ResiliencePolicy.of(target.getConfiguration());
+    CompletionStage<Response> responseStage = (policy == null) ?
+        sendOnceAsync(request, method, entity) :
+        policy.executeAsync(target.getUri(), isIdempotent(method, policy),
+            () -> sendOnceAsync(request, method, entity));
+
+    CompletableFuture<C> result = new CompletableFuture<>();
+    responseStage.whenComplete((response, failure) -> {
+      invalidateCachedResources(method);
+      if (failure != null)
+      {
+        result.completeExceptionally(failure);
+        return;
+      }
+      try (response)
+      {
+        if (response.getStatusInfo().getFamily() == SUCCESSFUL)
+        {
+          result.complete(reader.apply(response));
+        }
+        else
+        {
+          result.completeExceptionally(toScimException(response));
+        }
+      }
+      catch (RuntimeException e)
+      {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Discards the cached copies of the resources that this request may modify
+   * from the {@link ResourceCache} of the web target, if there is one. A PUT,
+   * PATCH, or DELETE request modifies the resource at the target of this
+   * builder.
+   *
+   * @param method The HTTP method of the request.
+   */
+  void invalidateCachedResources(@NotNull final String method)
+  {
+    ResourceCache cache = ResourceCache.of(target.getConfiguration());
+    if (cache != null && (method.equals(HttpMethod.PUT) ||
+        method.equals(HttpMethod.PATCH) || method.equals(HttpMethod.DELETE)))
+    {
+      cache.invalidate(target.getUri());
+    }
+  }
+
+  /**
+   * Indicates whether this request may be sent again after an attempt whose
+   * outcome is unknown, such as when the connection failed. GET, HEAD, PUT,
+   * DELETE, and OPTIONS requests are idempotent, and other requests are only
+   * considered idempotent if they carry the idempotency key header of the
+   * resilience policy.
+   *
+   * @param method The HTTP method of the request.
+   * @param policy The resilience policy of the request.
+   * @return {@code true} if the request is safe to repeat.
+   */
+  boolean isIdempotent(@NotNull final String method,
+                       @NotNull final ResiliencePolicy policy)
+  {
+    return switch (method)
+    {
+      case HttpMethod.GET, HttpMethod.HEAD, HttpMethod.PUT, HttpMethod.DELETE,
+           HttpMethod.OPTIONS -> true;
+      default -> headers.keySet().stream().anyMatch(
+          name -> name.equalsIgnoreCase(policy.getIdempotencyKeyHeader()));
+    };
+  }
+
   /**
    * Returns the unbuilt WebTarget for the request. In most cases,
    * {@link #buildTarget()} should be used instead.
@@ -246,12 +421,15 @@ public class RequestBuilder<T extends RequestBuilder<T>>
   @NotNull
   WebTarget buildTarget()
   {
+    // Leave the unbuilt target untouched so that the builder may be invoked
+    // more than once without repeating the query parameters.
+    WebTarget builtTarget = target;
     for (Map.Entry<String, List<Object>> queryParam : queryParams.entrySet())
     {
-      target = target.queryParam(queryParam.getKey(),
-                                 queryParam.getValue().toArray());
+      builtTarget = builtTarget.queryParam(queryParam.getKey(),
+                                           queryParam.getValue().toArray());
     }
-    return target;
+    return builtTarget;
   }
 
   /**
@@ -283,9 +461,22 @@ public class RequestBuilder<T extends RequestBuilder<T>>
    */
   @NotNull
   protected Invocation.Builder buildRequest()
+  {
+    return buildRequest(buildTarget());
+  }
+
+  /**
+   * Build the Invocation.Builder for a request to the provided WebTarget with
+   * the accept types and headers of this builder.
+   *
+   * @param builtTarget The built WebTarget for the request.
+   * @return The Invocation.Builder for the request.
+   */
+  @NotNull
+  Invocation.Builder buildRequest(@NotNull final WebTarget builtTarget)
   {
     Invocation.Builder builder =
-        buildTarget().request(accept.toArray(new String[0]));
+        builtTarget.request(accept.toArray(new String[0]));
     for (Map.Entry<String, List<Object>> header : headers.entrySet())
     {
       String stringValue = StaticUtils.listToString(header.getValue(), ", ");
@@ -329,4 +520,120 @@ public class RequestBuilder<T extends RequestBuilder<T>>
   {
     return resource.asGenericScimResource();
   }
+
+  /**
+   * Serializes a SCIM resource into the entity of a request. The resource is
+   * serialized once, directly into bytes, by the shared object writer of the
+   * SCIM SDK, which recycles its internal buffers between serializations.
+   * This avoids the intermediate {@link GenericScimResource} of
+   * {@link #generify}, while still producing the same JSON without relying on
+   * the configuration of the HTTP client. Since the length of the entity is
+   * known, it is sent with a {@code Content-Length} header, and the entity may
+   * be sent again if the request is retried.
+   * <br><br>
+   *
+   * If a subclass overrides {@link #generify}, the result of that method is
+   * serialized instead.
+   *
+   * @param resource  The SCIM resource that will be serialized into JSON.
+   * @return  The request entity.
+   * @throws ProcessingException  If the resource could not be serialized.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  protected Entity<byte[]> buildEntity(@NotNull final ScimResource resource)
+      throws ProcessingException
+  {
+    Object payload = resource;
+    if (GENERIFY_OVERRIDDEN.get(getClass()) ||
+        !(resource instanceof BaseScimResource ||
+            resource instanceof GenericScimResource))
+    {
+      payload = generify(resource);
+    }
+
+    try
+    {
+      byte[] bytes = JsonUtils.getObjectWriter().writeValueAsBytes(payload);
+      return Entity.entity(bytes, getContentType());
+    }
+    catch (JacksonException e)
+    {
+      throw new ProcessingException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Make a single attempt of a request.
+   *
+   * @param request The Invocation.Builder for the request.
+   * @param method The HTTP method of the request.
+   * @param entity The request entity, or {@code null} if there is none.
+   * @return The response.
+   */
+  @NotNull
+  private static Response sendOnce(@NotNull final Invocation.Builder request,
+                                   @NotNull final String method,
+                                   @Nullable final Entity<?> entity)
+  {
+    return (entity == null) ?
+        request.method(method) : request.method(method, entity);
+  }
+
+  /**
+   * Make a single attempt of a request without blocking the calling thread.
+   *
+   * @param request The Invocation.Builder for the request.
+   * @param method The HTTP method of the request.
+   * @param entity The request entity, or {@code null} if there is none.
+   * @return A stage that completes with the response.
+   */
+  @NotNull
+  private static CompletionStage<Response> sendOnceAsync(
+      @NotNull final Invocation.Builder request,
+      @NotNull final String method,
+      @Nullable final Entity<?> entity)
+  {
+    ResponseCallback callback = new ResponseCallback();
+    if (entity == null)
+    {
+      request.async().method(method, callback);
+    }
+    else
+    {
+      request.async().method(method, entity, callback);
+    }
+    return callback.result;
+  }
+
+  /**
+   * The callback that completes the stage returned by
+   * {@link #sendOnceAsync(Invocation.Builder, String, Entity)}.
+   */
+  private static final class ResponseCallback
+      implements InvocationCallback<Response>
+  {
+    @NotNull
+    private final CompletableFuture<Response> result =
+        new CompletableFuture<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void completed(@NotNull final Response response)
+    {
+      result.complete(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void failed(@NotNull final Throwable throwable)
+    {
+      result.completeExceptionally(throwable);
+    }
+  }
 }
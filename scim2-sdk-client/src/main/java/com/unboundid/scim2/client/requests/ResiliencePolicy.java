@@ -0,0 +1,927 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.client.requests;
+
+import com.unboundid.scim2.client.ScimServiceException;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.ScimException;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An opt-in policy that makes the requests of a SCIM client resilient to
+ * overloaded or failing service providers. A policy takes effect for every
+ * request builder created from a web target that has the policy set as its
+ * {@link #PROPERTY} property, which is done by creating the
+ * {@link com.unboundid.scim2.client.ScimService} with the policy:
+ * <pre>
+ *   ResiliencePolicy policy = new ResiliencePolicy()
+ *       .rateLimit(50.0, 10)
+ *       .retry(5, 200L, 30_000L)
+ *       .circuitBreaker(5, 10_000L);
+ *   ScimService scimService = new ScimService(target, policy);
+ * </pre>
+ *
+ * A policy combines the following mechanisms, each of which may be
+ * configured independently:
+ * <ul>
+ *   <li>A token bucket that limits the rate at which requests are sent. The
+ *       rate limit is disabled by default.</li>
+ *   <li>Automatic retries with exponential backoff and random jitter. A
+ *       request is retried when the connection fails or the service provider
+ *       responds with {@code 429 Too Many Requests},
+ *       {@code 502 Bad Gateway}, {@code 503 Service Unavailable}, or
+ *       {@code 504 Gateway Timeout}. When the response has a
+ *       {@code Retry-After} header, the delay that it requests is used instead
+ *       of the backoff, and no further requests are sent to the same service
+ *       provider until the delay has elapsed.</li>
+ *   <li>A circuit breaker for each service provider, identified by the scheme
+ *       and authority of the request URI. After a number of consecutive
+ *       failures, the circuit opens and requests fail immediately with a
+ *       {@link ScimServiceException} with status {@code 503}. Once the circuit
+ *       has been open for a while, a single trial request is permitted, and
+ *       the circuit closes again if it succeeds.</li>
+ * </ul>
+ *
+ * Only requests that are safe to repeat are retried. GET, PUT, and DELETE
+ * requests are always retried, as are searches with POST. Other POST and
+ * PATCH requests are retried only if they carry an idempotency key header
+ * (see {@link #idempotencyKeyHeader(String)}), and bulk requests are also
+ * retried if every operation is a PUT or a DELETE.
+ * A {@code 429 Too Many Requests} response indicates that the service provider
+ * rejected the request without processing it, so such requests are retried
+ * regardless of the method.
+ * <br><br>
+ *
+ * When the last attempt still fails, the request builder reports the failure
+ * as it would without a policy, so a request that keeps receiving a
+ * {@code 429} response fails with a
+ * {@link com.unboundid.scim2.common.exceptions.RateLimitException}.
+ * <br><br>
+ *
+ * A policy is thread-safe once it has been configured, and is usually shared
+ * by all requests to a service provider so that the rate limit and circuit
+ * breakers apply to all of them.
+ *
+ * @since 6.0.1
+ */
+public final class ResiliencePolicy
+{
+  /**
+   * The name of the web target configuration property that holds the policy
+   * of the requests to the target.
+   */
+  @NotNull
+  public static final String PROPERTY =
+      "com.unboundid.scim2.client.requests.ResiliencePolicy";
+
+  /**
+   * The default number of attempts made for each request.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /**
+   * The default delay before the first retry of a request, in milliseconds.
+   */
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500L;
+
+  /**
+   * The default maximum delay before a retry, in milliseconds.
+   */
+  public static final long DEFAULT_MAX_BACKOFF_MILLIS = 30_000L;
+
+  /**
+   * The default number of consecutive failures that open a circuit.
+   */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+  /**
+   * The default time that a circuit stays open before a trial request is
+   * permitted, in milliseconds.
+   */
+  public static final long DEFAULT_OPEN_MILLIS = 30_000L;
+
+  /**
+   * The default name of the header that marks a request as safe to retry.
+   */
+  @NotNull
+  public static final String DEFAULT_IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+  private long initialBackoffNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_BACKOFF_MILLIS);
+
+  private long maxBackoffNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_BACKOFF_MILLIS);
+
+  private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+  private long openNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_OPEN_MILLIS);
+
+  @NotNull
+  private String idempotencyKeyHeader = DEFAULT_IDEMPOTENCY_KEY_HEADER;
+
+  @Nullable
+  private TokenBucket rateLimiter;
+
+  @NotNull
+  private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+  /**
+   * The state of the circuit breaker of a service provider.
+   */
+  public enum CircuitState
+  {
+    /**
+     * Requests are sent normally.
+     */
+    CLOSED,
+
+    /**
+     * Requests fail without being sent.
+     */
+    OPEN,
+
+    /**
+     * A trial request is permitted to determine whether the circuit can be
+     * closed again.
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * Sets the retry behavior. The delay before the first retry is the initial
+   * backoff, and it doubles with every further retry up to the maximum
+   * backoff. The actual delay is chosen randomly between half of this value
+   * and the full value so that clients which failed at the same time do not
+   * retry at the same time. A {@code Retry-After} delay that exceeds the
+   * maximum backoff is not waited for, and the response is returned instead.
+   *
+   * @param maxAttempts  The maximum number of attempts made for each request.
+   *                     A value of {@code 1} disables retries.
+   * @param initialBackoffMillis  The delay before the first retry, in
+   *                              milliseconds.
+   * @param maxBackoffMillis  The maximum delay before a retry, in
+   *                          milliseconds.
+   * @return  This policy.
+   */
+  @NotNull
+  public ResiliencePolicy retry(final int maxAttempts,
+                                final long initialBackoffMillis,
+                                final long maxBackoffMillis)
+  {
+    if (maxAttempts < 1)
+    {
+      throw new IllegalArgumentException(
+          "The maximum number of attempts must be at least 1");
+    }
+    if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis)
+    {
+      throw new IllegalArgumentException(
+          "The backoff delays must not be negative, and the maximum backoff"
+              + " must not be smaller than the initial backoff");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffNanos =
+        TimeUnit.MILLISECONDS.toNanos(initialBackoffMillis);
+    this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis);
+    return this;
+  }
+
+  /**
+   * Limits the rate at which requests are sent with a token bucket. The bucket
+   * holds up to {@code burst} tokens and is refilled at the provided rate, and
+   * every attempt of a request takes a token. A request that finds the bucket
+   * empty waits until a token is available.
+   *
+   * @param requestsPerSecond  The sustained request rate.
+   * @param burst  The number of requests that may be sent at once after the
+   *               client has been idle.
+   * @return  This policy.
+   */
+  @NotNull
+  public ResiliencePolicy rateLimit(final double requestsPerSecond,
+                                    final int burst)
+  {
+    if (!(requestsPerSecond > 0.0) || burst < 1)
+    {
+      throw new IllegalArgumentException(
+          "The request rate and burst size must be positive");
+    }
+    this.rateLimiter = new TokenBucket(requestsPerSecond, burst);
+    return this;
+  }
+
+  /**
+   * Configures the circuit breakers.
+   *
+   * @param failureThreshold  The number of consecutive failed requests that
+   *                          open the circuit of a service provider. A request
+   *                          fails if the connection fails or the response has
+   *                          a {@code 5xx} status. A value of {@code 0}
+   *                          disables the circuit breakers.
+   * @param openMillis  The time that a circuit stays open before a trial
+   *                    request is permitted, in milliseconds.
+   * @return  This policy.
+   */
+  @NotNull
+  public ResiliencePolicy circuitBreaker(final int failureThreshold,
+                                         final long openMillis)
+  {
+    if (failureThreshold < 0 || openMillis < 0)
+    {
+      throw new IllegalArgumentException(
+          "The failure threshold and open time must not be negative");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    return this;
+  }
+
+  /**
+   * Sets the name of the header that marks a POST or PATCH request as safe to
+   * retry. The header is not added by this policy; it should be added to the
+   * request with {@link RequestBuilder#header}, and the service provider is
+   * expected to process requests with the same key only once. The default
+   * value is {@value #DEFAULT_IDEMPOTENCY_KEY_HEADER}.
+   *
+   * @param idempotencyKeyHeader  The header name.
+   * @return  This policy.
+   */
+  @NotNull
+  public ResiliencePolicy idempotencyKeyHeader(
+      @NotNull final String idempotencyKeyHeader)
+  {
+    this.idempotencyKeyHeader = idempotencyKeyHeader;
+    return this;
+  }
+
+  /**
+   * Retrieves the name of the header that marks a POST or PATCH request as
+   * safe to retry.
+   *
+   * @return  The header name.
+   */
+  @NotNull
+  public String getIdempotencyKeyHeader()
+  {
+    return idempotencyKeyHeader;
+  }
+
+  /**
+   * Retrieves the state of the circuit breaker of a service provider.
+   *
+   * @param uri  A URI of the service provider.
+   * @return  The state of the circuit breaker of the service provider.
+   */
+  @NotNull
+  public CircuitState getCircuitState(@NotNull final URI uri)
+  {
+    Circuit circuit = circuits.get(circuitKey(uri));
+    return (circuit == null) ? CircuitState.CLOSED : circuit.getState();
+  }
+
+  /**
+   * Retrieves the policy of the requests to a web target.
+   *
+   * @param configuration  The configuration of the web target.
+   * @return  The policy, or {@code null} if the requests have no policy.
+   */
+  @Nullable
+  static ResiliencePolicy of(@NotNull final Configuration configuration)
+  {
+    return (configuration.getProperty(PROPERTY)
+        instanceof ResiliencePolicy policy) ? policy : null;
+  }
+
+  /**
+   * Sends a request according to this policy, blocking the calling thread
+   * while waiting for the rate limiter or before a retry. If the circuit of
+   * the service provider opens before a retry, the outcome of the last
+   * attempt is reported.
+   *
+   * @param uri  The request URI.
+   * @param idempotent  Indicates whether the request is safe to repeat.
+   * @param send  The function that makes a single attempt.
+   * @return  The response of the last attempt.
+   * @throws ScimException  If the circuit of the service provider is open.
+   * @throws ProcessingException  If the last attempt failed with a JAX-RS
+   *                              runtime exception, or if the thread was
+   *                              interrupted while waiting.
+   */
+  @NotNull
+  Response execute(@NotNull final URI uri,
+                   final boolean idempotent,
+                   @NotNull final Supplier<Response> send)
+      throws ScimException
+  {
+    Circuit circuit = circuits.computeIfAbsent(circuitKey(uri), Circuit::new);
+    Response lastResponse = null;
+    ProcessingException lastFailure = null;
+    for (int attempt = 1; ; attempt++)
+    {
+      try
+      {
+        circuit.acquire();
+      }
+      catch (ScimException e)
+      {
+        // The circuit opened while waiting to retry, so the outcome of the
+        // last attempt is reported.
+        if (lastResponse != null)
+        {
+          return lastResponse;
+        }
+        if (lastFailure != null)
+        {
+          throw lastFailure;
+        }
+        throw e;
+      }
+      if (lastResponse != null)
+      {
+        // The outcome of this attempt is reported instead.
+        lastResponse.close();
+        lastResponse = null;
+      }
+      try
+      {
+        sleep(reserve(circuit));
+      }
+      catch (ProcessingException e)
+      {
+        circuit.release();
+        throw e;
+      }
+
+      Response response;
+      try
+      {
+        response = send.get();
+      }
+      catch (ProcessingException e)
+      {
+        long delay = retryDelay(circuit, idempotent, attempt, null);
+        if (delay < 0)
+        {
+          throw e;
+        }
+        lastFailure = e;
+        sleep(delay);
+        continue;
+      }
+      catch (RuntimeException e)
+      {
+        // The failure is not caused by the service provider.
+        circuit.release();
+        throw e;
+      }
+
+      long delay = retryDelay(circuit, idempotent, attempt, response);
+      if (delay < 0)
+      {
+        return response;
+      }
+      lastResponse = buffer(response);
+      lastFailure = null;
+      try
+      {
+        sleep(delay);
+      }
+      catch (ProcessingException e)
+      {
+        response.close();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Sends a request according to this policy without blocking the calling
+   * thread. Waiting for the rate limiter and before a retry is done with a
+   * delayed executor.
+   *
+   * @param uri  The request URI.
+   * @param idempotent  Indicates whether the request is safe to repeat.
+   * @param send  The function that makes a single attempt.
+   * @return  A stage that completes with the response of the last attempt,
+   *          or completes exceptionally with the {@link ScimException} or
+   *          {@link ProcessingException} that
+   *          {@link #execute(URI, boolean, Supplier)} would have thrown.
+   */
+  @NotNull
+  CompletionStage<Response> executeAsync(
+      @NotNull final URI uri,
+      final boolean idempotent,
+      @NotNull final Supplier<CompletionStage<Response>> send)
+  {
+    Circuit circuit = circuits.computeIfAbsent(circuitKey(uri), Circuit::new);
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    attemptAsync(circuit, idempotent, send, 1, 0, null, null, result);
+    return result;
+  }
+
+  /**
+   * Makes an attempt of an asynchronous request after a delay.
+   *
+   * @param circuit  The circuit of the service provider.
+   * @param idempotent  Indicates whether the request is safe to repeat.
+   * @param send  The function that makes a single attempt.
+   * @param attempt  The number of the attempt, starting with {@code 1}.
+   * @param delayNanos  The delay before the attempt, in nanoseconds.
+   * @param lastResponse  The response of the previous attempt, or
+   *                      {@code null} if there is none.
+   * @param lastFailure  The failure of the previous attempt, or {@code null}
+   *                     if there is none.
+   * @param result  The future to complete with the final outcome.
+   */
+  private void attemptAsync(
+      @NotNull final Circuit circuit,
+      final boolean idempotent,
+      @NotNull final Supplier<CompletionStage<Response>> send,
+      final int attempt,
+      final long delayNanos,
+      @Nullable final Response lastResponse,
+      @Nullable final Throwable lastFailure,
+      @NotNull final CompletableFuture<Response> result)
+  {
+    Runnable sendTask = () -> {
+      if (lastResponse != null)
+      {
+        // The outcome of this attempt is reported instead.
+        lastResponse.close();
+      }
+      CompletionStage<Response> stage;
+      try
+      {
+        stage = send.get();
+      }
+      catch (RuntimeException e)
+      {
+        stage = CompletableFuture.failedFuture(e);
+      }
+
+      stage.whenComplete((response, failure) -> {
+        if (failure != null && !(failure instanceof ProcessingException))
+        {
+          // The failure is not caused by the service provider.
+          circuit.release();
+          result.completeExceptionally(failure);
+          return;
+        }
+        long delay = retryDelay(circuit, idempotent, attempt, response);
+        if (delay < 0)
+        {
+          if (failure == null)
+          {
+            result.complete(response);
+          }
+          else
+          {
+            result.completeExceptionally(failure);
+          }
+          return;
+        }
+        attemptAsync(circuit, idempotent, send, attempt + 1, delay,
+            (response == null) ? null : buffer(response), failure, result);
+      });
+    };
+
+    Runnable task = () -> {
+      try
+      {
+        circuit.acquire();
+      }
+      catch (ScimException e)
+      {
+        if (lastResponse != null)
+        {
+          result.complete(lastResponse);
+        }
+        else
+        {
+          result.completeExceptionally(
+              (lastFailure != null) ? lastFailure : e);
+        }
+        return;
+      }
+      runAfter(reserve(circuit), sendTask);
+    };
+    runAfter(delayNanos, task);
+  }
+
+  /**
+   * Runs a task after a delay without blocking the calling thread.
+   *
+   * @param delayNanos  The delay in nanoseconds.
+   * @param task  The task to run.
+   */
+  private static void runAfter(final long delayNanos,
+                               @NotNull final Runnable task)
+  {
+    if (delayNanos > 0)
+    {
+      CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+          .execute(task);
+    }
+    else
+    {
+      task.run();
+    }
+  }
+
+  /**
+   * Reads the entity of a response that is retried, so that the connection
+   * is released while waiting before the next attempt, and the response can
+   * still be reported if no further attempt is permitted.
+   *
+   * @param response  The response.
+   * @return  The response, or {@code null} if its entity could not be read.
+   */
+  @Nullable
+  private static Response buffer(@NotNull final Response response)
+  {
+    try
+    {
+      response.bufferEntity();
+      return response;
+    }
+    catch (ProcessingException | IllegalStateException e)
+    {
+      response.close();
+      return null;
+    }
+  }
+
+  /**
+   * Records the outcome of an attempt with the circuit breaker, and determines
+   * whether the request should be retried. A request is not retried once the
+   * circuit is no longer closed.
+   *
+   * @param circuit  The circuit of the service provider.
+   * @param idempotent  Indicates whether the request is safe to repeat.
+   * @param attempt  The number of the attempt, starting with {@code 1}.
+   * @param response  The response of the attempt, or {@code null} if the
+   *                  attempt failed without a response.
+   * @return  The delay before the next attempt in nanoseconds, or {@code -1}
+   *          if the request should not be retried.
+   */
+  private long retryDelay(@NotNull final Circuit circuit,
+                          final boolean idempotent,
+                          final int attempt,
+                          @Nullable final Response response)
+  {
+    int status = (response == null) ? 0 : response.getStatus();
+    if (response == null || status >= 500)
+    {
+      circuit.failed();
+    }
+    else
+    {
+      circuit.succeeded();
+    }
+
+    if (attempt >= maxAttempts || circuit.getState() != CircuitState.CLOSED)
+    {
+      return -1;
+    }
+    if (response == null)
+    {
+      return idempotent ? retryDelay(attempt) : -1;
+    }
+    if (status != 429 && (!idempotent ||
+        (status != 502 && status != 503 && status != 504)))
+    {
+      return -1;
+    }
+
+    long retryAfter = parseRetryAfter(
+        response.getHeaderString(HttpHeaders.RETRY_AFTER));
+    if (retryAfter < 0)
+    {
+      return retryDelay(attempt);
+    }
+    if (retryAfter > maxBackoffNanos)
+    {
+      return -1;
+    }
+    circuit.pause(retryAfter);
+    return retryAfter;
+  }
+
+  /**
+   * Computes the backoff before a retry.
+   *
+   * @param attempt  The number of the failed attempt, starting with
+   *                 {@code 1}.
+   * @return  The delay in nanoseconds.
+   */
+  private long retryDelay(final int attempt)
+  {
+    long backoff = initialBackoffNanos << Math.min(attempt - 1, 30);
+    backoff = (backoff < 0) ? maxBackoffNanos : Math.min(backoff,
+        maxBackoffNanos);
+    return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+  /**
+   * Takes a token from the rate limiter, and determines how long the caller
+   * must wait before sending a request to a service provider.
+   *
+   * @param circuit  The circuit of the service provider.
+   * @return  The delay in nanoseconds.
+   */
+  private long reserve(@NotNull final Circuit circuit)
+  {
+    TokenBucket bucket = rateLimiter;
+    long delay = (bucket == null) ? 0 : bucket.reserve();
+    return Math.max(delay, circuit.pausedFor());
+  }
+
+  /**
+   * Parses the value of a {@code Retry-After} header, which is either a
+   * number of seconds or an HTTP date.
+   *
+   * @param value  The header value.
+   * @return  The delay in nanoseconds, or {@code -1} if the value is absent or
+   *          invalid.
+   */
+  static long parseRetryAfter(@Nullable final String value)
+  {
+    if (value == null || value.isBlank())
+    {
+      return -1;
+    }
+    try
+    {
+      return TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim()));
+    }
+    catch (NumberFormatException e)
+    {
+      // Try the HTTP date format.
+    }
+    try
+    {
+      ZonedDateTime date = ZonedDateTime.parse(value.trim(),
+          DateTimeFormatter.RFC_1123_DATE_TIME);
+      long millis =
+          date.toInstant().toEpochMilli() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+    }
+    catch (DateTimeParseException e)
+    {
+      return -1;
+    }
+  }
+
+  /**
+   * Blocks the calling thread for the provided time.
+   *
+   * @param nanos  The time in nanoseconds.
+   * @throws ProcessingException  If the thread was interrupted.
+   */
+  private static void sleep(final long nanos)
+  {
+    if (nanos <= 0)
+    {
+      return;
+    }
+    try
+    {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new ProcessingException(e);
+    }
+  }
+
+  /**
+   * Determines the key of the circuit of a service provider.
+   *
+   * @param uri  A URI of the service provider.
+   * @return  The scheme and authority of the URI.
+   */
+  @NotNull
+  private static String circuitKey(@NotNull final URI uri)
+  {
+    return uri.getScheme() + "://" + uri.getRawAuthority();
+  }
+
+  /**
+   * A token bucket rate limiter. Tokens may be reserved ahead of time, in
+   * which case the balance becomes negative and later callers wait longer,
+   * so that waiting callers are served in order.
+   */
+  private static final class TokenBucket
+  {
+    private final double tokensPerNano;
+
+    private final double capacity;
+
+    private double tokens;
+
+    private long refilled = System.nanoTime();
+
+    /**
+     * Create a new full token bucket.
+     *
+     * @param tokensPerSecond  The refill rate.
+     * @param capacity  The maximum number of tokens.
+     */
+    private TokenBucket(final double tokensPerSecond, final int capacity)
+    {
+      this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.capacity = capacity;
+      this.tokens = capacity;
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @return  The time in nanoseconds until the token is available.
+     */
+    private synchronized long reserve()
+    {
+      long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - refilled) * tokensPerNano);
+      refilled = now;
+      tokens -= 1.0;
+      return (tokens >= 0.0) ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+  }
+
+  /**
+   * The circuit breaker and {@code Retry-After} state of a service provider.
+   */
+  private final class Circuit
+  {
+    @NotNull
+    private final String key;
+
+    @NotNull
+    private CircuitState state = CircuitState.CLOSED;
+
+    private int failures;
+
+    private long openedAt;
+
+    private boolean trialInFlight;
+
+    private volatile long pausedUntil = System.nanoTime();
+
+    /**
+     * Create a new closed circuit.
+     *
+     * @param key  The scheme and authority of the service provider.
+     */
+    private Circuit(@NotNull final String key)
+    {
+      this.key = key;
+    }
+
+    /**
+     * Retrieves the state of the circuit.
+     *
+     * @return  The state of the circuit.
+     */
+    @NotNull
+    private synchronized CircuitState getState()
+    {
+      return state;
+    }
+
+    /**
+     * Permits a request to be sent.
+     *
+     * @throws ScimException  If the circuit is open, or if it is half-open and
+     *                        the trial request has already been sent.
+     */
+    private synchronized void acquire() throws ScimException
+    {
+      if (failureThreshold == 0)
+      {
+        return;
+      }
+      if (state == CircuitState.OPEN &&
+          System.nanoTime() - openedAt >= openNanos)
+      {
+        state = CircuitState.HALF_OPEN;
+      }
+      if (state == CircuitState.OPEN ||
+          (state == CircuitState.HALF_OPEN && trialInFlight))
+      {
+        throw new ScimServiceException(503,
+            "The circuit breaker for " + key + " is open", null);
+      }
+      trialInFlight = (state == CircuitState.HALF_OPEN);
+    }
+
+    /**
+     * Records a request that failed for a reason unrelated to the service
+     * provider, which permits another trial request if the circuit is
+     * half-open.
+     */
+    private synchronized void release()
+    {
+      trialInFlight = false;
+    }
+
+    /**
+     * Records a successful request, which closes the circuit.
+     */
+    private synchronized void succeeded()
+    {
+      state = CircuitState.CLOSED;
+      failures = 0;
+      trialInFlight = false;
+    }
+
+    /**
+     * Records a failed request, which opens the circuit if the failure
+     * threshold is reached or if the request was the trial request.
+     */
+    private synchronized void failed()
+    {
+      failures++;
+      trialInFlight = false;
+      if (failureThreshold > 0 && (state == CircuitState.HALF_OPEN ||
+          failures >= failureThreshold))
+      {
+        state = CircuitState.OPEN;
+        openedAt = System.nanoTime();
+      }
+    }
+
+    /**
+     * Holds off all requests to the service provider.
+     *
+     * @param nanos  The delay requested by the service provider.
+     */
+    private void pause(final long nanos)
+    {
+      long until = System.nanoTime() + nanos;
+      if (until - pausedUntil > 0)
+      {
+        pausedUntil = until;
+      }
+    }
+
+    /**
+     * Determines how long requests to the service provider must be held off.
+     *
+     * @return  The remaining delay in nanoseconds.
+     */
+    private long pausedFor()
+    {
+      return Math.max(pausedUntil - System.nanoTime(), 0);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+
+package com.unboundid.scim2.client.requests;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import tools.jackson.core.filter.TokenFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.unboundid.scim2.common.utils.StaticUtils.toLowerCase;
+
+/**
+ * A token filter for a search response that keeps only a subset of the
+ * attributes of each resource in the {@code Resources} array. Fields of other
+ * attributes are skipped by the parser without being deserialized. Every other
+ * field of the response is kept.
+ * <br><br>
+ *
+ * Attribute names are matched case-insensitively. An attribute path that is
+ * qualified with a schema URN keeps the attribute both within the extension
+ * object of that schema and at the top level of the resource, since core
+ * attributes are not nested. Value filters in attribute paths are ignored, so
+ * all values of a multi-valued attribute are kept. The URN of a schema
+ * extension keeps the whole extension object. The {@code schemas},
+ * {@code id} and {@code meta} attributes are always kept.
+ */
+final class ResourceAttributeFilter extends TokenFilter
+{
+  /**
+   * The filter applied to the {@code Resources} array of a response.
+   */
+  @NotNull
+  private final TokenFilter resourcesFilter;
+
+  /**
+   * Create a new filter that keeps the provided attributes.
+   *
+   * @param attributes  The attribute paths to keep.
+   * @throws BadRequestException  If an attribute path could not be parsed.
+   */
+  ResourceAttributeFilter(@NotNull final Iterable<String> attributes)
+      throws BadRequestException
+  {
+    Node resource = new Node(true);
+    resource.child("schemas").all = true;
+    resource.child("id").all = true;
+    resource.child("meta").all = true;
+    for (String attribute : attributes)
+    {
+      if (SchemaUtils.isUrn(attribute))
+      {
+        // The URN of a schema extension keeps the whole extension object. It
+        // is parsed below as an attribute of a shorter URN.
+        resource.child(attribute).all = true;
+      }
+      Path path = Path.fromString(attribute);
+      if (path.getSchemaUrn() != null)
+      {
+        resource.child(path.getSchemaUrn()).add(path, 0);
+      }
+      if (!path.isRoot())
+      {
+        resource.add(path, 0);
+      }
+    }
+
+    resourcesFilter = new TokenFilter()
+    {
+      @Override
+      public TokenFilter includeElement(final int index)
+      {
+        return resource;
+      }
+
+      @Override
+      public boolean includeEmptyArray(final boolean contentsFiltered)
+      {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Nullable
+  public TokenFilter includeProperty(@NotNull final String name)
+  {
+    return name.equalsIgnoreCase("Resources") ?
+        resourcesFilter : TokenFilter.INCLUDE_ALL;
+  }
+
+  /**
+   * A node of the tree of attributes to keep.
+   */
+  private static final class Node extends TokenFilter
+  {
+    /**
+     * The sub-attributes to keep, keyed by their lower-case names.
+     */
+    @NotNull
+    private final Map<String, Node> children = new HashMap<>();
+
+    /**
+     * Whether this node is a resource, which is kept even if none of its
+     * attributes are.
+     */
+    private final boolean resource;
+
+    /**
+     * Whether the attribute is kept with all of its sub-attributes.
+     */
+    private boolean all;
+
+    /**
+     * Create a new node.
+     *
+     * @param resource  Whether this node is a resource.
+     */
+    Node(final boolean resource)
+    {
+      this.resource = resource;
+    }
+
+    /**
+     * Retrieves the node of a sub-attribute, creating it if necessary.
+     *
+     * @param name  The name of the sub-attribute.
+     * @return The node of the sub-attribute.
+     */
+    @NotNull
+    Node child(@NotNull final String name)
+    {
+      return children.computeIfAbsent(toLowerCase(name), n -> new Node(false));
+    }
+
+    /**
+     * Adds the elements of a path, starting at the provided index, below
+     * this node.
+     *
+     * @param path   The attribute path.
+     * @param index  The index of the first element to add.
+     */
+    void add(@NotNull final Path path, final int index)
+    {
+      if (index == path.size())
+      {
+        all = true;
+        return;
+      }
+      child(path.getElement(index).getAttribute()).add(path, index + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public TokenFilter includeProperty(@NotNull final String name)
+    {
+      Node child = children.get(toLowerCase(name));
+      if (child == null)
+      {
+        return null;
+      }
+      return child.all ? TokenFilter.INCLUDE_ALL : child;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull
+    public TokenFilter includeElement(final int index)
+    {
+      // The values of a multi-valued attribute are filtered like the
+      // attribute itself.
+      return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean includeEmptyObject(final boolean contentsFiltered)
+    {
+      return resource;
+    }
+  }
+}
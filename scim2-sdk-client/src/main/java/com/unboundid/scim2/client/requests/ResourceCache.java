@@ -0,0 +1,432 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.client.requests;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.common.utils.StaticUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded client-side cache of retrieved SCIM resources that is revalidated
+ * with conditional requests. When a resource is retrieved and the service
+ * provider reports its version with an {@code ETag} header or the
+ * {@code meta.version} attribute, the resource is stored together with its
+ * version. The next retrieval of the same resource sends the version in an
+ * {@code If-None-Match} header, and if the service provider responds with
+ * {@code 304 Not Modified}, the cached resource is returned without being
+ * transferred again. A cached resource is therefore never returned without the
+ * service provider confirming that it is current.
+ * <br><br>
+ *
+ * A cache takes effect for the requests of every request builder created from
+ * a web target that has the cache set as its {@link #PROPERTY} property:
+ * <pre>
+ *   ResourceCache cache = new ResourceCache(10_000);
+ *   ScimService scimService =
+ *       new ScimService(target.property(ResourceCache.PROPERTY, cache));
+ * </pre>
+ *
+ * Resources are cached separately for each combination of the
+ * {@code attributes} or {@code excludedAttributes} requested. Retrieve requests
+ * that have an explicit {@code ifNoneMatch} version are not cached. The cached
+ * copies of a resource are discarded when the resource is replaced, modified,
+ * or deleted with a request from a web target that shares the cache, including
+ * the operations of a bulk request. When the cache is full, the least recently
+ * used resource is discarded.
+ * <br><br>
+ *
+ * This class is thread-safe.
+ *
+ * @since 6.0.1
+ */
+public final class ResourceCache
+{
+  /**
+   * The name of the web target configuration property that holds the cache
+   * of the requests to the target.
+   */
+  @NotNull
+  public static final String PROPERTY =
+      "com.unboundid.scim2.client.requests.ResourceCache";
+
+  /**
+   * The default maximum number of cached resources.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  /**
+   * The cached resources, in the order of their last use. This map also
+   * guards {@link #keysByUri}.
+   */
+  @NotNull
+  private final LinkedHashMap<Key, Entry> entries;
+
+  /**
+   * The keys of the cached copies of each resource, by the normalized URI of
+   * the resource, so that a resource is invalidated without a scan of the
+   * entire cache.
+   */
+  @NotNull
+  private final Map<String, Set<Key>> keysByUri = new HashMap<>();
+
+  @NotNull
+  private final AtomicLong hits = new AtomicLong();
+
+  @NotNull
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Create a new cache that holds up to {@value #DEFAULT_MAX_ENTRIES}
+   * resources.
+   */
+  public ResourceCache()
+  {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Create a new cache.
+   *
+   * @param maxEntries  The maximum number of cached resources.
+   */
+  public ResourceCache(final int maxEntries)
+  {
+    if (maxEntries < 1)
+    {
+      throw new IllegalArgumentException(
+          "The maximum number of entries must be positive");
+    }
+    this.entries = new LinkedHashMap<>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(
+          @NotNull final Map.Entry<Key, Entry> eldest)
+      {
+        if (size() <= maxEntries)
+        {
+          return false;
+        }
+        unindex(eldest.getKey());
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Retrieves the number of cached resources.
+   *
+   * @return  The number of cached resources.
+   */
+  public int size()
+  {
+    synchronized (entries)
+    {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Retrieves the number of retrievals that were answered with a
+   * {@code 304 Not Modified} response, and therefore returned a cached
+   * resource.
+   *
+   * @return  The number of cache hits.
+   */
+  public long getHitCount()
+  {
+    return hits.get();
+  }
+
+  /**
+   * Retrieves the number of retrievals that transferred the resource, either
+   * because it was not cached or because it has changed.
+   *
+   * @return  The number of cache misses.
+   */
+  public long getMissCount()
+  {
+    return misses.get();
+  }
+
+  /**
+   * Discards all cached copies of a resource.
+   *
+   * @param uri  The URI of the resource.
+   */
+  public void invalidate(@NotNull final URI uri)
+  {
+    String resourceUri = normalize(uri);
+    synchronized (entries)
+    {
+      Set<Key> keys = keysByUri.remove(resourceUri);
+      if (keys != null)
+      {
+        for (Key key : keys)
+        {
+          entries.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Discards all cached resources.
+   */
+  public void clear()
+  {
+    synchronized (entries)
+    {
+      entries.clear();
+      keysByUri.clear();
+    }
+  }
+
+  /**
+   * Retrieves the cache of the requests to a web target.
+   *
+   * @param configuration  The configuration of the web target.
+   * @return  The cache, or {@code null} if the requests have no cache.
+   */
+  @Nullable
+  static ResourceCache of(@NotNull final Configuration configuration)
+  {
+    return (configuration.getProperty(PROPERTY)
+        instanceof ResourceCache cache) ? cache : null;
+  }
+
+  /**
+   * Creates the key of a cached resource.
+   *
+   * @param uri  The URI of the resource.
+   * @param attributes  The attributes to include or exclude, if any.
+   * @param excluded  Indicates whether the attributes are excluded.
+   * @return  The key.
+   */
+  @NotNull
+  static Key key(@NotNull final URI uri,
+                 @Nullable final Set<String> attributes,
+                 final boolean excluded)
+  {
+    Set<String> names = new TreeSet<>();
+    if (attributes != null)
+    {
+      attributes.forEach(a -> names.add(StaticUtils.toLowerCase(a)));
+    }
+    return new Key(normalize(uri), names, excluded && !names.isEmpty());
+  }
+
+  /**
+   * Retrieves a cached resource.
+   *
+   * @param key  The key of the resource.
+   * @return  The cached resource, or {@code null} if it is not cached.
+   */
+  @Nullable
+  Entry get(@NotNull final Key key)
+  {
+    synchronized (entries)
+    {
+      return entries.get(key);
+    }
+  }
+
+  /**
+   * Converts a cached resource into the requested type after the service
+   * provider confirmed that it is current.
+   *
+   * @param <C> The type of object to return.
+   * @param entry  The cached resource.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return  A new copy of the cached resource.
+   * @throws ProcessingException  If the resource cannot be converted.
+   */
+  @NotNull
+  <C> C hit(@NotNull final Entry entry, @NotNull final Class<C> cls)
+  {
+    hits.incrementAndGet();
+    return toValue(entry.resource(), cls);
+  }
+
+  /**
+   * Reads a successfully retrieved resource and caches it if the service
+   * provider reported its version.
+   *
+   * @param <C> The type of object to return.
+   * @param key  The key of the resource.
+   * @param response  The successful response.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return  The retrieved resource.
+   * @throws ProcessingException  If the response cannot be read.
+   */
+  @NotNull
+  <C> C miss(@NotNull final Key key, @NotNull final Response response,
+             @NotNull final Class<C> cls)
+  {
+    misses.incrementAndGet();
+    ObjectNode resource = response.readEntity(ObjectNode.class);
+    String version = response.getHeaderString(HttpHeaders.ETAG);
+    if (version == null)
+    {
+      JsonNode metaVersion = resource.path("meta").path("version");
+      version = metaVersion.isString() ? metaVersion.asString() : null;
+    }
+
+    if (version == null)
+    {
+      remove(key);
+    }
+    else
+    {
+      synchronized (entries)
+      {
+        keysByUri.computeIfAbsent(key.uri(), uri -> new HashSet<>()).add(key);
+        entries.put(key, new Entry(version, resource));
+      }
+    }
+    return toValue(resource, cls);
+  }
+
+  /**
+   * Discards a cached resource.
+   *
+   * @param key  The key of the resource.
+   */
+  void remove(@NotNull final Key key)
+  {
+    synchronized (entries)
+    {
+      if (entries.remove(key) != null)
+      {
+        unindex(key);
+      }
+    }
+  }
+
+  /**
+   * Removes the key of a cached resource that is discarded from the index of
+   * keys by URI. The caller must hold the lock of the entries.
+   *
+   * @param key  The key of the resource.
+   */
+  private void unindex(@NotNull final Key key)
+  {
+    Set<Key> keys = keysByUri.get(key.uri());
+    if (keys != null && keys.remove(key) && keys.isEmpty())
+    {
+      keysByUri.remove(key.uri());
+    }
+  }
+
+  /**
+   * Converts a resource into the requested type. The resource is copied first
+   * so that the returned object never shares state with the cache.
+   *
+   * @param <C> The type of object to return.
+   * @param resource  The resource.
+   * @param cls  The Java class object used to determine the type to return.
+   * @return  The converted resource.
+   * @throws ProcessingException  If the resource cannot be converted.
+   */
+  @NotNull
+  private static <C> C toValue(@NotNull final ObjectNode resource,
+                               @NotNull final Class<C> cls)
+  {
+    try
+    {
+      return JsonUtils.nodeToValue(resource.deepCopy(), cls);
+    }
+    catch (JacksonException e)
+    {
+      throw new ProcessingException(e);
+    }
+  }
+
+  /**
+   * Normalizes the URI of a resource so that different forms of the same URI
+   * share cache entries.
+   *
+   * @param uri  The URI of the resource.
+   * @return  The URI without its query, fragment, or trailing slash.
+   */
+  @NotNull
+  private static String normalize(@NotNull final URI uri)
+  {
+    String path = uri.normalize().getRawPath();
+    if (path != null && path.endsWith("/"))
+    {
+      path = path.substring(0, path.length() - 1);
+    }
+    return uri.getScheme() + "://" + uri.getRawAuthority() + path;
+  }
+
+  /**
+   * The key of a cached resource.
+   *
+   * @param uri  The normalized URI of the resource.
+   * @param attributes  The lowercase names of the attributes to include or
+   *                    exclude.
+   * @param excluded  Indicates whether the attributes are excluded.
+   */
+  record Key(@NotNull String uri,
+             @NotNull Set<String> attributes,
+             boolean excluded)
+  {
+  }
+
+  /**
+   * A cached resource.
+   *
+   * @param version  The version of the resource.
+   * @param resource  The JSON representation of the resource.
+   */
+  record Entry(@NotNull String version, @NotNull ObjectNode resource)
+  {
+  }
+}
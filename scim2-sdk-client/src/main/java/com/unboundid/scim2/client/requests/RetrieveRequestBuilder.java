@@ -35,13 +35,17 @@ package com.unboundid.scim2.client.requests;
 import com.unboundid.scim2.common.ScimResource;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.NotModifiedException;
 import com.unboundid.scim2.common.exceptions.ScimException;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
@@ -83,6 +87,133 @@ public abstract class RetrieveRequestBuilder
     return request;
   }
 
+  /**
+   * Send the retrieve request and read the resource. If the web target of
+   * this builder has a {@link ResourceCache} and no version was provided with
+   * {@code ifNoneMatch}, a cached copy of the resource is revalidated with the
+   * service provider and returned if it is current.
+   *
+   * @param <C> The type of object to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return The successfully retrieved SCIM resource.
+   * @throws ProcessingException If a JAX-RS runtime exception occurred.
+   * @throws ScimException If the SCIM service responded with an error.
+   */
+  @NotNull
+  <C> C retrieve(@NotNull final Class<C> cls) throws ScimException
+  {
+    ResourceCache cache = ResourceCache.of(target().getConfiguration());
+    if (cache == null || version != null)
+    {
+      try (Response response = send(buildRequest(), HttpMethod.GET, null))
+      {
+        if (response.getStatusInfo().getFamily() == SUCCESSFUL)
+        {
+          return response.readEntity(cls);
+        }
+        else
+        {
+          throw toScimException(response);
+        }
+      }
+    }
+
+    ResourceCache.Key key =
+        ResourceCache.key(target().getUri(), attributes, excluded);
+    ResourceCache.Entry cached = cache.get(key);
+    try (Response response =
+             send(buildCachedRequest(cached), HttpMethod.GET, null))
+    {
+      if (cached != null &&
+          response.getStatus() == NotModifiedException.statusInt())
+      {
+        return cache.hit(cached, cls);
+      }
+      else if (response.getStatusInfo().getFamily() == SUCCESSFUL)
+      {
+        return cache.miss(key, response, cls);
+      }
+      else
+      {
+        cache.remove(key);
+        throw toScimException(response);
+      }
+    }
+  }
+
+  /**
+   * Send the retrieve request asynchronously and read the resource, using
+   * the {@link ResourceCache} of the web target in the same way as
+   * {@link #retrieve(Class)}.
+   *
+   * @param <C> The type of object to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the successfully retrieved SCIM
+   *         resource, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #retrieve(Class)} would have
+   *         thrown.
+   */
+  @NotNull
+  <C> CompletionStage<C> retrieveAsync(@NotNull final Class<C> cls)
+  {
+    ResourceCache cache = ResourceCache.of(target().getConfiguration());
+    if (cache == null || version != null)
+    {
+      return invokeAsync(buildRequest(), HttpMethod.GET, null,
+          response -> response.readEntity(cls));
+    }
+
+    ResourceCache.Key key =
+        ResourceCache.key(target().getUri(), attributes, excluded);
+    ResourceCache.Entry cached = cache.get(key);
+    CompletableFuture<C> result = new CompletableFuture<>();
+    invokeAsync(buildCachedRequest(cached), HttpMethod.GET, null,
+        response -> cache.miss(key, response, cls))
+        .whenComplete((resource, failure) -> {
+          if (failure == null)
+          {
+            result.complete(resource);
+          }
+          else if (cached != null && failure instanceof NotModifiedException)
+          {
+            try
+            {
+              result.complete(cache.hit(cached, cls));
+            }
+            catch (RuntimeException e)
+            {
+              result.completeExceptionally(e);
+            }
+          }
+          else
+          {
+            cache.remove(key);
+            result.completeExceptionally(failure);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Build the Invocation.Builder for a retrieve request that revalidates a
+   * cached resource.
+   *
+   * @param cached The cached resource, or {@code null} if the resource is
+   *               not cached.
+   * @return The Invocation.Builder for the request.
+   */
+  @NotNull
+  private Invocation.Builder buildCachedRequest(
+      @Nullable final ResourceCache.Entry cached)
+  {
+    Invocation.Builder request = buildRequest();
+    if (cached != null)
+    {
+      request.header(HttpHeaders.IF_NONE_MATCH, cached.version());
+    }
+    return request;
+  }
+
 
   /**
    * A builder for SCIM retrieve requests for where the returned resource POJO
@@ -147,17 +278,37 @@ public abstract class RetrieveRequestBuilder
     @NotNull
     public <C> C invoke(@NotNull final Class<C> cls) throws ScimException
     {
-      try (Response response = buildRequest().get())
-      {
-        if (response.getStatusInfo().getFamily() == SUCCESSFUL)
-        {
-          return response.readEntity(cls);
-        }
-        else
-        {
-          throw toScimException(response);
-        }
-      }
+      return retrieve(cls);
+    }
+
+    /**
+     * Invoke the SCIM retrieve request asynchronously.
+     *
+     * @return A stage that completes with the successfully retrieved SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke()} would have thrown.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public CompletionStage<T> invokeAsync()
+    {
+      return invokeAsync((Class<T>) resource.getClass());
+    }
+
+    /**
+     * Invoke the SCIM retrieve request asynchronously.
+     *
+     * @param <C> The type of object to return.
+     * @param cls The Java class object used to determine the type to return.
+     * @return A stage that completes with the successfully retrieved SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke(Class)} would have
+     *         thrown.
+     */
+    @NotNull
+    public <C> CompletionStage<C> invokeAsync(@NotNull final Class<C> cls)
+    {
+      return retrieveAsync(cls);
     }
   }
 
@@ -205,17 +356,23 @@ public abstract class RetrieveRequestBuilder
     @NotNull
     public <T> T invoke(@NotNull final Class<T> cls) throws ScimException
     {
-      try (Response response = buildRequest().get())
-      {
-        if (response.getStatusInfo().getFamily() == SUCCESSFUL)
-        {
-          return response.readEntity(cls);
-        }
-        else
-        {
-          throw toScimException(response);
-        }
-      }
+      return retrieve(cls);
+    }
+
+    /**
+     * Invoke the SCIM retrieve request asynchronously.
+     *
+     * @param <T> The type of object to return.
+     * @param cls The Java class object used to determine the type to return.
+     * @return A stage that completes with the successfully retrieved SCIM
+     *         resource, or completes exceptionally with the ScimException or
+     *         ProcessingException that {@link #invoke(Class)} would have
+     *         thrown.
+     */
+    @NotNull
+    public <T> CompletionStage<T> invokeAsync(@NotNull final Class<T> cls)
+    {
+      return retrieveAsync(cls);
     }
   }
 }
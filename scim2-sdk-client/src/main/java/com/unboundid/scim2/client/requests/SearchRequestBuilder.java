@@ -37,6 +37,7 @@ import com.unboundid.scim2.client.SearchResultHandler;
 import com.unboundid.scim2.common.ScimResource;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.exceptions.ScimException;
 import com.unboundid.scim2.common.filters.Filter;
 import com.unboundid.scim2.common.messages.ListResponse;
@@ -49,7 +50,12 @@ import com.unboundid.scim2.common.utils.StaticUtils;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
 import tools.jackson.core.JsonToken;
+import tools.jackson.core.filter.FilteringParserDelegate;
+import tools.jackson.core.filter.TokenFilter;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
 
+import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
@@ -62,6 +68,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.unboundid.scim2.common.utils.ApiConstants.QUERY_PARAMETER_FILTER;
 import static com.unboundid.scim2.common.utils.ApiConstants.QUERY_PARAMETER_PAGE_CURSOR;
@@ -80,6 +91,22 @@ import static jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 public class SearchRequestBuilder
     extends ResourceReturningRequestBuilder<SearchRequestBuilder>
 {
+  /**
+   * The number of results per page requested by {@link #iterator(Class)} when
+   * no page size was set with {@link #page} or {@link #pageWithCursor}.
+   *
+   * @since 6.0.1
+   */
+  public static final int DEFAULT_ITERATOR_PAGE_SIZE = 100;
+
+  /**
+   * The default number of pages that {@link #iterator(Class)} requests ahead
+   * of the page that is being consumed.
+   *
+   * @since 6.0.1
+   */
+  public static final int DEFAULT_PREFETCH_PAGES = 1;
+
   @Nullable
   private String filter;
 
@@ -98,6 +125,11 @@ public class SearchRequestBuilder
   @Nullable
   private Integer count;
 
+  private int prefetchPages = DEFAULT_PREFETCH_PAGES;
+
+  @Nullable
+  private ResourceAttributeFilter attributeFilter;
+
   /**
    * Create a new search request builder.
    *
@@ -231,12 +263,99 @@ public class SearchRequestBuilder
     return pageWithCursor("", count);
   }
 
+  /**
+   * Sets the number of pages that {@link #iterator(Class)} and
+   * {@link #stream(Class)} request in the background ahead of the page that is
+   * being consumed. Each page is requested as soon as the page before it has
+   * arrived, so a larger value overlaps more network I/O with the processing
+   * of the results, at the cost of holding more pages in memory.
+   *
+   * @param pages  The maximum number of pages to request ahead. A value of
+   *               {@code 0} disables prefetching.
+   * @return This builder.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public SearchRequestBuilder prefetch(final int pages)
+  {
+    if (pages < 0)
+    {
+      throw new IllegalArgumentException(
+          "The number of pages to prefetch must not be negative");
+    }
+    this.prefetchPages = pages;
+    return this;
+  }
+
+  /**
+   * Keep only the provided attributes of each resource in the search results.
+   * The fields of all other attributes are skipped while the response is
+   * parsed, without being deserialized. This reduces the cost of reading large
+   * pages of results when only a few attributes are needed, for example with a
+   * service provider that does not honor the {@link #attributes} parameter,
+   * or when the attributes are needed for the request but not in the results.
+   * <br><br>
+   *
+   * Attribute names are matched case-insensitively. Value filters in attribute
+   * paths are ignored, so all values of a multi-valued attribute are kept, and
+   * the URN of a schema extension keeps the whole extension. The
+   * {@code schemas}, {@code id} and {@code meta} attributes are always kept.
+   * Unlike {@link #attributes}, this does not change the request.
+   *
+   * @param attributes  The attribute paths to keep, such as {@code userName}
+   *                    or {@code name.familyName}. If no attributes are
+   *                    provided, all attributes are kept.
+   * @return This builder.
+   * @throws IllegalArgumentException  If an attribute path is invalid.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public SearchRequestBuilder keepAttributes(
+      @Nullable final String... attributes)
+  {
+    if (attributes == null || attributes.length == 0)
+    {
+      this.attributeFilter = null;
+      return this;
+    }
+
+    try
+    {
+      this.attributeFilter = new ResourceAttributeFilter(List.of(attributes));
+    }
+    catch (BadRequestException e)
+    {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+    return this;
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   @NotNull
   WebTarget buildTarget()
+  {
+    return buildTarget(startIndex, cursor, count);
+  }
+
+  /**
+   * Build the WebTarget for a request for the provided page of results.
+   *
+   * @param startIndex  The 1-based index of the first query result, or
+   *                    {@code null} for no index-based pagination.
+   * @param cursor      The cursor that identifies the page, or {@code null}
+   *                    for no cursor-based pagination.
+   * @param count       The desired maximum number of query results per page.
+   * @return The WebTarget for the request.
+   */
+  @NotNull
+  private WebTarget buildTarget(@Nullable final Integer startIndex,
+                                @Nullable final String cursor,
+                                @Nullable final Integer count)
   {
     WebTarget target = super.buildTarget();
     if (filter != null)
@@ -358,88 +477,318 @@ public class SearchRequestBuilder
    * @throws ProcessingException If a JAX-RS runtime exception occurred.
    * @throws ScimException If the SCIM service provider responded with an error.
    */
-  @SuppressWarnings("SpellCheckingInspection")
   private <T> void invoke(final boolean post,
                           @NotNull final SearchResultHandler<T> resultHandler,
                           @NotNull final Class<T> cls)
       throws ScimException
   {
-    try (Response response = (post) ? sendPostSearch() : buildRequest().get())
+    try (Response response = (post) ? sendPostSearch() :
+        send(buildRequest(), HttpMethod.GET, null))
     {
       if (response.getStatusInfo().getFamily() != SUCCESSFUL)
       {
         throw toScimException(response);
       }
 
-      try (InputStream i = response.readEntity(InputStream.class);
-           JsonParser parser = JsonUtils.getObjectReader().createParser(i))
+      readSearchResults(response, resultHandler, cls);
+    }
+  }
+
+  /**
+   * Returns an iterator over all results of the search, using GET. Pages are
+   * requested as the results are consumed, so memory use is bounded by the
+   * page size and the number of prefetched pages rather than by the size of
+   * the result set.
+   * <br><br>
+   *
+   * If a cursor was set with {@link #pageWithCursor}, the iterator follows the
+   * {@code nextCursor} of each page as defined by
+   * <a href="https://datatracker.ietf.org/doc/html/rfc9865">RFC 9865</a>.
+   * Otherwise, the iterator uses index-based pagination starting at the index
+   * set with {@link #page}, or at the first result. The page size is the count
+   * provided to either method, or {@link #DEFAULT_ITERATOR_PAGE_SIZE}. Up to
+   * the number of pages set with {@link #prefetch} are requested in the
+   * background while the current page is consumed.
+   * <br><br>
+   *
+   * The iterator should be closed if it is not consumed completely, so that no
+   * further pages are requested.
+   *
+   * @param <T> The type of objects to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return An iterator over the search results.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public <T> SearchResultIterator<T> iterator(@NotNull final Class<T> cls)
+  {
+    int pageSize = (count == null) ? DEFAULT_ITERATOR_PAGE_SIZE : count;
+    if (cursor != null)
+    {
+      return new SearchResultIterator<>(
+          this, cls, pageSize, prefetchPages, null, cursor);
+    }
+
+    int firstIndex = (startIndex == null) ? 1 : startIndex;
+    return new SearchResultIterator<>(
+        this, cls, pageSize, prefetchPages, firstIndex, null);
+  }
+
+  /**
+   * Returns a sequential stream over all results of the search, using GET.
+   * This behaves like {@link #iterator(Class)}, and closing the stream closes
+   * the underlying iterator.
+   *
+   * @param <T> The type of objects to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stream of the search results.
+   *
+   * @since 6.0.1
+   */
+  @NotNull
+  public <T> Stream<T> stream(@NotNull final Class<T> cls)
+  {
+    SearchResultIterator<T> iterator = iterator(cls);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+            Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(iterator::close);
+  }
+
+  /**
+   * Request a single page of results asynchronously using GET. This is used by
+   * {@link SearchResultIterator} and does not modify this builder.
+   *
+   * @param <T> The type of objects to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @param startIndex  The 1-based index of the first query result, or
+   *                    {@code null} if a cursor is used.
+   * @param cursor      The cursor that identifies the page, or {@code null} if
+   *                    index-based pagination is used.
+   * @param pageSize    The desired maximum number of query results.
+   * @return A stage that completes with the requested page.
+   */
+  @NotNull
+  <T> CompletionStage<ListResponse<T>> invokePageAsync(
+      @NotNull final Class<T> cls,
+      @Nullable final Integer startIndex,
+      @Nullable final String cursor,
+      final int pageSize)
+  {
+    var request = buildRequest(buildTarget(startIndex, cursor, pageSize));
+    return invokeAsync(request, HttpMethod.GET, null,
+        response -> readListResponse(response, cls));
+  }
+
+  /**
+   * Invoke the SCIM retrieve request asynchronously using GET.
+   *
+   * @param <T> The type of objects to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the ListResponse containing the search
+   *         results, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invoke(Class)} would have thrown.
+   */
+  @NotNull
+  public <T> CompletionStage<ListResponse<T>> invokeAsync(
+      @NotNull final Class<T> cls)
+  {
+    return invokeAsync(buildRequest(), HttpMethod.GET, null,
+        response -> readListResponse(response, cls));
+  }
+
+  /**
+   * Invoke the SCIM retrieve request asynchronously using POST.
+   *
+   * @param <T> The type of objects to return.
+   * @param cls The Java class object used to determine the type to return.
+   * @return A stage that completes with the ListResponse containing the search
+   *         results, or completes exceptionally with the ScimException or
+   *         ProcessingException that {@link #invokePost(Class)} would have
+   *         thrown.
+   */
+  @NotNull
+  public <T extends ScimResource> CompletionStage<ListResponse<T>>
+      invokePostAsync(@NotNull final Class<T> cls)
+  {
+    return invokeAsync(buildPostSearchRequest(), HttpMethod.POST,
+        buildPostSearchEntity(), response -> readListResponse(response, cls));
+  }
+
+  /**
+   * Read a successful search response into a ListResponse.
+   *
+   * @param <T> The type of objects to return.
+   * @param response The successful search response.
+   * @param cls The Java class object used to determine the type to return.
+   * @return The ListResponse containing the search results.
+   * @throws ResponseProcessingException If the response could not be read.
+   */
+  @NotNull
+  private <T> ListResponse<T> readListResponse(
+      @NotNull final Response response,
+      @NotNull final Class<T> cls)
+  {
+    ListResponseBuilder<T> listResponseBuilder = new ListResponseBuilder<>();
+    readSearchResults(response, listResponseBuilder, cls);
+    return listResponseBuilder.build();
+  }
+
+  /**
+   * Stream the results of a successful search response to a result handler.
+   *
+   * @param <T> The type of objects to return.
+   * @param response The successful search response.
+   * @param resultHandler The search result handler that should be used to
+   *                      process the resources.
+   * @param cls The Java class object used to determine the type to return.
+   * @throws ResponseProcessingException If the response could not be read.
+   */
+  @SuppressWarnings("SpellCheckingInspection")
+  private <T> void readSearchResults(
+      @NotNull final Response response,
+      @NotNull final SearchResultHandler<T> resultHandler,
+      @NotNull final Class<T> cls)
+  {
+    // Resolve the reader for the result type once, rather than for each
+    // resource in the response. Each resource is followed by the rest of the
+    // response, so trailing tokens are expected.
+    ObjectReader reader = JsonUtils.getObjectReader().forType(cls)
+        .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    try (InputStream i = response.readEntity(InputStream.class);
+         JsonParser parser = createParser(reader, i))
+    {
+      parser.nextToken();
+      while (!parser.isClosed() && parser.nextToken() != JsonToken.END_OBJECT)
       {
+        String field = String.valueOf(parser.currentName());
         parser.nextToken();
-        while (!parser.isClosed() && parser.nextToken() != JsonToken.END_OBJECT)
+
+        switch (toLowerCase(field))
         {
-          String field = String.valueOf(parser.currentName());
-          parser.nextToken();
-
-          switch (toLowerCase(field))
-          {
-            case "schemas":
-              parser.skipChildren();
-              break;
-            case "totalresults":
-              resultHandler.totalResults(parser.getIntValue());
-              break;
-            case "startindex":
-              resultHandler.startIndex(parser.getIntValue());
-              break;
-            case "previouscursor":
-              // The "previousCursor" value as defined by RFC 9865.
-              resultHandler.previousCursor(parser.getValueAsString());
-              break;
-            case "nextcursor":
-              // The "nextCursor" value as defined by RFC 9865.
-              resultHandler.nextCursor(parser.getValueAsString());
-              break;
-            case "itemsperpage":
-              resultHandler.itemsPerPage(parser.getIntValue());
-              break;
-            case "resources":
-              while (parser.nextToken() != JsonToken.END_ARRAY)
+          case "schemas":
+            parser.skipChildren();
+            break;
+          case "totalresults":
+            resultHandler.totalResults(parser.getIntValue());
+            break;
+          case "startindex":
+            resultHandler.startIndex(parser.getIntValue());
+            break;
+          case "previouscursor":
+            // The "previousCursor" value as defined by RFC 9865.
+            resultHandler.previousCursor(parser.getValueAsString());
+            break;
+          case "nextcursor":
+            // The "nextCursor" value as defined by RFC 9865.
+            resultHandler.nextCursor(parser.getValueAsString());
+            break;
+          case "itemsperpage":
+            resultHandler.itemsPerPage(parser.getIntValue());
+            break;
+          case "resources":
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+              if (!resultHandler.resource(reader.readValue(parser)))
               {
-                if (!resultHandler.resource(parser.readValueAs(cls)))
-                {
-                  break;
-                }
+                break;
               }
-              break;
+            }
+            break;
 
-            default:
-              if (SchemaUtils.isUrn(field))
-              {
-                resultHandler.extension(field, parser.readValueAsTree());
-              }
-              else
-              {
-                // Just skip this field
-                parser.nextToken();
-              }
-          }
+          default:
+            if (SchemaUtils.isUrn(field))
+            {
+              resultHandler.extension(field, parser.readValueAsTree());
+            }
+            else
+            {
+              // Just skip this field
+              parser.nextToken();
+            }
         }
       }
-      catch (IOException | JacksonException e)
-      {
-        throw new ResponseProcessingException(response, e);
-      }
+    }
+    catch (IOException | JacksonException e)
+    {
+      throw new ResponseProcessingException(response, e);
     }
   }
 
+  /**
+   * Creates the parser for a search response, which skips the attributes that
+   * are not kept if {@link #keepAttributes} was used.
+   *
+   * @param reader  The reader for the search results.
+   * @param input   The search response.
+   * @return The parser.
+   */
+  @NotNull
+  private JsonParser createParser(@NotNull final ObjectReader reader,
+                                  @NotNull final InputStream input)
+  {
+    JsonParser parser = reader.createParser(input);
+    if (attributeFilter == null)
+    {
+      return parser;
+    }
+    return new FilteringParserDelegate(parser, attributeFilter,
+        TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+  }
+
   /**
    * Issues a POST search request, i.e., a {@link SearchRequest}. A common
    * example of this is the {@code /Users/.search} endpoint.
    *
    * @return  The HTTP {@link Response} to the POST request.
+   * @throws ScimException  If the resilience policy rejected the request.
+   */
+  @NotNull
+  private Response sendPostSearch() throws ScimException
+  {
+    return send(buildPostSearchRequest(), HttpMethod.POST,
+        buildPostSearchEntity());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <br><br>
+   * A search does not modify any resources, so it is always safe to repeat,
+   * even when it is sent with POST.
+   */
+  @Override
+  boolean isIdempotent(@NotNull final String method,
+                       @NotNull final ResiliencePolicy policy)
+  {
+    return true;
+  }
+
+  /**
+   * Build the Invocation.Builder for a POST search request.
+   *
+   * @return  The Invocation.Builder for the {@code .search} endpoint.
    */
   @NotNull
-  private Response sendPostSearch()
+  private Invocation.Builder buildPostSearchRequest()
+  {
+    Invocation.Builder builder = target().
+        path(ApiConstants.SEARCH_WITH_POST_PATH_EXTENSION).
+        request(ScimService.MEDIA_TYPE_SCIM_TYPE, APPLICATION_JSON_TYPE);
+    for (Map.Entry<String, List<Object>> header : headers.entrySet())
+    {
+      String stringValue = StaticUtils.listToString(header.getValue(), ", ");
+      builder = builder.header(header.getKey(), stringValue);
+    }
+    return builder;
+  }
+
+  /**
+   * Build the {@link SearchRequest} entity for a POST search request.
+   *
+   * @return  The entity to send to the {@code .search} endpoint.
+   */
+  @NotNull
+  private Entity<byte[]> buildPostSearchEntity()
   {
     Set<String> attributeSet = null;
     Set<String> excludedAttributeSet = null;
@@ -457,17 +806,6 @@ public class SearchRequestBuilder
 
     var searchRequest = new SearchRequest(attributeSet, excludedAttributeSet,
         filter, sortBy, sortOrder, startIndex, cursor, count);
-
-    Invocation.Builder builder = target().
-        path(ApiConstants.SEARCH_WITH_POST_PATH_EXTENSION).
-        request(ScimService.MEDIA_TYPE_SCIM_TYPE, APPLICATION_JSON_TYPE);
-    for (Map.Entry<String, List<Object>> header : headers.entrySet())
-    {
-      String stringValue = StaticUtils.listToString(header.getValue(), ", ");
-      builder = builder.header(header.getKey(), stringValue);
-    }
-
-    var entity = Entity.entity(generify(searchRequest), getContentType());
-    return builder.post(entity);
+    return buildEntity(searchRequest);
   }
 }
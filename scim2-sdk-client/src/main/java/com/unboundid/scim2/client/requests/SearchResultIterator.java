@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+
+package com.unboundid.scim2.client.requests;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.messages.ListResponse;
+
+import jakarta.ws.rs.ProcessingException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * An iterator over all results of a search that requests the pages of the
+ * result set as they are needed. Instances are obtained from
+ * {@link SearchRequestBuilder#iterator(Class)}.
+ * <br><br>
+ *
+ * Each page is requested asynchronously as soon as the page before it has
+ * arrived, up to a configured number of pages ahead of the page that is being
+ * consumed. This overlaps the network I/O for the following pages with the
+ * processing of the current page, while only holding a bounded number of pages
+ * in memory. The next page is located with the {@code nextCursor} of the
+ * previous page when cursor-based pagination is used, or with the
+ * {@code startIndex} and the number of results in the previous page when
+ * index-based pagination is used.
+ * <br><br>
+ *
+ * If a page cannot be retrieved, {@link #hasNext()} and {@link #next()} throw a
+ * {@link ProcessingException}. If the SCIM service provider responded with an
+ * error, its cause is the corresponding {@link ScimException}. This class is
+ * not thread-safe.
+ *
+ * @param <T> The type of objects returned by the iterator.
+ *
+ * @since 6.0.1
+ */
+public final class SearchResultIterator<T> implements Iterator<T>,
+    AutoCloseable
+{
+  @NotNull
+  private final SearchRequestBuilder builder;
+
+  @NotNull
+  private final Class<T> cls;
+
+  private final int pageSize;
+
+  private final int prefetchPages;
+
+  @NotNull
+  private final Page<T> end = new Page<>(Collections.emptyList(), null, null);
+
+  @NotNull
+  private final Deque<CompletableFuture<Page<T>>> pages = new ArrayDeque<>();
+
+  @NotNull
+  private CompletableFuture<Page<T>> tail;
+
+  @NotNull
+  private Iterator<T> current = Collections.emptyIterator();
+
+  private boolean done;
+
+  private volatile boolean closed;
+
+  /**
+   * Create a new iterator and request the first page of results.
+   *
+   * @param builder        The builder of the search request.
+   * @param cls            The Java class object used to determine the type to
+   *                       return.
+   * @param pageSize       The desired maximum number of results per page.
+   * @param prefetchPages  The maximum number of pages to request ahead of the
+   *                       page that is being consumed.
+   * @param startIndex     The index of the first result, or {@code null} if
+   *                       cursor-based pagination is used.
+   * @param cursor         The cursor of the first page, or {@code null} if
+   *                       index-based pagination is used.
+   */
+  SearchResultIterator(@NotNull final SearchRequestBuilder builder,
+                       @NotNull final Class<T> cls,
+                       final int pageSize,
+                       final int prefetchPages,
+                       @Nullable final Integer startIndex,
+                       @Nullable final String cursor)
+  {
+    this.builder = builder;
+    this.cls = cls;
+    this.pageSize = pageSize;
+    this.prefetchPages = prefetchPages;
+    this.tail = fetch(startIndex, cursor);
+    pages.add(tail);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ProcessingException If a page of results could not be retrieved.
+   */
+  @Override
+  public boolean hasNext()
+  {
+    while (!current.hasNext())
+    {
+      if (done)
+      {
+        return false;
+      }
+
+      requestPages(1);
+      Page<T> page = await(pages.remove());
+      current = page.resources().iterator();
+      if (page.isLast())
+      {
+        done = true;
+      }
+      else
+      {
+        requestPages(prefetchPages);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ProcessingException If a page of results could not be retrieved.
+   */
+  @Override
+  @NotNull
+  public T next()
+  {
+    if (!hasNext())
+    {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /**
+   * Stops the iteration. Pages that have already been requested are
+   * discarded, and no further pages are requested.
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    done = true;
+    current = Collections.emptyIterator();
+    for (CompletableFuture<Page<T>> page : pages)
+    {
+      page.cancel(false);
+    }
+    pages.clear();
+  }
+
+  /**
+   * Ensure that the provided number of pages have been requested ahead of the
+   * page that is being consumed.
+   *
+   * @param depth  The number of pages to request ahead.
+   */
+  private void requestPages(final int depth)
+  {
+    while (pages.size() < depth)
+    {
+      tail = tail.thenCompose(page -> (page.isLast() || closed) ?
+          CompletableFuture.completedFuture(end) :
+          fetch(page.nextStartIndex(), page.nextCursor()));
+      pages.add(tail);
+    }
+  }
+
+  /**
+   * Request a page of results.
+   *
+   * @param startIndex  The index of the first result, or {@code null} if
+   *                    cursor-based pagination is used.
+   * @param cursor      The cursor of the page, or {@code null} if index-based
+   *                    pagination is used.
+   * @return A future that completes with the page.
+   */
+  @NotNull
+  private CompletableFuture<Page<T>> fetch(@Nullable final Integer startIndex,
+                                           @Nullable final String cursor)
+  {
+    return builder.invokePageAsync(cls, startIndex, cursor, pageSize)
+        .thenApply(response -> toPage(startIndex, response))
+        .toCompletableFuture();
+  }
+
+  /**
+   * Determine where the page after the provided response starts.
+   *
+   * @param startIndex  The index of the first result in the response, or
+   *                    {@code null} if cursor-based pagination is used.
+   * @param response    The response for the page.
+   * @return The page.
+   */
+  @NotNull
+  private Page<T> toPage(@Nullable final Integer startIndex,
+                         @NotNull final ListResponse<T> response)
+  {
+    List<T> resources = response.getResources();
+    if (startIndex == null)
+    {
+      return new Page<>(resources, null, response.getNextCursor());
+    }
+
+    // The service provider may return fewer results than requested, so the
+    // next page starts after the results that were actually returned.
+    int nextStartIndex = startIndex + resources.size();
+    boolean last = resources.isEmpty() ||
+        nextStartIndex > response.getTotalResults();
+    return new Page<>(resources, last ? null : nextStartIndex, null);
+  }
+
+  /**
+   * Wait for a page of results.
+   *
+   * @param future  The future for the page.
+   * @return The page.
+   * @throws ProcessingException If the page could not be retrieved.
+   */
+  @NotNull
+  private Page<T> await(@NotNull final CompletableFuture<Page<T>> future)
+  {
+    try
+    {
+      return future.get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      close();
+      throw new ProcessingException(e);
+    }
+    catch (CancellationException e)
+    {
+      close();
+      return end;
+    }
+    catch (ExecutionException e)
+    {
+      close();
+      if (e.getCause() instanceof ProcessingException pe)
+      {
+        throw pe;
+      }
+      throw new ProcessingException(e.getCause());
+    }
+  }
+
+  /**
+   * A page of results, along with the location of the page after it.
+   *
+   * @param resources       The results in the page.
+   * @param nextStartIndex  The index of the first result of the next page, or
+   *                        {@code null} if there is no such page or
+   *                        cursor-based pagination is used.
+   * @param nextCursor      The cursor of the next page, or {@code null} if
+   *                        there is no such page or index-based pagination is
+   *                        used.
+   * @param <T> The type of the results.
+   */
+  private record Page<T>(@NotNull List<T> resources,
+                         @Nullable Integer nextStartIndex,
+                         @Nullable String nextCursor)
+  {
+    /**
+     * Indicates whether this is the last page of the result set.
+     *
+     * @return {@code true} if there is no page after this one.
+     */
+    private boolean isLast()
+    {
+      return nextStartIndex == null && nextCursor == null;
+    }
+  }
+}
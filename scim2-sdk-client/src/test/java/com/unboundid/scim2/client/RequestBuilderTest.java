@@ -37,11 +37,21 @@ import com.unboundid.scim2.client.requests.CreateRequestBuilder;
 import com.unboundid.scim2.client.requests.DeleteRequestBuilder;
 import com.unboundid.scim2.client.requests.ReplaceRequestBuilder;
 import com.unboundid.scim2.client.requests.SearchRequestBuilder;
+import com.unboundid.scim2.common.GenericScimResource;
 import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.messages.PatchOperation;
+import com.unboundid.scim2.common.messages.PatchRequest;
+import com.unboundid.scim2.common.types.Email;
+import com.unboundid.scim2.common.types.EnterpriseUserExtension;
+import com.unboundid.scim2.common.types.Name;
 import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
 import org.testng.annotations.Test;
 
+import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.WebTarget;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -129,4 +139,66 @@ public class RequestBuilderTest
     bulkInstance.otherField = "present";
     assertThat(bulkInstance.otherField).isEqualTo("present");
   }
+
+  /**
+   * Ensures that request entities are serialized directly from the resource
+   * into the same JSON that the generified resource would produce, and that
+   * an overridden {@code generify()} method is still honored.
+   */
+  @Test
+  public void testBuildEntity() throws Exception
+  {
+    final UserResource user = new UserResource()
+        .setUserName("bjensen")
+        .setName(new Name().setGivenName("Barbara").setFamilyName("Jensen"))
+        .setEmails(new Email().setValue("bjensen@example.com").setType("work"));
+    user.setExtension(new EnterpriseUserExtension().setEmployeeNumber("42"));
+    final PatchRequest patch = new PatchRequest(
+        PatchOperation.replace("userName", "babs"));
+
+    class CustomCreate extends CreateRequestBuilder<UserResource>
+    {
+      public CustomCreate(WebTarget target, UserResource resource)
+      {
+        super(target, resource);
+      }
+
+      public Entity<byte[]> entity(ScimResource resource)
+      {
+        return buildEntity(resource);
+      }
+    }
+    var builder = new CustomCreate(null, user);
+    for (ScimResource resource : List.of(user, patch,
+        user.asGenericScimResource()))
+    {
+      Entity<byte[]> entity = builder.entity(resource);
+      assertThat(new String(entity.getEntity(), StandardCharsets.UTF_8))
+          .isEqualTo(JsonUtils.getObjectWriter().writeValueAsString(
+              resource.asGenericScimResource()));
+      assertThat(entity.getMediaType().toString())
+          .isEqualTo("application/scim+json");
+    }
+
+    class GenerifyingCreate extends CustomCreate
+    {
+      public GenerifyingCreate(WebTarget target, UserResource resource)
+      {
+        super(target, resource);
+      }
+
+      @Override
+      protected GenericScimResource generify(ScimResource resource)
+      {
+        GenericScimResource generic = resource.asGenericScimResource();
+        generic.getObjectNode().remove("emails");
+        return generic;
+      }
+    }
+    var generifying = new GenerifyingCreate(null, user);
+    assertThat(new String(generifying.entity(user).getEntity(),
+        StandardCharsets.UTF_8))
+        .contains("bjensen")
+        .doesNotContain("bjensen@example.com");
+  }
 }
@@ -56,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.unboundid.scim2.common.utils.StaticUtils.toList;
 
@@ -122,6 +123,15 @@ public abstract class BaseScimResource
   private final ObjectNode extensionObjectNode =
       JsonUtils.getJsonNodeFactory().objectNode();
 
+  /**
+   * The extension objects returned by {@link #getExtensionView}, keyed by
+   * their class. This is a concurrent map so that threads which only read
+   * this resource may share it.
+   */
+  @NotNull
+  private final Map<Class<?>, ExtensionView> extensionViews =
+      new ConcurrentHashMap<>();
+
   /**
    * Constructs a new BaseScimResource object, and sets the urn if
    * the class extending this one is annotated.
@@ -388,6 +398,117 @@ public abstract class BaseScimResource
     return (ext == null) ? null : JsonUtils.nodeToValue(ext, clazz);
   }
 
+  /**
+   * Retrieve a SCIM extension based on the annotations of the class provided,
+   * like {@link #getExtension(Class)}. Unlike that method, the converted
+   * object is cached by this resource and returned again by later calls, as
+   * long as the JSON of the extension has not changed. This avoids converting
+   * the extension again when it is read repeatedly, for example when
+   * resources are sorted or mapped by an extension attribute.
+   * <br><br>
+   *
+   * The returned object is shared by all callers, so it must not be modified.
+   * Use {@link #getExtension(Class)} to obtain a copy that may be modified,
+   * and {@link #setExtension} to update the extension. Changes made to the
+   * extension through this resource, including changes to the nodes returned
+   * by {@link #getExtensionObjectNode}, are detected by comparing the JSON of
+   * the extension with the JSON that the cached object was converted from.
+   * <br><br>
+   *
+   * Like the other read methods of this class, this method may be called by
+   * several threads at once, as long as none of them modifies the resource.
+   *
+   * @param clazz The class used to determine the type of the object returned
+   *              and the schema of the extension.
+   * @param <T> the type of object to return.
+   *
+   * @return The matching extension object, or {@code null} if no extension of
+   * that type exists.
+   *
+   * @since 6.0.1
+   */
+  @Nullable
+  @JsonIgnore
+  public <T> T getExtensionView(@NotNull final Class<T> clazz)
+  {
+    JsonNode ext = extensionObjectNode.get(getSchemaUrnOrThrowException(clazz));
+    if (ext == null)
+    {
+      extensionViews.remove(clazz);
+      return null;
+    }
+
+    ExtensionView view = extensionViews.get(clazz);
+    if (view == null || !view.json().equals(ext))
+    {
+      // Threads that convert the extension concurrently create equal
+      // objects, and the last one is kept.
+      T value = JsonUtils.nodeToValue(ext, clazz);
+      view = new ExtensionView(ext.deepCopy(), value);
+      extensionViews.put(clazz, view);
+    }
+    return clazz.cast(view.value());
+  }
+
+  /**
+   * Retrieve the value of a single attribute of a SCIM extension, without
+   * converting the extension to an object. The attribute name is matched
+   * case-insensitively.
+   *
+   * @param clazz     The class used to determine the schema of the extension.
+   * @param attribute The name of the extension attribute.
+   *
+   * @return The value of the attribute, or {@code null} if the extension or
+   * the attribute does not exist.
+   *
+   * @since 6.0.1
+   */
+  @Nullable
+  public JsonNode getExtensionValue(@NotNull final Class<?> clazz,
+                                    @NotNull final String attribute)
+  {
+    JsonNode ext = extensionObjectNode.get(getSchemaUrnOrThrowException(clazz));
+    if (ext == null)
+    {
+      return null;
+    }
+
+    JsonNode value = ext.get(attribute);
+    if (value != null)
+    {
+      return value;
+    }
+    for (Map.Entry<String, JsonNode> field : ext.properties())
+    {
+      if (field.getKey().equalsIgnoreCase(attribute))
+      {
+        return field.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieve the value of a single string attribute of a SCIM extension,
+   * without converting the extension to an object. The attribute name is
+   * matched case-insensitively.
+   *
+   * @param clazz     The class used to determine the schema of the extension.
+   * @param attribute The name of the extension attribute.
+   *
+   * @return The value of the attribute, or {@code null} if the extension or
+   * the attribute does not exist, or if the value is not a string.
+   *
+   * @since 6.0.1
+   */
+  @Nullable
+  public String getExtensionStringValue(@NotNull final Class<?> clazz,
+                                        @NotNull final String attribute)
+  {
+    JsonNode value = getExtensionValue(clazz, attribute);
+    return (value != null && value.isString()) ? value.asString() : null;
+  }
+
   /**
    * Sets a SCIM extension to the given value based on the annotations
    * of the class provided.  The value will be set for an extension named
@@ -403,6 +524,7 @@ public abstract class BaseScimResource
     String schemaUrn = getSchemaUrnOrThrowException(extension.getClass());
     extensionObjectNode.set(schemaUrn, JsonUtils.valueToNode(extension));
     schemaUrns.add(schemaUrn);
+    extensionViews.remove(extension.getClass());
   }
 
   /**
@@ -418,6 +540,7 @@ public abstract class BaseScimResource
   public <T> boolean removeExtension(@NotNull final Class<T> clazz)
   {
     String schemaUrn = getSchemaUrnOrThrowException(clazz);
+    extensionViews.remove(clazz);
     if (extensionObjectNode.remove(schemaUrn) == null)
     {
       return false;
@@ -544,4 +667,15 @@ public abstract class BaseScimResource
     return JsonUtils.getObjectWriter().withDefaultPrettyPrinter()
         .writeValueAsString(this);
   }
+
+  /**
+   * An extension object returned by {@link #getExtensionView}, along with a
+   * copy of the JSON it was converted from.
+   *
+   * @param json   The JSON of the extension.
+   * @param value  The extension object.
+   */
+  private record ExtensionView(@NotNull JsonNode json, @NotNull Object value)
+  {
+  }
 }
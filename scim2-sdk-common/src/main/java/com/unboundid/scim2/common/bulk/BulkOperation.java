@@ -77,8 +77,9 @@ import static com.unboundid.scim2.common.utils.StaticUtils.toList;
  *        {@code DELETE}.
  *   <li> {@code path}: The HTTP endpoint that the request should target.
  *   <li> {@code bulkId}: An optional field that allows other operations within
- *        the bulk request to reference this operation. This field may only be
- *        set on POST requests.
+ *        the bulk request to reference the resource created by a POST
+ *        operation. On other operations, it allows the client to match the
+ *        operation with its result in the bulk response.
  *   <li> {@code version}: The ETag version of the resource. For more
  *        information, see {@link ETagConfig}.
  *   <li> {@code data}: The JSON body/payload of the SCIM request. For example,
@@ -225,29 +226,20 @@ public abstract class BulkOperation
   private final ObjectNode data;
 
   /**
-   * Sets the bulk ID of the bulk operation. Since bulk IDs may only be used for
-   * POST requests, this method throws an exception if this call does not target
-   * a {@code POST}.
+   * Sets the bulk ID of the bulk operation. Other operations within a
+   * {@link BulkRequest} may only reference the bulk ID of a POST operation,
+   * since it identifies the resource that it creates. The bulk ID of any other
+   * operation is returned in its {@link BulkOperationResult}, so that the
+   * client can match the operation with its result.
    *
    * @param bulkId  A bulk identifier that can allow other operations within
    *                a {@link BulkRequest} to reference the SCIM resource
    *                targeted by this bulk operation.
    * @return        This object.
-   *
-   * @throws BulkRequestException   If a caller attempts setting a bulk ID value
-   *                                for a method other than POST.
    */
   @NotNull
   public BulkOperation setBulkId(@Nullable final String bulkId)
-      throws BulkRequestException
   {
-    if (method != BulkOpType.POST)
-    {
-      throw new BulkRequestException(
-          "Bulk IDs may only be set for POST requests. Invalid HTTP method: "
-              + method);
-    }
-
     this.bulkId = bulkId;
     return this;
   }
@@ -867,9 +859,9 @@ public abstract class BulkOperation
     return switch (method)
     {
       case POST -> post(path, data).setBulkId(bulkId);
-      case PUT -> put(path, data).setVersion(version);
-      case PATCH -> patch(path, data).setVersion(version);
-      case DELETE -> delete(path).setVersion(version);
+      case PUT -> put(path, data).setVersion(version).setBulkId(bulkId);
+      case PATCH -> patch(path, data).setVersion(version).setBulkId(bulkId);
+      case DELETE -> delete(path).setVersion(version).setBulkId(bulkId);
     };
   }
 }
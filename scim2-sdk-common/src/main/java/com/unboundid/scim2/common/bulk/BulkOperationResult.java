@@ -83,7 +83,7 @@ import java.util.Objects;
  *        services can avoid sending payloads that exceed size limits.
  *   <li> {@code status}: The HTTP status code for the operation, e.g.,
  *        {@code 200 OK}, {@code 404 NOT FOUND}, etc.
- *   <li> {@code bulkId}: The bulk ID that was provided in the POST request.
+ *   <li> {@code bulkId}: The bulk ID that was provided in the request.
  *   <li> {@code version}: The {@link ETagConfig ETag} version of the resource.
  * </ul>
  * <br><br>
@@ -243,8 +243,8 @@ public class BulkOperationResult
    * initial bulk operation that requested the update.
    * <br><br>
    *
-   * Since bulk IDs should only be used for POST requests, this constructor will
-   * only copy the bulk ID from the {@code operation} if it refers to a POST.
+   * The bulk ID of the {@code operation}, if any, is copied so that the client
+   * can match the result with its operation.
    *
    * @param operation The source bulk operation.
    * @param status    The HTTP response status code for the update, e.g., "200".
@@ -266,7 +266,7 @@ public class BulkOperationResult
         status,
         location,
         null,
-        operation.getMethod() == BulkOpType.POST ? operation.getBulkId() : null,
+        operation.getBulkId(),
         null);
   }
 
@@ -332,10 +332,7 @@ public class BulkOperationResult
                              @Nullable final String location)
   {
     this(scimException, operation.getMethod(), location);
-
-    // Bulk IDs should only be handled for POST requests.
-    String bulkVal = (method == BulkOpType.POST) ? operation.getBulkId() : null;
-    setBulkId(bulkVal);
+    setBulkId(operation.getBulkId());
   }
 
   /**
@@ -44,8 +44,6 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
-import static com.unboundid.scim2.common.utils.StaticUtils.toLowerCase;
-
 /**
  * A case-insensitive String to JsonNode map with insertion-order iteration.
  */
@@ -71,13 +69,38 @@ public class CaseIgnoreMap implements Map<String, JsonNode>
         return true;
       }
 
-      return o instanceof CaseIgnoreKey that && key.equalsIgnoreCase(that.key);
+      // Keys usually have the same case, which is much faster to compare.
+      return o instanceof CaseIgnoreKey that &&
+          (key.equals(that.key) || key.equalsIgnoreCase(that.key));
     }
 
     @Override
     public int hashCode()
     {
-      return toLowerCase(key).hashCode();
+      // Hash each code point as equalsIgnoreCase() compares it, rather than
+      // allocating a lower-case copy of the key for every lookup. Attribute
+      // names are usually ASCII, which is folded without a table lookup.
+      int hash = 0;
+      for (int i = 0; i < key.length(); )
+      {
+        int c = key.charAt(i);
+        if (c < 0x80)
+        {
+          if (c >= 'A' && c <= 'Z')
+          {
+            c += 'a' - 'A';
+          }
+          i++;
+        }
+        else
+        {
+          int codePoint = key.codePointAt(i);
+          c = Character.toLowerCase(Character.toUpperCase(codePoint));
+          i += Character.charCount(codePoint);
+        }
+        hash = 31 * hash + c;
+      }
+      return hash;
     }
   }
 
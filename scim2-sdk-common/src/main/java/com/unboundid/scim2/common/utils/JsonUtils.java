@@ -70,6 +70,9 @@ public class JsonUtils
   @NotNull
   private static JsonMapper SDK_OBJECT_MAPPER = createJsonMapper();
 
+  @NotNull
+  private static ObjectWriter SDK_OBJECT_WRITER = SDK_OBJECT_MAPPER.writer();
+
   /**
    * This represents the base class for handling SCIM JSON data. Subclasses
    * of this abstract class support actions such as filtering and updating
@@ -1114,15 +1117,16 @@ public class JsonUtils
   }
 
   /**
-   * Factory method for constructing a SCIM compatible Jackson
-   * {@link ObjectWriter} with default settings.
+   * Retrieve a SCIM compatible Jackson {@link ObjectWriter} with default
+   * settings. The writer is immutable and shared, so it may be used for any
+   * number of concurrent serializations.
    *
    * @return A Jackson {@link ObjectWriter} with default settings.
    */
   @NotNull
   public static ObjectWriter getObjectWriter()
   {
-    return SDK_OBJECT_MAPPER.writer();
+    return SDK_OBJECT_WRITER;
   }
 
   /**
@@ -1276,6 +1280,7 @@ public class JsonUtils
   {
     JsonUtils.mapperFactory = customMapperFactory;
     SDK_OBJECT_MAPPER = customMapperFactory.createObjectMapper();
+    SDK_OBJECT_WRITER = SDK_OBJECT_MAPPER.writer();
   }
 
 
@@ -57,6 +57,7 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Stack;
 
 /**
@@ -64,6 +65,24 @@ import java.util.Stack;
  */
 public class SchemaUtils
 {
+  /**
+   * The metadata that is derived from the annotations and bean properties of
+   * each class. Deriving the metadata requires reflection, so it is computed
+   * at most once per class rather than for every object or schema request.
+   * This is declared first since the static initializer below uses it.
+   */
+  @NotNull
+  private static final ClassValue<ClassMetadata> CLASS_METADATA =
+      new ClassValue<>()
+      {
+        @Override
+        @NotNull
+        protected ClassMetadata computeValue(@NotNull final Class<?> type)
+        {
+          return new ClassMetadata();
+        }
+      };
+
   /**
    * The attribute definition for the SCIM 2 standard schemas attribute.
    */
@@ -158,10 +177,15 @@ public class SchemaUtils
       @NotNull final Class<?> cls)
           throws IntrospectionException
   {
-    BeanInfo beanInfo = Introspector.getBeanInfo(cls, Object.class);
-    PropertyDescriptor[] propertyDescriptors =
-        beanInfo.getPropertyDescriptors();
-    return Arrays.asList(propertyDescriptors);
+    ClassMetadata metadata = CLASS_METADATA.get(cls);
+    PropertyDescriptor[] propertyDescriptors = metadata.propertyDescriptors;
+    if (propertyDescriptors == null)
+    {
+      BeanInfo beanInfo = Introspector.getBeanInfo(cls, Object.class);
+      propertyDescriptors = beanInfo.getPropertyDescriptors();
+      metadata.propertyDescriptors = propertyDescriptors;
+    }
+    return Arrays.asList(propertyDescriptors.clone());
   }
 
   /**
@@ -177,8 +201,16 @@ public class SchemaUtils
       @NotNull final Class<?> cls)
           throws IntrospectionException
   {
-    Stack<String> classesProcessed = new Stack<>();
-    return getAttributes(classesProcessed, cls);
+    ClassMetadata metadata = CLASS_METADATA.get(cls);
+    List<AttributeDefinition> attributes = metadata.attributes;
+    if (attributes == null)
+    {
+      // Attribute definitions are immutable, so they may be shared.
+      Stack<String> classesProcessed = new Stack<>();
+      attributes = List.copyOf(getAttributes(classesProcessed, cls));
+      metadata.attributes = attributes;
+    }
+    return new ArrayList<>(attributes);
   }
 
   /**
@@ -733,6 +765,25 @@ public class SchemaUtils
    */
   @NotNull
   public static String getSchemaUrn(@NotNull final Class<?> cls)
+  {
+    ClassMetadata metadata = CLASS_METADATA.get(cls);
+    String schemaUrn = metadata.schemaUrn;
+    if (schemaUrn == null)
+    {
+      schemaUrn = computeSchemaUrn(cls);
+      metadata.schemaUrn = schemaUrn;
+    }
+    return schemaUrn;
+  }
+
+  /**
+   * Computes the schema urn of a {@code Class} from its annotations.
+   *
+   * @param cls The class of the object.
+   * @return The schema urn for the object.
+   */
+  @NotNull
+  private static String computeSchemaUrn(@NotNull final Class<?> cls)
   {
     // The 'schemaId' is the URN. Make sure it begins with the "urn:" prefix.
     // The 'name' field is a human-friendly name for the object.
@@ -760,8 +811,7 @@ public class SchemaUtils
    */
   public static boolean isUrn(@NotNull final String string)
   {
-    return StaticUtils.toLowerCase(string).startsWith("urn:") &&
-        string.length() > 4;
+    return string.length() > 4 && string.regionMatches(true, 0, "urn:", 0, 4);
   }
 
   /**
@@ -786,4 +836,30 @@ public class SchemaUtils
 
     return "urn:" + string;
   }
+
+  /**
+   * The metadata of a class. Each value is computed when it is first needed,
+   * since not every value applies to every class. Computing a value more than
+   * once when threads race is harmless, since the result is the same.
+   */
+  private static final class ClassMetadata
+  {
+    /**
+     * The schema URN of the class.
+     */
+    @Nullable
+    private volatile String schemaUrn;
+
+    /**
+     * The bean property descriptors of the class.
+     */
+    @Nullable
+    private volatile PropertyDescriptor[] propertyDescriptors;
+
+    /**
+     * The SCIM attribute definitions of the class.
+     */
+    @Nullable
+    private volatile List<AttributeDefinition> attributes;
+  }
 }
@@ -35,10 +35,12 @@ package com.unboundid.scim2.common;
 
 import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.messages.ErrorResponse;
+import com.unboundid.scim2.common.types.EnterpriseUserExtension;
 import com.unboundid.scim2.common.types.GroupResource;
 import com.unboundid.scim2.common.types.Meta;
 import com.unboundid.scim2.common.types.UserResource;
 import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.common.utils.SchemaUtils;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 import tools.jackson.core.JacksonException;
@@ -47,7 +49,11 @@ import tools.jackson.databind.ObjectReader;
 import tools.jackson.databind.node.ObjectNode;
 import tools.jackson.databind.node.StringNode;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -331,6 +337,79 @@ public class BaseScimResourceTest
     assertThat(response.toString()).doesNotContain(extName);
   }
 
+  /**
+   * Tests {@link BaseScimResource#getExtensionView}, which caches the
+   * extension object until the JSON of the extension changes, and the methods
+   * that read a single extension attribute.
+   */
+  @Test
+  public void testExtensionView() throws Exception
+  {
+    final UserResource user = new UserResource();
+    assertThat(user.getExtensionView(EnterpriseUserExtension.class)).isNull();
+    assertThat(user.getExtensionValue(EnterpriseUserExtension.class,
+        "employeeNumber")).isNull();
+
+    user.setExtension(new EnterpriseUserExtension().setEmployeeNumber("42"));
+    EnterpriseUserExtension view =
+        user.getExtensionView(EnterpriseUserExtension.class);
+    assertThat(view.getEmployeeNumber()).isEqualTo("42");
+    assertThat(user.getExtensionView(EnterpriseUserExtension.class))
+        .isSameAs(view);
+    assertThat(user.getExtension(EnterpriseUserExtension.class))
+        .isNotSameAs(view)
+        .isEqualTo(view);
+
+    // Attributes may be read without converting the extension, and their
+    // names are case-insensitive.
+    assertThat(user.getExtensionStringValue(EnterpriseUserExtension.class,
+        "EMPLOYEENUMBER")).isEqualTo("42");
+    assertThat(user.getExtensionStringValue(EnterpriseUserExtension.class,
+        "department")).isNull();
+
+    // Changes through any method, or to the extension node itself, are seen.
+    user.setExtension(new EnterpriseUserExtension().setEmployeeNumber("43"));
+    view = user.getExtensionView(EnterpriseUserExtension.class);
+    assertThat(view.getEmployeeNumber()).isEqualTo("43");
+
+    user.replaceExtensionValue(Path.root(EnterpriseUserExtension.class)
+        .attribute("department"), StringNode.valueOf("R&D"));
+    view = user.getExtensionView(EnterpriseUserExtension.class);
+    assertThat(view.getDepartment()).isEqualTo("R&D");
+
+    ObjectNode ext = (ObjectNode) user.getExtensionObjectNode()
+        .get(SchemaUtils.getSchemaUrn(EnterpriseUserExtension.class));
+    ext.put("costCenter", "7");
+    view = user.getExtensionView(EnterpriseUserExtension.class);
+    assertThat(view.getCostCenter()).isEqualTo("7");
+    assertThat(user.getExtensionView(EnterpriseUserExtension.class))
+        .isSameAs(view);
+
+    assertThat(user.removeExtension(EnterpriseUserExtension.class)).isTrue();
+    assertThat(user.getExtensionView(EnterpriseUserExtension.class)).isNull();
+
+    // Threads may read the extension view of a shared resource concurrently.
+    user.setExtension(new EnterpriseUserExtension().setEmployeeNumber("44"));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try
+    {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++)
+      {
+        results.add(executor.submit(() -> user.getExtensionView(
+            EnterpriseUserExtension.class).getEmployeeNumber()));
+      }
+      for (Future<String> result : results)
+      {
+        assertThat(result.get()).isEqualTo("44");
+      }
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests for {@code equals()}.
    */
@@ -123,6 +123,26 @@ public class CaseIgnoreObjectNodeTest
         .isNotSameAs(node);
   }
 
+  /**
+   * Ensures that keys which only differ in case are found regardless of the
+   * characters they contain.
+   */
+  @Test
+  public void testNonAsciiKeys()
+  {
+    ObjectNode node = objectNode()
+        .put("Größe", "1")
+        .put("\u212Aelvin", "2")
+        .put("ıd", "3")
+        .put("\uD801\uDC00", "4");
+
+    assertThat(node.get("GRÖSSE")).isNull();
+    assertThat(node.get("gRÖße").asString()).isEqualTo("1");
+    assertThat(node.get("kelvin").asString()).isEqualTo("2");
+    assertThat(node.get("ID").asString()).isEqualTo("3");
+    assertThat(node.get("\uD801\uDC28").asString()).isEqualTo("4");
+  }
+
   private ObjectNode objectNode()
   {
     return JsonUtils.getJsonNodeFactory().objectNode();
@@ -90,11 +90,10 @@ public class BulkOperationTest
         .readValue(expectedString);
     assertThat(operation).isEqualTo(deserialized);
 
-    // Setting the bulk ID should not be permitted for a delete operation.
-    assertThatThrownBy(() -> operation.setBulkId("invalid"))
-        .isInstanceOf(BulkRequestException.class)
-        .hasMessageContaining("Bulk IDs may only be set for POST requests")
-        .hasMessageContaining("Invalid HTTP method: DELETE");
+    // A bulk ID may be set for a delete operation, and is kept in its copy.
+    operation.setBulkId("delete");
+    assertThat(operation.getBulkId()).isEqualTo("delete");
+    assertThat(operation.copy().getBulkId()).isEqualTo("delete");
   }
 
   /**
@@ -188,11 +187,10 @@ public class BulkOperationTest
         .readValue(expectedString);
     assertThat(operation).isEqualTo(deserialized);
 
-    // Ensure that it is not possible to set the bulkID.
-    assertThatThrownBy(() -> operation.setBulkId("invalid"))
-        .isInstanceOf(BulkRequestException.class)
-        .hasMessageContaining("Bulk IDs may only be set for POST requests")
-        .hasMessageContaining("Invalid HTTP method: PUT");
+    // A bulk ID may be set for a put operation, and is kept in its copy.
+    operation.setBulkId("put");
+    assertThat(operation.getBulkId()).isEqualTo("put");
+    assertThat(operation.copy().getBulkId()).isEqualTo("put");
   }
 
   /**
@@ -319,9 +319,9 @@ public class BulkRequestTest
     assertThatThrownBy(() -> reader.readValue(veryEmpty))
         .isInstanceOf(JacksonException.class);
 
-    // Bulk IDs should only be set for POST requests. Ensure that when a bulk
-    // operation is deserialized, an exception is thrown for an invalid bulk ID.
-    String invalidBulkIDJson = """
+    // A bulk ID may be set for any method, so that a client can match the
+    // operation with its result.
+    String putBulkIDJson = """
         {
           "schemas": [ "urn:ietf:params:scim:api:messages:2.0:BulkRequest" ],
           "failOnErrors": 1,
@@ -329,7 +329,7 @@ public class BulkRequestTest
             {
               "method": "PUT",
               "path": "/Users",
-              "bulkId": "shouldNotBePermitted",
+              "bulkId": "putBulkId",
               "data": {
                 "schemas": [ "urn:ietf:params:scim:schemas:core:2.0:User" ],
                 "userName": "Alice"
@@ -337,10 +337,9 @@ public class BulkRequestTest
             }
           ]
         }""";
-    assertThatThrownBy(() -> reader.readValue(invalidBulkIDJson))
-        .isInstanceOf(JacksonException.class)
-        .hasMessageContaining("Bulk IDs may only be set for POST requests.")
-        .hasMessageContaining("Invalid HTTP method: PUT");
+    BulkRequest putRequest = reader.readValue(putBulkIDJson);
+    assertThat(putRequest.getOperations().get(0).getBulkId())
+        .isEqualTo("putBulkId");
 
     // Requests and operations should still be parsed if they have extra fields.
     String extraFields = """
@@ -251,6 +251,51 @@ public class SchemaGenerationTest
     checkAllAttributesFound(expectedAttributes);
   }
 
+  /**
+   * Tests that the schema metadata cached for a class is not affected by
+   * changes to the values returned to callers.
+   * @throws Exception in the event an error occurs.
+   */
+  @Test
+  public void testCachedSchemaMetadata() throws Exception
+  {
+    SchemaResource first = SchemaUtils.getSchema(TestObject3.class);
+    first.setId("urn:changed");
+
+    SchemaResource second = SchemaUtils.getSchema(TestObject3.class);
+    Assert.assertNotSame(second, first);
+    Assert.assertEquals(second.getId(),
+        "urn:com.unboundid:schemas:TestObject3");
+    Assert.assertEquals(second.getAttributes().size(), 4);
+
+    Collection<AttributeDefinition> attributes =
+        SchemaUtils.getAttributes(TestObject3.class);
+    attributes.clear();
+    Assert.assertEquals(SchemaUtils.getAttributes(TestObject3.class).size(), 4);
+
+    Assert.assertEquals(SchemaUtils.getSchemaUrn(TestObject3.class),
+        "urn:com.unboundid:schemas:TestObject3");
+    Assert.assertEquals(SchemaUtils.getSchemaUrn(String.class),
+        "urn:java.lang.String");
+  }
+
+  /**
+   * Tests the detection of URNs.
+   */
+  @Test
+  public void testIsUrn()
+  {
+    Assert.assertTrue(SchemaUtils.isUrn("urn:id:TestObject1"));
+    Assert.assertTrue(SchemaUtils.isUrn("URN:id"));
+    Assert.assertTrue(SchemaUtils.isUrn("uRn:x"));
+    Assert.assertFalse(SchemaUtils.isUrn("urn:"));
+    Assert.assertFalse(SchemaUtils.isUrn("urn"));
+    Assert.assertFalse(SchemaUtils.isUrn("userName"));
+    Assert.assertFalse(SchemaUtils.isUrn(""));
+    Assert.assertEquals(SchemaUtils.forceToBeUrn("URN:id"), "URN:id");
+    Assert.assertEquals(SchemaUtils.forceToBeUrn("id"), "urn:id");
+  }
+
   private void tc2_checkSchema(SchemaResource schemaDefinition)
   {
 //    @SchemaInfo(id="urn:id:TestObject1",
@@ -32,10 +32,12 @@
 
 package com.unboundid.scim2.server;
 
+import com.unboundid.scim2.common.GenericScimResource;
 import com.unboundid.scim2.common.ScimResource;
 import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.utils.ResourceTrimmer;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.JsonNode;
@@ -224,4 +226,33 @@ public class ListResponseWriter<T extends ScimResource>
     jsonGenerator.writePOJO(scimResource);
     resultsSent.incrementAndGet();
   }
+
+  /**
+   * Write the result resource to the output stream immediately, including
+   * only the attributes that the provided trimmer returns. The attributes are
+   * filtered while the resource is serialized, so no trimmed copy of the
+   * resource is created.
+   *
+   * @param scimResource The untrimmed resource to write.
+   * @param trimmer The trimmer that selects the attributes to write, such as
+   *                the one from {@code ResourcePreparer}'s
+   *                {@code getRetrievedResourceTrimmer()} method.
+   * @throws JacksonException If an exception occurs while writing to the output
+   * stream.
+   */
+  public void resource(@NotNull final T scimResource,
+                       @NotNull final ResourceTrimmer trimmer)
+      throws JacksonException
+  {
+    if (startedResourcesArray.compareAndSet(false, true))
+    {
+      jsonGenerator.writeArrayPropertyStart("Resources");
+    }
+    // Other resources are serialized directly to a tree, without the
+    // case-insensitive copy that a GenericScimResource would make.
+    ObjectNode objectNode = scimResource instanceof GenericScimResource g ?
+        g.getObjectNode() : JsonUtils.valueToNode(scimResource);
+    trimmer.writeObjectNode(jsonGenerator, objectNode);
+    resultsSent.incrementAndGet();
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+
+import java.util.Set;
+
+/**
+ * A service provider interface for the data store behind a SCIM search
+ * endpoint. A search backend is given a {@link SearchQuery} with the parts of
+ * a search that it can evaluate natively, as reported by its capabilities, and
+ * the SCIM SDK finishes the rest of the search in memory. For example, a
+ * SQL-backed server could translate the filter into a {@code WHERE} clause,
+ * but leave sorting to the SDK if the sortBy attribute is not a column.
+ * <p>
+ * Use a search backend with
+ * {@link com.unboundid.scim2.server.utils.BackendSearchResults}, which parses
+ * and validates the search parameters, calls the backend, and completes the
+ * search:
+ * <ul>
+ *   <li> If the backend does not support the filter, every resource that it
+ *        returns is filtered by the SDK.
+ *   <li> If the backend does not support sorting, the results are sorted by
+ *        the SDK.
+ *   <li> Pagination is only pushed to a backend that also handles the filter
+ *        and sort order of the search. Otherwise, the backend returns every
+ *        resource and the results are paged by the SDK.
+ * </ul>
+ *
+ * @param <T> The type of resources returned by the backend.
+ */
+public interface SearchBackend<T extends ScimResource>
+{
+  /**
+   * The parts of a search that a backend may evaluate natively.
+   */
+  enum Capability
+  {
+    /**
+     * The backend only returns resources that match the filter.
+     */
+    FILTER,
+
+    /**
+     * The backend returns resources in the requested sort order.
+     */
+    SORT,
+
+    /**
+     * The backend returns only the requested page of results, either for
+     * index-based pagination or for cursor-based pagination with
+     * {@link com.unboundid.scim2.server.utils.PageCursor} positions.
+     */
+    PAGE,
+  }
+
+  /**
+   * Retrieve the parts of a search that this backend evaluates natively.
+   *
+   * @return The capabilities of this backend.
+   */
+  @NotNull
+  Set<Capability> getCapabilities();
+
+  /**
+   * Indicates whether this backend can evaluate a specific filter. A backend
+   * that only supports some filters, such as filters on indexed attributes,
+   * may override this method. The default implementation returns whether the
+   * backend has the {@link Capability#FILTER} capability.
+   *
+   * @param filter The validated filter of the search.
+   * @return {@code true} if the backend can evaluate the filter.
+   */
+  default boolean supportsFilter(@NotNull final Filter filter)
+  {
+    return getCapabilities().contains(Capability.FILTER);
+  }
+
+  /**
+   * Search for resources. Only the parts of the search that are pushed down
+   * to the backend are set in the query. The returned resources are owned by
+   * the caller, which may set their {@code meta} attributes before they are
+   * returned to the client.
+   *
+   * @param query The parts of the search to evaluate.
+   * @return The results of the search.
+   * @throws ScimException If the search could not be performed.
+   */
+  @NotNull
+  SearchBackendResults<T> search(@NotNull final SearchQuery query)
+      throws ScimException;
+}
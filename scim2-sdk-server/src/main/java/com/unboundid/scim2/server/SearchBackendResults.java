@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.server.utils.PageCursor;
+
+/**
+ * The results returned by a {@link SearchBackend}. Instances are immutable.
+ *
+ * @param <T> The type of resources returned by the backend.
+ */
+public final class SearchBackendResults<T extends ScimResource>
+{
+  @NotNull
+  private final Iterable<T> resources;
+
+  @Nullable
+  private final Integer totalResults;
+
+  @Nullable
+  private final PageCursor nextCursor;
+
+  /**
+   * Create new search backend results.
+   *
+   * @param resources The resources found by the backend. They may be read
+   *                  lazily, such as from a database cursor, but are only
+   *                  iterated once.
+   * @param totalResults The total number of resources that match the filter,
+   *                     or {@code null} to use the number of resources
+   *                     returned. This must be provided by a backend that
+   *                     returns a page of results.
+   * @param nextCursor The position that follows the returned page when the
+   *                   backend returns a page for cursor-based pagination and
+   *                   there are more results, or {@code null} otherwise.
+   */
+  public SearchBackendResults(@NotNull final Iterable<T> resources,
+                              @Nullable final Integer totalResults,
+                              @Nullable final PageCursor nextCursor)
+  {
+    this.resources = resources;
+    this.totalResults = totalResults;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Retrieve the resources found by the backend.
+   *
+   * @return The resources found by the backend.
+   */
+  @NotNull
+  public Iterable<T> getResources()
+  {
+    return resources;
+  }
+
+  /**
+   * Retrieve the total number of resources that match the filter.
+   *
+   * @return The total number of results, or {@code null} if it was not
+   * provided.
+   */
+  @Nullable
+  public Integer getTotalResults()
+  {
+    return totalResults;
+  }
+
+  /**
+   * Retrieve the position that follows the returned page.
+   *
+   * @return The position of the next page, or {@code null} if there are no
+   * more results or the backend did not return a page.
+   */
+  @Nullable
+  public PageCursor getNextCursor()
+  {
+    return nextCursor;
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.server.utils.PageCursor;
+import com.unboundid.scim2.server.utils.ResourceTypeDefinition;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The parts of a SCIM search that are pushed down to a {@link SearchBackend}.
+ * A part of the search that the backend does not support, or that was not
+ * requested by the client, is not set. Instances are immutable.
+ */
+public final class SearchQuery
+{
+  @NotNull
+  private final ResourceTypeDefinition resourceType;
+
+  @Nullable
+  private final Filter filter;
+
+  @Nullable
+  private final Path sortBy;
+
+  @NotNull
+  private final SortOrder sortOrder;
+
+  @Nullable
+  private final Integer startIndex;
+
+  @Nullable
+  private final Integer count;
+
+  private final boolean cursorRequested;
+
+  @Nullable
+  private final PageCursor pageCursor;
+
+  @NotNull
+  private final Set<Path> attributes;
+
+  private final boolean excludedAttributes;
+
+  /**
+   * Create a new search query.
+   *
+   * @param resourceType The resource type to search.
+   * @param filter The validated filter, or {@code null} if the backend does
+   *               not filter the results.
+   * @param sortBy The attribute to sort by, or {@code null} if the backend
+   *               does not sort the results.
+   * @param sortOrder The sort order, or {@code null} for ascending order.
+   * @param startIndex The one-based index of the first result to return for
+   *                   index-based pagination, or {@code null} if the backend
+   *                   does not return a page with a start index.
+   * @param count The maximum number of results to return, or {@code null} if
+   *              the backend does not limit the number of results.
+   * @param cursorRequested Whether the backend returns a page for cursor-based
+   *                        pagination.
+   * @param pageCursor The position of the requested page, or {@code null} for
+   *                   the first page.
+   * @param attributes The attributes requested by the client, or the
+   *                   attributes excluded by the client if
+   *                   {@code excludedAttributes} is {@code true}.
+   * @param excludedAttributes Whether {@code attributes} are excluded rather
+   *                           than requested.
+   */
+  public SearchQuery(@NotNull final ResourceTypeDefinition resourceType,
+                     @Nullable final Filter filter,
+                     @Nullable final Path sortBy,
+                     @Nullable final SortOrder sortOrder,
+                     @Nullable final Integer startIndex,
+                     @Nullable final Integer count,
+                     final boolean cursorRequested,
+                     @Nullable final PageCursor pageCursor,
+                     @NotNull final Set<Path> attributes,
+                     final boolean excludedAttributes)
+  {
+    this.resourceType = resourceType;
+    this.filter = filter;
+    this.sortBy = sortBy;
+    this.sortOrder = sortOrder == null ? SortOrder.ASCENDING : sortOrder;
+    this.startIndex = startIndex;
+    this.count = count;
+    this.cursorRequested = cursorRequested;
+    this.pageCursor = pageCursor;
+    this.attributes = Collections.unmodifiableSet(attributes);
+    this.excludedAttributes = excludedAttributes;
+  }
+
+  /**
+   * Retrieve the resource type to search.
+   *
+   * @return The resource type to search.
+   */
+  @NotNull
+  public ResourceTypeDefinition getResourceType()
+  {
+    return resourceType;
+  }
+
+  /**
+   * Retrieve the filter that the returned resources must match. The filter
+   * has been checked against the schemas of the resource type.
+   *
+   * @return The filter, or {@code null} if the backend should return every
+   * resource.
+   */
+  @Nullable
+  public Filter getFilter()
+  {
+    return filter;
+  }
+
+  /**
+   * Retrieve the attribute to sort the results by. Results with the same
+   * value, or no value, for the attribute should be ordered by ID, which is
+   * also the order when there is no attribute to sort by.
+   *
+   * @return The attribute to sort by, or {@code null} if the backend does not
+   * sort the results.
+   */
+  @Nullable
+  public Path getSortBy()
+  {
+    return sortBy;
+  }
+
+  /**
+   * Retrieve the sort order.
+   *
+   * @return The sort order.
+   */
+  @NotNull
+  public SortOrder getSortOrder()
+  {
+    return sortOrder;
+  }
+
+  /**
+   * Retrieve the one-based index of the first result to return.
+   *
+   * @return The start index, or {@code null} if the backend does not return a
+   * page with a start index.
+   */
+  @Nullable
+  public Integer getStartIndex()
+  {
+    return startIndex;
+  }
+
+  /**
+   * Retrieve the maximum number of results to return.
+   *
+   * @return The maximum number of results, or {@code null} if the backend does
+   * not limit the number of results.
+   */
+  @Nullable
+  public Integer getCount()
+  {
+    return count;
+  }
+
+  /**
+   * Indicates whether the backend returns a page for cursor-based pagination.
+   * If so, the backend should begin the page after the position of
+   * {@link #getPageCursor()}, and return the position that follows the page
+   * if there are more results.
+   *
+   * @return {@code true} if the backend returns a page for cursor-based
+   * pagination.
+   */
+  public boolean isCursorRequested()
+  {
+    return cursorRequested;
+  }
+
+  /**
+   * Retrieve the position of the requested page for cursor-based pagination.
+   *
+   * @return The position of the requested page, or {@code null} for the first
+   * page or if cursor-based pagination is not used.
+   */
+  @Nullable
+  public PageCursor getPageCursor()
+  {
+    return pageCursor;
+  }
+
+  /**
+   * Retrieve the attributes requested or excluded by the client. A backend
+   * may use these to avoid reading attributes that will not be returned. The
+   * SCIM SDK still removes any attributes that should not be returned, so a
+   * backend may return more attributes than were requested.
+   *
+   * @return The requested or excluded attributes. An empty set of excluded
+   * attributes means that the default attributes are requested.
+   */
+  @NotNull
+  public Set<Path> getAttributes()
+  {
+    return attributes;
+  }
+
+  /**
+   * Indicates whether the attributes are excluded rather than requested.
+   *
+   * @return {@code true} if the attributes are excluded.
+   */
+  public boolean isExcludedAttributes()
+  {
+    return excludedAttributes;
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.providers;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.PreconditionFailedException;
+import com.unboundid.scim2.common.messages.ListResponse;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.server.utils.ResourceVersionCache;
+import com.unboundid.scim2.server.utils.ServerUtils;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * A JAX-RS filter that sets the {@code ETag} header of responses that return
+ * a single resource, and evaluates the {@code If-None-Match} and
+ * {@code If-Match} headers of requests.
+ * <p>
+ * The version of each returned resource is cached by location in a
+ * {@link ResourceVersionCache}. When a request targets a resource whose
+ * version is cached, its conditions are evaluated before the endpoint is
+ * invoked:
+ * <ul>
+ *   <li> A {@code GET} request whose {@code If-None-Match} header matches the
+ *        version receives a {@code 304 Not Modified} response without a
+ *        body.
+ *   <li> A {@code PUT}, {@code PATCH}, or {@code DELETE} request whose
+ *        {@code If-Match} header does not match the version receives a
+ *        {@code 412 Precondition Failed} error.
+ * </ul>
+ * When the version is not cached, the endpoint is invoked, and a
+ * {@code GET} response whose resource matches the {@code If-None-Match}
+ * header is replaced with a {@code 304 Not Modified} response. Endpoints are
+ * responsible for evaluating {@code If-Match} headers against versions that
+ * are not cached.
+ * <p>
+ * Any successful request other than a {@code GET} or {@code HEAD} request
+ * removes the cached version of the resource it targets, and the version of
+ * the resource it returns, if any, is cached instead. A version returned by a
+ * request is not cached if the resource's cached version was changed by
+ * another request while it was processed. A version that is not in
+ * {@code meta.version} is only computed if the request has a conditional
+ * header or the version will be cached.
+ * <p>
+ * A cached version is shared by every client, and a response that is answered
+ * from the cache does not invoke the endpoint. Its {@code 304} or {@code 412}
+ * status reveals that the resource exists and whether its version matches, so
+ * the request must be authorized before this filter evaluates it. This filter
+ * has the {@link Priorities#HEADER_DECORATOR} priority, so it runs after the
+ * request filters with the {@link Priorities#AUTHENTICATION} and
+ * {@link Priorities#AUTHORIZATION} priorities. If access to a resource is
+ * instead checked by the endpoint, such as when clients may only access some
+ * of the resources of an endpoint, override
+ * {@link #isCacheAllowed(ContainerRequestContext)} to check whether the client
+ * may access the resource, so that the requests of other clients are passed
+ * to the endpoint.
+ * <p>
+ * This filter is not registered automatically. Register a single instance
+ * with the JAX-RS application, and update its cache if resources are modified
+ * other than through the application.
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class ConditionalRequestFilter
+    implements ContainerRequestFilter, ContainerResponseFilter
+{
+  /**
+   * The default maximum number of resource versions to cache.
+   */
+  public static final int DEFAULT_MAX_CACHED_VERSIONS = 10000;
+
+  // The request property that holds the cache sequence number from when the
+  // request was received.
+  @NotNull
+  private static final String SEQUENCE_PROPERTY =
+      ConditionalRequestFilter.class.getName() + ".sequence";
+
+  @NotNull
+  private final ResourceVersionCache cache;
+
+  /**
+   * Create a new filter with a cache of the default size.
+   */
+  public ConditionalRequestFilter()
+  {
+    this(new ResourceVersionCache(DEFAULT_MAX_CACHED_VERSIONS));
+  }
+
+  /**
+   * Create a new filter that uses the provided cache.
+   *
+   * @param cache The cache of resource versions.
+   */
+  public ConditionalRequestFilter(@NotNull final ResourceVersionCache cache)
+  {
+    this.cache = cache;
+  }
+
+  /**
+   * Retrieve the cache of resource versions.
+   *
+   * @return The cache of resource versions.
+   */
+  @NotNull
+  public ResourceVersionCache getCache()
+  {
+    return cache;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void filter(@NotNull final ContainerRequestContext requestContext)
+      throws IOException
+  {
+    requestContext.setProperty(SEQUENCE_PROPERTY, cache.getSequence());
+    String method = requestContext.getMethod();
+    ResourceVersionCache.Entry cached =
+        cache.get(requestContext.getUriInfo().getAbsolutePath().getPath());
+    if (cached == null || !isCacheAllowed(requestContext))
+    {
+      return;
+    }
+
+    if (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD))
+    {
+      String ifNoneMatch =
+          requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+      if (ifNoneMatch != null &&
+          ResourceVersionCache.matches(ifNoneMatch, cached.getVersion()) &&
+          (!cached.isComputed() ||
+              requestContext.getUriInfo().getQueryParameters().isEmpty()))
+      {
+        requestContext.abortWith(notModified(cached.getVersion()));
+      }
+    }
+    else if (method.equals(HttpMethod.PUT) ||
+        method.equals(HttpMethod.PATCH) ||
+        method.equals(HttpMethod.DELETE))
+    {
+      String ifMatch = requestContext.getHeaderString(HttpHeaders.IF_MATCH);
+      if (ifMatch != null &&
+          !ResourceVersionCache.matches(ifMatch, cached.getVersion()))
+      {
+        PreconditionFailedException e = new PreconditionFailedException(
+            "The resource has been modified", null, cached.getVersion(), null);
+        requestContext.abortWith(ServerUtils.setAcceptableType(
+            Response.status(e.getScimError().getStatus())
+                .entity(e.getScimError()),
+            requestContext.getAcceptableMediaTypes())
+            .header(HttpHeaders.ETAG,
+                ResourceVersionCache.toEntityTag(cached.getVersion()))
+            .build());
+      }
+    }
+  }
+
+  /**
+   * Indicates whether a request may be answered from the cached version of
+   * the resource that it targets, without invoking the endpoint. This is only
+   * called for requests that target a resource with a cached version. The
+   * default implementation allows every request, which is appropriate when
+   * every client that passes the authorization filters of the application may
+   * access every resource. Override this method if the endpoint decides which
+   * clients may access a resource, for example by checking the
+   * {@link ContainerRequestContext#getSecurityContext() security context} of
+   * the request.
+   *
+   * @param requestContext The context of the request.
+   * @return {@code true} if the request may be answered from the cache, or
+   *         {@code false} if it must be passed to the endpoint.
+   * @since 6.0.1
+   */
+  protected boolean isCacheAllowed(
+      @NotNull final ContainerRequestContext requestContext)
+  {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void filter(@NotNull final ContainerRequestContext requestContext,
+                     @NotNull final ContainerResponseContext responseContext)
+      throws IOException
+  {
+    String method = requestContext.getMethod();
+    boolean read = method.equals(HttpMethod.GET) ||
+        method.equals(HttpMethod.HEAD);
+    String path = requestContext.getUriInfo().getAbsolutePath().getPath();
+    boolean successful = responseContext.getStatusInfo().getFamily() ==
+        Response.Status.Family.SUCCESSFUL;
+    // The cached version is stale if the resource was deleted or modified,
+    // unless it is replaced by the version of the returned resource.
+    boolean invalidate = (successful && !read) || responseContext.getStatus()
+        == Response.Status.NOT_FOUND.getStatusCode();
+    if (!successful || method.equals(HttpMethod.DELETE) ||
+        !(responseContext.getEntity() instanceof ScimResource resource) ||
+        resource instanceof ListResponse || resource.getId() == null)
+    {
+      if (invalidate)
+      {
+        cache.remove(path);
+      }
+      return;
+    }
+
+    // A created resource is cached by its location.
+    String location = method.equals(HttpMethod.POST) ?
+        getLocationPath(resource) : path;
+    String ifNoneMatch =
+        requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    String version = ResourceVersionCache.getStoredVersion(resource);
+    boolean computed = version == null;
+    boolean cacheable = location != null &&
+        requestContext.getProperty(SEQUENCE_PROPERTY) instanceof Long &&
+        (!computed ||
+            requestContext.getUriInfo().getQueryParameters().isEmpty());
+    if (computed && !cacheable && ifNoneMatch == null &&
+        requestContext.getHeaderString(HttpHeaders.IF_MATCH) == null)
+    {
+      // Computing the version serializes the resource an extra time, so it is
+      // skipped if the version is not needed.
+      if (invalidate)
+      {
+        cache.remove(path);
+      }
+      return;
+    }
+    if (computed)
+    {
+      version = ResourceVersionCache.computeVersion(resource);
+    }
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG,
+        ResourceVersionCache.toEntityTag(version));
+
+    // The version is not cached if another request changed the cached version
+    // while this one was processed, since it is then not known which version
+    // is current.
+    boolean cached = cacheable && cache.putIfUnchanged(location, version,
+        computed, (Long) requestContext.getProperty(SEQUENCE_PROPERTY));
+    if (invalidate && !(cached && location.equals(path)))
+    {
+      cache.remove(path);
+    }
+
+    if (read && ifNoneMatch != null &&
+        ResourceVersionCache.matches(ifNoneMatch, version))
+    {
+      responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+      responseContext.setEntity(null);
+    }
+  }
+
+  /**
+   * Build a {@code 304 Not Modified} response.
+   *
+   * @param version The version of the resource.
+   * @return The response.
+   */
+  @NotNull
+  private static Response notModified(@NotNull final String version)
+  {
+    return Response.notModified()
+        .header(HttpHeaders.ETAG, ResourceVersionCache.toEntityTag(version))
+        .build();
+  }
+
+  /**
+   * Retrieve the path of the {@code meta.location} of a resource.
+   *
+   * @param resource The resource.
+   * @return The path, or {@code null} if the resource does not have a valid
+   * location.
+   */
+  @Nullable
+  private static String getLocationPath(@NotNull final ScimResource resource)
+  {
+    Meta meta = resource.getMeta();
+    URI location = meta == null ? null : meta.getLocation();
+    return location == null ? null : location.getPath();
+  }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.exceptions.ServerErrorException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.server.ListResponseStreamingOutput;
+import com.unboundid.scim2.server.ListResponseWriter;
+import com.unboundid.scim2.server.SearchBackend;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.unboundid.scim2.common.utils.ApiConstants.*;
+
+/**
+ * A ListResponseStreamingOutput that performs a search with a
+ * {@link SearchBackend}. The search parameters of the request are parsed and
+ * validated, the parts of the search that the backend supports are pushed
+ * down to it, and the rest of the search is completed in memory. When the
+ * backend evaluates the filter, sort order, and page of the search, its
+ * results are streamed to the client without being held in memory.
+ * <p>
+ * Cursor-based pagination requires a {@link CursorCodec}. When it is completed
+ * in memory, keyset cursors are used, so every resource must have an ID.
+ *
+ * @param <T> The type of resources returned by the backend.
+ */
+public class BackendSearchResults<T extends ScimResource>
+    extends ListResponseStreamingOutput<T>
+{
+  @NotNull
+  private final ResourcePreparer<ScimResource> responsePreparer;
+
+  @Nullable
+  private final CursorCodec cursorCodec;
+
+  @NotNull
+  private final String cursorQuery;
+
+  @Nullable
+  private final Integer startIndex;
+
+  @Nullable
+  private final Integer count;
+
+  private final boolean cursorRequested;
+
+  private final boolean pagePushedDown;
+
+  @NotNull
+  private final SearchBackendResults<T> backendResults;
+
+  // The filtered and sorted results when the page is not evaluated by the
+  // backend.
+  @Nullable
+  private final List<T> results;
+
+  // The index of the first result of the page in the results.
+  private final int fromIndex;
+
+  @Nullable
+  private final KeysetPager keysetPager;
+
+  /**
+   * Perform a search with a search backend.
+   *
+   * @param resourceType The resource type definition of result resources.
+   * @param uriInfo The UriInfo from the search operation.
+   * @param backend The search backend.
+   * @param cursorCodec The codec used to issue and verify cursors, or
+   *                    {@code null} if cursor-based pagination is not
+   *                    supported.
+   * @throws ScimException If the search parameters are invalid, or an error
+   * occurs while searching or filtering the results.
+   */
+  public BackendSearchResults(@NotNull final ResourceTypeDefinition resourceType,
+                              @NotNull final UriInfo uriInfo,
+                              @NotNull final SearchBackend<T> backend,
+                              @Nullable final CursorCodec cursorCodec)
+      throws ScimException
+  {
+    this.responsePreparer = new ResourcePreparer<>(resourceType, uriInfo);
+    this.cursorCodec = cursorCodec;
+
+    MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
+    String filterString = queryParams.getFirst(QUERY_PARAMETER_FILTER);
+    String startIndexString = queryParams.getFirst(
+        QUERY_PARAMETER_PAGE_START_INDEX);
+    String cursorString = queryParams.getFirst(QUERY_PARAMETER_PAGE_CURSOR);
+    String countString = queryParams.getFirst(QUERY_PARAMETER_PAGE_SIZE);
+    String sortByString = queryParams.getFirst(QUERY_PARAMETER_SORT_BY);
+    String sortOrderString = queryParams.getFirst(QUERY_PARAMETER_SORT_ORDER);
+
+    Filter filter = filterString == null ? null :
+        Filter.fromString(filterString);
+    if (filter != null)
+    {
+      new SchemaChecker(resourceType).checkSearch(filter)
+          .throwSchemaExceptions();
+    }
+
+    this.cursorRequested =
+        queryParams.containsKey(QUERY_PARAMETER_PAGE_CURSOR);
+    if (startIndexString != null && cursorRequested)
+    {
+      throw BadRequestException.invalidCursor(
+          "Index and cursor pagination may not be used in the same request");
+    }
+    if (cursorRequested && cursorCodec == null)
+    {
+      throw BadRequestException.invalidCursor(
+          "Cursor-based pagination is not supported");
+    }
+    // RFC 7644 3.4.2.4: A value less than 1 SHALL be interpreted as 1, and a
+    // negative count SHALL be interpreted as 0.
+    this.startIndex = startIndexString == null ? null : Math.max(
+        parseInteger(startIndexString, QUERY_PARAMETER_PAGE_START_INDEX), 1);
+    this.count = countString == null ? null :
+        Math.max(parseInteger(countString, QUERY_PARAMETER_PAGE_SIZE), 0);
+
+    Path sortBy;
+    try
+    {
+      sortBy = sortByString == null ? null : Path.fromString(sortByString);
+    }
+    catch (BadRequestException e)
+    {
+      throw BadRequestException.invalidValue("'" + sortByString +
+          "' is not a valid value for the sortBy parameter: " +
+          e.getMessage());
+    }
+    SortOrder sortOrder = sortOrderString == null ?
+        SortOrder.ASCENDING : SortOrder.fromName(sortOrderString);
+
+    this.cursorQuery = resourceType.getEndpoint() + '\n' + filterString +
+        '\n' + sortByString + '\n' + sortOrderString;
+    PageCursor pageCursor = null;
+    if (cursorRequested && cursorString != null &&
+        !EMPTY_CURSOR.equals(cursorString))
+    {
+      pageCursor = cursorCodec.decode(cursorString, cursorQuery);
+    }
+
+    // Decide which parts of the search to push down to the backend. The page
+    // can only be pushed down if the results are filtered and sorted by the
+    // backend.
+    Set<SearchBackend.Capability> capabilities = backend.getCapabilities();
+    boolean filterPushedDown = filter == null || backend.supportsFilter(filter);
+    boolean sortPushedDown = sortBy == null ||
+        capabilities.contains(SearchBackend.Capability.SORT);
+    this.pagePushedDown = filterPushedDown && sortPushedDown &&
+        capabilities.contains(SearchBackend.Capability.PAGE);
+    if (!pagePushedDown && pageCursor != null && !pageCursor.isKeyset())
+    {
+      throw BadRequestException.invalidCursor("The cursor '" + cursorString +
+          "' is not valid for this request");
+    }
+
+    String attributes = queryParams.getFirst(QUERY_PARAMETER_ATTRIBUTES);
+    String excludedAttributes =
+        queryParams.getFirst(QUERY_PARAMETER_EXCLUDED_ATTRIBUTES);
+    ResourceProjection projection = resourceType.getProjectionCache()
+        .getProjection(attributes, excludedAttributes);
+
+    SearchQuery query = new SearchQuery(resourceType,
+        filterPushedDown ? filter : null,
+        sortPushedDown ? sortBy : null,
+        sortOrder,
+        pagePushedDown ? startIndex : null,
+        pagePushedDown ? count : null,
+        pagePushedDown && cursorRequested,
+        pagePushedDown ? pageCursor : null,
+        projection.getQueryAttributes(),
+        projection.isExcluded());
+    this.backendResults = backend.search(query);
+
+    if (pagePushedDown)
+    {
+      this.results = null;
+      this.fromIndex = 0;
+      this.keysetPager = null;
+      return;
+    }
+
+    // Complete the search in memory.
+    SchemaAwareFilterEvaluator filterEvaluator =
+        filterPushedDown ? null : new SchemaAwareFilterEvaluator(resourceType);
+    List<T> matched = new ArrayList<>();
+    for (T resource : backendResults.getResources())
+    {
+      // Set meta attributes so they can be used in the filter evaluation.
+      responsePreparer.setResourceTypeAndLocation(resource);
+      if (filterEvaluator == null || filter.visit(filterEvaluator,
+          resource.asGenericScimResource().getObjectNode()))
+      {
+        if (cursorRequested && resource.getId() == null)
+        {
+          throw new ServerErrorException("Keyset cursors require every " +
+              "resource to have an ID");
+        }
+        matched.add(resource);
+      }
+    }
+
+    ResourceComparator<ScimResource> resourceComparator = sortBy == null ?
+        null : new ResourceComparator<>(sortBy, sortOrder, resourceType);
+    if (cursorRequested)
+    {
+      // Sort by the keyset even if the backend sorted the results, so that
+      // the order matches the cursor positions.
+      this.keysetPager = new KeysetPager(resourceComparator);
+      matched.sort(keysetPager);
+      this.fromIndex = pageCursor == null ? 0 :
+          keysetPager.indexAfter(matched, pageCursor);
+    }
+    else
+    {
+      this.keysetPager = null;
+      if (!sortPushedDown)
+      {
+        matched.sort(resourceComparator);
+      }
+      this.fromIndex = startIndex == null ? 0 :
+          Math.min(startIndex - 1, matched.size());
+    }
+    this.results = matched;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(@NotNull final ListResponseWriter<T> os)
+  {
+    if (results == null)
+    {
+      writeBackendPage(os);
+    }
+    else
+    {
+      writePage(os, results);
+    }
+  }
+
+  /**
+   * Writes the page of results returned by the backend.
+   *
+   * @param os The list response writer.
+   */
+  private void writeBackendPage(@NotNull final ListResponseWriter<T> os)
+  {
+    if (backendResults.getTotalResults() != null)
+    {
+      os.totalResults(backendResults.getTotalResults());
+    }
+    if (startIndex != null)
+    {
+      os.startIndex(startIndex);
+    }
+    ResourceTrimmer trimmer = responsePreparer.getRetrievedResourceTrimmer();
+    int itemsPerPage = 0;
+    for (T resource : backendResults.getResources())
+    {
+      responsePreparer.setResourceTypeAndLocation(resource);
+      os.resource(resource, trimmer);
+      itemsPerPage++;
+    }
+    if (startIndex != null || count != null)
+    {
+      os.itemsPerPage(itemsPerPage);
+    }
+    if (cursorRequested && backendResults.getNextCursor() != null)
+    {
+      os.nextCursor(cursorCodec.encode(backendResults.getNextCursor(),
+          cursorQuery));
+    }
+  }
+
+  /**
+   * Writes the requested page of the results that were completed in memory.
+   *
+   * @param os The list response writer.
+   * @param matched The filtered and sorted results.
+   */
+  private void writePage(@NotNull final ListResponseWriter<T> os,
+                         @NotNull final List<T> matched)
+  {
+    int toIndex = count == null ? matched.size() :
+        (int) Math.min((long) fromIndex + count, matched.size());
+    List<T> page = matched.subList(fromIndex, toIndex);
+
+    os.totalResults(matched.size());
+    if (startIndex != null || count != null)
+    {
+      os.itemsPerPage(page.size());
+    }
+    if (startIndex != null)
+    {
+      os.startIndex(startIndex);
+    }
+    if (keysetPager != null && !page.isEmpty() && toIndex < matched.size())
+    {
+      os.nextCursor(cursorCodec.encode(
+          keysetPager.cursorAfter(page.get(page.size() - 1)), cursorQuery));
+    }
+    ResourceTrimmer trimmer = responsePreparer.getRetrievedResourceTrimmer();
+    for (T resource : page)
+    {
+      // The meta attributes were already set before filtering.
+      os.resource(resource, trimmer);
+    }
+  }
+
+  /**
+   * Parse an integer query parameter.
+   *
+   * @param value The value of the query parameter.
+   * @param name The name of the query parameter.
+   * @return The integer value.
+   * @throws BadRequestException If the value is not an integer.
+   */
+  private static int parseInteger(@NotNull final String value,
+                                  @NotNull final String name)
+      throws BadRequestException
+  {
+    try
+    {
+      return Integer.parseInt(value);
+    }
+    catch (NumberFormatException e)
+    {
+      throw BadRequestException.invalidValue("'" + value +
+          "' is not a valid value for the " + name + " parameter");
+    }
+  }
+}
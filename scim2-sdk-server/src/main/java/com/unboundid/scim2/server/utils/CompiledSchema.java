@@ -0,0 +1,400 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.types.AttributeDefinition;
+import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The schemas of a resource type, indexed for schema checking and for looking
+ * up attribute definitions by path. Attribute names and schema URNs are
+ * compared without regard to case, and lookups do not allocate, so they are
+ * suitable for the per-attribute lookups made while filtering, sorting,
+ * trimming, and checking resources. An instance is built once per
+ * {@link ResourceTypeDefinition} and is shared by all {@link SchemaChecker}
+ * instances for that resource type. Instances are immutable and thread-safe.
+ */
+final class CompiledSchema
+{
+  /**
+   * A set of attribute definitions that appear together in the same JSON
+   * object, such as the core attributes of a resource or the sub-attributes
+   * of a complex attribute.
+   */
+  static final class AttributeSet
+  {
+    @NotNull
+    private final Collection<AttributeDefinition> attributes;
+
+    @NotNull
+    private final String[] names;
+
+    @NotNull
+    private final AttributeDefinition[] definitions;
+
+    /**
+     * Create a new attribute set.
+     *
+     * @param attributes The attribute definitions.
+     */
+    private AttributeSet(
+        @NotNull final Collection<AttributeDefinition> attributes)
+    {
+      this.attributes = attributes;
+      // As with a map keyed by attribute path, a later definition with the
+      // same name replaces an earlier one.
+      TreeMap<String, AttributeDefinition> map =
+          new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      for (AttributeDefinition attribute : attributes)
+      {
+        map.put(attribute.getName(), attribute);
+      }
+      this.names = map.keySet().toArray(new String[0]);
+      this.definitions = map.values().toArray(new AttributeDefinition[0]);
+    }
+
+    /**
+     * Retrieves the attribute definitions in the order they were defined.
+     *
+     * @return The attribute definitions.
+     */
+    @NotNull
+    Collection<AttributeDefinition> getAttributes()
+    {
+      return attributes;
+    }
+
+    /**
+     * Retrieves the attribute definition with the provided name, ignoring
+     * case.
+     *
+     * @param name The name of the attribute.
+     * @return The attribute definition or {@code null} if it is undefined.
+     */
+    @Nullable
+    AttributeDefinition getAttribute(@NotNull final String name)
+    {
+      // The names are sorted, so a binary search finds the definition without
+      // folding the case of the name.
+      int low = 0;
+      int high = names.length - 1;
+      while (low <= high)
+      {
+        int mid = (low + high) >>> 1;
+        int cmp = String.CASE_INSENSITIVE_ORDER.compare(names[mid], name);
+        if (cmp < 0)
+        {
+          low = mid + 1;
+        }
+        else if (cmp > 0)
+        {
+          high = mid - 1;
+        }
+        else
+        {
+          return definitions[mid];
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * A schema extension of the resource type.
+   *
+   * @param schema The schema extension.
+   * @param required Whether the schema extension is required.
+   * @param attributes The attributes of the schema extension.
+   */
+  record Extension(@NotNull SchemaResource schema,
+                   boolean required,
+                   @NotNull AttributeSet attributes)
+  {
+  }
+
+  @Nullable
+  private final String coreSchemaId;
+
+  @NotNull
+  private final AttributeSet commonAndCoreAttributes;
+
+  @NotNull
+  private final Map<String, Extension> extensions;
+
+  @NotNull
+  private final List<Extension> requiredExtensions;
+
+  @NotNull
+  private final Extension[] allExtensions;
+
+  @NotNull
+  private final Map<AttributeDefinition, AttributeSet> subAttributes =
+      new IdentityHashMap<>();
+
+  /**
+   * Compile the schemas of a resource type.
+   *
+   * @param coreSchema The core schema of the resource type.
+   * @param schemaExtensions A map of schema extensions to whether they are
+   *                         required.
+   */
+  CompiledSchema(@Nullable final SchemaResource coreSchema,
+                 @NotNull final Map<SchemaResource, Boolean> schemaExtensions)
+  {
+    List<AttributeDefinition> attributes = new ArrayList<>(
+        SchemaUtils.COMMON_ATTRIBUTE_DEFINITIONS);
+    if (coreSchema != null)
+    {
+      attributes.addAll(coreSchema.getAttributes());
+    }
+    this.coreSchemaId = coreSchema == null ? null : coreSchema.getId();
+    this.commonAndCoreAttributes = compile(attributes);
+
+    Map<String, Extension> extensionMap =
+        new HashMap<>(schemaExtensions.size());
+    List<Extension> required = new ArrayList<>(schemaExtensions.size());
+    for (Map.Entry<SchemaResource, Boolean> entry : schemaExtensions.entrySet())
+    {
+      Extension extension = new Extension(entry.getKey(), entry.getValue(),
+          compile(entry.getKey().getAttributes()));
+      extensionMap.putIfAbsent(entry.getKey().getId(), extension);
+      if (entry.getValue())
+      {
+        required.add(extension);
+      }
+    }
+    this.extensions = Collections.unmodifiableMap(extensionMap);
+    this.requiredExtensions = Collections.unmodifiableList(required);
+    this.allExtensions = extensionMap.values().toArray(new Extension[0]);
+  }
+
+  /**
+   * Index a collection of attribute definitions and their sub-attributes.
+   *
+   * @param attributes The attribute definitions.
+   * @return The indexed attribute set.
+   */
+  @NotNull
+  private AttributeSet compile(
+      @NotNull final Collection<AttributeDefinition> attributes)
+  {
+    for (AttributeDefinition attribute : attributes)
+    {
+      if (attribute.getSubAttributes() != null &&
+          !subAttributes.containsKey(attribute))
+      {
+        subAttributes.put(attribute, compile(attribute.getSubAttributes()));
+      }
+    }
+    return new AttributeSet(attributes);
+  }
+
+  /**
+   * Retrieves the ID of the core schema.
+   *
+   * @return The ID of the core schema or {@code null} if there is no core
+   *         schema.
+   */
+  @Nullable
+  String getCoreSchemaId()
+  {
+    return coreSchemaId;
+  }
+
+  /**
+   * Retrieves the common and core attributes.
+   *
+   * @return The common and core attributes.
+   */
+  @NotNull
+  AttributeSet getCommonAndCoreAttributes()
+  {
+    return commonAndCoreAttributes;
+  }
+
+  /**
+   * Retrieves the schema extension with the provided ID.
+   *
+   * @param schemaId The ID of the schema extension.
+   * @return The schema extension or {@code null} if it is not a schema
+   *         extension of the resource type.
+   */
+  @Nullable
+  Extension getExtension(@NotNull final String schemaId)
+  {
+    return extensions.get(schemaId);
+  }
+
+  /**
+   * Retrieves the required schema extensions.
+   *
+   * @return The required schema extensions.
+   */
+  @NotNull
+  List<Extension> getRequiredExtensions()
+  {
+    return requiredExtensions;
+  }
+
+  /**
+   * Determines whether a schema URN is the core schema or one of the schema
+   * extensions of the resource type.
+   *
+   * @param schemaId The schema URN.
+   * @return {@code true} if the schema is defined for the resource type.
+   */
+  boolean isDefinedSchema(@NotNull final String schemaId)
+  {
+    return extensions.containsKey(schemaId) || schemaId.equals(coreSchemaId);
+  }
+
+  /**
+   * Retrieve the attribute definition for a beginning portion of a path. Any
+   * value filters in the path are ignored.
+   *
+   * @param path The attribute path.
+   * @param size The number of path elements to use.
+   * @return The attribute definition or {@code null} if there is no attribute
+   *         defined for the path.
+   */
+  @Nullable
+  AttributeDefinition getAttribute(@NotNull final Path path, final int size)
+  {
+    AttributeSet attributeSet = getAttributeSet(path.getSchemaUrn());
+    AttributeDefinition attribute = null;
+    for (int i = 0; i < size; i++)
+    {
+      if (attributeSet == null)
+      {
+        return null;
+      }
+      attribute = attributeSet.getAttribute(path.getElement(i).getAttribute());
+      if (attribute == null)
+      {
+        return null;
+      }
+      attributeSet = subAttributes.get(attribute);
+    }
+    return attribute;
+  }
+
+  /**
+   * Retrieve the attribute definition for a sequence of attribute names.
+   *
+   * @param schemaUrn The schema URN of the attribute, or {@code null} for a
+   *                  core or common attribute.
+   * @param attributeNames The name of the attribute followed by the names of
+   *                       any sub-attributes.
+   * @return The attribute definition or {@code null} if there is no attribute
+   *         defined for the names.
+   */
+  @Nullable
+  AttributeDefinition getAttribute(@Nullable final String schemaUrn,
+                                   @NotNull final String... attributeNames)
+  {
+    AttributeSet attributeSet = getAttributeSet(schemaUrn);
+    AttributeDefinition attribute = null;
+    for (int i = 0; i < attributeNames.length; i++)
+    {
+      if (attributeSet == null)
+      {
+        return null;
+      }
+      attribute = attributeSet.getAttribute(attributeNames[i]);
+      if (attribute == null)
+      {
+        return null;
+      }
+      attributeSet = subAttributes.get(attribute);
+    }
+    return attribute;
+  }
+
+  /**
+   * Retrieves the attributes of a schema, comparing the schema URN without
+   * regard to case.
+   *
+   * @param schemaUrn The schema URN, or {@code null} for the common and core
+   *                  attributes.
+   * @return The attributes or {@code null} if the schema is not defined for
+   *         the resource type.
+   */
+  @Nullable
+  private AttributeSet getAttributeSet(@Nullable final String schemaUrn)
+  {
+    if (schemaUrn == null || schemaUrn.equalsIgnoreCase(coreSchemaId))
+    {
+      return commonAndCoreAttributes;
+    }
+    for (Extension extension : allExtensions)
+    {
+      if (extension.schema().getId().equalsIgnoreCase(schemaUrn))
+      {
+        return extension.attributes();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves the sub-attributes of a complex attribute.
+   *
+   * @param attribute The complex attribute definition.
+   * @return The sub-attributes or {@code null} if the attribute does not have
+   *         sub-attributes.
+   */
+  @Nullable
+  AttributeSet getSubAttributes(@NotNull final AttributeDefinition attribute)
+  {
+    AttributeSet attributeSet = subAttributes.get(attribute);
+    if (attributeSet == null && attribute.getSubAttributes() != null)
+    {
+      // The definition is not from this resource type's schemas.
+      attributeSet = new AttributeSet(attribute.getSubAttributes());
+    }
+    return attributeSet;
+  }
+}
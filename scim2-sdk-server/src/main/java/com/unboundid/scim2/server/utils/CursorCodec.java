@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.utils.Debug;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * Encodes {@link PageCursor} values as opaque cursor strings for RFC 9865
+ * cursor-based pagination, and decodes the cursor strings that clients send
+ * back. Cursors are stateless: everything needed to resume a search is in the
+ * cursor itself, so any server instance that shares the signing key may
+ * return the next page.
+ * <p>
+ * Each cursor is signed with HMAC-SHA256 so that clients cannot forge or
+ * alter a position, and is bound to the search that it was issued for, so it
+ * is rejected if it is used with a different filter or sort order. If a
+ * cursor timeout is set, such as the {@code cursorTimeout} advertised in the
+ * {@link com.unboundid.scim2.common.types.PaginationConfig}, cursors older
+ * than the timeout are rejected with an {@code expiredCursor} error.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class CursorCodec
+{
+  private static final int VERSION = 2;
+
+  @NotNull
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+
+  @NotNull
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  @NotNull
+  private static final Base64.Encoder ENCODER =
+      Base64.getUrlEncoder().withoutPadding();
+
+  @NotNull
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  @NotNull
+  private final SecretKeySpec signingKey;
+
+  @Nullable
+  private final Integer cursorTimeout;
+
+  @NotNull
+  private final Clock clock;
+
+  /**
+   * Create a new cursor codec.
+   *
+   * @param signingKey The secret key used to sign cursors. It must be at least
+   *                   16 bytes long, and it should be shared by all server
+   *                   instances that may receive the cursors.
+   * @param cursorTimeout The number of seconds that a cursor remains valid,
+   *                      or {@code null} if cursors do not expire.
+   */
+  public CursorCodec(@NotNull final byte[] signingKey,
+                     @Nullable final Integer cursorTimeout)
+  {
+    this(signingKey, cursorTimeout, Clock.systemUTC());
+  }
+
+  /**
+   * Create a new cursor codec that uses the provided clock.
+   *
+   * @param signingKey The secret key used to sign cursors.
+   * @param cursorTimeout The number of seconds that a cursor remains valid,
+   *                      or {@code null} if cursors do not expire.
+   * @param clock The clock used to time cursors.
+   */
+  CursorCodec(@NotNull final byte[] signingKey,
+              @Nullable final Integer cursorTimeout,
+              @NotNull final Clock clock)
+  {
+    if (signingKey.length < 16)
+    {
+      throw new IllegalArgumentException(
+          "The cursor signing key must be at least 16 bytes long");
+    }
+    if (cursorTimeout != null && cursorTimeout <= 0)
+    {
+      throw new IllegalArgumentException(
+          "The cursor timeout must be greater than zero");
+    }
+    this.signingKey = new SecretKeySpec(signingKey.clone(), MAC_ALGORITHM);
+    this.cursorTimeout = cursorTimeout;
+    this.clock = clock;
+  }
+
+  /**
+   * Retrieve the number of seconds that a cursor remains valid.
+   *
+   * @return The cursor timeout in seconds, or {@code null} if cursors do not
+   * expire.
+   */
+  @Nullable
+  public Integer getCursorTimeout()
+  {
+    return cursorTimeout;
+  }
+
+  /**
+   * Encode a page cursor as an opaque cursor string.
+   *
+   * @param cursor The page cursor to encode.
+   * @param query A string that identifies the search the cursor is issued
+   *              for, such as the resource type, filter, and sort parameters.
+   *              The same string must be provided to decode the cursor.
+   * @return The cursor string. It only contains URL-safe characters.
+   */
+  @NotNull
+  public String encode(@NotNull final PageCursor cursor,
+                       @NotNull final String query)
+  {
+    ArrayNode payload = JsonUtils.getJsonNodeFactory().arrayNode(7);
+    payload.add(VERSION);
+    payload.add(clock.millis());
+    payload.add(digest(query));
+    payload.add(cursor.getSnapshotId());
+    payload.add(cursor.getId());
+    payload.add(cursor.getSortValue());
+    payload.add(cursor.getOffset());
+
+    String encodedPayload = ENCODER.encodeToString(
+        JsonUtils.getObjectWriter().writeValueAsBytes(payload));
+    return encodedPayload + '.' + ENCODER.encodeToString(sign(encodedPayload));
+  }
+
+  /**
+   * Decode a cursor string that was returned by {@link #encode}.
+   *
+   * @param cursor The cursor string provided by the client.
+   * @param query The string that identifies the search. It must be the same
+   *              string that the cursor was encoded with.
+   * @return The decoded page cursor.
+   * @throws BadRequestException With the {@code invalidCursor} error type if
+   * the cursor is malformed, was not signed with this codec's key, or was
+   * issued for a different search, or with the {@code expiredCursor} error
+   * type if the cursor has timed out.
+   */
+  @NotNull
+  public PageCursor decode(@NotNull final String cursor,
+                           @NotNull final String query)
+      throws BadRequestException
+  {
+    JsonNode payload;
+    try
+    {
+      int separator = cursor.indexOf('.');
+      if (separator < 0)
+      {
+        throw invalidCursor(cursor);
+      }
+      String encodedPayload = cursor.substring(0, separator);
+      byte[] signature = DECODER.decode(cursor.substring(separator + 1));
+      if (!MessageDigest.isEqual(signature, sign(encodedPayload)))
+      {
+        throw invalidCursor(cursor);
+      }
+      payload = JsonUtils.getObjectReader().readTree(
+          DECODER.decode(encodedPayload));
+    }
+    catch (IllegalArgumentException | JacksonException e)
+    {
+      Debug.debugException(e);
+      throw invalidCursor(cursor);
+    }
+
+    if (payload == null || !payload.isArray() || payload.size() != 7 ||
+        payload.get(0).asInt() != VERSION ||
+        !payload.get(2).isString() ||
+        !payload.get(2).asString().equals(digest(query)))
+    {
+      throw invalidCursor(cursor);
+    }
+
+    if (cursorTimeout != null &&
+        clock.millis() - payload.get(1).asLong() > cursorTimeout * 1000L)
+    {
+      throw BadRequestException.expiredCursor(
+          "The cursor '" + cursor + "' has expired");
+    }
+
+    JsonNode snapshotId = payload.get(3);
+    JsonNode id = payload.get(4);
+    JsonNode sortValue = payload.get(5);
+    if (id.isString())
+    {
+      return PageCursor.keyset(
+          snapshotId.isString() ? snapshotId.asString() : null,
+          sortValue.isNull() ? null : sortValue, id.asString());
+    }
+    if (snapshotId.isString() && payload.get(6).asInt() >= 0)
+    {
+      return PageCursor.offset(snapshotId.asString(), payload.get(6).asInt());
+    }
+    throw invalidCursor(cursor);
+  }
+
+  /**
+   * Sign an encoded cursor payload.
+   *
+   * @param encodedPayload The encoded payload.
+   * @return The signature.
+   */
+  @NotNull
+  private byte[] sign(@NotNull final String encodedPayload)
+  {
+    try
+    {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(signingKey);
+      return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+    catch (GeneralSecurityException e)
+    {
+      // HmacSHA256 is supported by every Java platform.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Compute the digest of the string that identifies a search. The digest
+   * rather than a hash code is included in the payload so that a cursor
+   * cannot be reused with a different search whose string happens to have
+   * the same hash code.
+   *
+   * @param query The string that identifies the search.
+   * @return The URL-safe base64 encoding of the SHA-256 digest.
+   */
+  @NotNull
+  private static String digest(@NotNull final String query)
+  {
+    try
+    {
+      return ENCODER.encodeToString(MessageDigest.getInstance(DIGEST_ALGORITHM)
+          .digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+    catch (GeneralSecurityException e)
+    {
+      // SHA-256 is supported by every Java platform.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Create an exception for a cursor that is not valid.
+   *
+   * @param cursor The cursor string.
+   * @return The exception.
+   */
+  @NotNull
+  private static BadRequestException invalidCursor(
+      @NotNull final String cursor)
+  {
+    return BadRequestException.invalidCursor(
+        "The cursor '" + cursor + "' is not valid for this request");
+  }
+}
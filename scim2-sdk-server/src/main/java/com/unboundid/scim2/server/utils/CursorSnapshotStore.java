@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A server-side store of search results for cursor-based pagination of
+ * results that cannot be resumed from a keyset position, such as resources
+ * without an ID. The full result set is saved when the first page is
+ * returned, and later pages are read from the saved results with an offset
+ * {@link PageCursor}.
+ * <p>
+ * Saved results are evicted once the cursor timeout has passed since they were
+ * saved, or when the store is full, in which case the least recently used
+ * results are evicted first. A client that requests a page of evicted results
+ * receives an {@code expiredCursor} error. This class is thread-safe.
+ */
+public class CursorSnapshotStore
+{
+  private record Snapshot(@NotNull List<ScimResource> results,
+                          long expiresAt)
+  {
+  }
+
+  @NotNull
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  @NotNull
+  private final Map<String, Snapshot> snapshots;
+
+  @Nullable
+  private final Integer cursorTimeout;
+
+  @NotNull
+  private final Clock clock;
+
+  /**
+   * Create a new cursor snapshot store.
+   *
+   * @param maxSnapshots The maximum number of result sets to keep.
+   * @param cursorTimeout The number of seconds to keep a result set, or
+   *                      {@code null} to keep result sets until they are
+   *                      evicted to make room for others.
+   */
+  public CursorSnapshotStore(final int maxSnapshots,
+                             @Nullable final Integer cursorTimeout)
+  {
+    this(maxSnapshots, cursorTimeout, Clock.systemUTC());
+  }
+
+  /**
+   * Create a new cursor snapshot store that uses the provided clock.
+   *
+   * @param maxSnapshots The maximum number of result sets to keep.
+   * @param cursorTimeout The number of seconds to keep a result set.
+   * @param clock The clock used to expire result sets.
+   */
+  CursorSnapshotStore(final int maxSnapshots,
+                      @Nullable final Integer cursorTimeout,
+                      @NotNull final Clock clock)
+  {
+    if (maxSnapshots <= 0)
+    {
+      throw new IllegalArgumentException(
+          "The maximum number of snapshots must be greater than zero");
+    }
+    this.cursorTimeout = cursorTimeout;
+    this.clock = clock;
+    this.snapshots = new LinkedHashMap<>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(
+          @NotNull final Map.Entry<String, Snapshot> eldest)
+      {
+        return size() > maxSnapshots;
+      }
+    };
+  }
+
+  /**
+   * Save a result set.
+   *
+   * @param results The complete, ordered result set.
+   * @return The snapshot ID to use in offset cursors for the result set.
+   */
+  @NotNull
+  public String put(@NotNull final List<? extends ScimResource> results)
+  {
+    byte[] bytes = new byte[16];
+    RANDOM.nextBytes(bytes);
+    String snapshotId =
+        Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    long expiresAt = cursorTimeout == null ? Long.MAX_VALUE :
+        clock.millis() + cursorTimeout * 1000L;
+    Snapshot snapshot = new Snapshot(List.copyOf(results), expiresAt);
+    synchronized (snapshots)
+    {
+      snapshots.put(snapshotId, snapshot);
+    }
+    return snapshotId;
+  }
+
+  /**
+   * Retrieve a saved result set.
+   *
+   * @param snapshotId The snapshot ID returned when the results were saved.
+   * @return The unmodifiable result set, or {@code null} if there are no
+   * results with the snapshot ID or they have expired or been evicted.
+   */
+  @Nullable
+  public List<ScimResource> get(@NotNull final String snapshotId)
+  {
+    synchronized (snapshots)
+    {
+      Snapshot snapshot = snapshots.get(snapshotId);
+      if (snapshot == null)
+      {
+        return null;
+      }
+      if (clock.millis() > snapshot.expiresAt())
+      {
+        snapshots.remove(snapshotId);
+        return null;
+      }
+      return snapshot.results();
+    }
+  }
+
+  /**
+   * Remove a saved result set, for instance, once its last page has been
+   * returned.
+   *
+   * @param snapshotId The snapshot ID returned when the results were saved.
+   */
+  public void remove(@NotNull final String snapshotId)
+  {
+    synchronized (snapshots)
+    {
+      snapshots.remove(snapshotId);
+    }
+  }
+
+  /**
+   * Retrieve the number of result sets in the store, including any that have
+   * expired but have not yet been evicted.
+   *
+   * @return The number of result sets in the store.
+   */
+  public int size()
+  {
+    synchronized (snapshots)
+    {
+      return snapshots.size();
+    }
+  }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.EqualFilter;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.server.SearchBackend;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A reference {@link SearchBackend} that holds the resources of a resource type
+ * in memory, indexed by ID. It evaluates the filter, sort order, and page of
+ * every search:
+ * <ul>
+ *   <li> An {@code id eq} filter is answered from the ID index without
+ *        scanning the other resources.
+ *   <li> Without a filter or sortBy attribute, a cursor-based page is read
+ *        directly from the ID index, starting at the ID in the cursor, so
+ *        neither the earlier resources nor the total are counted by scanning.
+ *   <li> Other searches scan the resources in ID order.
+ * </ul>
+ * Resources are copied when they are added and when they are returned, so the
+ * stored resources are never modified once they are added. This class is
+ * thread-safe, and searches do not block writers.
+ */
+public class InMemorySearchBackend implements SearchBackend<GenericScimResource>
+{
+  @NotNull
+  private static final Set<Capability> CAPABILITIES = Collections.unmodifiableSet(
+      EnumSet.allOf(Capability.class));
+
+  @NotNull
+  private static final Path ID_PATH = Path.root().attribute("id");
+
+  @NotNull
+  private final ResourceTypeDefinition resourceType;
+
+  @NotNull
+  private final SchemaAwareFilterEvaluator filterEvaluator;
+
+  @NotNull
+  private final ConcurrentSkipListMap<String, GenericScimResource> resources =
+      new ConcurrentSkipListMap<>();
+
+  /**
+   * Create a new, empty in-memory search backend.
+   *
+   * @param resourceType The resource type of the resources.
+   */
+  public InMemorySearchBackend(
+      @NotNull final ResourceTypeDefinition resourceType)
+  {
+    this.resourceType = resourceType;
+    this.filterEvaluator = new SchemaAwareFilterEvaluator(resourceType);
+  }
+
+  /**
+   * Add a resource, replacing any resource with the same ID. The
+   * {@code meta.resourceType} attribute is set to the name of the resource
+   * type so that it may be used in filters.
+   *
+   * @param resource The resource to add. It must have an ID.
+   * @throws BadRequestException If the resource does not have an ID.
+   */
+  public void put(@NotNull final ScimResource resource)
+      throws BadRequestException
+  {
+    resources.put(resource.getId(), storedCopy(resource, resourceType));
+  }
+
+  /**
+   * Remove a resource.
+   *
+   * @param id The ID of the resource to remove.
+   * @return {@code true} if the resource was removed.
+   */
+  public boolean remove(@NotNull final String id)
+  {
+    return resources.remove(id) != null;
+  }
+
+  /**
+   * Retrieve a copy of a resource.
+   *
+   * @param id The ID of the resource.
+   * @return A copy of the resource, or {@code null} if there is no resource
+   * with the ID.
+   */
+  @Nullable
+  public GenericScimResource get(@NotNull final String id)
+  {
+    GenericScimResource resource = resources.get(id);
+    return resource == null ? null : copy(resource);
+  }
+
+  /**
+   * Retrieve the number of resources.
+   *
+   * @return The number of resources.
+   */
+  public int size()
+  {
+    return resources.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public Set<Capability> getCapabilities()
+  {
+    return CAPABILITIES;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public SearchBackendResults<GenericScimResource> search(
+      @NotNull final SearchQuery query)
+      throws ScimException
+  {
+    Filter filter = query.getFilter();
+    if (filter == null && query.getSortBy() == null && query.isCursorRequested())
+    {
+      return seekById(query);
+    }
+
+    // Find the matching resources in ID order.
+    List<GenericScimResource> matched = new ArrayList<>();
+    Collection<GenericScimResource> candidates = resources.values();
+    if (filter instanceof EqualFilter equalFilter &&
+        ID_PATH.equals(equalFilter.getAttributePath()) &&
+        equalFilter.getComparisonValue() != null &&
+        equalFilter.getComparisonValue().isString())
+    {
+      GenericScimResource resource =
+          resources.get(equalFilter.getComparisonValue().asString());
+      candidates = resource == null ?
+          Collections.emptyList() : Collections.singletonList(resource);
+    }
+    for (GenericScimResource resource : candidates)
+    {
+      if (filter == null ||
+          filter.visit(filterEvaluator, resource.getObjectNode()))
+      {
+        matched.add(resource);
+      }
+    }
+
+    return page(query, matched, true);
+  }
+
+  /**
+   * Read a cursor-based page of unfiltered resources in ID order directly
+   * from the ID index.
+   *
+   * @param query The search query.
+   * @return The page of results.
+   */
+  @NotNull
+  private SearchBackendResults<GenericScimResource> seekById(
+      @NotNull final SearchQuery query)
+  {
+    PageCursor cursor = query.getPageCursor();
+    NavigableMap<String, GenericScimResource> tail =
+        cursor == null || cursor.getId() == null ? resources :
+            resources.tailMap(cursor.getId(), false);
+    int total = resources.size();
+    int count = query.getCount() == null ? Integer.MAX_VALUE : query.getCount();
+
+    List<GenericScimResource> page = new ArrayList<>(Math.min(count, 64));
+    PageCursor nextCursor = null;
+    for (GenericScimResource resource : tail.values())
+    {
+      if (page.size() == count)
+      {
+        // There is at least one more resource after the page.
+        nextCursor = page.isEmpty() ? null : PageCursor.keyset(null, null,
+            page.get(page.size() - 1).getId());
+        break;
+      }
+      page.add(copy(resource));
+    }
+    return new SearchBackendResults<>(page, total, nextCursor);
+  }
+
+  /**
+   * Copy a resource to be stored by a backend, setting its
+   * {@code meta.resourceType} attribute to the name of the resource type so
+   * that it may be used in filters.
+   *
+   * @param resource The resource to copy. It must have an ID.
+   * @param resourceType The resource type of the resource.
+   * @return The copy.
+   * @throws BadRequestException If the resource does not have an ID.
+   */
+  @NotNull
+  static GenericScimResource storedCopy(
+      @NotNull final ScimResource resource,
+      @NotNull final ResourceTypeDefinition resourceType)
+      throws BadRequestException
+  {
+    if (resource.getId() == null)
+    {
+      throw BadRequestException.invalidValue(
+          "The resource does not have an ID");
+    }
+    GenericScimResource copy = new GenericScimResource(
+        resource.asGenericScimResource().getObjectNode().deepCopy());
+    ObjectNode node = copy.getObjectNode();
+    JsonNode meta = node.get("meta");
+    if (meta == null || !meta.isObject())
+    {
+      meta = node.putObject("meta");
+    }
+    ((ObjectNode) meta).put("resourceType", resourceType.getName());
+    return copy;
+  }
+
+  /**
+   * Sort the resources that match a search query and return copies of the
+   * requested page.
+   *
+   * @param query The search query.
+   * @param matched The resources that match the filter of the query. This list
+   *                is sorted in place.
+   * @param idOrdered Whether the matched resources are already in ID order.
+   * @return The page of results.
+   */
+  @NotNull
+  static SearchBackendResults<GenericScimResource> page(
+      @NotNull final SearchQuery query,
+      @NotNull final List<GenericScimResource> matched,
+      final boolean idOrdered)
+  {
+    int fromIndex = 0;
+    KeysetPager keysetPager = null;
+    if (query.getSortBy() != null)
+    {
+      keysetPager = new KeysetPager(new ResourceComparator<>(
+          query.getSortBy(), query.getSortOrder(), query.getResourceType()));
+      matched.sort(keysetPager);
+    }
+    if (query.isCursorRequested())
+    {
+      if (keysetPager == null)
+      {
+        keysetPager = new KeysetPager(null);
+        if (!idOrdered)
+        {
+          matched.sort(keysetPager);
+        }
+      }
+      if (query.getPageCursor() != null)
+      {
+        fromIndex = keysetPager.indexAfter(matched, query.getPageCursor());
+      }
+    }
+    else if (query.getStartIndex() != null)
+    {
+      fromIndex = Math.min(query.getStartIndex() - 1, matched.size());
+    }
+
+    int toIndex = query.getCount() == null ? matched.size() :
+        (int) Math.min((long) fromIndex + query.getCount(), matched.size());
+    List<GenericScimResource> page = copy(matched.subList(fromIndex, toIndex));
+    PageCursor nextCursor = query.isCursorRequested() && !page.isEmpty() &&
+        toIndex < matched.size() ?
+        keysetPager.cursorAfter(page.get(page.size() - 1)) : null;
+    return new SearchBackendResults<>(page, matched.size(), nextCursor);
+  }
+
+  /**
+   * Copy resources so that they may be modified by the caller.
+   *
+   * @param resources The resources to copy.
+   * @return The copies.
+   */
+  @NotNull
+  private static List<GenericScimResource> copy(
+      @NotNull final List<GenericScimResource> resources)
+  {
+    List<GenericScimResource> copies = new ArrayList<>(resources.size());
+    for (GenericScimResource resource : resources)
+    {
+      copies.add(copy(resource));
+    }
+    return copies;
+  }
+
+  /**
+   * Copy a resource so that it may be modified by the caller.
+   *
+   * @param resource The resource to copy.
+   * @return The copy.
+   */
+  @NotNull
+  static GenericScimResource copy(
+      @NotNull final GenericScimResource resource)
+  {
+    return new GenericScimResource(resource.getObjectNode().deepCopy());
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders resources by their keyset, the sort value followed by the ID, and
+ * locates the position of a keyset {@link PageCursor} in the ordered
+ * resources. Every resource must have an ID.
+ */
+final class KeysetPager implements Comparator<ScimResource>
+{
+  @Nullable
+  private final ResourceComparator<ScimResource> resourceComparator;
+
+  /**
+   * Create a new keyset pager.
+   *
+   * @param resourceComparator The comparator for the sortBy attribute, or
+   *                           {@code null} if the resources are only ordered
+   *                           by ID.
+   */
+  KeysetPager(
+      @Nullable final ResourceComparator<ScimResource> resourceComparator)
+  {
+    this.resourceComparator = resourceComparator;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int compare(@NotNull final ScimResource r1,
+                     @NotNull final ScimResource r2)
+  {
+    int result = resourceComparator == null ? 0 :
+        resourceComparator.compare(r1, r2);
+    return result != 0 ? result : r1.getId().compareTo(r2.getId());
+  }
+
+  /**
+   * Create a cursor for the position that follows a resource.
+   *
+   * @param resource The last resource returned.
+   * @return The keyset cursor.
+   */
+  @NotNull
+  PageCursor cursorAfter(@NotNull final ScimResource resource)
+  {
+    return PageCursor.keyset(null, getSortValue(resource), resource.getId());
+  }
+
+  /**
+   * Finds the index of the first resource that follows a keyset position.
+   *
+   * @param resources The resources, ordered by this pager.
+   * @param cursor The keyset cursor.
+   * @return The index of the first resource after the cursor position.
+   */
+  int indexAfter(@NotNull final List<? extends ScimResource> resources,
+                 @NotNull final PageCursor cursor)
+  {
+    int low = 0;
+    int high = resources.size();
+    while (low < high)
+    {
+      int mid = (low + high) >>> 1;
+      ScimResource resource = resources.get(mid);
+      int result = resourceComparator == null ? 0 :
+          resourceComparator.compareSortValues(getSortValue(resource),
+              cursor.getSortValue());
+      if (result == 0)
+      {
+        result = resource.getId().compareTo(cursor.getId());
+      }
+      if (result <= 0)
+      {
+        low = mid + 1;
+      }
+      else
+      {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Retrieve the sort value of a resource.
+   *
+   * @param resource The resource.
+   * @return The sort value, or {@code null} if the resources are not sorted
+   * by an attribute or the resource has no value for it.
+   */
+  @Nullable
+  private JsonNode getSortValue(@NotNull final ScimResource resource)
+  {
+    return resourceComparator == null ? null :
+        resourceComparator.getSortValue(resource);
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Objects;
+
+/**
+ * The decoded form of an RFC 9865 cursor issued by a {@link CursorCodec}. A
+ * cursor identifies where the next page of results begins in one of two ways:
+ * <ul>
+ *   <li> A keyset position: the sort value and ID of the last resource that
+ *        was returned. The next page begins with the first resource that
+ *        sorts after that position, so no earlier results have to be skipped.
+ *   <li> An offset into a result set that was saved when the first page was
+ *        returned, for results that cannot be ordered by a keyset. See
+ *        {@link CursorSnapshotStore}.
+ * </ul>
+ * Either form may also refer to a snapshot ID, such as the version of a data
+ * store, so that every page of a search is read from the same snapshot.
+ * Instances are immutable.
+ */
+public final class PageCursor
+{
+  @Nullable
+  private final String snapshotId;
+
+  @Nullable
+  private final JsonNode sortValue;
+
+  @Nullable
+  private final String id;
+
+  private final int offset;
+
+  /**
+   * Create a new page cursor.
+   *
+   * @param snapshotId The snapshot ID, or {@code null} if there is none.
+   * @param sortValue The sort value of the last resource returned.
+   * @param id The ID of the last resource returned, or {@code null} if this
+   *           is an offset cursor.
+   * @param offset The offset of the next page.
+   */
+  private PageCursor(@Nullable final String snapshotId,
+                     @Nullable final JsonNode sortValue,
+                     @Nullable final String id,
+                     final int offset)
+  {
+    this.snapshotId = snapshotId;
+    this.sortValue = sortValue;
+    this.id = id;
+    this.offset = offset;
+  }
+
+  /**
+   * Create a cursor for the keyset position that follows a resource.
+   *
+   * @param snapshotId The snapshot ID, or {@code null} if there is none.
+   * @param sortValue The sort value of the last resource returned, or
+   *                  {@code null} if it has no value for the sortBy attribute
+   *                  or the results are not sorted by an attribute.
+   * @param id The ID of the last resource returned.
+   * @return The new page cursor.
+   */
+  @NotNull
+  public static PageCursor keyset(@Nullable final String snapshotId,
+                                  @Nullable final JsonNode sortValue,
+                                  @NotNull final String id)
+  {
+    return new PageCursor(snapshotId, sortValue, id, 0);
+  }
+
+  /**
+   * Create a cursor for an offset into a saved result set.
+   *
+   * @param snapshotId The ID of the saved result set.
+   * @param offset The zero-based offset of the next page.
+   * @return The new page cursor.
+   */
+  @NotNull
+  public static PageCursor offset(@NotNull final String snapshotId,
+                                  final int offset)
+  {
+    if (offset < 0)
+    {
+      throw new IllegalArgumentException("offset must not be negative");
+    }
+    return new PageCursor(snapshotId, null, null, offset);
+  }
+
+  /**
+   * Indicates whether this cursor is a keyset position.
+   *
+   * @return {@code true} if this cursor is a keyset position, or {@code false}
+   * if it is an offset into a saved result set.
+   */
+  public boolean isKeyset()
+  {
+    return id != null;
+  }
+
+  /**
+   * Retrieve the snapshot ID.
+   *
+   * @return The snapshot ID, or {@code null} if there is none.
+   */
+  @Nullable
+  public String getSnapshotId()
+  {
+    return snapshotId;
+  }
+
+  /**
+   * Retrieve the sort value of the last resource returned.
+   *
+   * @return The sort value of the last resource returned, or {@code null} if
+   * there is none.
+   */
+  @Nullable
+  public JsonNode getSortValue()
+  {
+    return sortValue;
+  }
+
+  /**
+   * Retrieve the ID of the last resource returned.
+   *
+   * @return The ID of the last resource returned, or {@code null} if this is
+   * an offset cursor.
+   */
+  @Nullable
+  public String getId()
+  {
+    return id;
+  }
+
+  /**
+   * Retrieve the zero-based offset of the next page in a saved result set.
+   *
+   * @return The offset of the next page, or 0 for a keyset cursor.
+   */
+  public int getOffset()
+  {
+    return offset;
+  }
+
+  /**
+   * Indicates whether the provided object is equal to this page cursor.
+   *
+   * @param o The object to compare.
+   * @return {@code true} if the provided object is equal to this page cursor,
+   * or {@code false} if not.
+   */
+  @Override
+  public boolean equals(@Nullable final Object o)
+  {
+    if (this == o)
+    {
+      return true;
+    }
+    if (!(o instanceof PageCursor that))
+    {
+      return false;
+    }
+    return offset == that.offset &&
+        Objects.equals(snapshotId, that.snapshotId) &&
+        Objects.equals(sortValue, that.sortValue) &&
+        Objects.equals(id, that.id);
+  }
+
+  /**
+   * Retrieves a hash code for this page cursor.
+   *
+   * @return A hash code for this page cursor.
+   */
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(snapshotId, sortValue, id, offset);
+  }
+
+  /**
+   * Retrieves a string representation of this page cursor.
+   *
+   * @return A string representation of this page cursor.
+   */
+  @Override
+  @NotNull
+  public String toString()
+  {
+    return "PageCursor{" +
+        "snapshotId=" + snapshotId +
+        ", sortValue=" + sortValue +
+        ", id=" + id +
+        ", offset=" + offset +
+        '}';
+  }
+}
@@ -100,40 +100,49 @@ public class ResourceComparator<T extends ScimResource>
    */
   public int compare(@NotNull final T o1, @NotNull final T o2)
   {
-    ObjectNode n1 = o1.asGenericScimResource().getObjectNode();
-    ObjectNode n2 = o2.asGenericScimResource().getObjectNode();
-
-    JsonNode v1 = null;
-    JsonNode v2 = null;
-
-    try
-    {
-      List<JsonNode> v1s = JsonUtils.findMatchingPaths(sortBy, n1);
-      if (!v1s.isEmpty())
-      {
-        // Always just use the primary or first value of the first found node.
-        v1 = getPrimaryOrFirst(v1s.get(0));
-      }
-    }
-    catch (ScimException e)
-    {
-      Debug.debugException(e);
-    }
+    return compareSortValues(getSortValue(o1), getSortValue(o2));
+  }
 
+  /**
+   * Retrieve the value of a resource that is used for sorting. This is the
+   * primary or first value of the first node found at the sortBy path.
+   *
+   * @param resource The resource.
+   * @return The sort value or {@code null} if the resource has no value for
+   * the sortBy path.
+   */
+  @Nullable
+  public JsonNode getSortValue(@NotNull final T resource)
+  {
+    ObjectNode node = resource.asGenericScimResource().getObjectNode();
     try
     {
-      List<JsonNode> v2s = JsonUtils.findMatchingPaths(sortBy, n2);
-      if (!v2s.isEmpty())
+      List<JsonNode> values = JsonUtils.findMatchingPaths(sortBy, node);
+      if (!values.isEmpty())
       {
         // Always just use the primary or first value of the first found node.
-        v2 = getPrimaryOrFirst(v2s.get(0));
+        return getPrimaryOrFirst(values.get(0));
       }
     }
     catch (ScimException e)
     {
       Debug.debugException(e);
     }
+    return null;
+  }
 
+  /**
+   * Compare two sort values retrieved with {@link #getSortValue}, using the
+   * sort order of this comparator.
+   *
+   * @param v1 The first sort value.
+   * @param v2 The second sort value.
+   * @return A negative integer, zero, or a positive integer as the first
+   * value sorts before, the same as, or after the second value.
+   */
+  public int compareSortValues(@Nullable final JsonNode v1,
+                               @Nullable final JsonNode v2)
+  {
     if (v1 == null && v2 == null)
     {
       return 0;
@@ -160,6 +169,28 @@ public class ResourceComparator<T extends ScimResource>
     }
   }
 
+  /**
+   * Retrieve the path to the attribute to sort by.
+   *
+   * @return The path to the attribute to sort by.
+   */
+  @NotNull
+  public Path getSortBy()
+  {
+    return sortBy;
+  }
+
+  /**
+   * Retrieve the sort order.
+   *
+   * @return The sort order.
+   */
+  @NotNull
+  public SortOrder getSortOrder()
+  {
+    return sortOrder;
+  }
+
   /**
    * Retrieve the value of a complex multi-valued attribute that is marked as
    * primary or the first value in the list. If the provided node is not an
@@ -40,17 +40,15 @@ import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.messages.PatchOperation;
 import com.unboundid.scim2.common.types.Meta;
-import com.unboundid.scim2.common.utils.StaticUtils;
+import com.unboundid.scim2.server.ListResponseWriter;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
 
-import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -77,20 +75,35 @@ import static com.unboundid.scim2.common.utils.ApiConstants.*;
  */
 public class ResourcePreparer<T extends ScimResource>
 {
+  @NotNull
+  private static final String META_ATTRIBUTE = "meta";
+
+  @NotNull
+  private static final String ID_ATTRIBUTE = "id";
+
+  @NotNull
+  private static final String RESOURCE_TYPE_ATTRIBUTE = "resourceType";
+
+  @NotNull
+  private static final String LOCATION_ATTRIBUTE = "location";
+
   @NotNull
   private final ResourceTypeDefinition resourceType;
 
   @NotNull
   private final URI baseUri;
 
-  @NotNull
-  private final Set<Path> queryAttributes;
+  @Nullable
+  private final String locationPrefix;
 
-  private final boolean excluded;
+  @NotNull
+  private final ResourceProjection projection;
 
   /**
    * Create a new ResourcePreparer for preparing returned resources for a
-   * SCIM operation.
+   * SCIM operation. The parsed attributes or excludedAttributes query
+   * parameter and the resource type base URI are taken from the resource
+   * type's cache when the same values were seen by an earlier request.
    *
    * @param resourceType The resource type definition for resources to prepare.
    * @param requestUriInfo The UriInfo for the request.
@@ -106,23 +119,7 @@ public class ResourcePreparer<T extends ScimResource>
             QUERY_PARAMETER_ATTRIBUTES),
         requestUriInfo.getQueryParameters().getFirst(
             QUERY_PARAMETER_EXCLUDED_ATTRIBUTES),
-        requestUriInfo.getBaseUriBuilder().
-            path(resourceType.getEndpoint()).
-            buildFromMap(singleValuedMapFromMultivaluedMap(
-                requestUriInfo.getPathParameters())));
-  }
-
-  @NotNull
-  private static Map<String, String> singleValuedMapFromMultivaluedMap(
-      @NotNull final MultivaluedMap<String, String> multivaluedMap)
-  {
-    final Map<String, String> returnMap = new LinkedHashMap<>();
-    for (String k : multivaluedMap.keySet())
-    {
-      returnMap.put(k, multivaluedMap.getFirst(k));
-    }
-
-    return returnMap;
+        resourceType.getProjectionCache().getBaseUri(requestUriInfo));
   }
 
   /**
@@ -139,61 +136,23 @@ public class ResourcePreparer<T extends ScimResource>
                    @NotNull final URI baseUri)
       throws BadRequestException
   {
-    if (attributesString != null && !attributesString.isEmpty())
-    {
-      Set<String> attributeSet = StaticUtils.arrayToSet(
-          StaticUtils.splitCommaSeparatedString(attributesString));
-      this.queryAttributes = new LinkedHashSet<>(attributeSet.size());
-      for (String attribute : attributeSet)
-      {
-        Path normalizedPath;
-        try
-        {
-          normalizedPath = resourceType.normalizePath(
-              Path.fromString(attribute)).withoutFilters();
-        }
-        catch (BadRequestException e)
-        {
-          throw BadRequestException.invalidValue("'" + attribute +
-              "' is not a valid value for the attributes parameter: " +
-              e.getMessage());
-        }
-        this.queryAttributes.add(normalizedPath);
+    this.projection = resourceType.getProjectionCache().getProjection(
+        attributesString, excludedAttributesString);
+    this.resourceType = resourceType;
+    this.baseUri = baseUri;
 
-      }
-      this.excluded = false;
-    }
-    else if (excludedAttributesString != null &&
-        !excludedAttributesString.isEmpty())
+    // Locations are formed by appending a path segment to the base URI. This
+    // can only be done with simple string concatenation when the base URI
+    // does not have a query or fragment component.
+    if (baseUri.getRawQuery() == null && baseUri.getRawFragment() == null)
     {
-      Set<String> attributeSet = StaticUtils.arrayToSet(
-          StaticUtils.splitCommaSeparatedString(excludedAttributesString));
-      this.queryAttributes = new LinkedHashSet<>(attributeSet.size());
-      for (String attribute : attributeSet)
-      {
-        Path normalizedPath;
-        try
-        {
-          normalizedPath = resourceType.normalizePath(
-              Path.fromString(attribute)).withoutFilters();
-        }
-        catch (BadRequestException e)
-        {
-          throw BadRequestException.invalidValue("'" + attribute +
-              "' is not a valid value for the excludedAttributes parameter: " +
-              e.getMessage());
-        }
-        this.queryAttributes.add(normalizedPath);
-      }
-      this.excluded = true;
+      String base = baseUri.toString();
+      this.locationPrefix = base.endsWith("/") ? base : base + "/";
     }
     else
     {
-      this.queryAttributes = Collections.emptySet();
-      this.excluded = true;
+      this.locationPrefix = null;
     }
-    this.resourceType = resourceType;
-    this.baseUri = baseUri;
   }
 
   /**
@@ -210,6 +169,23 @@ public class ResourcePreparer<T extends ScimResource>
     return trimReturned(returnedResource, null, null);
   }
 
+  /**
+   * Retrieves the trimmer for resources returned from a search or retrieve
+   * operation. This may be passed to
+   * {@link ListResponseWriter#resource(ScimResource, ResourceTrimmer)} to
+   * trim each resource while it is written to a list response, instead of
+   * building a trimmed copy with {@link #trimRetrievedResource}. Note that
+   * the {@code meta.resourceType} and {@code meta.location} attributes must
+   * be set first using {@link #setResourceTypeAndLocation}.
+   *
+   * @return The trimmer for retrieved resources.
+   */
+  @NotNull
+  public ResourceTrimmer getRetrievedResourceTrimmer()
+  {
+    return projection.getRetrievedResourceTrimmer();
+  }
+
   /**
    * Trim attributes of the resources returned from a create operation based on
    * schema as well as the request resource and request parameters.
@@ -269,6 +245,12 @@ public class ResourcePreparer<T extends ScimResource>
    */
   public void setResourceTypeAndLocation(@NotNull final T returnedResource)
   {
+    if (returnedResource instanceof GenericScimResource genericResource &&
+        setResourceTypeAndLocation(genericResource.getObjectNode()))
+    {
+      return;
+    }
+
     Meta meta = returnedResource.getMeta();
 
     boolean metaUpdated = false;
@@ -288,9 +270,7 @@ public class ResourcePreparer<T extends ScimResource>
       String id = returnedResource.getId();
       if (id != null)
       {
-        UriBuilder locationBuilder = UriBuilder.fromUri(baseUri);
-        locationBuilder.segment(ServerUtils.encodeTemplateNames(id));
-        meta.setLocation(locationBuilder.build());
+        meta.setLocation(URI.create(getLocation(id)));
       }
       else
       {
@@ -305,6 +285,93 @@ public class ResourcePreparer<T extends ScimResource>
     }
   }
 
+  /**
+   * Sets the {@code meta.resourceType} and {@code meta.location} values
+   * directly in the JSON object of a resource, without converting the
+   * {@code meta} attribute to and from a {@link Meta} object.
+   *
+   * @param objectNode The JSON object of the resource.
+   * @return {@code true} if the values were set, or {@code false} if the
+   *         resource does not have a {@code meta} value that can be updated
+   *         directly.
+   */
+  private boolean setResourceTypeAndLocation(
+      @NotNull final ObjectNode objectNode)
+  {
+    JsonNode metaNode = objectNode.get(META_ATTRIBUTE);
+    JsonNode idNode = objectNode.get(ID_ATTRIBUTE);
+    if ((metaNode != null && !metaNode.isObject() && !metaNode.isNull()) ||
+        (idNode != null && !idNode.isString() && !idNode.isNull()))
+    {
+      // Leave values of an unexpected type to the Meta conversion.
+      return false;
+    }
+
+    ObjectNode meta = metaNode instanceof ObjectNode m ?
+        m : objectNode.putObject(META_ATTRIBUTE);
+    if (!meta.hasNonNull(RESOURCE_TYPE_ATTRIBUTE))
+    {
+      meta.put(RESOURCE_TYPE_ATTRIBUTE, resourceType.getName());
+    }
+    if (!meta.hasNonNull(LOCATION_ATTRIBUTE))
+    {
+      meta.put(LOCATION_ATTRIBUTE,
+          idNode == null || idNode.isNull() ?
+              baseUri.toString() : getLocation(idNode.asString()));
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves the value of the {@code meta.location} attribute for a resource.
+   * IDs that do not need to be percent-encoded, such as UUIDs, are appended to
+   * the precomputed location prefix of the resource type.
+   *
+   * @param id The ID of the resource.
+   * @return The location of the resource.
+   */
+  @NotNull
+  private String getLocation(@NotNull final String id)
+  {
+    if (locationPrefix != null && isUnreserved(id))
+    {
+      return locationPrefix.concat(id);
+    }
+
+    UriBuilder locationBuilder = UriBuilder.fromUri(baseUri);
+    locationBuilder.segment(ServerUtils.encodeTemplateNames(id));
+    return locationBuilder.build().toString();
+  }
+
+  /**
+   * Determines whether a string consists only of the characters that are
+   * unreserved in a URI, as defined by RFC 3986 section 2.3. These characters
+   * are never percent-encoded in a path segment.
+   *
+   * @param s The string to check.
+   * @return {@code true} if the string is not empty and only contains
+   *         unreserved characters.
+   */
+  static boolean isUnreserved(@NotNull final String s)
+  {
+    if (s.isEmpty())
+    {
+      return false;
+    }
+
+    for (int i = 0; i < s.length(); i++)
+    {
+      char c = s.charAt(i);
+      if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') ||
+          (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' ||
+          c == '~'))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Trim attributes of the resources to return based on schema and the client
    * request.
@@ -342,7 +409,8 @@ public class ResourcePreparer<T extends ScimResource>
         returnedResource.asGenericScimResource();
     ScimResourceTrimmer trimmer =
         new ScimResourceTrimmer(resourceType, requestAttributes,
-                                queryAttributes, excluded);
+                                projection.getQueryAttributes(),
+                                projection.isExcluded());
 
     return new GenericScimResource(
         trimmer.trimObjectNode(genericReturnedResource.getObjectNode()));
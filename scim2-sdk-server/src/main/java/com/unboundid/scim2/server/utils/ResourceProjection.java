@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.utils.StaticUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable, pre-parsed form of the {@code attributes} or
+ * {@code excludedAttributes} query parameter of a request. Instances are
+ * cached per resource type by {@link ResourceProjectionCache} so that
+ * requests with the same parameter values do not need to parse and normalize
+ * the attribute paths again.
+ */
+final class ResourceProjection
+{
+  @NotNull
+  private final Set<Path> queryAttributes;
+
+  private final boolean excluded;
+
+  @NotNull
+  private final ScimResourceTrimmer retrievedResourceTrimmer;
+
+  /**
+   * Create a new projection.
+   *
+   * @param resourceType The resource type definition.
+   * @param queryAttributes The normalized attribute paths.
+   * @param excluded {@code true} if the paths came from the
+   *                 excludedAttributes query parameter.
+   */
+  private ResourceProjection(@NotNull final ResourceTypeDefinition resourceType,
+                             @NotNull final Set<Path> queryAttributes,
+                             final boolean excluded)
+  {
+    this.queryAttributes = queryAttributes;
+    this.excluded = excluded;
+    this.retrievedResourceTrimmer = new ScimResourceTrimmer(resourceType,
+        Collections.emptySet(), queryAttributes, excluded);
+  }
+
+  /**
+   * Create the projection used when neither the attributes nor the
+   * excludedAttributes query parameter is provided.
+   *
+   * @param resourceType The resource type definition.
+   * @return The default projection for the resource type.
+   */
+  @NotNull
+  static ResourceProjection defaultProjection(
+      @NotNull final ResourceTypeDefinition resourceType)
+  {
+    return new ResourceProjection(resourceType, Collections.emptySet(), true);
+  }
+
+  /**
+   * Parse the value of the attributes or excludedAttributes query parameter.
+   *
+   * @param resourceType The resource type definition used to normalize the
+   *                     attribute paths.
+   * @param attributesString The raw query parameter value.
+   * @param excluded {@code true} if the value is from the excludedAttributes
+   *                 query parameter.
+   * @return The parsed projection.
+   * @throws BadRequestException If an attribute path is invalid.
+   */
+  @NotNull
+  static ResourceProjection parse(
+      @NotNull final ResourceTypeDefinition resourceType,
+      @NotNull final String attributesString,
+      final boolean excluded)
+      throws BadRequestException
+  {
+    Set<String> attributeSet = StaticUtils.arrayToSet(
+        StaticUtils.splitCommaSeparatedString(attributesString));
+    Set<Path> paths = new LinkedHashSet<>(attributeSet.size());
+    for (String attribute : attributeSet)
+    {
+      Path normalizedPath;
+      try
+      {
+        normalizedPath = resourceType.normalizePath(
+            Path.fromString(attribute)).withoutFilters();
+      }
+      catch (BadRequestException e)
+      {
+        throw BadRequestException.invalidValue("'" + attribute +
+            "' is not a valid value for the " +
+            (excluded ? "excludedAttributes" : "attributes") +
+            " parameter: " + e.getMessage());
+      }
+      paths.add(normalizedPath);
+    }
+
+    return new ResourceProjection(resourceType,
+        Collections.unmodifiableSet(paths), excluded);
+  }
+
+  /**
+   * Retrieves the normalized attribute paths from the query parameter.
+   *
+   * @return The normalized attribute paths.
+   */
+  @NotNull
+  Set<Path> getQueryAttributes()
+  {
+    return queryAttributes;
+  }
+
+  /**
+   * Whether the query attributes came from the excludedAttributes query
+   * parameter.
+   *
+   * @return {@code true} if the query attributes are excluded attributes.
+   */
+  boolean isExcluded()
+  {
+    return excluded;
+  }
+
+  /**
+   * Retrieves the trimmer for resources returned from a search or retrieve
+   * operation, where there is no request resource. The trimmer is
+   * immutable and may be shared by concurrent requests.
+   *
+   * @return The trimmer for retrieved resources.
+   */
+  @NotNull
+  ScimResourceTrimmer getRetrievedResourceTrimmer()
+  {
+    return retrievedResourceTrimmer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public String toString()
+  {
+    return "ResourceProjection{" +
+        (excluded ? "excludedAttributes=" : "attributes=") +
+        queryAttributes + "}";
+  }
+}
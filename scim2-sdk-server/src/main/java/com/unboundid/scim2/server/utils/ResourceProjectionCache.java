@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per-resource type cache of the values that a {@link ResourcePreparer}
+ * derives from the request. The same {@code attributes} and
+ * {@code excludedAttributes} query parameter values and the same base URIs
+ * tend to repeat across requests, so the parsed projections and the resolved
+ * resource type base URIs are kept and reused.
+ * <p>
+ * Since the cache keys are taken from client requests, each map holds at most
+ * {@link #MAX_CACHED_ENTRIES} entries. A map that is full is cleared before a
+ * new entry is added. Instances of this class are thread-safe.
+ */
+final class ResourceProjectionCache
+{
+  /**
+   * The maximum number of entries kept in each of the cache maps.
+   */
+  static final int MAX_CACHED_ENTRIES = 1024;
+
+  @NotNull
+  private final ResourceTypeDefinition resourceType;
+
+  @NotNull
+  private final List<String> templateNames;
+
+  @NotNull
+  private final ResourceProjection defaultProjection;
+
+  @NotNull
+  private final Map<String, ResourceProjection> includedProjections =
+      new ConcurrentHashMap<>();
+
+  @NotNull
+  private final Map<String, ResourceProjection> excludedProjections =
+      new ConcurrentHashMap<>();
+
+  @NotNull
+  private final Map<String, URI> baseUris = new ConcurrentHashMap<>();
+
+  /**
+   * Create a new cache for a resource type.
+   *
+   * @param resourceType The resource type definition.
+   */
+  ResourceProjectionCache(@NotNull final ResourceTypeDefinition resourceType)
+  {
+    this.resourceType = resourceType;
+    this.templateNames = parseTemplateNames(resourceType.getEndpoint());
+    this.defaultProjection = ResourceProjection.defaultProjection(resourceType);
+  }
+
+  /**
+   * Retrieve the projection for the provided query parameter values. The
+   * attributes query parameter takes precedence over the excludedAttributes
+   * query parameter.
+   *
+   * @param attributesString The attributes query parameter value.
+   * @param excludedAttributesString The excludedAttributes query parameter
+   *                                 value.
+   * @return The parsed projection.
+   * @throws BadRequestException If an attribute path is invalid.
+   */
+  @NotNull
+  ResourceProjection getProjection(
+      @Nullable final String attributesString,
+      @Nullable final String excludedAttributesString)
+      throws BadRequestException
+  {
+    if (attributesString != null && !attributesString.isEmpty())
+    {
+      return getProjection(includedProjections, attributesString, false);
+    }
+    else if (excludedAttributesString != null &&
+        !excludedAttributesString.isEmpty())
+    {
+      return getProjection(excludedProjections, excludedAttributesString,
+          true);
+    }
+
+    return defaultProjection;
+  }
+
+  /**
+   * Retrieve the base URI of the resource type endpoint for a request.
+   *
+   * @param requestUriInfo The UriInfo for the request.
+   * @return The resource type base URI.
+   */
+  @NotNull
+  URI getBaseUri(@NotNull final UriInfo requestUriInfo)
+  {
+    String key = requestUriInfo.getBaseUri().toString();
+    Map<String, String> templateValues = Collections.emptyMap();
+    if (!templateNames.isEmpty())
+    {
+      // Only the path parameters used by the endpoint path are part of the
+      // key, so that parameters such as the resource ID do not defeat the
+      // cache.
+      MultivaluedMap<String, String> pathParameters =
+          requestUriInfo.getPathParameters();
+      templateValues = new LinkedHashMap<>(templateNames.size());
+      StringBuilder builder = new StringBuilder(key);
+      for (String name : templateNames)
+      {
+        String value = pathParameters.getFirst(name);
+        templateValues.put(name, value);
+        builder.append('\n').append(name).append('=').append(value);
+      }
+      key = builder.toString();
+    }
+
+    URI baseUri = baseUris.get(key);
+    if (baseUri == null)
+    {
+      baseUri = requestUriInfo.getBaseUriBuilder().
+          path(resourceType.getEndpoint()).
+          buildFromMap(templateValues);
+      put(baseUris, key, baseUri);
+    }
+    return baseUri;
+  }
+
+  @NotNull
+  private ResourceProjection getProjection(
+      @NotNull final Map<String, ResourceProjection> projections,
+      @NotNull final String attributesString,
+      final boolean excluded)
+      throws BadRequestException
+  {
+    ResourceProjection projection = projections.get(attributesString);
+    if (projection == null)
+    {
+      // Invalid values are not cached so the same exception is thrown on
+      // every request.
+      projection = ResourceProjection.parse(
+          resourceType, attributesString, excluded);
+      put(projections, attributesString, projection);
+    }
+    return projection;
+  }
+
+  private static <V> void put(@NotNull final Map<String, V> map,
+                              @NotNull final String key,
+                              @NotNull final V value)
+  {
+    if (map.size() >= MAX_CACHED_ENTRIES)
+    {
+      map.clear();
+    }
+    map.put(key, value);
+  }
+
+  /**
+   * Retrieve the names of the URI template parameters in an endpoint path.
+   *
+   * @param endpoint The endpoint path.
+   * @return The template parameter names, in the order they appear.
+   */
+  @NotNull
+  static List<String> parseTemplateNames(@NotNull final String endpoint)
+  {
+    List<String> names = null;
+    int start = endpoint.indexOf('{');
+    while (start != -1)
+    {
+      int end = endpoint.indexOf('}', start);
+      if (end == -1)
+      {
+        break;
+      }
+
+      // A template may include a regular expression, as in "{id: [0-9]+}".
+      String name = endpoint.substring(start + 1, end);
+      int colon = name.indexOf(':');
+      if (colon != -1)
+      {
+        name = name.substring(0, colon);
+      }
+      if (names == null)
+      {
+        names = new ArrayList<>(2);
+      }
+      names.add(name.trim());
+      start = endpoint.indexOf('{', end);
+    }
+
+    return names == null ? Collections.emptyList() : names;
+  }
+}
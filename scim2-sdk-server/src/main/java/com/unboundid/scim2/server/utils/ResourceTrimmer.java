@@ -34,8 +34,11 @@ package com.unboundid.scim2.server.utils;
 
 import com.unboundid.scim2.common.Path;
 import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.utils.JsonUtils;
 import com.unboundid.scim2.common.utils.SchemaUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
@@ -62,6 +65,27 @@ public abstract class ResourceTrimmer
     return trimObjectNode(objectNode, Path.root());
   }
 
+  /**
+   * Write the attributes of the object node that should be returned directly
+   * to a JSON generator. The output is the same as serializing the result of
+   * {@link #trimObjectNode(ObjectNode)}, but no trimmed copy of the object
+   * node is created.
+   *
+   * @param jsonGenerator The JSON generator to write to.
+   * @param objectNode The object node to return.
+   * @throws JacksonException If an error occurs while writing.
+   */
+  public void writeObjectNode(@NotNull final JsonGenerator jsonGenerator,
+                              @NotNull final ObjectNode objectNode)
+      throws JacksonException
+  {
+    // The resource itself is always written, even if it has no attributes.
+    PendingContainer resource = new PendingContainer(null, null, false);
+    resource.start(jsonGenerator);
+    writeObjectNode(jsonGenerator, objectNode, Path.root(), resource);
+    resource.end(jsonGenerator);
+  }
+
   /**
    * Trim attributes of an inner object node to return.
    *
@@ -76,16 +100,7 @@ public abstract class ResourceTrimmer
     ObjectNode objectToReturn = JsonUtils.getJsonNodeFactory().objectNode();
     for (Map.Entry<String, JsonNode> field : objectNode.properties())
     {
-      final Path path;
-      if (parentPath.isRoot() && parentPath.getSchemaUrn() == null &&
-          SchemaUtils.isUrn(field.getKey()))
-      {
-        path = Path.root(field.getKey());
-      }
-      else
-      {
-        path = parentPath.attribute(field.getKey());
-      }
+      final Path path = fieldPath(parentPath, field.getKey());
 
       if (path.isRoot() || shouldReturn(path))
       {
@@ -152,6 +167,112 @@ public abstract class ResourceTrimmer
     return arrayToReturn;
   }
 
+  /**
+   * Write the attributes of an inner object node that should be returned.
+   * Nothing is written for the object itself until the first attribute is
+   * written, so that an object without returned attributes is omitted
+   * without walking it twice.
+   *
+   * @param jsonGenerator The JSON generator to write to.
+   * @param objectNode The object node to return.
+   * @param parentPath  The parent path of attributes in the object.
+   * @param container  The pending start of the object.
+   * @throws JacksonException If an error occurs while writing.
+   */
+  private void writeObjectNode(@NotNull final JsonGenerator jsonGenerator,
+                               @NotNull final ObjectNode objectNode,
+                               @NotNull final Path parentPath,
+                               @NotNull final PendingContainer container)
+      throws JacksonException
+  {
+    for (Map.Entry<String, JsonNode> field : objectNode.properties())
+    {
+      final Path path = fieldPath(parentPath, field.getKey());
+      if (path.isRoot() || shouldReturn(path))
+      {
+        JsonNode value = field.getValue();
+        if (value instanceof ArrayNode valueArray)
+        {
+          PendingContainer child =
+              new PendingContainer(container, field.getKey(), true);
+          writeArrayNode(jsonGenerator, valueArray, path, child);
+          child.end(jsonGenerator);
+        }
+        else if (value instanceof ObjectNode valueObject)
+        {
+          PendingContainer child =
+              new PendingContainer(container, field.getKey(), false);
+          writeObjectNode(jsonGenerator, valueObject, path, child);
+          child.end(jsonGenerator);
+        }
+        else
+        {
+          container.start(jsonGenerator);
+          jsonGenerator.writeName(field.getKey());
+          jsonGenerator.writeTree(value);
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the values in the array node that should be returned. Like
+   * objects, nothing is written for the array itself until the first value
+   * is written.
+   *
+   * @param jsonGenerator The JSON generator to write to.
+   * @param arrayNode The array node to return.
+   * @param parentPath  The parent path of attributes in the array.
+   * @param container  The pending start of the array.
+   * @throws JacksonException If an error occurs while writing.
+   */
+  private void writeArrayNode(@NotNull final JsonGenerator jsonGenerator,
+                              @NotNull final ArrayNode arrayNode,
+                              @NotNull final Path parentPath,
+                              @NotNull final PendingContainer container)
+      throws JacksonException
+  {
+    for (JsonNode value : arrayNode)
+    {
+      if (value instanceof ArrayNode valueArray)
+      {
+        PendingContainer child = new PendingContainer(container, null, true);
+        writeArrayNode(jsonGenerator, valueArray, parentPath, child);
+        child.end(jsonGenerator);
+      }
+      else if (value instanceof ObjectNode valueObject)
+      {
+        PendingContainer child = new PendingContainer(container, null, false);
+        writeObjectNode(jsonGenerator, valueObject, parentPath, child);
+        child.end(jsonGenerator);
+      }
+      else
+      {
+        container.start(jsonGenerator);
+        jsonGenerator.writeTree(value);
+      }
+    }
+  }
+
+  /**
+   * Retrieve the path of a field in an object node.
+   *
+   * @param parentPath The parent path of attributes in the object.
+   * @param fieldName The name of the field.
+   * @return The path of the field.
+   */
+  @NotNull
+  private static Path fieldPath(@NotNull final Path parentPath,
+                                @NotNull final String fieldName)
+  {
+    if (parentPath.isRoot() && parentPath.getSchemaUrn() == null &&
+        SchemaUtils.isUrn(fieldName))
+    {
+      return Path.root(fieldName);
+    }
+    return parentPath.attribute(fieldName);
+  }
+
   /**
    * Determine if the attribute specified by the path should be returned.
    *
@@ -160,4 +281,95 @@ public abstract class ResourceTrimmer
    * attribute from the returned resource.
    */
   public abstract boolean shouldReturn(@NotNull final Path path);
+
+  /**
+   * An object or array that is written only once it has a value, since
+   * empty values are omitted from trimmed resources.
+   */
+  private static final class PendingContainer
+  {
+    @Nullable
+    private final PendingContainer parent;
+
+    @Nullable
+    private final String fieldName;
+
+    private final boolean array;
+
+    private boolean started;
+
+    /**
+     * Create a new pending container.
+     *
+     * @param parent  The container of this container, or {@code null} for
+     *                the resource.
+     * @param fieldName  The name of the field of this container, or
+     *                   {@code null} if it is a value of an array.
+     * @param array  Whether this container is an array.
+     */
+    private PendingContainer(@Nullable final PendingContainer parent,
+                             @Nullable final String fieldName,
+                             final boolean array)
+    {
+      this.parent = parent;
+      this.fieldName = fieldName;
+      this.array = array;
+    }
+
+    /**
+     * Write the start of this container, and of the containers that enclose
+     * it, unless they have already been written.
+     *
+     * @param jsonGenerator The JSON generator to write to.
+     * @throws JacksonException If an error occurs while writing.
+     */
+    private void start(@NotNull final JsonGenerator jsonGenerator)
+        throws JacksonException
+    {
+      if (started)
+      {
+        return;
+      }
+      if (parent != null)
+      {
+        parent.start(jsonGenerator);
+      }
+      if (fieldName != null)
+      {
+        jsonGenerator.writeName(fieldName);
+      }
+      if (array)
+      {
+        jsonGenerator.writeStartArray();
+      }
+      else
+      {
+        jsonGenerator.writeStartObject();
+      }
+      started = true;
+    }
+
+    /**
+     * Write the end of this container if its start was written.
+     *
+     * @param jsonGenerator The JSON generator to write to.
+     * @throws JacksonException If an error occurs while writing.
+     */
+    private void end(@NotNull final JsonGenerator jsonGenerator)
+        throws JacksonException
+    {
+      if (!started)
+      {
+        return;
+      }
+      if (array)
+      {
+        jsonGenerator.writeEndArray();
+      }
+      else
+      {
+        jsonGenerator.writeEndObject();
+      }
+    }
+  }
 }
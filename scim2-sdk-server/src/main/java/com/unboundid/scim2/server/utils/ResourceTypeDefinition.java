@@ -44,7 +44,6 @@ import com.unboundid.scim2.server.annotations.ResourceType;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -76,10 +75,13 @@ public final class ResourceTypeDefinition
   @NotNull
   private final Map<SchemaResource, Boolean> schemaExtensions;
 
+  private final boolean discoverable;
+
   @NotNull
-  private final Map<Path, AttributeDefinition> attributeNotationMap;
+  private final ResourceProjectionCache projectionCache;
 
-  private final boolean discoverable;
+  @NotNull
+  private final CompiledSchema compiledSchema;
 
   /**
    * Builder for creating a ResourceTypeDefinition.
@@ -257,39 +259,8 @@ public final class ResourceTypeDefinition
     this.coreSchema = coreSchema;
     this.schemaExtensions = Collections.unmodifiableMap(schemaExtensions);
     this.discoverable = discoverable;
-    this.attributeNotationMap = new HashMap<>();
-
-    // Add the common attributes
-    buildAttributeNotationMap(Path.root(),
-        SchemaUtils.COMMON_ATTRIBUTE_DEFINITIONS);
-
-    // Add the core attributes
-    if (coreSchema != null)
-    {
-      buildAttributeNotationMap(Path.root(), coreSchema.getAttributes());
-    }
-
-    // Add the extension attributes
-    for (SchemaResource schemaExtension : schemaExtensions.keySet())
-    {
-      buildAttributeNotationMap(Path.root(schemaExtension.getId()),
-          schemaExtension.getAttributes());
-    }
-  }
-
-  private void buildAttributeNotationMap(
-      @NotNull final Path parentPath,
-      @NotNull final Collection<AttributeDefinition> attributes)
-  {
-    for (AttributeDefinition attribute : attributes)
-    {
-      Path path = parentPath.attribute(attribute.getName());
-      attributeNotationMap.put(path, attribute);
-      if (attribute.getSubAttributes() != null)
-      {
-        buildAttributeNotationMap(path, attribute.getSubAttributes());
-      }
-    }
+    this.compiledSchema = new CompiledSchema(coreSchema, this.schemaExtensions);
+    this.projectionCache = new ResourceProjectionCache(this);
   }
 
   /**
@@ -369,7 +340,43 @@ public final class ResourceTypeDefinition
   @Nullable
   public AttributeDefinition getAttributeDefinition(@NotNull final Path path)
   {
-    return attributeNotationMap.get(normalizePath(path).withoutFilters());
+    return compiledSchema.getAttribute(path, path.size());
+  }
+
+  /**
+   * Retrieve the attribute definition for an attribute and, optionally, a
+   * sequence of its sub-attributes. Attribute names and the schema URN are
+   * not case-sensitive.
+   *
+   * @param schemaUrn The schema URN of the attribute, or {@code null} for a
+   *                  core or common attribute.
+   * @param attributeNames The name of the attribute followed by the names of
+   *                       any sub-attributes.
+   * @return The attribute definition or {@code null} if there is no attribute
+   * defined for the names.
+   */
+  @Nullable
+  public AttributeDefinition getAttributeDefinition(
+      @Nullable final String schemaUrn,
+      @NotNull final String... attributeNames)
+  {
+    return compiledSchema.getAttribute(schemaUrn, attributeNames);
+  }
+
+  /**
+   * Retrieve the attribute definition for a beginning portion of a path
+   * without creating a new path.
+   *
+   * @param path The attribute path.
+   * @param size The number of path elements to use.
+   * @return The attribute definition or {@code null} if there is no attribute
+   * defined for the path.
+   */
+  @Nullable
+  AttributeDefinition getAttributeDefinition(@NotNull final Path path,
+                                             final int size)
+  {
+    return compiledSchema.getAttribute(path, size);
   }
 
   /**
@@ -389,6 +396,29 @@ public final class ResourceTypeDefinition
     return path;
   }
 
+  /**
+   * Retrieve the cache of projections and base URIs used when preparing
+   * resources of this type to return.
+   *
+   * @return The projection cache for this resource type.
+   */
+  @NotNull
+  ResourceProjectionCache getProjectionCache()
+  {
+    return projectionCache;
+  }
+
+  /**
+   * Retrieve the schemas of this resource type indexed for schema checking.
+   *
+   * @return The compiled schemas for this resource type.
+   */
+  @NotNull
+  CompiledSchema getCompiledSchema()
+  {
+    return compiledSchema;
+  }
+
   /**
    * Retrieve the ResourceType SCIM resource that represents this definition.
    *
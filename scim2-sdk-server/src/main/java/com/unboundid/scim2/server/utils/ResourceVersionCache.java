@@ -0,0 +1,425 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.utils.JsonUtils;
+
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the current versions of resources, by location, used to
+ * evaluate conditional requests without retrieving the resources. The
+ * {@link com.unboundid.scim2.server.providers.ConditionalRequestFilter}
+ * populates the cache from the resources returned by endpoints, and removes
+ * deleted resources from it.
+ * <p>
+ * The version of a resource is its {@code meta.version} attribute if it has
+ * one. Otherwise, it is a strong entity tag computed from a SHA-256 hash of
+ * the serialized resource. A computed version is only valid for the
+ * representation that it was computed from, so it is only cached for
+ * requests that do not select attributes.
+ * <p>
+ * Every change to the cache is assigned a sequence number. A request that
+ * retrieves {@link #getSequence()} before the resource is read may cache the
+ * version it read with {@link #putIfUnchanged}, which does nothing if the
+ * resource's version was put or removed in the meantime. This keeps a slow
+ * request from replacing the version cached by a later modification.
+ * <p>
+ * An application that modifies resources other than through requests that
+ * pass through the filter must update the cache with {@link #put} or
+ * {@link #remove}. Otherwise, clients may be told that a modified resource
+ * has not been modified. The least recently used entries are evicted when
+ * the cache is full. This class is thread-safe.
+ */
+public class ResourceVersionCache
+{
+  /**
+   * The cached version of a resource.
+   */
+  public static final class Entry
+  {
+    @NotNull
+    private final String version;
+
+    private final boolean computed;
+
+    /**
+     * Create a new entry.
+     *
+     * @param version The entity tag of the resource.
+     * @param computed Whether the version was computed from a representation
+     *                 of the resource, rather than read from
+     *                 {@code meta.version}.
+     */
+    public Entry(@NotNull final String version, final boolean computed)
+    {
+      this.version = version;
+      this.computed = computed;
+    }
+
+    /**
+     * Retrieve the entity tag of the resource.
+     *
+     * @return The entity tag of the resource.
+     */
+    @NotNull
+    public String getVersion()
+    {
+      return version;
+    }
+
+    /**
+     * Indicates whether the version was computed from a representation of
+     * the resource, rather than read from {@code meta.version}.
+     *
+     * @return {@code true} if the version was computed.
+     */
+    public boolean isComputed()
+    {
+      return computed;
+    }
+
+    /**
+     * Indicates whether the provided object is equal to this entry.
+     *
+     * @param o The object to compare.
+     * @return {@code true} if the provided object is equal to this entry.
+     */
+    @Override
+    public boolean equals(@Nullable final Object o)
+    {
+      return o instanceof Entry that && computed == that.computed &&
+          version.equals(that.version);
+    }
+
+    /**
+     * Retrieves a hash code for this entry.
+     *
+     * @return A hash code for this entry.
+     */
+    @Override
+    public int hashCode()
+    {
+      return 31 * version.hashCode() + Boolean.hashCode(computed);
+    }
+  }
+
+  /**
+   * The cached version of a resource, or a record of its removal, with the
+   * sequence number of the change.
+   *
+   * @param entry The cached version, or {@code null} if it was removed.
+   * @param sequence The sequence number of the change.
+   */
+  private record Slot(@Nullable Entry entry, long sequence)
+  {
+  }
+
+  @NotNull
+  private final Map<String, Slot> entries;
+
+  // The sequence number of the last change to the cache.
+  private long sequence;
+
+  // The highest sequence number of the evicted slots. An evicted location
+  // may have been changed up to this sequence number.
+  private long evictedSequence;
+
+  /**
+   * Create a new resource version cache.
+   *
+   * @param maxEntries The maximum number of resource versions to cache.
+   */
+  public ResourceVersionCache(final int maxEntries)
+  {
+    if (maxEntries <= 0)
+    {
+      throw new IllegalArgumentException(
+          "The maximum number of entries must be greater than zero");
+    }
+    this.entries = new LinkedHashMap<>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(
+          @NotNull final Map.Entry<String, Slot> eldest)
+      {
+        if (size() > maxEntries)
+        {
+          evictedSequence =
+              Math.max(evictedSequence, eldest.getValue().sequence());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Retrieve the cached version of a resource.
+   *
+   * @param location The path of the resource's location.
+   * @return The cached version, or {@code null} if the version is not
+   * cached.
+   */
+  @Nullable
+  public Entry get(@NotNull final String location)
+  {
+    synchronized (entries)
+    {
+      Slot slot = entries.get(location);
+      return slot == null ? null : slot.entry();
+    }
+  }
+
+  /**
+   * Retrieve the sequence number of the last change to the cache. Pass it to
+   * {@link #putIfUnchanged} to cache a version read after this method was
+   * called.
+   *
+   * @return The sequence number of the last change to the cache.
+   *
+   * @since 6.0.1
+   */
+  public long getSequence()
+  {
+    synchronized (entries)
+    {
+      return sequence;
+    }
+  }
+
+  /**
+   * Cache the current version of a resource.
+   *
+   * @param location The path of the resource's location.
+   * @param version The entity tag of the resource.
+   * @param computed Whether the version was computed from a representation
+   *                 of the resource.
+   */
+  public void put(@NotNull final String location,
+                  @NotNull final String version,
+                  final boolean computed)
+  {
+    synchronized (entries)
+    {
+      entries.put(location, new Slot(new Entry(version, computed), ++sequence));
+    }
+  }
+
+  /**
+   * Cache the version of a resource unless the cached version of the
+   * resource has been put or removed since a sequence number was retrieved.
+   *
+   * @param location The path of the resource's location.
+   * @param version The entity tag of the resource.
+   * @param computed Whether the version was computed from a representation
+   *                 of the resource.
+   * @param expectedSequence The sequence number returned by
+   *                         {@link #getSequence()} before the resource was
+   *                         read.
+   * @return {@code true} if the version was cached, or {@code false} if the
+   * cached version of the resource was changed after the sequence number.
+   *
+   * @since 6.0.1
+   */
+  public boolean putIfUnchanged(@NotNull final String location,
+                                @NotNull final String version,
+                                final boolean computed,
+                                final long expectedSequence)
+  {
+    synchronized (entries)
+    {
+      Slot slot = entries.get(location);
+      long changed = slot == null ? evictedSequence : slot.sequence();
+      if (changed > expectedSequence)
+      {
+        return false;
+      }
+      entries.put(location, new Slot(new Entry(version, computed), ++sequence));
+      return true;
+    }
+  }
+
+  /**
+   * Remove the cached version of a resource, for instance, when it is
+   * modified or deleted.
+   *
+   * @param location The path of the resource's location.
+   */
+  public void remove(@NotNull final String location)
+  {
+    synchronized (entries)
+    {
+      // Keep a record of the removal so that a version read before it is
+      // not cached.
+      entries.put(location, new Slot(null, ++sequence));
+    }
+  }
+
+  /**
+   * Retrieve the number of cached versions.
+   *
+   * @return The number of cached versions.
+   */
+  public int size()
+  {
+    synchronized (entries)
+    {
+      int size = 0;
+      for (Slot slot : entries.values())
+      {
+        if (slot.entry() != null)
+        {
+          size++;
+        }
+      }
+      return size;
+    }
+  }
+
+  /**
+   * Retrieve the stored version of a resource from its {@code meta.version}
+   * attribute.
+   *
+   * @param resource The resource.
+   * @return The stored version, or {@code null} if the resource does not have
+   * a {@code meta.version} attribute.
+   */
+  @Nullable
+  public static String getStoredVersion(@NotNull final ScimResource resource)
+  {
+    Meta meta = resource.getMeta();
+    return meta == null ? null : meta.getVersion();
+  }
+
+  /**
+   * Compute a strong entity tag for a representation of a resource. The
+   * resource is serialized directly into a SHA-256 digest, without buffering
+   * the serialized form.
+   *
+   * @param resource The resource.
+   * @return The entity tag.
+   */
+  @NotNull
+  public static String computeVersion(@NotNull final Object resource)
+  {
+    MessageDigest digest;
+    try
+    {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e)
+    {
+      // Every Java platform supports SHA-256.
+      throw new IllegalStateException(e);
+    }
+    JsonUtils.getObjectWriter().writeValue(
+        new DigestOutputStream(OutputStream.nullOutputStream(), digest),
+        resource);
+    return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(
+        digest.digest()) + '"';
+  }
+
+  /**
+   * Determine whether the value of an {@code If-Match} or
+   * {@code If-None-Match} header matches a version. Entity tags are compared
+   * with the weak comparison of RFC 9110, since SCIM service providers
+   * commonly use weak entity tags as versions, and a {@code *} value matches
+   * any version.
+   *
+   * @param header The header value, which is a comma-separated list of entity
+   *               tags.
+   * @param version The version.
+   * @return {@code true} if the header matches the version.
+   */
+  public static boolean matches(@NotNull final String header,
+                                @NotNull final String version)
+  {
+    String opaqueVersion = getOpaqueTag(version);
+    for (String tag : header.split(","))
+    {
+      String trimmed = tag.trim();
+      if (trimmed.equals("*") || getOpaqueTag(trimmed).equals(opaqueVersion))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Format a version as an entity tag for an {@code ETag} header, quoting it
+   * if it is not already quoted.
+   *
+   * @param version The version.
+   * @return The entity tag.
+   */
+  @NotNull
+  public static String toEntityTag(@NotNull final String version)
+  {
+    if (version.startsWith("\"") || version.startsWith("W/\""))
+    {
+      return version;
+    }
+    return '"' + version + '"';
+  }
+
+  /**
+   * Retrieve the opaque tag of an entity tag, which is the tag without its
+   * weakness indicator and quotes.
+   *
+   * @param tag The entity tag.
+   * @return The opaque tag.
+   */
+  @NotNull
+  private static String getOpaqueTag(@NotNull final String tag)
+  {
+    String opaqueTag = tag.startsWith("W/") ? tag.substring(2) : tag;
+    if (opaqueTag.length() >= 2 && opaqueTag.startsWith("\"") &&
+        opaqueTag.endsWith("\""))
+    {
+      opaqueTag = opaqueTag.substring(1, opaqueTag.length() - 1);
+    }
+    return opaqueTag;
+  }
+}
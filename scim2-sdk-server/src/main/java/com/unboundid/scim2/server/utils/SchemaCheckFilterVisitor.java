@@ -54,8 +54,6 @@ import com.unboundid.scim2.common.filters.PresentFilter;
 import com.unboundid.scim2.common.filters.StartsWithFilter;
 import com.unboundid.scim2.common.types.AttributeDefinition;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 import static com.unboundid.scim2.server.utils.SchemaChecker.Option.ALLOW_UNDEFINED_ATTRIBUTES;
@@ -389,9 +387,8 @@ public final class SchemaCheckFilterVisitor
     else if (resourceType.getAttributeDefinition(path) == null)
     {
       // Can't find the attribute definition for attribute in path.
-      final List<String> messages = new ArrayList<>();
-      schemaChecker.addMessageForUndefinedAttr(path, "", messages);
-      messages.forEach(results::addFilterIssue);
+      schemaChecker.addMessageForUndefinedAttr(path, "",
+          results::addFilterIssue);
     }
   }
 }
@@ -38,6 +38,7 @@ import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.exceptions.ScimException;
 import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.PatchOpType;
 import com.unboundid.scim2.common.messages.PatchOperation;
 import com.unboundid.scim2.common.types.AttributeDefinition;
 import com.unboundid.scim2.common.types.SchemaResource;
@@ -48,19 +49,23 @@ import com.unboundid.scim2.common.utils.JsonUtils;
 import com.unboundid.scim2.common.utils.SchemaUtils;
 import com.unboundid.scim2.common.utils.StaticUtils;
 import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
 import tools.jackson.databind.node.ObjectNode;
 import tools.jackson.databind.node.StringNode;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import static com.unboundid.scim2.common.utils.JsonUtils.isNullNodeOrEmptyArray;
@@ -76,20 +81,56 @@ public class SchemaChecker
    */
   public static class Results
   {
-    @NotNull
-    private final List<String> syntaxIssues = new LinkedList<>();
+    // The lists are only allocated once an issue is found, since most
+    // requests are valid.
+    @Nullable
+    private List<String> syntaxIssues;
 
-    @NotNull
-    private final List<String> mutabilityIssues = new LinkedList<>();
+    @Nullable
+    private List<String> mutabilityIssues;
 
-    @NotNull
-    private final List<String> pathIssues = new LinkedList<>();
+    @Nullable
+    private List<String> pathIssues;
 
-    @NotNull
-    private final List<String> filterIssues = new LinkedList<>();
+    @Nullable
+    private List<String> filterIssues;
+
+    @Nullable
+    private ObjectNode appliedObjectNode;
+
+    void addSyntaxIssue(@NotNull final String issue)
+    {
+      if (syntaxIssues == null)
+      {
+        syntaxIssues = new ArrayList<>(2);
+      }
+      syntaxIssues.add(issue);
+    }
+
+    void addMutabilityIssue(@NotNull final String issue)
+    {
+      if (mutabilityIssues == null)
+      {
+        mutabilityIssues = new ArrayList<>(2);
+      }
+      mutabilityIssues.add(issue);
+    }
+
+    void addPathIssue(@NotNull final String issue)
+    {
+      if (pathIssues == null)
+      {
+        pathIssues = new ArrayList<>(2);
+      }
+      pathIssues.add(issue);
+    }
 
     void addFilterIssue(@NotNull final String issue)
     {
+      if (filterIssues == null)
+      {
+        filterIssues = new ArrayList<>(2);
+      }
       filterIssues.add(issue);
     }
 
@@ -101,7 +142,8 @@ public class SchemaChecker
     @NotNull
     public List<String> getSyntaxIssues()
     {
-      return Collections.unmodifiableList(syntaxIssues);
+      return syntaxIssues == null ? Collections.emptyList() :
+          Collections.unmodifiableList(syntaxIssues);
     }
 
     /**
@@ -112,7 +154,8 @@ public class SchemaChecker
     @NotNull
     public List<String> getMutabilityIssues()
     {
-      return Collections.unmodifiableList(mutabilityIssues);
+      return mutabilityIssues == null ? Collections.emptyList() :
+          Collections.unmodifiableList(mutabilityIssues);
     }
 
     /**
@@ -123,7 +166,8 @@ public class SchemaChecker
     @NotNull
     public List<String> getPathIssues()
     {
-      return Collections.unmodifiableList(pathIssues);
+      return pathIssues == null ? Collections.emptyList() :
+          Collections.unmodifiableList(pathIssues);
     }
 
     /**
@@ -134,7 +178,23 @@ public class SchemaChecker
     @NotNull
     public List<String> getFilterIssues()
     {
-      return Collections.unmodifiableList(filterIssues);
+      return filterIssues == null ? Collections.emptyList() :
+          Collections.unmodifiableList(filterIssues);
+    }
+
+    /**
+     * Retrieve the resource with the patch operations applied when the
+     * results were produced by
+     * {@link SchemaChecker#checkAndApplyModify(Iterable, ObjectNode)}.
+     *
+     * @return The patched resource, including any read-only attributes of
+     *         the current resource, or {@code null} if the patch operations
+     *         were not applied.
+     */
+    @Nullable
+    public ObjectNode getAppliedObjectNode()
+    {
+      return appliedObjectNode;
     }
 
     /**
@@ -149,22 +209,22 @@ public class SchemaChecker
     public void throwSchemaExceptions()
         throws BadRequestException
     {
-      if (!syntaxIssues.isEmpty())
+      if (syntaxIssues != null && !syntaxIssues.isEmpty())
       {
         throw BadRequestException.invalidSyntax(getErrorString(syntaxIssues));
       }
 
-      if (!mutabilityIssues.isEmpty())
+      if (mutabilityIssues != null && !mutabilityIssues.isEmpty())
       {
         throw BadRequestException.mutability(getErrorString(mutabilityIssues));
       }
 
-      if (!pathIssues.isEmpty())
+      if (pathIssues != null && !pathIssues.isEmpty())
       {
         throw BadRequestException.invalidPath(getErrorString(pathIssues));
       }
 
-      if (!filterIssues.isEmpty())
+      if (filterIssues != null && !filterIssues.isEmpty())
       {
         throw BadRequestException.invalidFilter(getErrorString(filterIssues));
       }
@@ -203,30 +263,56 @@ public class SchemaChecker
     ALLOW_UNDEFINED_SUB_ATTRIBUTES,
   }
 
+  /**
+   * The parts of a resource modified by a set of patch operations, which are
+   * checked once the patch operations are applied.
+   */
+  private static final class Modifications
+  {
+    /**
+     * The top-level attributes that are modified, by path.
+     */
+    @NotNull
+    private final Map<Path, AttributeDefinition> attributes =
+        new LinkedHashMap<>();
+
+    /**
+     * The schema URNs of the extension namespaces that are modified as a
+     * whole.
+     */
+    @NotNull
+    private final Set<String> namespaces =
+        new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+  }
+
   @NotNull
   private final ResourceTypeDefinition resourceType;
 
   @NotNull
-  private final Collection<AttributeDefinition> commonAndCoreAttributes;
+  private final CompiledSchema compiledSchema;
 
   @NotNull
   private final Set<Option> enabledOptions;
 
+  @NotNull
+  private static final ObjectNode EMPTY_OBJECT_NODE =
+      JsonUtils.getJsonNodeFactory().objectNode();
+
   /**
    * Create a new instance that may be used to validate and enforce schema
-   * constraints for a resource type.
+   * constraints for a resource type. The schemas of the resource type are
+   * indexed once by the {@link ResourceTypeDefinition} and shared by all
+   * schema checkers for the resource type, so creating a schema checker is
+   * inexpensive. A schema checker does not modify the resources that it
+   * checks, and once its options are set, it may be reused for any number of
+   * requests, including concurrent ones.
    *
    * @param resourceType The resource type whose schema(s) to enforce.
    */
   public SchemaChecker(@NotNull final ResourceTypeDefinition resourceType)
   {
     this.resourceType = resourceType;
-    this.commonAndCoreAttributes = new LinkedHashSet<>(
-        resourceType.getCoreSchema().getAttributes().size() + 4);
-    this.commonAndCoreAttributes.addAll(
-        SchemaUtils.COMMON_ATTRIBUTE_DEFINITIONS);
-    this.commonAndCoreAttributes.addAll(
-        resourceType.getCoreSchema().getAttributes());
+    this.compiledSchema = resourceType.getCompiledSchema();
     this.enabledOptions = new HashSet<>();
   }
 
@@ -274,9 +360,8 @@ public class SchemaChecker
   public Results checkCreate(@NotNull final ObjectNode objectNode)
       throws ScimException
   {
-    ObjectNode copyNode = objectNode.deepCopy();
     Results results = new Results();
-    checkResource("", copyNode, results, null, false);
+    checkResource("", objectNode, results, null, false, false);
     return results;
   }
 
@@ -317,12 +402,88 @@ public class SchemaChecker
       @Nullable final ObjectNode currentObjectNode)
           throws ScimException
   {
-    ObjectNode copyCurrentNode =
-        currentObjectNode == null ? null : currentObjectNode.deepCopy();
     ObjectNode appliedNode =
         currentObjectNode == null ? null :
-            removeReadOnlyAttributes(currentObjectNode.deepCopy());
+            removeReadOnlyAttributes(currentObjectNode);
+    return checkModify(patchOperations, currentObjectNode, appliedNode, null);
+  }
+
+  /**
+   * Check a set of modify patch operations against the schema and apply them
+   * to the current state of the SCIM resource. The same checks as
+   * {@link #checkModify(Iterable, ObjectNode)} are performed on each patch
+   * operation, but instead of checking the entire resource after the patch
+   * operations are applied, only the values that the patch operations add or
+   * change are checked. The values of the current resource that are not
+   * changed are assumed to be valid. The patched resource is available from
+   * {@link Results#getAppliedObjectNode()}, so the caller does not have to
+   * apply the patch operations again once the results are free of issues.
+   * The patched resource retains the read-only attributes of the current
+   * resource (e.g. id and meta), so it may be stored as the new state of the
+   * resource once the caller has updated any attributes it manages, such as
+   * meta.lastModified. Read-only attributes are excluded from the checks of
+   * the patched resource.
+   * <p>
+   * The current resource is only copied where the patch operations modify
+   * it, so the patched resource shares the values that are not modified with
+   * the current resource. To update an attribute of the patched resource,
+   * replace its value instead of modifying the existing value in place, since
+   * that would also modify the current resource.
+   * <p>
+   * Unlike {@link #checkModify(Iterable, ObjectNode)}, a patch operation
+   * without a matching target is not ignored, since the patched resource
+   * would otherwise be incomplete.
+   *
+   * @param patchOperations The set of modify patch operations to check.
+   * @param currentObjectNode The complete current state of the SCIM
+   *                          resource, including read-only attributes. This
+   *                          node is not modified, and must not be modified
+   *                          while the patched resource is in use.
+   * @return Schema checking results, including the patched resource.
+   * @throws ScimException If an error occurred while checking the schema or
+   *                       applying the patch operations.
+   */
+  @NotNull
+  public Results checkAndApplyModify(
+      @NotNull final Iterable<PatchOperation> patchOperations,
+      @NotNull final ObjectNode currentObjectNode)
+          throws ScimException
+  {
+    ObjectNode appliedNode = currentObjectNode.objectNode();
+    appliedNode.setAll(currentObjectNode);
+    Results results = checkModify(patchOperations, currentObjectNode,
+        appliedNode, new Modifications());
+    results.appliedObjectNode = appliedNode;
+    return results;
+  }
+
+  /**
+   * Internal method to check a set of modify patch operations.
+   *
+   * @param patchOperations The set of modify patch operations to check.
+   * @param currentObjectNode The current resource.
+   * @param appliedNode The node to apply the patch operations to, or
+   *                    {@code null} if they should not be applied.
+   * @param modifications The modifications made by the patch operations,
+   *                      which are collected so that only those are checked
+   *                      once the patch operations are applied, or
+   *                      {@code null} if the entire patched resource should
+   *                      be checked. If this is provided, the applied node
+   *                      shares its values with the current resource, which
+   *                      are copied before a patch operation modifies them.
+   * @return Schema checking results.
+   * @throws ScimException If an error occurs.
+   */
+  @NotNull
+  private Results checkModify(
+      @NotNull final Iterable<PatchOperation> patchOperations,
+      @Nullable final ObjectNode currentObjectNode,
+      @Nullable final ObjectNode appliedNode,
+      @Nullable final Modifications modifications)
+          throws ScimException
+  {
     Results results = new Results();
+    boolean checkAll = modifications == null;
 
     int i = 0;
     String prefix;
@@ -338,12 +499,12 @@ public class SchemaChecker
       if (path != null && attribute == null)
       {
         // Can't find the attribute definition for attribute in path.
-        addMessageForUndefinedAttr(path, prefix, results.pathIssues);
+        addMessageForUndefinedAttr(path, prefix, results::addPathIssue);
         continue;
       }
       if (valueFilter != null && !attribute.isMultiValued())
       {
-        results.pathIssues.add(prefix +
+        results.addPathIssue(prefix +
             "Attribute " + path.getElement(0)+ " in path " +
             path + " must not have a value selection filter " +
             "because it is not multi-valued");
@@ -372,7 +533,7 @@ public class SchemaChecker
           if (attribute == null)
           {
             checkPartialResource(prefix, (ObjectNode) value, results,
-                copyCurrentNode, true, false);
+                currentObjectNode, true, false);
           }
           else
           {
@@ -380,13 +541,13 @@ public class SchemaChecker
                 currentObjectNode, true, false, false);
             if (valueFilter != null)
             {
-              checkAttributeValue(prefix, value, path, attribute, results,
-                  currentObjectNode, true, false);
+              checkAttributeValue(prefix, value, path, -1, attribute, results,
+                  currentObjectNode, true, false, false);
             }
             else
             {
               checkAttributeValues(prefix, value, path, attribute, results,
-                  copyCurrentNode, true, false);
+                  currentObjectNode, true, false, false);
             }
           }
           break;
@@ -394,7 +555,7 @@ public class SchemaChecker
           if (attribute == null)
           {
             checkPartialResource(prefix, (ObjectNode) value, results,
-                copyCurrentNode, false, true);
+                currentObjectNode, false, true);
           }
           else
           {
@@ -402,13 +563,13 @@ public class SchemaChecker
                 currentObjectNode, false, true, false);
             if (valueFilter != null)
             {
-              checkAttributeValue(prefix, value, path, attribute, results,
-                  currentObjectNode, false, true);
+              checkAttributeValue(prefix, value, path, -1, attribute, results,
+                  currentObjectNode, false, true, false);
             }
             else
             {
               checkAttributeValues(prefix, value, path, attribute, results,
-                  copyCurrentNode, false, true);
+                  currentObjectNode, false, true, false);
             }
           }
           break;
@@ -416,6 +577,12 @@ public class SchemaChecker
 
       if (appliedNode != null)
       {
+        if (modifications != null)
+        {
+          copyPatchTargets(patchOp, value, appliedNode,
+              Objects.requireNonNull(currentObjectNode));
+        }
+
         // Apply the patch so we can later ensure these set of operations won't
         // be removing all the values from a required multi-valued attribute.
         try
@@ -425,27 +592,501 @@ public class SchemaChecker
         catch (BadRequestException e)
         {
           // No target exceptions are operational errors and not related
-          // to the schema. Just ignore.
-          if (!e.getScimError().getScimType().equals(
-              BadRequestException.NO_TARGET))
+          // to the schema. Just ignore unless the patched resource is
+          // returned to the caller.
+          if (modifications != null ||
+              !e.getScimError().getScimType().equals(
+                  BadRequestException.NO_TARGET))
           {
             throw e;
           }
         }
       }
 
+      if (!checkAll)
+      {
+        checkAll = !addModifications(patchOp, value, currentObjectNode,
+            modifications);
+      }
+
       i++;
     }
 
     if (appliedNode != null)
     {
-      checkResource("Applying patch ops results in an invalid resource: ",
-          appliedNode, results, copyCurrentNode, false);
+      prefix = "Applying patch ops results in an invalid resource: ";
+      if (checkAll)
+      {
+        // The applied node still has the read-only attributes of the current
+        // resource when it is returned to the caller.
+        checkResource(prefix, appliedNode, results, currentObjectNode, false,
+            modifications != null);
+      }
+      else
+      {
+        checkModifications(prefix, appliedNode, modifications, results,
+            Objects.requireNonNull(currentObjectNode));
+      }
     }
 
     return results;
   }
 
+  /**
+   * Collect the top-level attributes and extension namespaces modified by a
+   * patch operation.
+   *
+   * @param patchOp The patch operation.
+   * @param value The value of the patch operation.
+   * @param currentObjectNode The current resource.
+   * @param modifications The modifications to add to.
+   * @return {@code false} if the patch operation does not have a valid
+   *         value, in which case the entire patched resource must be checked.
+   */
+  private boolean addModifications(
+      @NotNull final PatchOperation patchOp,
+      @Nullable final JsonNode value,
+      @Nullable final ObjectNode currentObjectNode,
+      @NotNull final Modifications modifications)
+  {
+    Path path = patchOp.getPath();
+    if (path != null)
+    {
+      path = resourceType.normalizePath(path);
+      if (path.size() == 0)
+      {
+        if (path.getSchemaUrn() == null)
+        {
+          return false;
+        }
+        modifications.namespaces.add(path.getSchemaUrn());
+        return true;
+      }
+      addModifiedAttribute(path.getSchemaUrn(),
+          path.getElement(0).getAttribute(), currentObjectNode,
+          modifications);
+      return true;
+    }
+
+    if (value == null || !value.isObject())
+    {
+      return false;
+    }
+    for (Map.Entry<String, JsonNode> field : value.properties())
+    {
+      String fieldName = field.getKey();
+      if (!SchemaUtils.isUrn(fieldName))
+      {
+        addModifiedAttribute(null, fieldName, currentObjectNode,
+            modifications);
+        continue;
+      }
+
+      if (!field.getValue().isObject())
+      {
+        return false;
+      }
+      String schemaUrn =
+          fieldName.equalsIgnoreCase(compiledSchema.getCoreSchemaId()) ?
+              null : fieldName;
+      for (String name : field.getValue().propertyNames())
+      {
+        addModifiedAttribute(schemaUrn, name, currentObjectNode,
+            modifications);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Add a top-level attribute modified by a patch operation. Undefined
+   * attributes are skipped since they are already reported while checking
+   * the patch operation. The schemas attribute is not added, since changes to
+   * it are found by comparing it with the current resource.
+   *
+   * @param schemaUrn The schema URN of an extended attribute, or {@code null}
+   *                  for a core attribute.
+   * @param name The name of the attribute.
+   * @param currentObjectNode The current resource.
+   * @param modifications The modifications to add to.
+   */
+  private void addModifiedAttribute(
+      @Nullable final String schemaUrn,
+      @NotNull final String name,
+      @Nullable final ObjectNode currentObjectNode,
+      @NotNull final Modifications modifications)
+  {
+    CompiledSchema.AttributeSet attributes;
+    Path parentPath;
+    if (schemaUrn == null)
+    {
+      if (name.equalsIgnoreCase(
+          SchemaUtils.SCHEMAS_ATTRIBUTE_DEFINITION.getName()))
+      {
+        return;
+      }
+      attributes = compiledSchema.getCommonAndCoreAttributes();
+      parentPath = Path.root();
+    }
+    else
+    {
+      CompiledSchema.Extension extension =
+          compiledSchema.getExtension(schemaUrn);
+      if (extension == null || currentObjectNode == null ||
+          !(currentObjectNode.get(schemaUrn) instanceof ObjectNode))
+      {
+        // The namespace is new, and is checked as a whole.
+        modifications.namespaces.add(schemaUrn);
+        return;
+      }
+      attributes = extension.attributes();
+      parentPath = Path.root(schemaUrn);
+    }
+
+    AttributeDefinition attribute = attributes.getAttribute(name);
+    if (attribute != null)
+    {
+      modifications.attributes.putIfAbsent(
+          parentPath.attribute(attribute.getName()), attribute);
+    }
+  }
+
+  /**
+   * Copy the values of the patched resource that a patch operation may
+   * modify in place, unless they were already copied. The other values are
+   * shared with the current resource. A multi-valued attribute is copied
+   * without its values, except for the values that the patch operation may
+   * modify, so that adding or removing a value does not copy the others.
+   *
+   * @param patchOp The patch operation.
+   * @param value The value of the patch operation.
+   * @param appliedNode The patched resource.
+   * @param currentObjectNode The current resource.
+   * @throws ScimException If a value filter could not be evaluated.
+   */
+  private void copyPatchTargets(
+      @NotNull final PatchOperation patchOp,
+      @Nullable final JsonNode value,
+      @NotNull final ObjectNode appliedNode,
+      @NotNull final ObjectNode currentObjectNode)
+          throws ScimException
+  {
+    if (patchOp.getOpType() != PatchOpType.REMOVE)
+    {
+      // Missing schema URNs are added to the schemas attribute.
+      copyAttribute(appliedNode, currentObjectNode,
+          SchemaUtils.SCHEMAS_ATTRIBUTE_DEFINITION.getName(), null, true);
+    }
+
+    Path path = patchOp.getPath();
+    if (path == null)
+    {
+      if (!(value instanceof ObjectNode valueObject))
+      {
+        return;
+      }
+      for (Map.Entry<String, JsonNode> field : valueObject.properties())
+      {
+        if (!SchemaUtils.isUrn(field.getKey()))
+        {
+          copyAttribute(appliedNode, currentObjectNode, field.getKey(), null,
+              false);
+          continue;
+        }
+        ObjectNode namespace =
+            copyNamespace(appliedNode, currentObjectNode, field.getKey());
+        if (namespace != null && field.getValue().isObject())
+        {
+          for (String name : field.getValue().propertyNames())
+          {
+            copyAttribute(namespace,
+                currentObjectNode.get(field.getKey()), name, null, false);
+          }
+        }
+      }
+      return;
+    }
+
+    ObjectNode container = appliedNode;
+    JsonNode currentContainer = currentObjectNode;
+    if (path.getSchemaUrn() != null)
+    {
+      if (path.size() == 0)
+      {
+        // The whole namespace is modified.
+        copyAttribute(appliedNode, currentObjectNode, path.getSchemaUrn(),
+            null, true);
+        return;
+      }
+      container = copyNamespace(appliedNode, currentObjectNode,
+          path.getSchemaUrn());
+      if (container == null)
+      {
+        return;
+      }
+      currentContainer = currentObjectNode.get(path.getSchemaUrn());
+    }
+
+    // The values of a multi-valued attribute are modified in place by a
+    // path to a sub-attribute, or by a value filter that selects the values
+    // to replace or add a sub-attribute to. Otherwise, values are only added
+    // to or removed from the attribute.
+    Filter valueFilter = path.getElement(0).getValueFilter();
+    boolean valuesModified = path.size() > 1 ||
+        (valueFilter != null && patchOp.getOpType() != PatchOpType.REMOVE);
+    copyAttribute(container, currentContainer,
+        path.getElement(0).getAttribute(), valueFilter, valuesModified);
+  }
+
+  /**
+   * Copy an extension namespace of the patched resource without its values,
+   * unless it was already copied.
+   *
+   * @param appliedNode The patched resource.
+   * @param currentObjectNode The current resource.
+   * @param schemaUrn The schema URN of the namespace.
+   * @return The namespace of the patched resource, or {@code null} if it does
+   *         not have one.
+   */
+  @Nullable
+  private static ObjectNode copyNamespace(
+      @NotNull final ObjectNode appliedNode,
+      @NotNull final ObjectNode currentObjectNode,
+      @NotNull final String schemaUrn)
+  {
+    String fieldName = fieldName(appliedNode, schemaUrn);
+    if (fieldName == null ||
+        !(appliedNode.get(fieldName) instanceof ObjectNode namespace))
+    {
+      return null;
+    }
+    if (namespace != currentObjectNode.get(fieldName))
+    {
+      return namespace;
+    }
+    ObjectNode copy = namespace.objectNode();
+    copy.setAll(namespace);
+    appliedNode.set(fieldName, copy);
+    return copy;
+  }
+
+  /**
+   * Copy an attribute of the patched resource, unless it was already copied.
+   * A single-valued complex attribute is copied entirely. A multi-valued
+   * attribute is copied without its values, except for the complex values
+   * that are modified.
+   *
+   * @param container The object of the patched resource that contains the
+   *                  attribute.
+   * @param currentContainer The object of the current resource that contains
+   *                         the attribute, if any.
+   * @param name The name of the attribute.
+   * @param valueFilter The filter that selects the values that are modified,
+   *                    or {@code null} if all of them are.
+   * @param valuesModified Whether the values of a multi-valued attribute are
+   *                       modified.
+   * @throws ScimException If the value filter could not be evaluated.
+   */
+  private static void copyAttribute(
+      @NotNull final ObjectNode container,
+      @Nullable final JsonNode currentContainer,
+      @NotNull final String name,
+      @Nullable final Filter valueFilter,
+      final boolean valuesModified)
+          throws ScimException
+  {
+    String fieldName = fieldName(container, name);
+    if (fieldName == null || currentContainer == null)
+    {
+      return;
+    }
+    JsonNode node = container.get(fieldName);
+    if (node != currentContainer.get(fieldName))
+    {
+      return;
+    }
+
+    if (node instanceof ArrayNode array)
+    {
+      ArrayNode copy = array.arrayNode(array.size());
+      for (JsonNode value : array)
+      {
+        copy.add(valuesModified && value.isContainer() &&
+            (valueFilter == null ||
+                FilterEvaluator.evaluate(valueFilter, value)) ?
+            value.deepCopy() : value);
+      }
+      container.set(fieldName, copy);
+    }
+    else if (node instanceof ObjectNode object)
+    {
+      container.set(fieldName, object.deepCopy());
+    }
+  }
+
+  /**
+   * Find the name of a field of an object, ignoring case.
+   *
+   * @param objectNode The object.
+   * @param name The name of the field.
+   * @return The name of the field in the object, or {@code null} if the
+   *         object does not have the field.
+   */
+  @Nullable
+  private static String fieldName(@NotNull final ObjectNode objectNode,
+                                  @NotNull final String name)
+  {
+    if (objectNode.has(name))
+    {
+      return name;
+    }
+    for (String fieldName : objectNode.propertyNames())
+    {
+      if (fieldName.equalsIgnoreCase(name))
+      {
+        return fieldName;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Check the modifications made by a set of patch operations once they are
+   * applied. Only the values that differ from the current resource are
+   * checked.
+   *
+   * @param prefix The issue prefix.
+   * @param appliedNode The resource with the patch operations applied.
+   * @param modifications The modifications.
+   * @param results The schema check results.
+   * @param currentObjectNode The current resource.
+   * @throws ScimException If an error occurs.
+   */
+  private void checkModifications(
+      @NotNull final String prefix,
+      @NotNull final ObjectNode appliedNode,
+      @NotNull final Modifications modifications,
+      @NotNull final Results results,
+      @NotNull final ObjectNode currentObjectNode)
+          throws ScimException
+  {
+    String schemasName = SchemaUtils.SCHEMAS_ATTRIBUTE_DEFINITION.getName();
+    JsonNode schemas = appliedNode.get(schemasName);
+    JsonNode currentSchemas = currentObjectNode.get(schemasName);
+    boolean schemasModified = !Objects.equals(schemas, currentSchemas);
+
+    Set<String> namespaces = modifications.namespaces;
+    if (schemasModified || !namespaces.isEmpty())
+    {
+      // The namespaces that are listed for the first time are checked as a
+      // whole, like the namespaces that were modified as a whole.
+      namespaces = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+      namespaces.addAll(modifications.namespaces);
+      if (schemas != null && schemas.isArray())
+      {
+        for (JsonNode schema : schemas)
+        {
+          if (schema.isString() && (currentSchemas == null ||
+              !currentSchemas.valueStream().anyMatch(schema::equals)))
+          {
+            namespaces.add(schema.asString());
+          }
+        }
+      }
+      checkSchemaExtensions(prefix, appliedNode, results, currentObjectNode,
+          false, namespaces, true);
+    }
+    for (Map.Entry<Path, AttributeDefinition> entry :
+        modifications.attributes.entrySet())
+    {
+      Path path = entry.getKey();
+      AttributeDefinition attribute = entry.getValue();
+      if (attribute.getMutability() ==
+          AttributeDefinition.Mutability.READ_ONLY ||
+          (path.getSchemaUrn() != null &&
+              namespaces.contains(path.getSchemaUrn())))
+      {
+        // Already reported for the patch operation that modified it, or
+        // checked with its namespace.
+        continue;
+      }
+      JsonNode parent = path.getSchemaUrn() == null ?
+          appliedNode : appliedNode.get(path.getSchemaUrn());
+      JsonNode currentParent = path.getSchemaUrn() == null ?
+          currentObjectNode : currentObjectNode.get(path.getSchemaUrn());
+      checkModifiedAttribute(prefix, path, attribute,
+          parent == null ? null : parent.get(attribute.getName()),
+          currentParent == null ? null : currentParent.get(attribute.getName()),
+          results, currentObjectNode);
+    }
+  }
+
+  /**
+   * Check an attribute modified by a set of patch operations once they are
+   * applied. The values that are the same as in the current resource are not
+   * checked again.
+   *
+   * @param prefix The issue prefix.
+   * @param path The path of the attribute.
+   * @param attribute The attribute definition.
+   * @param node The value of the attribute in the patched resource, if any.
+   * @param currentNode The value of the attribute in the current resource, if
+   *                    any.
+   * @param results The schema check results.
+   * @param currentObjectNode The current resource.
+   * @throws ScimException If an error occurs.
+   */
+  private void checkModifiedAttribute(
+      @NotNull final String prefix,
+      @NotNull final Path path,
+      @NotNull final AttributeDefinition attribute,
+      @Nullable final JsonNode node,
+      @Nullable final JsonNode currentNode,
+      @NotNull final Results results,
+      @NotNull final ObjectNode currentObjectNode)
+          throws ScimException
+  {
+    if (node != null && node == currentNode)
+    {
+      return;
+    }
+    if (isNullNodeOrEmptyArray(node))
+    {
+      checkAttributeRequired(prefix, path, attribute, results);
+    }
+    if (node == null)
+    {
+      return;
+    }
+
+    checkAttributeMutability(prefix, node, path, attribute, results,
+        currentObjectNode, false, false, false);
+    if (attribute.isMultiValued() && node.isArray() &&
+        currentNode != null && currentNode.isArray())
+    {
+      // The values that were not modified are the same nodes as in the
+      // current resource.
+      Set<JsonNode> currentValues =
+          Collections.newSetFromMap(new IdentityHashMap<>());
+      currentNode.forEach(currentValues::add);
+      int i = 0;
+      for (JsonNode value : node)
+      {
+        if (!currentValues.contains(value))
+        {
+          checkAttributeValue(prefix, value, path, i, attribute, results,
+              currentObjectNode, false, false, true);
+        }
+        i++;
+      }
+    }
+    else
+    {
+      checkAttributeValues(prefix, node, path, attribute, results,
+          currentObjectNode, false, false, true);
+    }
+  }
+
   /**
    * Check a replacement SCIM resource against the schema. The current
    * state of the SCIM resource may be provided to enable additional checks
@@ -478,11 +1119,9 @@ public class SchemaChecker
                               @Nullable final ObjectNode currentObjectNode)
       throws ScimException
   {
-    ObjectNode copyReplacementNode = replacementObjectNode.deepCopy();
-    ObjectNode copyCurrentNode =
-        currentObjectNode == null ? null : currentObjectNode.deepCopy();
     Results results = new Results();
-    checkResource("", copyReplacementNode, results, copyCurrentNode, true);
+    checkResource("", replacementObjectNode, results, currentObjectNode, true,
+        false);
     return results;
   }
 
@@ -512,7 +1151,8 @@ public class SchemaChecker
         removeReadOnlyAttributes(schemaExtension.getAttributes(), extensionObj);
       }
     }
-    removeReadOnlyAttributes(commonAndCoreAttributes, copyNode);
+    removeReadOnlyAttributes(
+        compiledSchema.getCommonAndCoreAttributes().getAttributes(), copyNode);
     return copyNode;
   }
 
@@ -544,22 +1184,22 @@ public class SchemaChecker
    * @param  path           The path referencing an undefined attribute.
    * @param  messagePrefix  A prefix for the generated message, or empty string
    *                        if no prefix is needed.
-   * @param  messages       The generated messages are to be added to this list.
+   * @param  messages       The consumer of the generated messages.
    */
   void addMessageForUndefinedAttr(@NotNull final Path path,
                                   @NotNull final String messagePrefix,
-                                  @NotNull final List<String> messages)
+                                  @NotNull final Consumer<String> messages)
   {
     if (path.size() > 1)
     {
       // This is a path to a sub-attribute. See if the parent attribute is
       // defined.
-      if (resourceType.getAttributeDefinition(path.subPath(1)) == null)
+      if (resourceType.getAttributeDefinition(path, 1) == null)
       {
         // The parent attribute is also undefined.
         if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
         {
-          messages.add(messagePrefix +
+          messages.accept(messagePrefix +
               "Attribute " + path.getElement(0)+ " in path " +
               path + " is undefined");
         }
@@ -570,7 +1210,7 @@ public class SchemaChecker
         // undefined.
         if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_SUB_ATTRIBUTES))
         {
-          messages.add(messagePrefix +
+          messages.accept(messagePrefix +
               "Sub-attribute " + path.getElement(1)+ " in path " +
               path + " is undefined");
         }
@@ -578,7 +1218,7 @@ public class SchemaChecker
     }
     else if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
     {
-      messages.add(messagePrefix +
+      messages.accept(messagePrefix +
           "Attribute " + path.getElement(0)+ " in path " +
           path + " is undefined");
     }
@@ -645,49 +1285,41 @@ public class SchemaChecker
       final boolean isPartialAdd)
           throws ScimException
   {
-    Iterator<Map.Entry<String, JsonNode>> i;
-    for (i = objectNode.properties().iterator(); i.hasNext();)
+    for (Map.Entry<String, JsonNode> field : objectNode.properties())
     {
-      Map.Entry<String, JsonNode> field = i.next();
       if (SchemaUtils.isUrn(field.getKey()))
       {
         if (!field.getValue().isObject())
         {
           // Bail if the extension namespace is not valid
-          results.syntaxIssues.add(prefix + "Extended attributes namespace " +
+          results.addSyntaxIssue(prefix + "Extended attributes namespace " +
               field.getKey() + " must be a JSON object");
         }
         else
         {
-          boolean found = false;
-          for (SchemaResource schemaExtension :
-              resourceType.getSchemaExtensions().keySet())
+          CompiledSchema.Extension extension =
+              compiledSchema.getExtension(field.getKey());
+          if (extension != null)
           {
-            if (schemaExtension.getId().equals(field.getKey()))
-            {
-              checkObjectNode(prefix, Path.root(field.getKey()),
-                  schemaExtension.getAttributes(),
-                  (ObjectNode) field.getValue(), results, currentObjectNode,
-                  isPartialReplace, isPartialAdd, false);
-              found = true;
-              break;
-            }
+            checkObjectNode(prefix, Path.root(field.getKey()),
+                extension.attributes(), (ObjectNode) field.getValue(),
+                results, currentObjectNode, isPartialReplace, isPartialAdd,
+                false, false);
           }
-          if (!found &&
-              !enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
+          else if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
           {
-            results.syntaxIssues.add(prefix + "Undefined extended attributes " +
+            results.addSyntaxIssue(prefix + "Undefined extended attributes " +
                 "namespace " + field);
           }
         }
-        i.remove();
       }
     }
 
-    // Check common and core schema
-    checkObjectNode(prefix, Path.root(), commonAndCoreAttributes,
-        objectNode, results, currentObjectNode,
-        isPartialReplace, isPartialAdd, false);
+    // Check common and core schema. The extension namespaces checked above
+    // are skipped.
+    checkObjectNode(prefix, Path.root(),
+        compiledSchema.getCommonAndCoreAttributes(), objectNode, results,
+        currentObjectNode, isPartialReplace, isPartialAdd, false, false);
   }
 
   /**
@@ -698,15 +1330,53 @@ public class SchemaChecker
    * @param results The schema check results.
    * @param currentObjectNode The current resource.
    * @param isReplace Whether this is a replacement.
+   * @param skipReadOnly Whether read-only attributes are skipped.
    * @throws ScimException If an error occurs.
    */
   private void checkResource(@NotNull final String prefix,
                              @NotNull final ObjectNode objectNode,
                              @NotNull final Results results,
                              @Nullable final ObjectNode currentObjectNode,
-                             final boolean isReplace)
+                             final boolean isReplace,
+                             final boolean skipReadOnly)
       throws ScimException
   {
+    checkSchemaExtensions(prefix, objectNode, results, currentObjectNode,
+        isReplace, null, skipReadOnly);
+
+    // Check common and core schema. The extension namespaces are skipped.
+    checkObjectNode(prefix, Path.root(),
+        compiledSchema.getCommonAndCoreAttributes(), objectNode, results,
+        currentObjectNode, isReplace, false, isReplace, skipReadOnly);
+  }
+
+  /**
+   * Check the schemas attribute of a SCIM resource against its extension
+   * namespaces, and check the extension namespaces.
+   *
+   * @param prefix The issue prefix.
+   * @param objectNode The resource.
+   * @param results The schema check results.
+   * @param currentObjectNode The current resource.
+   * @param isReplace Whether this is a replacement.
+   * @param checkedNamespaces The schema URNs of the extension namespaces to
+   *                          check, or {@code null} to check all of them.
+   * @param skipReadOnly Whether read-only attributes are skipped.
+   * @throws ScimException If an error occurs.
+   */
+  private void checkSchemaExtensions(
+      @NotNull final String prefix,
+      @NotNull final ObjectNode objectNode,
+      @NotNull final Results results,
+      @Nullable final ObjectNode currentObjectNode,
+      final boolean isReplace,
+      @Nullable final Set<String> checkedNamespaces,
+      final boolean skipReadOnly)
+          throws ScimException
+  {
+    // The extension namespaces that are listed in the schemas attribute.
+    Set<JsonNode> listedNamespaces = null;
+
     // Iterate through the schemas
     JsonNode schemas = objectNode.get(
         SchemaUtils.SCHEMAS_ATTRIBUTE_DEFINITION.getName());
@@ -724,108 +1394,105 @@ public class SchemaChecker
         }
 
         // Get the extension namespace object node.
-        JsonNode extensionNode = objectNode.remove(schema.asString());
+        String schemaUrn = schema.asString();
+        JsonNode extensionNode = objectNode.get(schemaUrn);
+        if (extensionNode != null)
+        {
+          if (listedNamespaces == null)
+          {
+            listedNamespaces =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+          }
+          if (!listedNamespaces.add(extensionNode))
+          {
+            // The schema URN is listed more than once. The namespace is only
+            // checked for the first one.
+            extensionNode = null;
+          }
+        }
         if (extensionNode == null)
         {
           // Extension listed in schemas but no namespace in resource. Treat it
           // as an empty namespace to check for required attributes.
-          extensionNode = JsonUtils.getJsonNodeFactory().objectNode();
+          extensionNode = EMPTY_OBJECT_NODE;
         }
         if (!extensionNode.isObject())
         {
           // Go to the next one if the extension namespace is not valid
-          results.syntaxIssues.add(prefix + "Extended attributes namespace " +
-              schema.asString() + " must be a JSON object");
+          results.addSyntaxIssue(prefix + "Extended attributes namespace " +
+              schemaUrn + " must be a JSON object");
           continue;
         }
 
         // Find the schema definition.
-        Map.Entry<SchemaResource, Boolean> extensionDefinition = null;
-        if (schema.asString().equals(resourceType.getCoreSchema().getId()))
+        if (schemaUrn.equals(compiledSchema.getCoreSchemaId()))
         {
           // Skip the core schema.
           coreFound = true;
           continue;
         }
-        else
-        {
-          for (Map.Entry<SchemaResource, Boolean> schemaExtension :
-              resourceType.getSchemaExtensions().entrySet())
-          {
-            if (schema.asString().equals(schemaExtension.getKey().getId()))
-            {
-              extensionDefinition = schemaExtension;
-              break;
-            }
-          }
-        }
 
-        if (extensionDefinition == null)
+        CompiledSchema.Extension extensionDefinition =
+            compiledSchema.getExtension(schemaUrn);
+        if (extensionDefinition == null ||
+            (checkedNamespaces != null &&
+                !checkedNamespaces.contains(schemaUrn)))
         {
           // Bail if we can't find the schema definition. We will report this
           // issue later when we check the values for the schemas attribute.
+          // Namespaces that are not modified are not checked again.
           continue;
         }
 
-        checkObjectNode(prefix, Path.root(schema.asString()),
-            extensionDefinition.getKey().getAttributes(),
+        checkObjectNode(prefix, Path.root(schemaUrn),
+            extensionDefinition.attributes(),
             (ObjectNode) extensionNode, results, currentObjectNode,
-                        isReplace, false, isReplace);
+            isReplace, false, isReplace, skipReadOnly);
       }
 
       if (!coreFound)
       {
         // Make sure core schemas was included.
-        results.syntaxIssues.add(prefix + "Value for attribute schemas must " +
-            " contain schema URI " + resourceType.getCoreSchema().getId() +
+        results.addSyntaxIssue(prefix + "Value for attribute schemas must " +
+            " contain schema URI " + compiledSchema.getCoreSchemaId() +
             " because it is the core schema for this resource type");
       }
 
       // Make sure all required extension schemas were included.
-      for (Map.Entry<SchemaResource, Boolean> schemaExtension :
-          resourceType.getSchemaExtensions().entrySet())
+      for (CompiledSchema.Extension extension :
+          compiledSchema.getRequiredExtensions())
       {
-        if (schemaExtension.getValue())
+        boolean found = false;
+        for (JsonNode schema : schemas)
         {
-          boolean found = false;
-          for (JsonNode schema : schemas)
+          if (schema.asString().equals(extension.schema().getId()))
           {
-            if (schema.asString().equals(schemaExtension.getKey().getId()))
-            {
-              found = true;
-              break;
-            }
-          }
-          if (!found)
-          {
-            results.syntaxIssues.add(prefix + "Value for attribute schemas " +
-                "must contain schema URI " + schemaExtension.getKey().getId() +
-                " because it is a required schema extension for this " +
-                "resource type");
+            found = true;
+            break;
           }
         }
+        if (!found)
+        {
+          results.addSyntaxIssue(prefix + "Value for attribute schemas " +
+              "must contain schema URI " + extension.schema().getId() +
+              " because it is a required schema extension for this " +
+              "resource type");
+        }
       }
     }
 
-    // All defined schema extensions should be removed.
-    // Remove any additional extended attribute namespaces not included in
+    // Report any additional extended attribute namespaces not included in
     // the schemas attribute.
-    Iterator<Map.Entry<String, JsonNode>> i;
-    for (i = objectNode.properties().iterator(); i.hasNext();)
+    for (Map.Entry<String, JsonNode> field : objectNode.properties())
     {
-      String fieldName = i.next().getKey();
-      if (SchemaUtils.isUrn(fieldName))
+      if (SchemaUtils.isUrn(field.getKey()) &&
+          (listedNamespaces == null ||
+              !listedNamespaces.contains(field.getValue())))
       {
-        results.syntaxIssues.add(prefix + "Extended attributes namespace "
-            + fieldName + " must be included in the schemas attribute");
-        i.remove();
+        results.addSyntaxIssue(prefix + "Extended attributes namespace "
+            + field.getKey() + " must be included in the schemas attribute");
       }
     }
-
-    // Check common and core schema
-    checkObjectNode(prefix, Path.root(), commonAndCoreAttributes,
-        objectNode, results, currentObjectNode,
-                    isReplace, false, isReplace);
   }
 
   /**
@@ -856,7 +1523,7 @@ public class SchemaChecker
     if (attribute.getMutability() ==
         AttributeDefinition.Mutability.READ_ONLY)
     {
-      results.mutabilityIssues.add(prefix + "Attribute " + path +
+      results.addMutabilityIssue(prefix + "Attribute " + path +
           " is read-only");
     }
     if (attribute.getMutability() ==
@@ -864,18 +1531,18 @@ public class SchemaChecker
     {
       if (node == null)
       {
-        results.mutabilityIssues.add(prefix + "Attribute " + path +
+        results.addMutabilityIssue(prefix + "Attribute " + path +
             " is immutable and value(s) may not be removed");
       }
       if (isPartialReplace && !isReplace)
       {
-        results.mutabilityIssues.add(prefix + "Attribute " + path +
+        results.addMutabilityIssue(prefix + "Attribute " + path +
             " is immutable and value(s) may not be replaced");
       }
       else if (isPartialAdd && currentObjectNode != null &&
           JsonUtils.pathExists(path, currentObjectNode))
       {
-        results.mutabilityIssues.add(prefix + "Attribute " + path +
+        results.addMutabilityIssue(prefix + "Attribute " + path +
             " is immutable and value(s) may not be added");
       }
       else if (currentObjectNode != null)
@@ -885,7 +1552,7 @@ public class SchemaChecker
         if (currentValues.size() > 1 ||
             (currentValues.size() == 1 && !currentValues.get(0).equals(node)))
         {
-          results.mutabilityIssues.add(prefix + "Attribute " + path +
+          results.addMutabilityIssue(prefix + "Attribute " + path +
               " is immutable and it already has a value");
         }
       }
@@ -898,23 +1565,22 @@ public class SchemaChecker
       // Make sure the core schema and/or required schemas extensions are
       // not removed.
       if (FilterEvaluator.evaluate(valueFilter,
-          StringNode.valueOf(resourceType.getCoreSchema().getId())))
+          StringNode.valueOf(compiledSchema.getCoreSchemaId())))
       {
-        results.syntaxIssues.add(prefix + "Attribute value(s) " + path +
+        results.addSyntaxIssue(prefix + "Attribute value(s) " + path +
             " may not be removed or replaced because the core schema " +
-            resourceType.getCoreSchema().getId() +
+            compiledSchema.getCoreSchemaId() +
             " is required for this resource type");
       }
-      for (Map.Entry<SchemaResource, Boolean> schemaExtension :
-          resourceType.getSchemaExtensions().entrySet())
+      for (CompiledSchema.Extension extension :
+          compiledSchema.getRequiredExtensions())
       {
-        if (schemaExtension.getValue() &&
-            FilterEvaluator.evaluate(valueFilter,
-                StringNode.valueOf(schemaExtension.getKey().getId())))
+        if (FilterEvaluator.evaluate(valueFilter,
+            StringNode.valueOf(extension.schema().getId())))
         {
-          results.syntaxIssues.add(prefix + "Attribute value(s) " +
+          results.addSyntaxIssue(prefix + "Attribute value(s) " +
               path + " may not be removed or replaced because the schema " +
-              "extension " + schemaExtension.getKey().getId() +
+              "extension " + extension.schema().getId() +
               " is required for this resource type");
         }
       }
@@ -938,7 +1604,7 @@ public class SchemaChecker
     // Check required attributes are all present.
     if (attribute.isRequired())
     {
-      results.syntaxIssues.add(prefix + "Attribute " + path +
+      results.addSyntaxIssue(prefix + "Attribute " + path +
           " is required and must have a value");
     }
   }
@@ -954,6 +1620,7 @@ public class SchemaChecker
    * @param currentObjectNode The current resource.
    * @param isPartialReplace Whether this is a partial replace.
    * @param isPartialAdd Whether this is a partial add.
+   * @param skipReadOnly Whether read-only sub-attributes are skipped.
    * @throws ScimException If an error occurs.
    */
   private void checkAttributeValues(
@@ -964,46 +1631,42 @@ public class SchemaChecker
       @NotNull final Results results,
       @Nullable final ObjectNode currentObjectNode,
       final boolean isPartialReplace,
-      final boolean isPartialAdd)
+      final boolean isPartialAdd,
+      final boolean skipReadOnly)
           throws ScimException
   {
     if (attribute.isMultiValued() && !node.isArray())
     {
-      results.syntaxIssues.add(prefix + "Value for multi-valued attribute " +
+      results.addSyntaxIssue(prefix + "Value for multi-valued attribute " +
           path + " must be a JSON array");
       return;
     }
     if (!attribute.isMultiValued() && node.isArray())
     {
-      results.syntaxIssues.add(prefix + "Value for single-valued attribute " +
+      results.addSyntaxIssue(prefix + "Value for single-valued attribute " +
           path + " must not be a JSON array");
       return;
     }
 
     if (node.isArray())
     {
+      if (path.isRoot())
+      {
+        throw new NullPointerException(
+            "Path should always point to an attribute");
+      }
       int i = 0;
       for (JsonNode value : node)
       {
-        // Use a special notation attr[index] to refer to a value of an JSON
-        // array.
-        if (path.isRoot())
-        {
-          throw new NullPointerException(
-              "Path should always point to an attribute");
-        }
-        Path parentPath = path.subPath(path.size() - 1);
-        Path valuePath = parentPath.attribute(
-            path.getLastElement().getAttribute() + "[" + i + "]");
-        checkAttributeValue(prefix, value, valuePath, attribute, results,
-            currentObjectNode, isPartialReplace, isPartialAdd);
+        checkAttributeValue(prefix, value, path, i, attribute, results,
+            currentObjectNode, isPartialReplace, isPartialAdd, skipReadOnly);
         i++;
       }
     }
     else
     {
-      checkAttributeValue(prefix, node, path, attribute, results,
-          currentObjectNode, isPartialReplace, isPartialAdd);
+      checkAttributeValue(prefix, node, path, -1, attribute, results,
+          currentObjectNode, isPartialReplace, isPartialAdd, skipReadOnly);
     }
   }
 
@@ -1013,22 +1676,27 @@ public class SchemaChecker
    * @param prefix The issue prefix.
    * @param node The attribute value.
    * @param path The attribute path.
+   * @param index The index of the value in a multi-valued attribute, or
+   *              {@code -1} for the value of a single-valued attribute.
    * @param attribute The attribute definition.
    * @param results The schema check results.
    * @param currentObjectNode The current resource.
    * @param isPartialReplace Whether this is a partial replace.
    * @param isPartialAdd Whether this is a partial add.
+   * @param skipReadOnly Whether read-only sub-attributes are skipped.
    * @throws ScimException If an error occurs.
    */
   private void checkAttributeValue(
       @NotNull final String prefix,
       @NotNull final JsonNode node,
       @NotNull final Path path,
+      final int index,
       @NotNull final AttributeDefinition attribute,
       @NotNull final Results results,
       @Nullable final ObjectNode currentObjectNode,
       final boolean isPartialReplace,
-      final boolean isPartialAdd)
+      final boolean isPartialAdd,
+      final boolean skipReadOnly)
           throws ScimException
   {
     if (node.isNull())
@@ -1044,16 +1712,16 @@ public class SchemaChecker
       case REFERENCE:
         if (!node.isString())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " must be a JSON string");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " must be a JSON string");
           return;
         }
         break;
       case BOOLEAN:
         if (!node.isBoolean())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " must be a JSON boolean");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " must be a JSON boolean");
           return;
         }
         break;
@@ -1061,24 +1729,24 @@ public class SchemaChecker
       case INTEGER:
         if (!node.isNumber())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " must be a JSON number");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " must be a JSON number");
           return;
         }
         break;
       case COMPLEX:
         if (!node.isObject())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " must be a JSON object");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " must be a JSON object");
           return;
         }
         break;
       case BINARY:
         if (!node.isString() && !node.isBinary())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " must be a JSON string");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " must be a JSON string");
           return;
         }
         break;
@@ -1099,7 +1767,8 @@ public class SchemaChecker
         {
           Debug.debug(Level.INFO, DebugType.EXCEPTION,
               "Invalid xsd:dateTime string during schema checking", e);
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) +
               " is not a valid xsd:dateTime formatted string");
         }
         break;
@@ -1112,8 +1781,8 @@ public class SchemaChecker
         {
           Debug.debug(Level.INFO, DebugType.EXCEPTION,
               "Invalid base64 string during schema checking", e);
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " is not a valid base64 encoded string");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " is not a valid base64 encoded string");
         }
         break;
       case REFERENCE:
@@ -1125,21 +1794,26 @@ public class SchemaChecker
         {
           Debug.debug(Level.INFO, DebugType.EXCEPTION,
               "Invalid URI string during schema checking", e);
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " is not a valid URI string");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " is not a valid URI string");
         }
         break;
       case INTEGER:
         if (!node.isIntegralNumber())
         {
-          results.syntaxIssues.add(prefix + "Value for attribute " + path +
-              " is not an integral number");
+          results.addSyntaxIssue(prefix + "Value for attribute " +
+              valuePath(path, index) + " is not an integral number");
         }
         break;
       case COMPLEX:
-        checkObjectNode(prefix, path, attribute.getSubAttributes(),
-            (ObjectNode) node, results, currentObjectNode,
-            isPartialReplace, isPartialAdd, false);
+        CompiledSchema.AttributeSet subAttributes =
+            compiledSchema.getSubAttributes(attribute);
+        if (subAttributes != null)
+        {
+          checkObjectNode(prefix, valuePath(path, index), subAttributes,
+              (ObjectNode) node, results, currentObjectNode,
+              isPartialReplace, isPartialAdd, false, skipReadOnly);
+        }
         break;
       case STRING:
         // Check for canonical values
@@ -1150,8 +1824,7 @@ public class SchemaChecker
           {
             if (attribute.isCaseExact() ?
                 canonicalValue.equals(node.asString()) :
-                StaticUtils.toLowerCase(canonicalValue).equals(
-                    StaticUtils.toLowerCase(node.asString())))
+                canonicalValue.equalsIgnoreCase(node.asString()))
             {
               found = true;
               break;
@@ -1159,9 +1832,9 @@ public class SchemaChecker
           }
           if (!found)
           {
-            results.syntaxIssues.add(prefix + "Value " + node.asString() +
-                " is not valid for attribute " + path + " because it " +
-                "is not one of the canonical types: " +
+            results.addSyntaxIssue(prefix + "Value " + node.asString() +
+                " is not valid for attribute " + valuePath(path, index) +
+                " because it is not one of the canonical types: " +
                 StaticUtils.collectionToString(
                     attribute.getCanonicalValues(), ", "));
           }
@@ -1171,33 +1844,43 @@ public class SchemaChecker
     // Special checking of the schemas attribute to ensure that
     // no undefined schemas are listed.
     if (attribute.equals(SchemaUtils.SCHEMAS_ATTRIBUTE_DEFINITION) &&
-        path.size() == 1)
+        path.size() == 1 &&
+        !compiledSchema.isDefinedSchema(node.asString()) &&
+        !enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
     {
-      boolean found = false;
-      for (SchemaResource schemaExtension :
-          resourceType.getSchemaExtensions().keySet())
-      {
-        if (node.asString().equals(schemaExtension.getId()))
-        {
-          found = true;
-          break;
-        }
-      }
-      if (!found)
-      {
-        found = node.asString().equals(resourceType.getCoreSchema().getId());
-      }
-      if (!found && !enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
-      {
-        results.syntaxIssues.add(prefix + "Schema URI " + node.asString() +
-            " is not a valid value for attribute " + path + " because it is " +
-            "undefined as a core or schema extension for this resource type");
-      }
+      results.addSyntaxIssue(prefix + "Schema URI " + node.asString() +
+          " is not a valid value for attribute " + valuePath(path, index) +
+          " because it is undefined as a core or schema extension for this " +
+          "resource type");
     }
   }
 
+  /**
+   * Retrieve the path used in messages for a value of an attribute. A special
+   * notation {@code attr[index]} is used to refer to a value of a JSON array.
+   * The path is only built when it is needed.
+   *
+   * @param path The attribute path.
+   * @param index The index of the value in a multi-valued attribute, or
+   *              {@code -1} for the value of a single-valued attribute.
+   * @return The path of the value.
+   */
+  @NotNull
+  private static Path valuePath(@NotNull final Path path, final int index)
+  {
+    if (index < 0)
+    {
+      return path;
+    }
+
+    Path parentPath = path.subPath(path.size() - 1);
+    return parentPath.attribute(
+        path.getLastElement().getAttribute() + "[" + index + "]");
+  }
+
   /**
    * Check an ObjectNode containing the core attributes or extended attributes.
+   * The ObjectNode is not modified.
    *
    * @param prefix The issue prefix.
    * @param parentPath The path of the parent node.
@@ -1208,68 +1891,81 @@ public class SchemaChecker
    * @param isPartialReplace Whether this is a partial replace.
    * @param isPartialAdd Whether this is a partial add.
    * @param isReplace Whether this is a replacement.
+   * @param skipReadOnly Whether read-only attributes are skipped.
    * @throws ScimException If an error occurs.
    */
   private void checkObjectNode(
       @NotNull final String prefix,
       @NotNull final Path parentPath,
-      @NotNull final Collection<AttributeDefinition> attributes,
+      @NotNull final CompiledSchema.AttributeSet attributes,
       @NotNull final ObjectNode objectNode,
       @NotNull final Results results,
       @Nullable final ObjectNode currentObjectNode,
       final boolean isPartialReplace,
       final boolean isPartialAdd,
-      final boolean isReplace) throws ScimException
+      final boolean isReplace,
+      final boolean skipReadOnly) throws ScimException
   {
-    if (attributes == null)
-    {
-      return;
-    }
-
-    for (AttributeDefinition attribute : attributes)
+    for (AttributeDefinition attribute : attributes.getAttributes())
     {
-      JsonNode node = objectNode.remove(attribute.getName());
-      Path path = parentPath.attribute((attribute.getName()));
+      if (skipReadOnly && attribute.getMutability() ==
+          AttributeDefinition.Mutability.READ_ONLY)
+      {
+        continue;
+      }
+      JsonNode node = objectNode.get(attribute.getName());
 
       if (isNullNodeOrEmptyArray(node))
       {
         // From SCIM's perspective, these are the same thing.
-        if (!isPartialAdd && !isPartialReplace)
+        if (!isPartialAdd && !isPartialReplace && attribute.isRequired())
         {
-          checkAttributeRequired(prefix, path, attribute, results);
+          checkAttributeRequired(prefix,
+              parentPath.attribute(attribute.getName()), attribute, results);
         }
       }
       if (node != null)
       {
         // Additional checks for when the field is present
+        Path path = parentPath.attribute(attribute.getName());
         checkAttributeMutability(prefix, node, path, attribute, results,
             currentObjectNode, isPartialReplace, isPartialAdd, isReplace);
         checkAttributeValues(prefix, node, path, attribute, results,
-            currentObjectNode, isPartialReplace, isPartialAdd);
+            currentObjectNode, isPartialReplace, isPartialAdd, skipReadOnly);
       }
     }
 
-    // All defined attributes should be removed. Remove any additional
-    // undefined attributes.
-    Iterator<Map.Entry<String, JsonNode>> i;
-    for (i = objectNode.properties().iterator(); i.hasNext();)
+    // Report any fields that are not one of the defined attributes checked
+    // above. Extended attribute namespaces in the resource are checked
+    // separately.
+    boolean isCoreNode = parentPath.isRoot() &&
+        parentPath.getSchemaUrn() == null;
+    for (Map.Entry<String, JsonNode> field : objectNode.properties())
     {
-      String undefinedAttribute = i.next().getKey();
+      String fieldName = field.getKey();
+      AttributeDefinition attribute = attributes.getAttribute(fieldName);
+      if ((attribute != null &&
+          objectNode.get(attribute.getName()) == field.getValue()) ||
+          (isCoreNode && SchemaUtils.isUrn(fieldName)))
+      {
+        continue;
+      }
+
       if (parentPath.size() == 0)
       {
         if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
         {
-          results.syntaxIssues.add(prefix + "Core attribute " +
-              undefinedAttribute + " is undefined for schema " +
-              resourceType.getCoreSchema().getId());
+          results.addSyntaxIssue(prefix + "Core attribute " +
+              fieldName + " is undefined for schema " +
+              compiledSchema.getCoreSchemaId());
         }
       }
       else if (parentPath.isRoot() && parentPath.getSchemaUrn() != null)
       {
         if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_ATTRIBUTES))
         {
-          results.syntaxIssues.add(prefix + "Extended attribute " +
-              undefinedAttribute + " is undefined for schema " +
+          results.addSyntaxIssue(prefix + "Extended attribute " +
+              fieldName + " is undefined for schema " +
               parentPath.getSchemaUrn());
         }
       }
@@ -1277,11 +1973,10 @@ public class SchemaChecker
       {
         if (!enabledOptions.contains(Option.ALLOW_UNDEFINED_SUB_ATTRIBUTES))
         {
-          results.syntaxIssues.add(prefix + "Sub-attribute " +
-              undefinedAttribute + " is undefined for attribute " + parentPath);
+          results.addSyntaxIssue(prefix + "Sub-attribute " +
+              fieldName + " is undefined for attribute " + parentPath);
         }
       }
-      i.remove();
     }
   }
 }
@@ -0,0 +1,934 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.ResourceConflictException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.filters.FilterType;
+import com.unboundid.scim2.common.types.AttributeDefinition;
+import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.common.utils.StaticUtils;
+import com.unboundid.scim2.server.SearchBackend;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory {@link SearchBackend} that holds the resources of a resource
+ * type and maintains secondary indexes on their attributes, so that
+ * selective filters do not scan every resource.
+ * <p>
+ * Each indexed attribute keeps its values in a sorted map, and string
+ * attributes also keep them in a hash map. By default, the following
+ * single-valued attributes are indexed:
+ * <ul>
+ *   <li> {@code id}.
+ *   <li> String and reference attributes whose uniqueness is {@code server} or
+ *        {@code global}, such as {@code userName}. Values of these attributes
+ *        must be unique within the store.
+ *   <li> Date and time, integer, and decimal attributes, such as
+ *        {@code meta.lastModified}.
+ * </ul>
+ * Filters use the indexes as follows:
+ * <ul>
+ *   <li> {@code eq} on a string attribute is a hash lookup, so a filter such
+ *        as {@code userName eq "bjensen"} does not depend on the number of
+ *        resources. Other types are looked up in the sorted map.
+ *   <li> {@code sw} on a string attribute reads the range of values that
+ *        start with the prefix.
+ *   <li> {@code gt}, {@code ge}, {@code lt}, and {@code le} read a range of
+ *        the sorted map.
+ *   <li> {@code pr} reads the set of resources that have a value.
+ *   <li> {@code and} intersects, and {@code or} unites, the sets of resources
+ *        found for their components. An {@code and} filter uses the indexes
+ *        if any of its components do, and an {@code or} filter uses them
+ *        only if all of its components do.
+ * </ul>
+ * Other filters are evaluated by scanning the resources. The resources found
+ * through the indexes are always checked against the complete filter, so
+ * the indexes only determine how many resources are checked.
+ * <p>
+ * Resources are copied when they are added and when they are returned. This
+ * class is thread-safe. Searches may run concurrently, and updates are
+ * exclusive.
+ */
+public class ScimResourceStore implements SearchBackend<GenericScimResource>
+{
+  @NotNull
+  private static final Set<Capability> CAPABILITIES =
+      Collections.unmodifiableSet(EnumSet.allOf(Capability.class));
+
+  /**
+   * The key of a value that cannot be indexed, such as a string attribute
+   * value that is a date and time, which the filter evaluator compares as a
+   * date and time.
+   */
+  @NotNull
+  private static final Object UNINDEXED = new Object();
+
+  @NotNull
+  private final ResourceTypeDefinition resourceType;
+
+  @NotNull
+  private final SchemaAwareFilterEvaluator filterEvaluator;
+
+  @NotNull
+  private final AttributeIndex[] indexes;
+
+  @NotNull
+  private final Map<AttributeDefinition, AttributeIndex> indexesByDefinition =
+      new IdentityHashMap<>();
+
+  @NotNull
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // The resources, indexed by slot. Slots are reused once freed.
+  @NotNull
+  private final List<GenericScimResource> resources = new ArrayList<>();
+
+  // The index keys of the resources, by slot and index.
+  @NotNull
+  private final List<Object[][]> resourceKeys = new ArrayList<>();
+
+  @NotNull
+  private final BitSet occupiedSlots = new BitSet();
+
+  @NotNull
+  private final Map<String, Integer> slotsById = new HashMap<>();
+
+  /**
+   * Create a new, empty store that indexes the default attributes of the
+   * resource type.
+   *
+   * @param resourceType The resource type of the resources.
+   */
+  public ScimResourceStore(@NotNull final ResourceTypeDefinition resourceType)
+  {
+    this(resourceType, getDefaultIndexedPaths(resourceType));
+  }
+
+  /**
+   * Create a new, empty store that indexes the provided attributes, and the
+   * {@code id} attribute. The values of indexed attributes whose uniqueness is
+   * {@code server} or {@code global} must be unique within the store.
+   *
+   * @param resourceType The resource type of the resources.
+   * @param indexedPaths The paths of the attributes to index. They must not
+   *                     have value filters, and must refer to defined
+   *                     attributes that are not complex or binary.
+   * @throws IllegalArgumentException If an attribute cannot be indexed.
+   */
+  public ScimResourceStore(@NotNull final ResourceTypeDefinition resourceType,
+                           @NotNull final Collection<Path> indexedPaths)
+      throws IllegalArgumentException
+  {
+    this.resourceType = resourceType;
+    this.filterEvaluator = new SchemaAwareFilterEvaluator(resourceType);
+
+    List<Path> paths = new ArrayList<>(indexedPaths.size() + 1);
+    paths.add(Path.root().attribute("id"));
+    paths.addAll(indexedPaths);
+    List<AttributeIndex> indexList = new ArrayList<>(paths.size());
+    for (Path path : paths)
+    {
+      AttributeDefinition definition = getIndexableDefinition(path);
+      if (definition == null)
+      {
+        throw new IllegalArgumentException(
+            "The attribute '" + path + "' cannot be indexed");
+      }
+      if (!indexesByDefinition.containsKey(definition))
+      {
+        AttributeIndex index = new AttributeIndex(path, definition);
+        indexesByDefinition.put(definition, index);
+        indexList.add(index);
+      }
+    }
+    this.indexes = indexList.toArray(new AttributeIndex[0]);
+  }
+
+  /**
+   * Add a resource, replacing any resource with the same ID. The
+   * {@code meta.resourceType} attribute is set to the name of the resource
+   * type so that it may be used in filters.
+   *
+   * @param resource The resource to add. It must have an ID.
+   * @throws ScimException If the resource does not have an ID, or if the value
+   *                       of a unique attribute is already used by another
+   *                       resource.
+   */
+  public void put(@NotNull final ScimResource resource) throws ScimException
+  {
+    GenericScimResource stored =
+        InMemorySearchBackend.storedCopy(resource, resourceType);
+    Object[][] keys = new Object[indexes.length][];
+    for (int i = 0; i < indexes.length; i++)
+    {
+      keys[i] = indexes[i].getKeys(stored.getObjectNode());
+    }
+
+    lock.writeLock().lock();
+    try
+    {
+      Integer existingSlot = slotsById.get(stored.getId());
+      int slot = existingSlot == null ?
+          occupiedSlots.nextClearBit(0) : existingSlot;
+      for (int i = 0; i < indexes.length; i++)
+      {
+        indexes[i].checkUnique(slot, keys[i]);
+      }
+
+      if (existingSlot != null)
+      {
+        unindex(slot);
+      }
+      if (slot == resources.size())
+      {
+        resources.add(stored);
+        resourceKeys.add(keys);
+      }
+      else
+      {
+        resources.set(slot, stored);
+        resourceKeys.set(slot, keys);
+      }
+      occupiedSlots.set(slot);
+      slotsById.put(stored.getId(), slot);
+      for (int i = 0; i < indexes.length; i++)
+      {
+        indexes[i].add(slot, keys[i]);
+      }
+    }
+    finally
+    {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove a resource.
+   *
+   * @param id The ID of the resource to remove.
+   * @return {@code true} if the resource was removed.
+   */
+  public boolean remove(@NotNull final String id)
+  {
+    lock.writeLock().lock();
+    try
+    {
+      Integer slot = slotsById.remove(id);
+      if (slot == null)
+      {
+        return false;
+      }
+      unindex(slot);
+      resources.set(slot, null);
+      resourceKeys.set(slot, null);
+      occupiedSlots.clear(slot);
+      return true;
+    }
+    finally
+    {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Retrieve a copy of a resource.
+   *
+   * @param id The ID of the resource.
+   * @return A copy of the resource, or {@code null} if there is no resource
+   * with the ID.
+   */
+  @Nullable
+  public GenericScimResource get(@NotNull final String id)
+  {
+    lock.readLock().lock();
+    try
+    {
+      Integer slot = slotsById.get(id);
+      return slot == null ?
+          null : InMemorySearchBackend.copy(resources.get(slot));
+    }
+    finally
+    {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Retrieve the number of resources.
+   *
+   * @return The number of resources.
+   */
+  public int size()
+  {
+    lock.readLock().lock();
+    try
+    {
+      return slotsById.size();
+    }
+    finally
+    {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Retrieve the paths of the indexed attributes.
+   *
+   * @return The paths of the indexed attributes.
+   */
+  @NotNull
+  public List<Path> getIndexedPaths()
+  {
+    List<Path> paths = new ArrayList<>(indexes.length);
+    for (AttributeIndex index : indexes)
+    {
+      paths.add(index.path);
+    }
+    return paths;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public Set<Capability> getCapabilities()
+  {
+    return CAPABILITIES;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public SearchBackendResults<GenericScimResource> search(
+      @NotNull final SearchQuery query)
+      throws ScimException
+  {
+    Filter filter = query.getFilter();
+    lock.readLock().lock();
+    try
+    {
+      BitSet candidates = filter == null ? null : findCandidates(filter);
+      if (candidates == null)
+      {
+        candidates = occupiedSlots;
+      }
+
+      List<GenericScimResource> matched = new ArrayList<>();
+      for (int slot = candidates.nextSetBit(0); slot >= 0;
+           slot = candidates.nextSetBit(slot + 1))
+      {
+        GenericScimResource resource = resources.get(slot);
+        if (filter == null ||
+            filter.visit(filterEvaluator, resource.getObjectNode()))
+        {
+          matched.add(resource);
+        }
+      }
+      return InMemorySearchBackend.page(query, matched, false);
+    }
+    finally
+    {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Find the slots of the resources that may match a filter using the
+   * indexes.
+   *
+   * @param filter The filter.
+   * @return The slots of a superset of the matching resources, or
+   *         {@code null} if the indexes cannot narrow the search. The caller
+   *         may modify the returned set.
+   */
+  @Nullable
+  private BitSet findCandidates(@NotNull final Filter filter)
+  {
+    switch (filter.getFilterType())
+    {
+      case AND:
+        BitSet intersection = null;
+        for (Filter component : filter.getCombinedFilters())
+        {
+          BitSet candidates = findCandidates(component);
+          if (intersection == null)
+          {
+            intersection = candidates;
+          }
+          else if (candidates != null)
+          {
+            intersection.and(candidates);
+          }
+        }
+        return intersection;
+
+      case OR:
+        BitSet union = new BitSet();
+        for (Filter component : filter.getCombinedFilters())
+        {
+          BitSet candidates = findCandidates(component);
+          if (candidates == null)
+          {
+            return null;
+          }
+          union.or(candidates);
+        }
+        return union;
+
+      case EQUAL:
+      case STARTS_WITH:
+      case GREATER_THAN:
+      case GREATER_OR_EQUAL:
+      case LESS_THAN:
+      case LESS_OR_EQUAL:
+      case PRESENT:
+        AttributeIndex index = getIndex(filter.getAttributePath());
+        return index == null ? null : index.findCandidates(filter);
+
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Retrieve the index of the attribute referenced by a filter.
+   *
+   * @param path The attribute path of the filter.
+   * @return The index, or {@code null} if the attribute is not indexed.
+   */
+  @Nullable
+  private AttributeIndex getIndex(@NotNull final Path path)
+  {
+    for (Path.Element element : path)
+    {
+      if (element.getValueFilter() != null)
+      {
+        return null;
+      }
+    }
+    AttributeDefinition definition = resourceType.getAttributeDefinition(path);
+    return definition == null ? null : indexesByDefinition.get(definition);
+  }
+
+  /**
+   * Remove a resource from the indexes.
+   *
+   * @param slot The slot of the resource.
+   */
+  private void unindex(final int slot)
+  {
+    Object[][] keys = resourceKeys.get(slot);
+    for (int i = 0; i < indexes.length; i++)
+    {
+      indexes[i].remove(slot, keys[i]);
+    }
+  }
+
+  /**
+   * Retrieve the definition of an attribute that may be indexed.
+   *
+   * @param path The path of the attribute.
+   * @return The attribute definition, or {@code null} if the attribute may
+   *         not be indexed.
+   */
+  @Nullable
+  private AttributeDefinition getIndexableDefinition(@NotNull final Path path)
+  {
+    for (Path.Element element : path)
+    {
+      if (element.getValueFilter() != null)
+      {
+        return null;
+      }
+    }
+    AttributeDefinition definition = resourceType.getAttributeDefinition(path);
+    if (definition == null ||
+        definition.getType() == AttributeDefinition.Type.COMPLEX ||
+        definition.getType() == AttributeDefinition.Type.BINARY)
+    {
+      return null;
+    }
+    return definition;
+  }
+
+  /**
+   * Retrieve the paths of the attributes that are indexed by default.
+   *
+   * @param resourceType The resource type.
+   * @return The paths of the attributes that are indexed by default.
+   */
+  @NotNull
+  private static List<Path> getDefaultIndexedPaths(
+      @NotNull final ResourceTypeDefinition resourceType)
+  {
+    List<Path> paths = new ArrayList<>();
+    addDefaultIndexedPaths(
+        Path.root(), SchemaUtils.COMMON_ATTRIBUTE_DEFINITIONS, paths);
+    SchemaResource coreSchema = resourceType.getCoreSchema();
+    if (coreSchema != null)
+    {
+      addDefaultIndexedPaths(Path.root(), coreSchema.getAttributes(), paths);
+    }
+    for (SchemaResource extension : resourceType.getSchemaExtensions().keySet())
+    {
+      addDefaultIndexedPaths(
+          Path.root(extension.getId()), extension.getAttributes(), paths);
+    }
+    return paths;
+  }
+
+  /**
+   * Add the paths of the attributes that are indexed by default.
+   *
+   * @param parent The path of the parent attribute or schema.
+   * @param attributes The attribute definitions.
+   * @param paths The list to add the paths to.
+   */
+  private static void addDefaultIndexedPaths(
+      @NotNull final Path parent,
+      @NotNull final Collection<AttributeDefinition> attributes,
+      @NotNull final List<Path> paths)
+  {
+    for (AttributeDefinition attribute : attributes)
+    {
+      if (attribute.isMultiValued())
+      {
+        continue;
+      }
+      Path path = parent.attribute(attribute.getName());
+      switch (attribute.getType())
+      {
+        case COMPLEX:
+          if (attribute.getSubAttributes() != null)
+          {
+            addDefaultIndexedPaths(path, attribute.getSubAttributes(), paths);
+          }
+          break;
+        case DATETIME:
+        case INTEGER:
+        case DECIMAL:
+          paths.add(path);
+          break;
+        case STRING:
+        case REFERENCE:
+          if (attribute.getUniqueness() != null &&
+              attribute.getUniqueness() != AttributeDefinition.Uniqueness.NONE)
+          {
+            paths.add(path);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  /**
+   * An index of the values of an attribute. The keys are normalized so that
+   * values that the filter evaluator considers equal have equal keys, and
+   * keys are ordered as the filter evaluator orders the values.
+   */
+  private static final class AttributeIndex
+  {
+    @NotNull
+    private final Path path;
+
+    @NotNull
+    private final AttributeDefinition definition;
+
+    private final boolean unique;
+
+    private final boolean string;
+
+    // The slots of the resources with each key, in key order.
+    @NotNull
+    private final NavigableMap<Object, BitSet> sortedKeys = new TreeMap<>();
+
+    // The same sets, by key, for string attributes.
+    @Nullable
+    private final Map<Object, BitSet> hashedKeys;
+
+    // The slots of the resources with any value.
+    @NotNull
+    private final BitSet present = new BitSet();
+
+    // The slots of the resources with a value that is not indexed.
+    @NotNull
+    private final BitSet unindexed = new BitSet();
+
+    /**
+     * Create a new, empty index.
+     *
+     * @param path The path of the attribute.
+     * @param definition The definition of the attribute.
+     */
+    AttributeIndex(@NotNull final Path path,
+                   @NotNull final AttributeDefinition definition)
+    {
+      this.path = path;
+      this.definition = definition;
+      this.unique = definition.getUniqueness() != null &&
+          definition.getUniqueness() != AttributeDefinition.Uniqueness.NONE;
+      this.string = definition.getType() == AttributeDefinition.Type.STRING ||
+          definition.getType() == AttributeDefinition.Type.REFERENCE;
+      this.hashedKeys = string ? new HashMap<>() : null;
+    }
+
+    /**
+     * Retrieve the keys of the attribute values of a resource.
+     *
+     * @param node The resource.
+     * @return The keys, which include {@link #UNINDEXED} for each value that
+     *         cannot be indexed.
+     * @throws ScimException If the attribute values cannot be retrieved.
+     */
+    @NotNull
+    Object[] getKeys(@NotNull final ObjectNode node) throws ScimException
+    {
+      List<Object> keys = new ArrayList<>(1);
+      for (JsonNode value : JsonUtils.findMatchingPaths(path, node))
+      {
+        if (value.isArray())
+        {
+          for (JsonNode element : value)
+          {
+            if (!element.isNull())
+            {
+              Object key = getKey(element);
+              keys.add(key == null ? UNINDEXED : key);
+            }
+          }
+        }
+        else if (!value.isNull())
+        {
+          Object key = getKey(value);
+          keys.add(key == null ? UNINDEXED : key);
+        }
+      }
+      return keys.toArray();
+    }
+
+    /**
+     * Ensure that none of the keys of a unique attribute are used by another
+     * resource.
+     *
+     * @param slot The slot of the resource.
+     * @param keys The keys of the resource's attribute values.
+     * @throws ResourceConflictException If a key is used by another resource.
+     */
+    void checkUnique(final int slot, @NotNull final Object[] keys)
+        throws ResourceConflictException
+    {
+      if (!unique)
+      {
+        return;
+      }
+      for (Object key : keys)
+      {
+        BitSet slots = key == UNINDEXED ? null : getSlots(key);
+        if (slots != null)
+        {
+          int other = slots.nextSetBit(0);
+          if (other == slot)
+          {
+            other = slots.nextSetBit(slot + 1);
+          }
+          if (other >= 0)
+          {
+            throw ResourceConflictException.uniqueness("The value of the '" +
+                path + "' attribute is already used by another resource");
+          }
+        }
+      }
+    }
+
+    /**
+     * Add a resource to the index.
+     *
+     * @param slot The slot of the resource.
+     * @param keys The keys of the resource's attribute values.
+     */
+    void add(final int slot, @NotNull final Object[] keys)
+    {
+      for (Object key : keys)
+      {
+        present.set(slot);
+        if (key == UNINDEXED)
+        {
+          unindexed.set(slot);
+          continue;
+        }
+        BitSet slots = sortedKeys.get(key);
+        if (slots == null)
+        {
+          slots = new BitSet();
+          sortedKeys.put(key, slots);
+          if (hashedKeys != null)
+          {
+            hashedKeys.put(key, slots);
+          }
+        }
+        slots.set(slot);
+      }
+    }
+
+    /**
+     * Remove a resource from the index.
+     *
+     * @param slot The slot of the resource.
+     * @param keys The keys of the resource's attribute values.
+     */
+    void remove(final int slot, @NotNull final Object[] keys)
+    {
+      present.clear(slot);
+      unindexed.clear(slot);
+      for (Object key : keys)
+      {
+        BitSet slots = key == UNINDEXED ? null : sortedKeys.get(key);
+        if (slots != null)
+        {
+          slots.clear(slot);
+          if (slots.isEmpty())
+          {
+            sortedKeys.remove(key);
+            if (hashedKeys != null)
+            {
+              hashedKeys.remove(key);
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Find the slots of the resources that may match a filter on this
+     * attribute.
+     *
+     * @param filter The filter.
+     * @return The slots of a superset of the matching resources, or
+     *         {@code null} if the index cannot be used for the filter.
+     */
+    @Nullable
+    BitSet findCandidates(@NotNull final Filter filter)
+    {
+      if (filter.isPresentFilter())
+      {
+        return (BitSet) present.clone();
+      }
+
+      JsonNode value = filter.getComparisonValue();
+      if (value == null || value.isNull())
+      {
+        // An eq null filter also matches resources without a value.
+        return null;
+      }
+
+      BitSet candidates = new BitSet();
+      if (filter.getFilterType() == FilterType.STARTS_WITH)
+      {
+        if (!string || !value.isString())
+        {
+          return null;
+        }
+        String prefix = normalize(value.asString());
+        for (Map.Entry<Object, BitSet> entry :
+            sortedKeys.tailMap(prefix, true).entrySet())
+        {
+          if (!((String) entry.getKey()).startsWith(prefix))
+          {
+            break;
+          }
+          candidates.or(entry.getValue());
+        }
+      }
+      else
+      {
+        Object key = getKey(value);
+        if (key == null)
+        {
+          return null;
+        }
+        switch (filter.getFilterType())
+        {
+          case EQUAL:
+            BitSet slots = getSlots(key);
+            if (slots != null)
+            {
+              candidates.or(slots);
+            }
+            break;
+          case GREATER_THAN:
+            addAll(sortedKeys.tailMap(key, false), candidates);
+            break;
+          case GREATER_OR_EQUAL:
+            addAll(sortedKeys.tailMap(key, true), candidates);
+            break;
+          case LESS_THAN:
+            addAll(sortedKeys.headMap(key, false), candidates);
+            break;
+          case LESS_OR_EQUAL:
+            addAll(sortedKeys.headMap(key, true), candidates);
+            break;
+          default:
+            return null;
+        }
+      }
+      candidates.or(unindexed);
+      return candidates;
+    }
+
+    /**
+     * Retrieve the slots of the resources with a key.
+     *
+     * @param key The key.
+     * @return The slots, or {@code null} if no resource has the key.
+     */
+    @Nullable
+    private BitSet getSlots(@NotNull final Object key)
+    {
+      return hashedKeys != null ? hashedKeys.get(key) : sortedKeys.get(key);
+    }
+
+    /**
+     * Retrieve the key of a value, as it is compared by the filter evaluator.
+     *
+     * @param value The value.
+     * @return The key, or {@code null} if the value cannot be indexed.
+     */
+    @Nullable
+    private Object getKey(@NotNull final JsonNode value)
+    {
+      switch (definition.getType())
+      {
+        case DATETIME:
+          return value.isString() ? getDateKey(value) : null;
+        case INTEGER:
+        case DECIMAL:
+          return value.isNumber() ? value.decimalValue() : null;
+        case BOOLEAN:
+          return value.isBoolean() ? value.booleanValue() : null;
+        default:
+          // Strings that are dates and times are compared as dates and
+          // times.
+          if (!value.isString() || getDateKey(value) != null)
+          {
+            return null;
+          }
+          return normalize(value.asString());
+      }
+    }
+
+    /**
+     * Normalize a string value according to the case sensitivity of the
+     * attribute.
+     *
+     * @param value The value.
+     * @return The normalized value.
+     */
+    @NotNull
+    private String normalize(@NotNull final String value)
+    {
+      return definition.isCaseExact() ? value : StaticUtils.toLowerCase(value);
+    }
+
+    /**
+     * Retrieve the key of a date and time value.
+     *
+     * @param value The value.
+     * @return The time in milliseconds, or {@code null} if the value is not
+     *         a date and time.
+     */
+    @Nullable
+    private static Long getDateKey(@NotNull final JsonNode value)
+    {
+      // Avoid the cost of a failed parse for strings without a time.
+      String text = value.asString();
+      if (text.indexOf('T') < 0 && text.indexOf('t') < 0)
+      {
+        return null;
+      }
+      try
+      {
+        return JsonUtils.nodeToDateValue(value).getTime();
+      }
+      catch (IllegalArgumentException e)
+      {
+        return null;
+      }
+    }
+
+    /**
+     * Add the slots of all keys in a range.
+     *
+     * @param range The range of keys.
+     * @param candidates The set to add the slots to.
+     */
+    private static void addAll(@NotNull final Map<Object, BitSet> range,
+                               @NotNull final BitSet candidates)
+    {
+      for (BitSet slots : range.values())
+      {
+        candidates.or(slots);
+      }
+    }
+  }
+}
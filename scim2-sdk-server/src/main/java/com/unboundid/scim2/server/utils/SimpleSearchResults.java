@@ -39,6 +39,7 @@ import com.unboundid.scim2.common.annotations.NotNull;
 import com.unboundid.scim2.common.annotations.Nullable;
 import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.exceptions.ServerErrorException;
 import com.unboundid.scim2.common.filters.Filter;
 import com.unboundid.scim2.common.messages.SortOrder;
 import com.unboundid.scim2.server.ListResponseStreamingOutput;
@@ -46,9 +47,9 @@ import com.unboundid.scim2.server.ListResponseWriter;
 
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.UriInfo;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import static com.unboundid.scim2.common.utils.ApiConstants.*;
@@ -57,12 +58,21 @@ import static com.unboundid.scim2.common.utils.ApiConstants.*;
  * A utility ListResponseStreamingOutput that will filter, sort, and paginate
  * the search results for simple search implementations that always returns the
  * entire result set.
+ * <p>
+ * By default, cursor-based pagination uses page numbers as cursor values,
+ * which is not suitable for production use. When a {@link CursorCodec} is
+ * provided, signed keyset cursors are used instead. Each page then resumes
+ * after the sort value and ID of the last resource returned, so results are
+ * neither skipped nor repeated when resources are added or removed between
+ * pages. Results are sorted by ID after the sortBy attribute, if any. If a
+ * {@link CursorSnapshotStore} is also provided, resources without an ID are
+ * supported by saving the result set when the first page is returned.
  */
 public class SimpleSearchResults<T extends ScimResource>
     extends ListResponseStreamingOutput<T>
 {
   @NotNull
-  private final List<ScimResource> resources;
+  private final ArrayList<ScimResource> resources;
 
   @Nullable
   private final Filter filter;
@@ -88,6 +98,27 @@ public class SimpleSearchResults<T extends ScimResource>
   @NotNull
   private final ResourcePreparer<ScimResource> responsePreparer;
 
+  @Nullable
+  private final CursorCodec cursorCodec;
+
+  @Nullable
+  private final CursorSnapshotStore snapshotStore;
+
+  // Whether cursor-based pagination with the cursor codec was requested.
+  private final boolean cursorRequested;
+
+  // The search that issued cursors are bound to.
+  @NotNull
+  private final String cursorQuery;
+
+  // The position of the requested page, or null for the first page.
+  @Nullable
+  private final PageCursor pageCursor;
+
+  // The saved results when the requested page is in a snapshot.
+  @Nullable
+  private final List<ScimResource> snapshotResults;
+
   /**
    * Create a new SimpleSearchResults for results from a search operation.
    *
@@ -99,10 +130,35 @@ public class SimpleSearchResults<T extends ScimResource>
   public SimpleSearchResults(@NotNull final ResourceTypeDefinition resourceType,
                              @NotNull final UriInfo uriInfo)
       throws BadRequestException
+  {
+    this(resourceType, uriInfo, null, null);
+  }
+
+  /**
+   * Create a new SimpleSearchResults for results from a search operation that
+   * uses keyset cursors for cursor-based pagination.
+   *
+   * @param resourceType The resource type definition of result resources.
+   * @param uriInfo The UriInfo from the search operation.
+   * @param cursorCodec The codec used to issue and verify cursors, or
+   *                    {@code null} to use page numbers as cursors.
+   * @param snapshotStore The store used to save the results of searches that
+   *                      return resources without an ID, or {@code null} if
+   *                      every resource has an ID.
+   * @throws BadRequestException if the filter or paths in the search operation
+   * is invalid, or the cursor is invalid or has expired.
+   */
+  public SimpleSearchResults(@NotNull final ResourceTypeDefinition resourceType,
+                             @NotNull final UriInfo uriInfo,
+                             @Nullable final CursorCodec cursorCodec,
+                             @Nullable final CursorSnapshotStore snapshotStore)
+      throws BadRequestException
   {
     this.filterEvaluator = new SchemaAwareFilterEvaluator(resourceType);
     this.responsePreparer = new ResourcePreparer<>(resourceType, uriInfo);
-    this.resources = new LinkedList<>();
+    this.resources = new ArrayList<>();
+    this.cursorCodec = cursorCodec;
+    this.snapshotStore = snapshotStore;
 
     MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
     String filterString = queryParams.getFirst(QUERY_PARAMETER_FILTER);
@@ -128,6 +184,34 @@ public class SimpleSearchResults<T extends ScimResource>
           "SimpleSearchResults does not allow index and cursor"
               + " pagination in the same request.");
     }
+    this.cursorRequested = cursorCodec != null &&
+        queryParams.containsKey(QUERY_PARAMETER_PAGE_CURSOR);
+    this.cursorQuery = resourceType.getEndpoint() + '\n' + filterString +
+        '\n' + sortByString + '\n' + sortOrderString;
+    if (cursorRequested && nextCursorString != null &&
+        !EMPTY_CURSOR.equals(nextCursorString))
+    {
+      this.pageCursor = cursorCodec.decode(nextCursorString, cursorQuery);
+    }
+    else
+    {
+      this.pageCursor = null;
+    }
+    if (pageCursor != null && !pageCursor.isKeyset())
+    {
+      this.snapshotResults = snapshotStore == null ? null :
+          snapshotStore.get(pageCursor.getSnapshotId());
+      if (snapshotResults == null)
+      {
+        throw BadRequestException.expiredCursor(
+            "The cursor '" + nextCursorString + "' has expired");
+      }
+    }
+    else
+    {
+      this.snapshotResults = null;
+    }
+
     if (startIndexString != null)
     {
       // RFC 7644 3.4.2.4: A value less than 1 SHALL be interpreted as 1.
@@ -135,7 +219,13 @@ public class SimpleSearchResults<T extends ScimResource>
       startIndex = Math.max(i, 1);
       nextCursor = null;
     }
-    else if (queryParams.containsKey("cursor"))
+    else if (cursorRequested)
+    {
+      // Keyset cursors are issued when the page is written.
+      startIndex = null;
+      nextCursor = null;
+    }
+    else if (queryParams.containsKey(QUERY_PARAMETER_PAGE_CURSOR))
     {
       // SimpleSearchResults uses a page identifier of a numerical string, for
       // simplicity and for parity with index-based pagination behavior.
@@ -208,6 +298,12 @@ public class SimpleSearchResults<T extends ScimResource>
   public SimpleSearchResults<T> add(@NotNull final T resource)
       throws ScimException
   {
+    if (snapshotResults != null)
+    {
+      // The requested page is read from the saved results.
+      return this;
+    }
+
     // Convert to GenericScimResource
     GenericScimResource genericResource;
     if (resource instanceof GenericScimResource g)
@@ -226,6 +322,12 @@ public class SimpleSearchResults<T extends ScimResource>
     if (filter == null || filter.visit(filterEvaluator,
         genericResource.getObjectNode()))
     {
+      if (cursorRequested && snapshotStore == null &&
+          genericResource.getId() == null)
+      {
+        throw new ServerErrorException("Keyset cursors require every " +
+            "resource to have an ID unless a cursor snapshot store is used");
+      }
       resources.add(genericResource);
     }
 
@@ -258,6 +360,12 @@ public class SimpleSearchResults<T extends ScimResource>
   @SuppressWarnings("unchecked")
   public void write(@NotNull final ListResponseWriter<T> os)
   {
+    if (cursorRequested)
+    {
+      writeCursorPage(os, new KeysetPager(resourceComparator));
+      return;
+    }
+
     if (resourceComparator != null)
     {
       resources.sort(resourceComparator);
@@ -288,10 +396,110 @@ public class SimpleSearchResults<T extends ScimResource>
       // last result has not yet been returned.
       os.nextCursor(nextCursor);
     }
+    ResourceTrimmer trimmer = responsePreparer.getRetrievedResourceTrimmer();
     for (ScimResource resource : resultsToReturn)
     {
-      os.resource((T) responsePreparer.trimRetrievedResource(resource));
+      // The meta attributes were already set when the resource was added.
+      os.resource((T) resource, trimmer);
+    }
+  }
+
+  /**
+   * Writes the requested page of results for cursor-based pagination with
+   * the cursor codec.
+   *
+   * @param os The list response writer.
+   * @param keysetPager The keyset pager for the sort order.
+   */
+  @SuppressWarnings("unchecked")
+  private void writeCursorPage(@NotNull final ListResponseWriter<T> os,
+                               @NotNull final KeysetPager keysetPager)
+  {
+    List<ScimResource> results;
+    int fromIndex;
+    String snapshotId = null;
+    boolean saveSnapshot = false;
+    if (snapshotResults != null)
+    {
+      results = snapshotResults;
+      fromIndex = Math.min(pageCursor.getOffset(), results.size());
+      snapshotId = pageCursor.getSnapshotId();
+    }
+    else if (hasKeysetForm())
+    {
+      resources.sort(keysetPager);
+      results = resources;
+      fromIndex = pageCursor == null ? 0 :
+          keysetPager.indexAfter(resources, pageCursor);
+    }
+    else
+    {
+      if (resourceComparator != null)
+      {
+        resources.sort(resourceComparator);
+      }
+      results = resources;
+      fromIndex = 0;
+      saveSnapshot = true;
+    }
+
+    int toIndex = count == null ? results.size() :
+        (int) Math.min((long) fromIndex + count, results.size());
+    List<ScimResource> page = results.subList(fromIndex, toIndex);
+
+    os.totalResults(results.size());
+    if (count != null)
+    {
+      os.itemsPerPage(page.size());
+    }
+    if (!page.isEmpty() && toIndex < results.size())
+    {
+      // Add the nextCursor value when the last result has not yet been
+      // returned.
+      if (saveSnapshot)
+      {
+        snapshotId = snapshotStore.put(results);
+      }
+      ScimResource last = page.get(page.size() - 1);
+      PageCursor next = snapshotId != null ?
+          PageCursor.offset(snapshotId, toIndex) :
+          keysetPager.cursorAfter(last);
+      os.nextCursor(cursorCodec.encode(next, cursorQuery));
+    }
+    else if (snapshotId != null && toIndex >= results.size())
+    {
+      snapshotStore.remove(snapshotId);
+    }
+
+    ResourceTrimmer trimmer = responsePreparer.getRetrievedResourceTrimmer();
+    for (ScimResource resource : page)
+    {
+      // The meta attributes were already set when the resource was added.
+      os.resource((T) resource, trimmer);
+    }
+  }
+
+  /**
+   * Determines whether the results may be paged with keyset cursors, which
+   * requires every resource to have an ID.
+   *
+   * @return {@code true} if the results may be paged with keyset cursors.
+   */
+  private boolean hasKeysetForm()
+  {
+    if (snapshotStore == null)
+    {
+      // Resources without an ID are rejected when they are added.
+      return true;
+    }
+    for (ScimResource resource : resources)
+    {
+      if (resource.getId() == null)
+      {
+        return false;
+      }
     }
+    return true;
   }
 
   /**
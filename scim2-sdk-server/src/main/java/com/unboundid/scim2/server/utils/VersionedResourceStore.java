@@ -0,0 +1,904 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.annotations.NotNull;
+import com.unboundid.scim2.common.annotations.Nullable;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.server.SearchBackend;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory {@link SearchBackend} that keeps multiple versions of its
+ * resources, so that each search reads a consistent snapshot of the store
+ * while updates continue.
+ * <p>
+ * Every update creates a new version of the store, numbered from a counter,
+ * and the {@code meta.version} attribute of an added resource is set to a weak
+ * entity tag of that number. Searches never wait for updates: each search
+ * reads the resources as of the latest version when it starts. When a search
+ * requests cursor-based pagination and more pages remain, its version is
+ * retained as a snapshot, and the snapshot ID is included in the next cursor.
+ * Later pages are read from the same snapshot, so a client that walks all of
+ * the pages sees every resource that matched when the walk started, exactly
+ * once, even if resources are added, modified, or removed in the meantime.
+ * <p>
+ * Snapshots are released once their last page is returned. They are also
+ * evicted once the cursor timeout has passed since they were created, or
+ * when the maximum number of snapshots is reached, in which case the least
+ * recently used snapshots are evicted first. A client that requests a page of
+ * an evicted snapshot receives an {@code expiredCursor} error. The first page
+ * of a sorted search also retains the sorted matching resources with the
+ * snapshot, so that later pages are located in them by the sort value and ID
+ * of the cursor instead of matching and sorting the resources again.
+ * <p>
+ * Old versions of resources are discarded once no search or snapshot can read
+ * them. An update discards the old versions of the resource it updates, and
+ * resources whose old versions were still readable are discarded
+ * incrementally, as soon as the oldest version that a search or snapshot reads
+ * advances past them.
+ * <p>
+ * Resources are copied when they are added and when they are returned. This
+ * class is thread-safe. Updates are serialized with each other, but not with
+ * searches.
+ */
+public class VersionedResourceStore
+    implements SearchBackend<GenericScimResource>
+{
+  /**
+   * A version of a resource, linked to the previous version of the resource.
+   * A removed resource is represented by a version without a resource.
+   */
+  private static final class Revision
+  {
+    private final long version;
+
+    @Nullable
+    private final GenericScimResource resource;
+
+    @Nullable
+    private volatile Revision previous;
+
+    /**
+     * Create a new revision.
+     *
+     * @param version The version of the store that created the revision.
+     * @param resource The resource, or {@code null} if it was removed.
+     * @param previous The previous revision of the resource.
+     */
+    Revision(final long version,
+             @Nullable final GenericScimResource resource,
+             @Nullable final Revision previous)
+    {
+      this.version = version;
+      this.resource = resource;
+      this.previous = previous;
+    }
+  }
+
+  /**
+   * A version of the store retained for the next pages of a search.
+   *
+   * @param version The version of the store.
+   * @param totalResults The total number of results of the search.
+   * @param expiresAt The time when the snapshot expires, in milliseconds.
+   * @param sortedView The sorted results of the search, or {@code null} if
+   *                   the search is not sorted.
+   */
+  private record Snapshot(long version, int totalResults, long expiresAt,
+                          @Nullable SortedView sortedView)
+  {
+  }
+
+  /**
+   * The results of a sorted search, in the order of its keyset.
+   *
+   * @param resources The matching resources, ordered by the pager.
+   * @param pager The pager that ordered the resources.
+   * @param filter The filter of the search.
+   * @param sortBy The sortBy attribute of the search.
+   * @param sortOrder The sort order of the search.
+   */
+  private record SortedView(@NotNull List<GenericScimResource> resources,
+                            @NotNull KeysetPager pager,
+                            @Nullable Filter filter,
+                            @NotNull Path sortBy,
+                            @Nullable SortOrder sortOrder)
+  {
+    /**
+     * Determine whether the results are those of a search query.
+     *
+     * @param query The search query.
+     * @return {@code true} if the query has the same filter and sort.
+     */
+    boolean isFor(@NotNull final SearchQuery query)
+    {
+      return Objects.equals(filter, query.getFilter()) &&
+          sortBy.equals(query.getSortBy()) &&
+          Objects.equals(sortOrder, query.getSortOrder());
+    }
+
+    /**
+     * Read the page of the results that follows the cursor of a query.
+     *
+     * @param query The search query.
+     * @return The page of results.
+     */
+    @NotNull
+    SearchBackendResults<GenericScimResource> page(
+        @NotNull final SearchQuery query)
+    {
+      PageCursor cursor = query.getPageCursor();
+      int fromIndex = cursor == null ? 0 : pager.indexAfter(resources, cursor);
+      int toIndex = query.getCount() == null ? resources.size() :
+          (int) Math.min((long) fromIndex + query.getCount(), resources.size());
+      List<GenericScimResource> page = new ArrayList<>(toIndex - fromIndex);
+      for (GenericScimResource resource : resources.subList(fromIndex, toIndex))
+      {
+        page.add(InMemorySearchBackend.copy(resource));
+      }
+      PageCursor nextCursor = !page.isEmpty() && toIndex < resources.size() ?
+          pager.cursorAfter(page.get(page.size() - 1)) : null;
+      return new SearchBackendResults<>(page, resources.size(), nextCursor);
+    }
+  }
+
+  /**
+   * A resource whose old revisions were still readable when it was updated.
+   *
+   * @param version The version of the store that updated the resource.
+   * @param id The ID of the resource.
+   */
+  private record RetainedRevision(long version, @NotNull String id)
+  {
+  }
+
+  @NotNull
+  private static final Set<Capability> CAPABILITIES =
+      Collections.unmodifiableSet(EnumSet.allOf(Capability.class));
+
+  @NotNull
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  @NotNull
+  private final ResourceTypeDefinition resourceType;
+
+  @NotNull
+  private final SchemaAwareFilterEvaluator filterEvaluator;
+
+  @Nullable
+  private final Integer cursorTimeout;
+
+  @NotNull
+  private final Clock clock;
+
+  // The latest revision of each resource, by ID.
+  @NotNull
+  private final ConcurrentSkipListMap<String, Revision> revisions =
+      new ConcurrentSkipListMap<>();
+
+  // The number of searches and snapshots reading each version.
+  @NotNull
+  private final ConcurrentSkipListMap<Long, Integer> readers =
+      new ConcurrentSkipListMap<>();
+
+  // The resources to prune once no search reads the versions before their
+  // update, in version order. Only modified while holding the update lock.
+  @NotNull
+  private final Queue<RetainedRevision> retainedRevisions =
+      new ConcurrentLinkedQueue<>();
+
+  @NotNull
+  private final Map<String, Snapshot> snapshots;
+
+  @NotNull
+  private final ReentrantLock updateLock = new ReentrantLock();
+
+  // The latest version that searches may read.
+  private volatile long publishedVersion;
+
+  // The latest version that was published when old revisions were discarded.
+  // A search that starts reading an earlier version must start over.
+  private volatile long pruneHorizon;
+
+  private volatile int size;
+
+  /**
+   * Create a new, empty store.
+   *
+   * @param resourceType The resource type of the resources.
+   * @param maxSnapshots The maximum number of snapshots to retain for
+   *                     cursor-based pagination.
+   * @param cursorTimeout The number of seconds to retain a snapshot, or
+   *                      {@code null} to retain snapshots until they are
+   *                      evicted to make room for others.
+   */
+  public VersionedResourceStore(
+      @NotNull final ResourceTypeDefinition resourceType,
+      final int maxSnapshots,
+      @Nullable final Integer cursorTimeout)
+  {
+    this(resourceType, maxSnapshots, cursorTimeout, Clock.systemUTC());
+  }
+
+  /**
+   * Create a new, empty store that uses the provided clock.
+   *
+   * @param resourceType The resource type of the resources.
+   * @param maxSnapshots The maximum number of snapshots to retain.
+   * @param cursorTimeout The number of seconds to retain a snapshot.
+   * @param clock The clock used to expire snapshots.
+   */
+  VersionedResourceStore(@NotNull final ResourceTypeDefinition resourceType,
+                         final int maxSnapshots,
+                         @Nullable final Integer cursorTimeout,
+                         @NotNull final Clock clock)
+  {
+    if (maxSnapshots <= 0)
+    {
+      throw new IllegalArgumentException(
+          "The maximum number of snapshots must be greater than zero");
+    }
+    this.resourceType = resourceType;
+    this.filterEvaluator = new SchemaAwareFilterEvaluator(resourceType);
+    this.cursorTimeout = cursorTimeout;
+    this.clock = clock;
+    this.snapshots = new LinkedHashMap<>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(
+          @NotNull final Map.Entry<String, Snapshot> eldest)
+      {
+        if (size() > maxSnapshots)
+        {
+          release(eldest.getValue().version());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Add a resource, replacing any resource with the same ID. The
+   * {@code meta.resourceType} attribute is set to the name of the resource
+   * type so that it may be used in filters, and the {@code meta.version}
+   * attribute is set to the new version of the store.
+   *
+   * @param resource The resource to add. It must have an ID.
+   * @return A copy of the added resource.
+   * @throws BadRequestException If the resource does not have an ID.
+   */
+  @NotNull
+  public GenericScimResource put(@NotNull final ScimResource resource)
+      throws BadRequestException
+  {
+    GenericScimResource stored =
+        InMemorySearchBackend.storedCopy(resource, resourceType);
+    updateLock.lock();
+    try
+    {
+      long version = publishedVersion + 1;
+      ((ObjectNode) stored.getObjectNode().get("meta"))
+          .put("version", getVersionTag(version));
+      update(stored.getId(), new Revision(version, stored,
+          revisions.get(stored.getId())));
+      return InMemorySearchBackend.copy(stored);
+    }
+    finally
+    {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Remove a resource.
+   *
+   * @param id The ID of the resource to remove.
+   * @return {@code true} if the resource was removed.
+   */
+  public boolean remove(@NotNull final String id)
+  {
+    updateLock.lock();
+    try
+    {
+      Revision latest = revisions.get(id);
+      if (latest == null || latest.resource == null)
+      {
+        return false;
+      }
+      update(id, new Revision(publishedVersion + 1, null, latest));
+      return true;
+    }
+    finally
+    {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieve a copy of the latest version of a resource.
+   *
+   * @param id The ID of the resource.
+   * @return A copy of the resource, or {@code null} if there is no resource
+   * with the ID.
+   */
+  @Nullable
+  public GenericScimResource get(@NotNull final String id)
+  {
+    long version = acquire();
+    try
+    {
+      GenericScimResource resource = read(revisions.get(id), version);
+      return resource == null ? null : InMemorySearchBackend.copy(resource);
+    }
+    finally
+    {
+      release(version);
+    }
+  }
+
+  /**
+   * Retrieve the latest version of the store.
+   *
+   * @return The latest version of the store, which is zero for a store that
+   *         has not been updated.
+   */
+  public long getVersion()
+  {
+    return publishedVersion;
+  }
+
+  /**
+   * Retrieve the number of resources in the latest version of the store.
+   *
+   * @return The number of resources.
+   */
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Retrieve the number of snapshots retained for cursor-based pagination,
+   * including any that have expired but have not yet been evicted.
+   *
+   * @return The number of snapshots.
+   */
+  public int getSnapshotCount()
+  {
+    synchronized (snapshots)
+    {
+      return snapshots.size();
+    }
+  }
+
+  /**
+   * Retrieve the number of resources with revisions in the store, including
+   * removed resources whose removal may still be read by a search.
+   *
+   * @return The number of resources with revisions.
+   */
+  int getRevisionCount()
+  {
+    return revisions.size();
+  }
+
+  /**
+   * Retrieve the weak entity tag used as the {@code meta.version} of
+   * resources added in a version of the store.
+   *
+   * @param version The version of the store.
+   * @return The entity tag.
+   */
+  @NotNull
+  public static String getVersionTag(final long version)
+  {
+    return "W/\"" + version + "\"";
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public Set<Capability> getCapabilities()
+  {
+    return CAPABILITIES;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @NotNull
+  public SearchBackendResults<GenericScimResource> search(
+      @NotNull final SearchQuery query)
+      throws ScimException
+  {
+    evictExpiredSnapshots();
+    PageCursor cursor = query.getPageCursor();
+    if (query.isCursorRequested() && cursor != null &&
+        cursor.getSnapshotId() != null)
+    {
+      return searchSnapshot(query, cursor.getSnapshotId());
+    }
+
+    long version = acquire();
+    try
+    {
+      // The matching resources are sorted in place when the query is sorted.
+      List<GenericScimResource> matched = match(query, version);
+      SearchBackendResults<GenericScimResource> results =
+          InMemorySearchBackend.page(query, matched, true);
+      PageCursor nextCursor = results.getNextCursor();
+      if (nextCursor == null)
+      {
+        return results;
+      }
+
+      // Retain this version, and the sorted results, for the next pages.
+      SortedView sortedView = query.getSortBy() == null ? null :
+          new SortedView(Collections.unmodifiableList(matched),
+              new KeysetPager(new ResourceComparator<>(query.getSortBy(),
+                  query.getSortOrder(), query.getResourceType())),
+              query.getFilter(), query.getSortBy(), query.getSortOrder());
+      String snapshotId = createSnapshot(version, results.getTotalResults(),
+          sortedView);
+      return new SearchBackendResults<>(results.getResources(),
+          results.getTotalResults(), PageCursor.keyset(snapshotId,
+              nextCursor.getSortValue(), nextCursor.getId()));
+    }
+    finally
+    {
+      release(version);
+    }
+  }
+
+  /**
+   * Read the next page of a cursor-based search from a snapshot.
+   *
+   * @param query The search query.
+   * @param snapshotId The ID of the snapshot.
+   * @return The page of results.
+   * @throws ScimException If the snapshot has expired, or the filter cannot
+   *                       be evaluated.
+   */
+  @NotNull
+  private SearchBackendResults<GenericScimResource> searchSnapshot(
+      @NotNull final SearchQuery query,
+      @NotNull final String snapshotId)
+      throws ScimException
+  {
+    Snapshot snapshot;
+    synchronized (snapshots)
+    {
+      snapshot = snapshots.get(snapshotId);
+      if (snapshot == null)
+      {
+        throw BadRequestException.expiredCursor(
+            "The snapshot of the cursor has expired");
+      }
+      // Keep the version readable in case the snapshot is released by a
+      // concurrent request.
+      readers.merge(snapshot.version(), 1, Integer::sum);
+    }
+
+    SearchBackendResults<GenericScimResource> results;
+    try
+    {
+      SortedView sortedView = snapshot.sortedView();
+      if (query.getSortBy() == null)
+      {
+        results = seek(query, snapshot.version());
+      }
+      else if (sortedView != null && sortedView.isFor(query))
+      {
+        results = sortedView.page(query);
+      }
+      else
+      {
+        results = InMemorySearchBackend.page(
+            query, match(query, snapshot.version()), true);
+      }
+    }
+    finally
+    {
+      release(snapshot.version());
+    }
+
+    PageCursor nextCursor = results.getNextCursor();
+    if (nextCursor == null)
+    {
+      releaseSnapshot(snapshotId);
+    }
+    return new SearchBackendResults<>(results.getResources(),
+        snapshot.totalResults(), nextCursor == null ? null :
+        PageCursor.keyset(snapshotId, nextCursor.getSortValue(),
+            nextCursor.getId()));
+  }
+
+  /**
+   * Find the resources in a version of the store that match the filter of a
+   * query.
+   *
+   * @param query The search query.
+   * @param version The version of the store.
+   * @return The matching resources, in ID order.
+   * @throws ScimException If the filter cannot be evaluated.
+   */
+  @NotNull
+  private List<GenericScimResource> match(@NotNull final SearchQuery query,
+                                          final long version)
+      throws ScimException
+  {
+    Filter filter = query.getFilter();
+    List<GenericScimResource> matched = new ArrayList<>();
+    for (Revision latest : revisions.values())
+    {
+      GenericScimResource resource = read(latest, version);
+      if (resource != null && (filter == null ||
+          filter.visit(filterEvaluator, resource.getObjectNode())))
+      {
+        matched.add(resource);
+      }
+    }
+    return matched;
+  }
+
+  /**
+   * Read a page of a search in ID order, starting after the ID in the cursor,
+   * without reading the earlier resources.
+   *
+   * @param query The search query, which has a cursor.
+   * @param version The version of the store.
+   * @return The page of results, without the total number of results.
+   * @throws ScimException If the filter cannot be evaluated.
+   */
+  @NotNull
+  private SearchBackendResults<GenericScimResource> seek(
+      @NotNull final SearchQuery query,
+      final long version)
+      throws ScimException
+  {
+    Filter filter = query.getFilter();
+    PageCursor cursor = query.getPageCursor();
+    NavigableMap<String, Revision> tail =
+        cursor == null || cursor.getId() == null ? revisions :
+            revisions.tailMap(cursor.getId(), false);
+    int count = query.getCount() == null ? Integer.MAX_VALUE : query.getCount();
+
+    List<GenericScimResource> page = new ArrayList<>(Math.min(count, 64));
+    PageCursor nextCursor = null;
+    for (Revision latest : tail.values())
+    {
+      GenericScimResource resource = read(latest, version);
+      if (resource == null || (filter != null &&
+          !filter.visit(filterEvaluator, resource.getObjectNode())))
+      {
+        continue;
+      }
+      if (page.size() == count)
+      {
+        // There is at least one more resource after the page.
+        nextCursor = page.isEmpty() ? null : PageCursor.keyset(null, null,
+            page.get(page.size() - 1).getId());
+        break;
+      }
+      page.add(InMemorySearchBackend.copy(resource));
+    }
+    return new SearchBackendResults<>(page, null, nextCursor);
+  }
+
+  /**
+   * Read a resource as of a version of the store.
+   *
+   * @param latest The latest revision of the resource.
+   * @param version The version of the store.
+   * @return The resource, or {@code null} if it did not exist in the version.
+   */
+  @Nullable
+  private static GenericScimResource read(@Nullable final Revision latest,
+                                          final long version)
+  {
+    Revision revision = latest;
+    while (revision != null && revision.version > version)
+    {
+      revision = revision.previous;
+    }
+    return revision == null ? null : revision.resource;
+  }
+
+  /**
+   * Publish a new revision of a resource as the next version of the store.
+   * The caller must hold the update lock.
+   *
+   * @param id The ID of the resource.
+   * @param revision The new revision.
+   */
+  private void update(@NotNull final String id,
+                      @NotNull final Revision revision)
+  {
+    Revision previous = revisions.put(id, revision);
+    boolean existed = previous != null && previous.resource != null;
+    if (revision.resource == null)
+    {
+      size--;
+    }
+    else if (!existed)
+    {
+      size++;
+    }
+    publishedVersion = revision.version;
+    long oldest = getOldestReadableVersion();
+    prune(id, oldest);
+    if (revision.version > oldest &&
+        (revision.previous != null || revision.resource == null))
+    {
+      // A search still reads an earlier version of the resource.
+      retainedRevisions.add(new RetainedRevision(revision.version, id));
+    }
+    pruneRetained(oldest);
+  }
+
+  /**
+   * Retrieve the oldest version that a search or snapshot may read, and
+   * start over any search that has not yet registered an earlier version.
+   * The caller must hold the update lock.
+   *
+   * @return The oldest version that must remain readable.
+   */
+  private long getOldestReadableVersion()
+  {
+    long oldest = publishedVersion;
+    pruneHorizon = oldest;
+    Map.Entry<Long, Integer> oldestReader = readers.firstEntry();
+    return oldestReader == null ? oldest : Math.min(oldest, oldestReader.getKey());
+  }
+
+  /**
+   * Discard the revisions of a resource that cannot be read by any search.
+   * The caller must hold the update lock.
+   *
+   * @param id The ID of the resource.
+   * @param oldest The oldest version that must remain readable.
+   */
+  private void prune(@NotNull final String id, final long oldest)
+  {
+    Revision latest = revisions.get(id);
+    Revision revision = latest;
+    while (revision != null && revision.version > oldest)
+    {
+      revision = revision.previous;
+    }
+    if (revision != null)
+    {
+      revision.previous = null;
+      if (revision == latest && revision.resource == null)
+      {
+        revisions.remove(id, revision);
+      }
+    }
+  }
+
+  /**
+   * Discard the retained revisions of the resources that were updated in or
+   * before the oldest readable version. The caller must hold the update lock.
+   *
+   * @param oldest The oldest version that must remain readable.
+   */
+  private void pruneRetained(final long oldest)
+  {
+    RetainedRevision retained;
+    while ((retained = retainedRevisions.peek()) != null &&
+        retained.version() <= oldest)
+    {
+      retainedRevisions.poll();
+      prune(retained.id(), oldest);
+    }
+  }
+
+  /**
+   * Discard the retained revisions that can no longer be read by any search.
+   *
+   * @param wait Whether to wait for an update in progress. Otherwise, the
+   *             revisions are left for the next update or release.
+   */
+  private void pruneRetained(final boolean wait)
+  {
+    if (retainedRevisions.isEmpty())
+    {
+      return;
+    }
+    if (wait)
+    {
+      updateLock.lock();
+    }
+    else if (!updateLock.tryLock())
+    {
+      return;
+    }
+    try
+    {
+      pruneRetained(getOldestReadableVersion());
+    }
+    finally
+    {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Register a search of the latest version of the store, so that the
+   * revisions it reads are not discarded.
+   *
+   * @return The version of the store to read.
+   */
+  long acquire()
+  {
+    while (true)
+    {
+      long version = publishedVersion;
+      readers.merge(version, 1, Integer::sum);
+      if (pruneHorizon <= version)
+      {
+        return version;
+      }
+
+      // Revisions may have been discarded before the search was registered.
+      release(version);
+    }
+  }
+
+  /**
+   * Unregister a search or snapshot of a version of the store, and discard
+   * the revisions that only it could read.
+   *
+   * @param version The version of the store.
+   */
+  void release(final long version)
+  {
+    if (readers.computeIfPresent(version,
+        (v, count) -> count == 1 ? null : count - 1) == null)
+    {
+      // The oldest readable version may have advanced.
+      pruneRetained(false);
+    }
+  }
+
+  /**
+   * Retain a version of the store for the next pages of a search. The caller
+   * must have registered a search of the version.
+   *
+   * @param version The version of the store.
+   * @param totalResults The total number of results of the search.
+   * @param sortedView The sorted results of the search, or {@code null} if
+   *                   the search is not sorted.
+   * @return The snapshot ID.
+   */
+  @NotNull
+  private String createSnapshot(final long version,
+                                @Nullable final Integer totalResults,
+                                @Nullable final SortedView sortedView)
+  {
+    byte[] bytes = new byte[16];
+    RANDOM.nextBytes(bytes);
+    String snapshotId =
+        Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    long expiresAt = cursorTimeout == null ? Long.MAX_VALUE :
+        clock.millis() + cursorTimeout * 1000L;
+    readers.merge(version, 1, Integer::sum);
+    synchronized (snapshots)
+    {
+      snapshots.put(snapshotId, new Snapshot(version,
+          totalResults == null ? 0 : totalResults, expiresAt, sortedView));
+    }
+    return snapshotId;
+  }
+
+  /**
+   * Release a snapshot once its last page has been returned.
+   *
+   * @param snapshotId The snapshot ID.
+   */
+  private void releaseSnapshot(@NotNull final String snapshotId)
+  {
+    Snapshot snapshot;
+    synchronized (snapshots)
+    {
+      snapshot = snapshots.remove(snapshotId);
+    }
+    if (snapshot != null)
+    {
+      release(snapshot.version());
+      pruneRetained(true);
+    }
+  }
+
+  /**
+   * Evict the snapshots whose cursor timeout has passed.
+   */
+  private void evictExpiredSnapshots()
+  {
+    if (cursorTimeout == null)
+    {
+      return;
+    }
+    boolean evicted = false;
+    long now = clock.millis();
+    synchronized (snapshots)
+    {
+      Iterator<Snapshot> iterator = snapshots.values().iterator();
+      while (iterator.hasNext())
+      {
+        Snapshot snapshot = iterator.next();
+        if (now > snapshot.expiresAt())
+        {
+          iterator.remove();
+          release(snapshot.version());
+          evicted = true;
+        }
+      }
+    }
+    if (evicted)
+    {
+      pruneRetained(true);
+    }
+  }
+}
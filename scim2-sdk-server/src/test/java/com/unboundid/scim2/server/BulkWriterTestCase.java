@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.BulkWriter;
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.common.bulk.BulkOpType;
+import com.unboundid.scim2.common.bulk.BulkOperationResult;
+import com.unboundid.scim2.common.exceptions.ContentTooLargeException;
+import com.unboundid.scim2.common.messages.PatchOperation;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link BulkWriter}, which batches individual write operations
+ * into bulk requests according to the bulk limits of
+ * {@link TestServiceProviderConfigEndpoint}. The responses are defined in
+ * {@link BulkEndpoint#processBulkRequest}.
+ */
+public class BulkWriterTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(TestServiceProviderConfigEndpoint.class);
+    config.register(BulkEndpoint.class);
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Test the bulk writer, which batches individual write operations into bulk
+   * requests according to the bulk limits of {@link BulkEndpoint}.
+   */
+  @Test
+  public void testBulkWriter() throws Exception
+  {
+    ScimService scimService = new ScimService(target());
+    List<CompletableFuture<BulkOperationResult>> deletes = new ArrayList<>();
+    CompletableFuture<BulkOperationResult> create;
+    CompletableFuture<BulkOperationResult> replace;
+    CompletableFuture<BulkOperationResult> modify;
+    CompletableFuture<BulkOperationResult> tooLarge;
+
+    // The test service provider allows 1000 bytes per bulk request, so the
+    // operations are split across several requests.
+    try (BulkWriter writer = new BulkWriter(scimService))
+    {
+      create = writer.create("/Users",
+          new UserResource().setUserName("frieren"));
+      replace = writer.replace("/Users/fa1afe1",
+          new UserResource().setUserName("frieren"));
+      modify = writer.modify("/Users/fa1afe1",
+          List.of(PatchOperation.remove("nickName")));
+      for (int i = 0; i < 50; i++)
+      {
+        deletes.add(writer.delete("/Users/" + i));
+      }
+      tooLarge = writer.create("/Users",
+          new UserResource().setUserName("x".repeat(1000)));
+    }
+
+    assertThat(create.get(30, SECONDS).getStatus()).isEqualTo("201");
+    assertThat(replace.get(30, SECONDS).getMethod())
+        .isEqualTo(BulkOpType.PUT);
+    assertThat(modify.get(30, SECONDS).getMethod())
+        .isEqualTo(BulkOpType.PATCH);
+    for (int i = 0; i < deletes.size(); i++)
+    {
+      BulkOperationResult result = deletes.get(i).get(30, SECONDS);
+      assertThat(result.getStatus()).isEqualTo("204");
+      assertThat(result.getLocation()).endsWith("/Users/" + i);
+    }
+    assertThatThrownBy(() -> tooLarge.get(30, SECONDS))
+        .hasCauseInstanceOf(ContentTooLargeException.class);
+  }
+
+  /**
+   * Test that the dependent action of an operation may send another batch
+   * when only one batch may be in flight.
+   */
+  @Test(timeOut = 30_000L)
+  public void testBulkWriterDependentWrites() throws Exception
+  {
+    ScimService scimService = new ScimService(target());
+    try (BulkWriter writer = new BulkWriter(scimService,
+        scimService.getServiceProviderConfig().getBulk(), 10L, 1))
+    {
+      CompletableFuture<BulkOperationResult> delete = writer.create("/Users",
+          new UserResource().setUserName("frieren")).thenCompose(created -> {
+            CompletableFuture<BulkOperationResult> result =
+                writer.delete("/Users/fa1afe1");
+            writer.flush();
+            return result;
+          });
+      assertThat(delete.get(30, SECONDS).getStatus()).isEqualTo("204");
+    }
+  }
+}
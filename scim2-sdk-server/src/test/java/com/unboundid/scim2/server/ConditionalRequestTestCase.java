@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.ConditionalRequestFilter;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import static com.unboundid.scim2.common.utils.ApiConstants.MEDIA_TYPE_SCIM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test coverage for the {@link ConditionalRequestFilter}.
+ */
+public class ConditionalRequestTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  // The header of requests from a client that may not use the cache.
+  private static final String UNCACHED_CLIENT = "X-Uncached-Client";
+
+  private final VersionedUserEndpoint endpoint = new VersionedUserEndpoint();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createObjectMapper()));
+    config.register(new ConditionalRequestFilter()
+    {
+      @Override
+      protected boolean isCacheAllowed(
+          final ContainerRequestContext requestContext)
+      {
+        return requestContext.getHeaderString(UNCACHED_CLIENT) == null;
+      }
+    });
+    config.register(endpoint);
+    return config;
+  }
+
+  /**
+   * Reset the store before each test.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeMethod
+  public void resetStore() throws Exception
+  {
+    endpoint.reset();
+  }
+
+  /**
+   * Ensures that a retrieval of an unchanged resource is answered with a
+   * 304 response without invoking the endpoint.
+   */
+  @Test
+  public void testIfNoneMatch()
+  {
+    Response response = target("Users/u1").request(MEDIA_TYPE_SCIM).get();
+    assertThat(response.getStatus()).isEqualTo(200);
+    String etag = response.getHeaderString(HttpHeaders.ETAG);
+    assertThat(etag).isEqualTo("W/\"1\"");
+
+    int invocations = endpoint.getInvocationCount();
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+    assertThat(response.getStatus()).isEqualTo(304);
+    assertThat(response.hasEntity()).isFalse();
+    assertThat(endpoint.getInvocationCount()).isEqualTo(invocations);
+
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_NONE_MATCH, "W/\"0\"").get();
+    assertThat(response.getStatus()).isEqualTo(200);
+  }
+
+  /**
+   * Ensures that requests that may not use the cache are passed to the
+   * endpoint, so that the endpoint can authorize them.
+   */
+  @Test
+  public void testCacheNotAllowed()
+  {
+    Response response = target("Users/u1").request(MEDIA_TYPE_SCIM).get();
+    String etag = response.getHeaderString(HttpHeaders.ETAG);
+
+    int invocations = endpoint.getInvocationCount();
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(UNCACHED_CLIENT, "true")
+        .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+    assertThat(response.getStatus()).isEqualTo(304);
+    assertThat(endpoint.getInvocationCount()).isEqualTo(invocations + 1);
+
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(UNCACHED_CLIENT, "true")
+        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+        .delete();
+    assertThat(endpoint.getInvocationCount()).isEqualTo(invocations + 2);
+  }
+
+  /**
+   * Ensures that a modification with an outdated version is rejected without
+   * invoking the endpoint.
+   */
+  @Test
+  public void testIfMatch()
+  {
+    Response response = target("Users/u1").request(MEDIA_TYPE_SCIM).get();
+    String etag = response.getHeaderString(HttpHeaders.ETAG);
+    GenericScimResource user = response.readEntity(GenericScimResource.class);
+
+    int invocations = endpoint.getInvocationCount();
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+        .put(Entity.entity(user, MEDIA_TYPE_SCIM));
+    assertThat(response.getStatus()).isEqualTo(412);
+    assertThat(endpoint.getInvocationCount()).isEqualTo(invocations);
+
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_MATCH, etag)
+        .put(Entity.entity(user, MEDIA_TYPE_SCIM));
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeaderString(HttpHeaders.ETAG))
+        .isEqualTo("W/\"2\"");
+
+    // The cached version follows the modification.
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+    assertThat(response.getStatus()).isEqualTo(200);
+
+    // A modification without a response body discards the cached version.
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .post(Entity.text("Babs"));
+    assertThat(response.getStatus()).isEqualTo(204);
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_NONE_MATCH, "W/\"2\"").get();
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeaderString(HttpHeaders.ETAG))
+        .isEqualTo("W/\"3\"");
+
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM).delete();
+    assertThat(response.getStatus()).isEqualTo(204);
+    response = target("Users/u1").request(MEDIA_TYPE_SCIM)
+        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\"").get();
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.DiscoveryCache;
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.types.AttributeDefinition;
+import com.unboundid.scim2.common.types.EnterpriseUserExtension;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.types.ResourceTypeResource;
+import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.types.ServiceProviderConfigResource;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import com.unboundid.scim2.server.resources.ResourceTypesEndpoint;
+import com.unboundid.scim2.server.resources.SchemasEndpoint;
+import com.unboundid.scim2.server.utils.ResourceTypeDefinition;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link DiscoveryCache} of a {@link ScimService}.
+ */
+public class DiscoveryCacheTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  private SchemaResource userSchema;
+  private SchemaResource enterpriseSchema;
+  private ResourceTypeResource resourceType;
+  private ResourceTypeResource singletonResourceType;
+  private ServiceProviderConfigResource serviceProviderConfig;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(BulkEndpoint.class);
+    config.register(ResourceTypesEndpoint.class);
+    config.register(CustomContentEndpoint.class);
+    config.register(SchemasEndpoint.class);
+    config.register(TestServiceProviderConfigEndpoint.class);
+    config.register(TestResourceEndpoint.class);
+    config.register(new TestSingletonResourceEndpoint());
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @BeforeClass
+  @Override
+  public void setUp() throws Exception
+  {
+    super.setUp();
+
+    userSchema = SchemaUtils.getSchema(UserResource.class);
+    setMeta(SchemasEndpoint.class, userSchema);
+
+    enterpriseSchema = SchemaUtils.getSchema(EnterpriseUserExtension.class);
+    setMeta(SchemasEndpoint.class, enterpriseSchema);
+
+    resourceType = new ResourceTypeResource("User", "User Account",
+        new URI("/Users"), new URI(userSchema.getId()));
+    setMeta(ResourceTypesEndpoint.class, resourceType);
+
+    singletonResourceType = new ResourceTypeResource(
+        "Singleton User", "Singleton User", "Singleton User Account",
+        new URI("/SingletonUsers"), new URI(userSchema.getId()),
+        Collections.singletonList(new ResourceTypeResource.SchemaExtension(
+            new URI(enterpriseSchema.getId()), true)));
+    setMeta(ResourceTypesEndpoint.class, singletonResourceType);
+
+    serviceProviderConfig = TestServiceProviderConfigEndpoint.create();
+    setMeta(TestServiceProviderConfigEndpoint.class, serviceProviderConfig);
+  }
+
+  /**
+   * Test that the discovery cache answers the discovery methods of the client
+   * and provides the attribute definitions of each resource type.
+   */
+  @Test
+  public void testDiscoveryCache() throws ScimException
+  {
+    ScimService service = new ScimService(target());
+    try (DiscoveryCache cache = service.enableDiscoveryCache(0))
+    {
+      assertThat(service.getDiscoveryCache()).isSameAs(cache);
+      assertThat(service.getServiceProviderConfig())
+          .isEqualTo(serviceProviderConfig);
+      assertThat(service.getResourceTypes().getTotalResults()).isEqualTo(4);
+      assertThat(service.getResourceType("user")).isEqualTo(resourceType);
+      assertThat(service.getSchemas()).contains(userSchema, enterpriseSchema);
+      assertThat(cache.getSchema(userSchema.getId())).isEqualTo(userSchema);
+      assertThat(cache.getResourceType("Unknown")).isNull();
+
+      AttributeDefinition userName = cache.getAttributeDefinition("User",
+          Path.fromString("userName"));
+      assertThat(userName).isNotNull();
+      assertThat(userName.getType())
+          .isEqualTo(AttributeDefinition.Type.STRING);
+      assertThat(cache.getAttributeDefinition("User",
+          Path.fromString(userSchema.getId() + ":name.givenName")))
+          .isNotNull()
+          .extracting(AttributeDefinition::getName)
+          .isEqualTo("givenName");
+      assertThat(cache.getAttributeDefinition("User",
+          Path.fromString("meta.lastModified")))
+          .isNotNull()
+          .extracting(AttributeDefinition::getType)
+          .isEqualTo(AttributeDefinition.Type.DATETIME);
+
+      // Extension attributes are only defined for the resource types that
+      // have the extension.
+      Path employeeNumber = Path.root(EnterpriseUserExtension.class)
+          .attribute("employeeNumber");
+      assertThat(cache.getAttributeDefinition("Singleton User",
+          employeeNumber)).isNotNull();
+      assertThat(cache.getAttributeDefinition("User", employeeNumber))
+          .isNull();
+      assertThat(cache.getAttributeDefinition("User",
+          Path.fromString("undefined"))).isNull();
+
+      // A refresh requests the discovery endpoints again, but keeps the
+      // cached information when none of it has changed.
+      ServiceProviderConfigResource config = cache.getServiceProviderConfig();
+      cache.refresh();
+      assertThat(cache.getRefreshFailure()).isNull();
+      assertThat(cache.getServiceProviderConfig()).isSameAs(config);
+      assertThat(cache.getResourceType("Singleton User"))
+          .isEqualTo(singletonResourceType);
+    }
+  }
+
+  /**
+   * Set the meta attribute that the service provider returns with a
+   * discovery resource.
+   *
+   * @param resourceClass The endpoint that returns the resource.
+   * @param scimResource The resource.
+   */
+  private void setMeta(final Class<?> resourceClass,
+                       final ScimResource scimResource)
+  {
+    var definition = ResourceTypeDefinition.fromJaxRsResource(resourceClass);
+    final ResourceTypeResource resourceType = definition.toScimResource();
+
+    String p = resourceType.getEndpoint().getPath();
+    final UriBuilder locationBuilder = UriBuilder.fromUri(getBaseUri()).path(p);
+    if (scimResource.getId() != null)
+    {
+      locationBuilder.path(scimResource.getId());
+    }
+
+    Meta meta = Objects.requireNonNullElse(scimResource.getMeta(), new Meta());
+    meta.setLocation(locationBuilder.build())
+        .setResourceType(resourceType.getName());
+    scimResource.setMeta(meta);
+  }
+}
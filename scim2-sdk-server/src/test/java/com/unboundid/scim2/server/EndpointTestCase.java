@@ -32,6 +32,7 @@
 
 package com.unboundid.scim2.server;
 
+import com.unboundid.scim2.client.BulkResponseHandler;
 import com.unboundid.scim2.client.ScimInterface;
 import com.unboundid.scim2.client.ScimService;
 import com.unboundid.scim2.client.ScimServiceException;
@@ -102,8 +103,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import static com.unboundid.scim2.common.utils.ApiConstants.MEDIA_TYPE_SCIM;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -459,6 +462,54 @@ public class EndpointTestCase extends JerseyTestNg.ContainerPerClassTest
     assertThat(emptyLResults.getResources()).hasSize(0);
   }
 
+  /**
+   * Test cursor-based pagination with keyset cursors. The response is defined
+   * in {@link TestResourceEndpoint#searchWithKeysetCursors}.
+   */
+  @Test
+  public void testGetUsersWithKeysetCursors() throws ScimException
+  {
+    final ScimService service = new ScimService(target());
+
+    // Walk through every page, sorted by userName.
+    List<String> userNames = new ArrayList<>();
+    ListResponse<UserResource> page =
+        service.searchRequest("/Users/WithKeysetCursors")
+            .sort("userName", SortOrder.ASCENDING)
+            .firstPageCursorWithCount(3)
+            .invoke(UserResource.class);
+    assertThat(page.getTotalResults()).isEqualTo(4);
+    assertThat(page.getItemsPerPage()).isEqualTo(3);
+    assertThat(page.getNextCursor()).isNotNull().isNotEqualTo("2");
+    page.forEach(u -> userNames.add(u.getUserName()));
+
+    String cursor = page.getNextCursor();
+    page = service.searchRequest("/Users/WithKeysetCursors")
+        .sort("userName", SortOrder.ASCENDING)
+        .pageWithCursor(cursor, 3)
+        .invoke(UserResource.class);
+    assertThat(page.getItemsPerPage()).isEqualTo(1);
+    assertThat(page.getNextCursor()).isNull();
+    page.forEach(u -> userNames.add(u.getUserName()));
+    assertThat(userNames).containsExactly("Fern", "Frieren", "Sein", "Stark");
+
+    // A cursor may not be used with a different sort order.
+    assertThatThrownBy(() ->
+        service.searchRequest("/Users/WithKeysetCursors")
+            .sort("userName", SortOrder.DESCENDING)
+            .pageWithCursor(cursor, 3)
+            .invoke(UserResource.class))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("is not valid for this request");
+
+    // A cursor that was not issued by the server is rejected.
+    assertThatThrownBy(() ->
+        service.searchRequest("/Users/WithKeysetCursors")
+            .pageWithCursor("2", 3)
+            .invoke(UserResource.class))
+        .isInstanceOf(BadRequestException.class);
+  }
+
   /**
    * Test a resource endpoint implementation registered as a class. The response
    * is defined in {@link TestResourceEndpoint#searchOneResult}.
@@ -679,6 +730,50 @@ public class EndpointTestCase extends JerseyTestNg.ContainerPerClassTest
     assertThat(updatedUser.getDisplayName()).isEqualTo("Bob");
   }
 
+  /**
+   * Test the asynchronous request builder methods, including the mapping of
+   * error responses to the same exceptions as the blocking methods.
+   */
+  @Test
+  public void testAsyncRequests() throws Exception
+  {
+    ScimService scimService = new ScimService(target());
+
+    UserResource newUser = new UserResource().setUserName("asyncUser");
+    UserResource createdUser = scimService.createRequest("SingletonUsers",
+        newUser).invokeAsync().toCompletableFuture().get(30, SECONDS);
+    assertThat(createdUser.getId()).isNotNull();
+
+    UserResource retrievedUser = scimService.retrieveRequest("SingletonUsers",
+        createdUser.getId()).invokeAsync(UserResource.class)
+        .toCompletableFuture().get(30, SECONDS);
+    assertThat(retrievedUser).isEqualTo(createdUser);
+
+    createdUser.setDisplayName("Async");
+    UserResource replacedUser = scimService.replaceRequest(createdUser)
+        .invokeAsync().toCompletableFuture().get(30, SECONDS);
+    assertThat(replacedUser.getDisplayName()).isEqualTo("Async");
+
+    ListResponse<UserResource> results = scimService
+        .searchRequest("SingletonUsers")
+        .filter(Filter.eq("userName", "asyncUser"))
+        .invokeAsync(UserResource.class)
+        .toCompletableFuture().get(30, SECONDS);
+    assertThat(results.getTotalResults()).isEqualTo(1);
+
+    scimService.deleteRequest(createdUser).invokeAsync()
+        .toCompletableFuture().get(30, SECONDS);
+
+    // An error response should fail the stage with the same exception that
+    // the blocking call throws.
+    var missing = scimService.retrieveRequest("SingletonUsers",
+        createdUser.getId()).invokeAsync(UserResource.class)
+        .toCompletableFuture();
+    assertThatThrownBy(() -> missing.get(30, SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(ResourceNotFoundException.class);
+  }
+
   /**
    * Test patch operation.
    */
@@ -1482,6 +1577,97 @@ public class EndpointTestCase extends JerseyTestNg.ContainerPerClassTest
   }
 
 
+  /**
+   * Test reading a bulk response incrementally with a
+   * {@link BulkResponseHandler}. The JSON response is defined in
+   * {@link BulkEndpoint#testBulkRequest}.
+   */
+  @Test
+  public void testBulkResponseHandler() throws Exception
+  {
+    final ScimService service = new ScimService(target());
+    final BulkResponse expected =
+        service.bulkRequest("/Bulk/testBulkRequest").invoke();
+
+    // Each result should be identical to the result in the full response.
+    List<BulkOperationResult> results = new ArrayList<>();
+    service.bulkRequest("/Bulk/testBulkRequest").invoke(results::add);
+    assertThat(results).isEqualTo(expected.getOperations());
+
+    // Skip the responses.
+    results.clear();
+    service.bulkRequest("/Bulk/testBulkRequest").invoke(results::add, false);
+    assertThat(results).hasSize(4);
+    assertThat(results).allMatch(result -> result.getResponse() == null);
+    assertThat(results).extracting(BulkOperationResult::getStatus)
+        .containsExactly("201", "200", "404", "200");
+
+    // Stop processing after the first result.
+    results.clear();
+    service.bulkRequest("/Bulk/testBulkRequest").invoke(result -> {
+      results.add(result);
+      return false;
+    });
+    assertThat(results).hasSize(1);
+
+    // An error response is converted to an exception.
+    assertThatThrownBy(() -> service.bulkRequest("/Bulk/BulkError")
+        .invoke(results::add))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+
+  /**
+   * Tests the {@code keepAttributes} option of search requests, which skips
+   * the attributes that are not kept while the search results are parsed.
+   *
+   * @throws Exception  If an unexpected error occurs.
+   */
+  @Test
+  public void testSearchKeepAttributes() throws Exception
+  {
+    final ScimService service = new ScimService(target());
+
+    ListResponse<UserResource> users =
+        service.searchRequest("/Users/WithFourResults")
+            .page(1, 2)
+            .sort("id", SortOrder.ASCENDING)
+            .keepAttributes("id")
+            .invoke(UserResource.class);
+    assertThat(users.getTotalResults()).isEqualTo(4);
+    assertThat(users.getItemsPerPage()).isEqualTo(2);
+    assertThat(users).extracting(UserResource::getId)
+        .containsExactly("286080c5", "69d17c9d");
+    assertThat(users).allMatch(user -> user.getUserName() == null);
+
+    // Attribute names are case-insensitive, and every other attribute of a
+    // generic resource is skipped.
+    ListResponse<GenericScimResource> generic =
+        service.searchRequest("/Users/WithFourResults")
+            .keepAttributes("USERNAME")
+            .invoke(GenericScimResource.class);
+    assertThat(generic.getResources()).hasSize(4);
+    for (GenericScimResource resource : generic)
+    {
+      assertThat(resource.getObjectNode().propertyNames())
+          .allMatch(name -> Set.of("schemas", "id", "userName", "meta")
+              .contains(name));
+      assertThat(resource.getStringValue("userName")).isNotNull();
+    }
+
+    // Clearing the attributes keeps every attribute.
+    users = service.searchRequest("/Users/WithFourResults")
+        .keepAttributes("id")
+        .keepAttributes()
+        .invoke(UserResource.class);
+    assertThat(users).allMatch(user -> user.getUserName() != null);
+
+    assertThatThrownBy(() ->
+        service.searchRequest("/Users").keepAttributes("emails["))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+
   private void setMeta(Class<?> resourceClass, ScimResource scimResource)
   {
     var definition = ResourceTypeDefinition.fromJaxRsResource(resourceClass);
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.LoadBalancedScimService;
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.common.exceptions.ResourceNotFoundException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import com.unboundid.scim2.server.resources.ResourceTypesEndpoint;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Application;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link LoadBalancedScimService}, with a replica that cannot
+ * be reached and a replica that is served by this test.
+ */
+public class LoadBalancedScimServiceTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(ResourceTypesEndpoint.class);
+    config.register(TestResourceEndpoint.class);
+    config.register(new TestSingletonResourceEndpoint());
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Test that a {@link LoadBalancedScimService} ejects a replica that cannot
+   * be reached, sends requests to the remaining replicas, and sends requests
+   * for a retrieved resource to the replica that it was retrieved from.
+   */
+  @Test
+  public void testLoadBalancedScimService() throws ScimException
+  {
+    ScimService unreachable =
+        new ScimService(client().target("http://localhost:1/v2"));
+    ScimService live = new ScimService(target());
+    LoadBalancedScimService balancer = new LoadBalancedScimService(
+        LoadBalancedScimService.Strategy.EWMA_LATENCY,
+        List.of(unreachable, live))
+        .ejection(1, 60_000L)
+        .readYourWrites(10_000L);
+    assertThat(balancer.getHealthyReplicas()).hasSize(2);
+
+    // Writes are pinned to the first replica, so this write fails, and the
+    // replica is ejected.
+    assertThatThrownBy(() -> balancer.create("SingletonUsers",
+        new UserResource().setUserName("balancedUser")))
+        .isInstanceOf(ProcessingException.class);
+    assertThat(balancer.getHealthyReplicas())
+        .containsExactly(live.getBaseUri());
+
+    UserResource created = balancer.create("SingletonUsers",
+        new UserResource().setUserName("balancedUser"));
+    UserResource retrieved = balancer.retrieve("SingletonUsers",
+        created.getId(), UserResource.class);
+    assertThat(retrieved).isEqualTo(created);
+    for (int i = 0; i < 5; i++)
+    {
+      assertThat(balancer.getResourceTypes().getTotalResults()).isEqualTo(2);
+    }
+
+    // Requests for a retrieved resource follow its location.
+    retrieved.setDisplayName("Balanced User");
+    UserResource replaced = balancer.replace(retrieved);
+    assertThat(replaced.getDisplayName()).isEqualTo("Balanced User");
+    balancer.delete(replaced);
+    assertThatThrownBy(() -> balancer.retrieve("SingletonUsers",
+        created.getId(), UserResource.class))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.PartitionedExport;
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.client.requests.ListResponseBuilder;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link PartitionedExport} client. The responses are defined
+ * in {@link TestResourceEndpoint#searchFourResults}.
+ */
+public class PartitionedExportTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(TestResourceEndpoint.class);
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Test a partitioned export that merges concurrent searches into a single
+   * result handler.
+   */
+  @Test
+  public void testPartitionedExport() throws ScimException
+  {
+    final ScimService service = new ScimService(target());
+    PartitionedExport export = new PartitionedExport(service,
+        "/Users/WithFourResults", PartitionedExport.idPrefixPartitions())
+        .parallelism(4)
+        .pageSize(1)
+        .sort("id", SortOrder.ASCENDING);
+
+    ListResponseBuilder<UserResource> handler = new ListResponseBuilder<>();
+    assertThat(export.invoke(handler, UserResource.class)).isEqualTo(4);
+    assertThat(handler.build().getResources())
+        .extracting(UserResource::getUserName)
+        .containsExactlyInAnyOrder("Frieren", "Fern", "Stark", "Sein");
+    assertThat(handler.build().getTotalResults()).isEqualTo(4);
+
+    List<PartitionedExport.PartitionProgress> progress = export.getProgress();
+    assertThat(progress).hasSize(16);
+    assertThat(progress).allMatch(p ->
+        p.getState() == PartitionedExport.PartitionState.COMPLETE);
+    assertThat(progress.get(2).getResourcesExported()).isEqualTo(1);
+    assertThat(progress.get(11).getResourcesExported()).isEqualTo(1);
+    assertThat(progress.get(0).getResourcesExported()).isEqualTo(0);
+    assertThat(progress.stream()
+        .mapToLong(PartitionedExport.PartitionProgress::getResourcesExported)
+        .sum()).isEqualTo(4);
+
+    // Stopping the handler stops the export.
+    ListResponseBuilder<UserResource> stoppingHandler =
+        new ListResponseBuilder<>()
+        {
+          @Override
+          public boolean resource(final UserResource scimResource)
+          {
+            super.resource(scimResource);
+            return false;
+          }
+        };
+    assertThat(export.invoke(stoppingHandler, UserResource.class))
+        .isEqualTo(1);
+  }
+}
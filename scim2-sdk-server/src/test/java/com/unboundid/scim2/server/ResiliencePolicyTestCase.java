@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.client.ScimServiceException;
+import com.unboundid.scim2.client.requests.ResiliencePolicy;
+import com.unboundid.scim2.common.exceptions.RateLimitException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.exceptions.ServerErrorException;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link ResiliencePolicy} of a {@link ScimService}. The
+ * failures are simulated by the {@link ThrottledEndpoint}.
+ */
+public class ResiliencePolicyTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(ThrottledEndpoint.class);
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Test that a {@link ResiliencePolicy} retries requests that fail with a
+   * retryable status, honors idempotency, and opens the circuit breaker after
+   * consecutive failures.
+   */
+  @Test
+  public void testResiliencePolicy() throws Exception
+  {
+    ResiliencePolicy policy = new ResiliencePolicy()
+        .retry(3, 1L, 100L)
+        .circuitBreaker(0, 0L);
+    ScimService service = new ScimService(target(), policy);
+    assertThat(service.getResiliencePolicy()).isSameAs(policy);
+    assertThat(new ScimService(target()).getResiliencePolicy()).isNull();
+
+    // A GET request that is throttled twice succeeds on the third attempt.
+    UserResource user = service.retrieveRequest("Throttled", "get429")
+        .queryParam("failures", 2)
+        .queryParam("status", 429)
+        .queryParam("retryAfter", 0)
+        .invoke(UserResource.class);
+    assertThat(user.getUserName()).isEqualTo("get429");
+    assertThat(ThrottledEndpoint.getRequestCount("get429")).isEqualTo(3);
+
+    // The last response is reported when all attempts fail.
+    assertThatThrownBy(() -> service.retrieveRequest("Throttled", "always429")
+        .queryParam("failures", 10)
+        .queryParam("status", 429)
+        .invoke(UserResource.class))
+        .isInstanceOf(RateLimitException.class);
+    assertThat(ThrottledEndpoint.getRequestCount("always429")).isEqualTo(3);
+
+    // A Retry-After delay that exceeds the maximum backoff is not waited for.
+    assertThatThrownBy(() -> service.retrieveRequest("Throttled", "longWait")
+        .queryParam("failures", 10)
+        .queryParam("status", 503)
+        .queryParam("retryAfter", 3600)
+        .invoke(UserResource.class))
+        .isInstanceOf(ScimException.class);
+    assertThat(ThrottledEndpoint.getRequestCount("longWait")).isEqualTo(1);
+
+    // Asynchronous requests are retried as well.
+    user = service.retrieveRequest("Throttled", "async502")
+        .queryParam("failures", 1)
+        .queryParam("status", 502)
+        .invokeAsync(UserResource.class)
+        .toCompletableFuture().get(10, SECONDS);
+    assertThat(user.getUserName()).isEqualTo("async502");
+    assertThat(ThrottledEndpoint.getRequestCount("async502")).isEqualTo(2);
+
+    // A POST request is not retried after a 503 response, unless it has an
+    // idempotency key.
+    assertThatThrownBy(() -> service.createRequest("Throttled",
+            new UserResource().setUserName("post503"))
+        .queryParam("failures", 1)
+        .queryParam("status", 503)
+        .invoke())
+        .isInstanceOf(ScimException.class);
+    assertThat(ThrottledEndpoint.getRequestCount("post503")).isEqualTo(1);
+
+    user = service.createRequest("Throttled",
+            new UserResource().setUserName("idempotent503"))
+        .queryParam("failures", 1)
+        .queryParam("status", 503)
+        .header(ResiliencePolicy.DEFAULT_IDEMPOTENCY_KEY_HEADER, "key-1")
+        .invoke();
+    assertThat(user.getUserName()).isEqualTo("idempotent503");
+    assertThat(ThrottledEndpoint.getRequestCount("idempotent503"))
+        .isEqualTo(2);
+
+    // A POST request that was throttled was not processed, so it is retried.
+    user = service.createRequest("Throttled",
+            new UserResource().setUserName("post429"))
+        .queryParam("failures", 1)
+        .queryParam("status", 429)
+        .invoke();
+    assertThat(user.getUserName()).isEqualTo("post429");
+    assertThat(ThrottledEndpoint.getRequestCount("post429")).isEqualTo(2);
+
+    // The circuit opens after two consecutive server errors, after which
+    // requests fail without reaching the service provider.
+    ResiliencePolicy breaker = new ResiliencePolicy()
+        .retry(1, 0L, 0L)
+        .circuitBreaker(2, 60_000L);
+    ScimService breakerService = new ScimService(target(), breaker);
+    for (int i = 0; i < 2; i++)
+    {
+      assertThatThrownBy(() -> breakerService
+          .retrieveRequest("Throttled", "broken")
+          .queryParam("failures", 10)
+          .queryParam("status", 500)
+          .invoke(UserResource.class))
+          .isInstanceOf(ServerErrorException.class);
+    }
+    assertThat(breaker.getCircuitState(getBaseUri()))
+        .isEqualTo(ResiliencePolicy.CircuitState.OPEN);
+    assertThatThrownBy(() -> breakerService
+        .retrieveRequest("Throttled", "broken")
+        .invoke(UserResource.class))
+        .isInstanceOf(ScimServiceException.class)
+        .hasMessageContaining("circuit breaker");
+    assertThat(ThrottledEndpoint.getRequestCount("broken")).isEqualTo(2);
+
+    // A request is not retried once its failures open the circuit, and the
+    // last response is reported rather than the open circuit.
+    ResiliencePolicy tripping = new ResiliencePolicy()
+        .retry(5, 1L, 10L)
+        .circuitBreaker(2, 60_000L);
+    ScimService trippingService = new ScimService(target(), tripping);
+    assertThatThrownBy(() -> trippingService
+        .retrieveRequest("Throttled", "tripping")
+        .queryParam("failures", 10)
+        .queryParam("status", 503)
+        .invoke(UserResource.class))
+        .isInstanceOf(ScimException.class)
+        .hasMessageContaining("Simulated failure 2 of 10");
+    assertThat(ThrottledEndpoint.getRequestCount("tripping")).isEqualTo(2);
+    assertThat(tripping.getCircuitState(getBaseUri()))
+        .isEqualTo(ResiliencePolicy.CircuitState.OPEN);
+
+    // The rate limiter spaces out requests beyond the burst size.
+    ResiliencePolicy limiter = new ResiliencePolicy().rateLimit(20.0, 1);
+    ScimService limitedService = new ScimService(target(), limiter);
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++)
+    {
+      limitedService.retrieve("Throttled", "limited", UserResource.class);
+    }
+    assertThat(System.nanoTime() - start)
+        .isGreaterThanOrEqualTo(MILLISECONDS.toNanos(150));
+  }
+}
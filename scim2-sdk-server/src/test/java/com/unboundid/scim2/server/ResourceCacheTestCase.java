@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.client.requests.ResourceCache;
+import com.unboundid.scim2.common.exceptions.ResourceNotFoundException;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.ConditionalRequestFilter;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the client {@link ResourceCache}, against a service provider that
+ * answers conditional requests with the {@link ConditionalRequestFilter}.
+ */
+public class ResourceCacheTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  private final VersionedUserEndpoint endpoint = new VersionedUserEndpoint();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createObjectMapper()));
+    config.register(ConditionalRequestFilter.class);
+    config.register(endpoint);
+    return config;
+  }
+
+  /**
+   * Reset the store before each test.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeMethod
+  public void resetStore() throws Exception
+  {
+    endpoint.reset();
+  }
+
+  /**
+   * Ensures that a client with a {@link ResourceCache} revalidates cached
+   * resources with conditional requests, and discards them when they are
+   * replaced or deleted through the same client.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testClientResourceCache() throws Exception
+  {
+    ResourceCache cache = new ResourceCache();
+    ScimService service =
+        new ScimService(target().property(ResourceCache.PROPERTY, cache));
+
+    UserResource user = service.retrieve("Users", "u1", UserResource.class);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+
+    // The second retrieval is answered from the cache after a 304 response.
+    int invocations = endpoint.getInvocationCount();
+    UserResource cached = service.retrieve("Users", "u1", UserResource.class);
+    assertThat(cached).isEqualTo(user).isNotSameAs(user);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(endpoint.getInvocationCount()).isEqualTo(invocations);
+
+    cached = service.retrieveRequest("Users", "u1")
+        .invokeAsync(UserResource.class)
+        .toCompletableFuture().get(10, TimeUnit.SECONDS);
+    assertThat(cached).isEqualTo(user);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+
+    // Different attribute sets are cached separately.
+    service.retrieveRequest("Users", "u1")
+        .attributes("userName")
+        .invoke(UserResource.class);
+    assertThat(cache.size()).isEqualTo(2);
+
+    // A replacement discards all cached copies of the resource.
+    user.setDisplayName("Babs");
+    service.replaceRequest(URI.create("Users/u1"), user).invoke();
+    assertThat(cache.size()).isZero();
+    cached = service.retrieve("Users", "u1", UserResource.class);
+    assertThat(cached.getDisplayName()).isEqualTo("Babs");
+    assertThat(cache.getMissCount()).isEqualTo(3);
+
+    // So does a deletion.
+    service.delete("Users", "u1");
+    assertThat(cache.size()).isZero();
+    assertThatThrownBy(() ->
+        service.retrieve("Users", "u1", UserResource.class))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.client.ScimSyncClient;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.DateTimeUtils;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.Application;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link ScimSyncClient}, which synchronizes the users of the
+ * {@link TestSingletonResourceEndpoint}.
+ */
+public class ScimSyncClientTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(new TestSingletonResourceEndpoint());
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Tests the {@link ScimSyncClient}. Changes are reported once, and the
+   * watermark advances to the newest change that was handled.
+   *
+   * @throws Exception  If an unexpected error occurs.
+   */
+  @Test
+  public void testScimSyncClient() throws Exception
+  {
+    final ScimService service = new ScimService(target());
+    final long now = System.currentTimeMillis() / 1000L * 1000L;
+    List<UserResource> users = new ArrayList<>();
+    for (int i = 0; i < 3; i++)
+    {
+      Meta meta = new Meta();
+      meta.setCreated(DateTimeUtils.parse(now + i * 1000L));
+      meta.setLastModified(DateTimeUtils.parse(now + i * 1000L));
+      UserResource user = new UserResource().setUserName("syncUser" + i);
+      user.setMeta(meta);
+      users.add(service.create("SingletonUsers", user));
+    }
+
+    ScimSyncClient sync =
+        new ScimSyncClient(service, ScimSyncClient.inMemoryStore())
+            .filter(Filter.sw("userName", "syncUser"))
+            .pageSize(2);
+    List<String> changes = new ArrayList<>();
+    ScimSyncClient.ChangeHandler<UserResource> handler = (type, user) ->
+        changes.add(type + " " + user.getUserName());
+
+    assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+        .isEqualTo(3);
+    assertThat(changes).containsExactly("CREATED syncUser0",
+        "CREATED syncUser1", "CREATED syncUser2");
+    assertThat(sync.getWatermark("SingletonUsers").getLastModified())
+        .isEqualTo(new Date(now + 2000L));
+
+    // Nothing has changed since the last synchronization.
+    changes.clear();
+    assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+        .isEqualTo(0);
+
+    UserResource modified = users.get(0);
+    modified.getMeta().setLastModified(DateTimeUtils.parse(now + 3000L));
+    service.replace(modified.setDisplayName("Synced User"));
+    assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+        .isEqualTo(1);
+    assertThat(changes).containsExactly("MODIFIED syncUser0");
+
+    // After a reset, every resource is reported again.
+    changes.clear();
+    sync.reset("SingletonUsers");
+    assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+        .isEqualTo(3);
+    for (UserResource user : users)
+    {
+      service.delete(user);
+    }
+  }
+
+  /**
+   * Tests that the {@link ScimSyncClient} reports resources that share a
+   * timestamp across a page boundary exactly once, both with cursors and with
+   * searches that restart at the latest timestamp of every page.
+   *
+   * @throws Exception  If an unexpected error occurs.
+   */
+  @Test
+  public void testScimSyncClientSharedTimestamps() throws Exception
+  {
+    final ScimService service = new ScimService(target());
+    final long now = System.currentTimeMillis() / 1000L * 1000L;
+    List<UserResource> users = new ArrayList<>();
+    // With two results per page, the second timestamp spans three pages.
+    long[] times = { now, now + 1000L, now + 1000L, now + 1000L, now + 2000L };
+    for (int i = 0; i < times.length; i++)
+    {
+      users.add(createSyncUser(service, "sharedUser" + i, times[i]));
+    }
+
+    for (boolean useCursors : new boolean[] { true, false })
+    {
+      ScimSyncClient sync =
+          new ScimSyncClient(service, ScimSyncClient.inMemoryStore())
+              .filter(Filter.sw("userName", "sharedUser"))
+              .pageSize(2)
+              .useCursors(useCursors);
+      List<String> changes = new ArrayList<>();
+      ScimSyncClient.ChangeHandler<UserResource> handler = (type, user) ->
+          changes.add(type + " " + user.getUserName());
+
+      assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+          .isEqualTo(5);
+      assertThat(changes).containsExactlyInAnyOrder("CREATED sharedUser0",
+          "CREATED sharedUser1", "CREATED sharedUser2", "CREATED sharedUser3",
+          "CREATED sharedUser4");
+      assertThat(sync.getWatermark("SingletonUsers").getLastModified())
+          .isEqualTo(new Date(now + 2000L));
+
+      // A resource that is created at the time of the watermark is reported,
+      // but the resource already handled at that time is not.
+      changes.clear();
+      UserResource late = createSyncUser(service, "sharedUser5", now + 2000L);
+      assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+          .isEqualTo(1);
+      assertThat(changes).containsExactly("CREATED sharedUser5");
+      service.delete(late);
+
+      changes.clear();
+      assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+          .isEqualTo(0);
+    }
+
+    for (UserResource user : users)
+    {
+      service.delete(user);
+    }
+  }
+
+  /**
+   * Tests a {@link ScimSyncClient} with an overlap and a file watermark store,
+   * and a handler that stops the synchronization in the middle of a page.
+   *
+   * @throws Exception  If an unexpected error occurs.
+   */
+  @Test
+  public void testScimSyncClientOverlap() throws Exception
+  {
+    final ScimService service = new ScimService(target());
+    final long now = System.currentTimeMillis() / 1000L * 1000L;
+    java.nio.file.Path directory = Files.createTempDirectory("scim-sync");
+    java.nio.file.Path file = directory.resolve("watermarks.json");
+    List<UserResource> users = new ArrayList<>();
+    for (int i = 0; i < 3; i++)
+    {
+      users.add(createSyncUser(service, "overlapUser" + i, now + i * 1000L));
+    }
+
+    try
+    {
+      for (boolean useCursors : new boolean[] { true, false })
+      {
+        Files.deleteIfExists(file);
+        ScimSyncClient sync =
+            new ScimSyncClient(service, ScimSyncClient.fileStore(file))
+                .filter(Filter.sw("userName", "overlapUser"))
+                .pageSize(2)
+                .overlap(5000L)
+                .useCursors(useCursors);
+        List<String> changes = new ArrayList<>();
+
+        // The handler stops the synchronization after the second resource,
+        // which is the last one of the first page.
+        assertThat(sync.sync("SingletonUsers", UserResource.class,
+            (type, user) -> changes.add(user.getUserName()) &&
+                !user.getUserName().equals("overlapUser1")))
+            .isEqualTo(2);
+        assertThat(changes).containsExactly("overlapUser0", "overlapUser1");
+
+        // The watermark is read back from the file by a new client.
+        ScimSyncClient.Watermark watermark =
+            new ScimSyncClient(service, ScimSyncClient.fileStore(file))
+                .filter(Filter.sw("userName", "overlapUser"))
+                .getWatermark("SingletonUsers");
+        assertThat(watermark).isNotNull();
+        assertThat(watermark.getLastModified())
+            .isEqualTo(new Date(now + 1000L));
+        assertThat(watermark.getRecent()).containsOnly(
+            Map.entry(users.get(0).getId(), now),
+            Map.entry(users.get(1).getId(), now + 1000L));
+        ScimSyncClient.Watermark parsed =
+            ScimSyncClient.Watermark.fromJson(watermark.toJson());
+        assertThat(parsed.getLastModified())
+            .isEqualTo(watermark.getLastModified());
+        assertThat(parsed.getRecent()).isEqualTo(watermark.getRecent());
+
+        // The resources in the overlap were already handled.
+        changes.clear();
+        ScimSyncClient.ChangeHandler<UserResource> handler = (type, user) ->
+            changes.add(type + " " + user.getUserName());
+        assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+            .isEqualTo(1);
+        assertThat(changes).containsExactly("CREATED overlapUser2");
+
+        // A change that becomes visible after the watermark has passed its
+        // timestamp is found in the overlap.
+        changes.clear();
+        UserResource late = createSyncUser(service, "overlapUser3", now + 500L);
+        assertThat(sync.sync("SingletonUsers", UserResource.class, handler))
+            .isEqualTo(1);
+        assertThat(changes).containsExactly("CREATED overlapUser3");
+        assertThat(sync.getWatermark("SingletonUsers").getLastModified())
+            .isEqualTo(new Date(now + 2000L));
+        service.delete(late);
+
+        assertThatThrownBy(() -> ScimSyncClient.Watermark.fromJson(
+            JsonUtils.getJsonNodeFactory().objectNode()))
+            .isInstanceOf(IllegalArgumentException.class);
+      }
+    }
+    finally
+    {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(directory);
+      for (UserResource user : users)
+      {
+        service.delete(user);
+      }
+    }
+  }
+
+  /**
+   * Creates a user for the {@link ScimSyncClient} tests.
+   *
+   * @param service  The SCIM service.
+   * @param userName  The user name.
+   * @param time  The creation and modification time of the user.
+   * @return The created user.
+   * @throws ScimException  If the user could not be created.
+   */
+  private UserResource createSyncUser(final ScimService service,
+                                      final String userName,
+                                      final long time)
+      throws ScimException
+  {
+    Meta meta = new Meta();
+    meta.setCreated(DateTimeUtils.parse(time));
+    meta.setLastModified(DateTimeUtils.parse(time));
+    UserResource user = new UserResource().setUserName(userName);
+    user.setMeta(meta);
+    return service.create("SingletonUsers", user);
+  }
+}
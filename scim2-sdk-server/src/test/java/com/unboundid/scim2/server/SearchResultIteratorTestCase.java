@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.client.ScimService;
+import com.unboundid.scim2.client.requests.SearchResultIterator;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.server.providers.DefaultContentTypeFilter;
+import com.unboundid.scim2.server.providers.JacksonExceptionMapper;
+import com.unboundid.scim2.server.providers.RuntimeExceptionMapper;
+import com.unboundid.scim2.server.providers.ScimExceptionMapper;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTestNg;
+import org.testng.annotations.Test;
+import tools.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Application;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link SearchResultIterator} of the search request builder.
+ * The responses are defined in {@link TestResourceEndpoint}.
+ */
+public class SearchResultIteratorTestCase
+    extends JerseyTestNg.ContainerPerClassTest
+{
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Application configure()
+  {
+    ResourceConfig config = new ResourceConfig();
+    config.register(ScimExceptionMapper.class);
+    config.register(RuntimeExceptionMapper.class);
+    config.register(JacksonExceptionMapper.class);
+    config.register(new JacksonJsonProvider(JsonUtils.createJsonMapper()));
+    config.register(DefaultContentTypeFilter.class);
+    config.register(TestResourceEndpoint.class);
+    return config;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configureClient(final ClientConfig config)
+  {
+    config.connectorProvider(new Apache5ConnectorProvider());
+  }
+
+  /**
+   * Test the auto-paging iterator and stream of the search request builder
+   * with index-based and cursor-based pagination.
+   */
+  @Test
+  public void testSearchResultIterator()
+  {
+    final ScimService service = new ScimService(target());
+
+    // Index-based pagination, one result per page, prefetching two pages.
+    List<String> ids = new ArrayList<>();
+    try (SearchResultIterator<UserResource> iterator =
+             service.searchRequest("/Users/WithFourResults")
+                 .sort("id", SortOrder.ASCENDING)
+                 .page(1, 1)
+                 .prefetch(2)
+                 .iterator(UserResource.class))
+    {
+      iterator.forEachRemaining(u -> ids.add(u.getId()));
+    }
+    assertThat(ids).hasSize(4).isSorted().doesNotHaveDuplicates();
+
+    // Cursor-based pagination without prefetching.
+    try (Stream<UserResource> users =
+             service.searchRequest("/Users/WithKeysetCursors")
+                 .sort("userName", SortOrder.ASCENDING)
+                 .firstPageCursorWithCount(3)
+                 .prefetch(0)
+                 .stream(UserResource.class))
+    {
+      assertThat(users.map(UserResource::getUserName))
+          .containsExactly("Fern", "Frieren", "Sein", "Stark");
+    }
+
+    // Closing the iterator early stops the iteration.
+    SearchResultIterator<UserResource> iterator =
+        service.searchRequest("/Users/WithKeysetCursors")
+            .firstPageCursorWithCount(1)
+            .iterator(UserResource.class);
+    assertThat(iterator.next()).isNotNull();
+    iterator.close();
+    assertThat(iterator.hasNext()).isFalse();
+
+    // Errors are reported with the SCIM exception as the cause.
+    try (Stream<UserResource> users =
+             service.searchRequest("/Users/WithKeysetCursors")
+                 .pageWithCursor("2", 3)
+                 .stream(UserResource.class))
+    {
+      assertThatThrownBy(users::count)
+          .isInstanceOf(ProcessingException.class)
+          .hasCauseInstanceOf(BadRequestException.class);
+    }
+  }
+}
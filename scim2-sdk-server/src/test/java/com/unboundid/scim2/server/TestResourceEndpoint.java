@@ -37,6 +37,7 @@ import com.unboundid.scim2.common.exceptions.ResourceNotFoundException;
 import com.unboundid.scim2.common.exceptions.ScimException;
 import com.unboundid.scim2.common.types.UserResource;
 import com.unboundid.scim2.server.annotations.ResourceType;
+import com.unboundid.scim2.server.utils.CursorCodec;
 import com.unboundid.scim2.server.utils.ResourcePreparer;
 import com.unboundid.scim2.server.utils.ResourceTypeDefinition;
 import com.unboundid.scim2.server.utils.SimpleSearchResults;
@@ -50,6 +51,7 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import static com.unboundid.scim2.common.utils.ApiConstants.MEDIA_TYPE_SCIM;
@@ -71,6 +73,9 @@ public class TestResourceEndpoint
       Objects.requireNonNull(
           ResourceTypeDefinition.fromJaxRsResource(TestResourceEndpoint.class));
 
+  private static final CursorCodec CURSOR_CODEC = new CursorCodec(
+      "TestResourceEndpointKey".getBytes(StandardCharsets.UTF_8), 3600);
+
   /**
    * This method will simply return a poorly formated SCIM exception and
    * error response code.
@@ -158,6 +163,30 @@ public class TestResourceEndpoint
     return results;
   }
 
+  /**
+   * Equivalent to {@link #searchFourResults}, with keyset cursors used for
+   * cursor-based pagination.
+   *
+   * @param uriInfo   The UriInfo.
+   * @return          A SimpleSearchResults object with four resources.
+   * @throws ScimException if an error occurs.
+   */
+  @GET
+  @Path("/WithKeysetCursors")
+  @Produces({MEDIA_TYPE_SCIM, MediaType.APPLICATION_JSON})
+  public SimpleSearchResults<UserResource> searchWithKeysetCursors(
+      @Context final UriInfo uriInfo) throws ScimException
+  {
+    SimpleSearchResults<UserResource> results = new SimpleSearchResults<>(
+        RESOURCE_TYPE_DEFINITION, uriInfo, CURSOR_CODEC, null);
+    results.add(newUserWithId("69d17c9d").setUserName("Frieren"));
+    results.add(newUserWithId("286080c5").setUserName("Fern"));
+    results.add(newUserWithId("7b847d9f").setUserName("Stark"));
+    results.add(newUserWithId("bb3c36c2").setUserName("Sein"));
+
+    return results;
+  }
+
   /**
    * Test SCIM retrieve by ID.
    *
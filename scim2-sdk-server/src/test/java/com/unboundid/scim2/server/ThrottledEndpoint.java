@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.messages.ErrorResponse;
+import com.unboundid.scim2.common.types.UserResource;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.unboundid.scim2.common.utils.ApiConstants.MEDIA_TYPE_SCIM;
+
+/**
+ * A test endpoint that fails a number of requests for a key before it
+ * succeeds. This is used to test the client's resilience policy.
+ */
+@Path("/Throttled")
+public class ThrottledEndpoint
+{
+  private static final Map<String, AtomicInteger> REQUESTS =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Returns the number of requests received for a key.
+   *
+   * @param key The key.
+   * @return The number of requests.
+   */
+  static int getRequestCount(String key)
+  {
+    AtomicInteger count = REQUESTS.get(key);
+    return (count == null) ? 0 : count.get();
+  }
+
+  /**
+   * Responds with an error for the first requests for a key, and with a user
+   * resource afterward.
+   *
+   * @param key The key that identifies the requests.
+   * @param failures The number of requests that fail.
+   * @param status The HTTP status of the failed requests.
+   * @param retryAfter The Retry-After header of the failed requests, if any.
+   * @return The response.
+   */
+  @GET
+  @Path("{key}")
+  @Produces({MEDIA_TYPE_SCIM})
+  public Response get(@PathParam("key") String key,
+                      @QueryParam("failures") int failures,
+                      @QueryParam("status") int status,
+                      @QueryParam("retryAfter") String retryAfter)
+  {
+    return respond(key, failures, status, retryAfter);
+  }
+
+  /**
+   * Responds with an error for the first requests for a key, and with a user
+   * resource afterward.
+   *
+   * @param user The user resource, whose userName is the key that
+   *             identifies the requests.
+   * @param failures The number of requests that fail.
+   * @param status The HTTP status of the failed requests.
+   * @return The response.
+   */
+  @POST
+  @Produces({MEDIA_TYPE_SCIM})
+  public Response post(UserResource user,
+                       @QueryParam("failures") int failures,
+                       @QueryParam("status") int status)
+  {
+    return respond(user.getUserName(), failures, status, null);
+  }
+
+  private static Response respond(String key, int failures, int status,
+                                  String retryAfter)
+  {
+    int count = REQUESTS.computeIfAbsent(key, k -> new AtomicInteger())
+        .incrementAndGet();
+    if (count <= failures)
+    {
+      ErrorResponse error = new ErrorResponse(status);
+      error.setDetail("Simulated failure " + count + " of " + failures);
+      return Response.status(status)
+          .header(HttpHeaders.RETRY_AFTER, retryAfter)
+          .entity(error)
+          .build();
+    }
+    return Response.ok(new UserResource().setUserName(key)).build();
+  }
+}
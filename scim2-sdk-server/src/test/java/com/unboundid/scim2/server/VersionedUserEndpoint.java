@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.exceptions.ResourceNotFoundException;
+import com.unboundid.scim2.common.exceptions.ScimException;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.server.utils.ResourceTypeDefinition;
+import com.unboundid.scim2.server.utils.VersionedResourceStore;
+
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An endpoint for users that are held in a {@link VersionedResourceStore},
+ * which counts the requests that reach it.
+ */
+@Path("Users")
+public class VersionedUserEndpoint
+{
+  private final AtomicInteger invocations = new AtomicInteger();
+
+  private volatile VersionedResourceStore store;
+
+  /**
+   * Replace the store with a new store that holds a single user with the ID
+   * {@code u1}.
+   *
+   * @throws Exception If an error occurs.
+   */
+  void reset() throws Exception
+  {
+    VersionedResourceStore newStore = new VersionedResourceStore(
+        new ResourceTypeDefinition.Builder("User", "Users")
+            .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+            .build(), 10, 60);
+    UserResource user = new UserResource().setUserName("bjensen");
+    user.setId("u1");
+    newStore.put(user);
+    store = newStore;
+  }
+
+  /**
+   * Retrieve the number of requests that reached this endpoint.
+   *
+   * @return The number of requests.
+   */
+  int getInvocationCount()
+  {
+    return invocations.get();
+  }
+
+  /**
+   * Retrieve a user.
+   *
+   * @param id The ID of the user.
+   * @return The user.
+   * @throws ScimException If the user does not exist.
+   */
+  @GET
+  @Path("{id}")
+  public GenericScimResource get(@PathParam("id") final String id)
+      throws ScimException
+  {
+    invocations.incrementAndGet();
+    GenericScimResource user = store.get(id);
+    if (user == null)
+    {
+      throw new ResourceNotFoundException("No user " + id);
+    }
+    return user;
+  }
+
+  /**
+   * Replace a user.
+   *
+   * @param id The ID of the user.
+   * @param user The new user.
+   * @return The user.
+   * @throws ScimException If the user is not valid.
+   */
+  @PUT
+  @Path("{id}")
+  public GenericScimResource put(@PathParam("id") final String id,
+                                 final GenericScimResource user)
+      throws ScimException
+  {
+    invocations.incrementAndGet();
+    user.setId(id);
+    return store.put(user);
+  }
+
+  /**
+   * Modify a user without returning it.
+   *
+   * @param id The ID of the user.
+   * @param displayName The new display name of the user.
+   * @throws ScimException If the user does not exist.
+   */
+  @POST
+  @Path("{id}")
+  public void rename(@PathParam("id") final String id,
+                     final String displayName)
+      throws ScimException
+  {
+    invocations.incrementAndGet();
+    GenericScimResource user = get(id);
+    user.replaceValue("displayName", displayName);
+    store.put(user);
+  }
+
+  /**
+   * Delete a user.
+   *
+   * @param id The ID of the user.
+   */
+  @DELETE
+  @Path("{id}")
+  public void delete(@PathParam("id") final String id)
+  {
+    invocations.incrementAndGet();
+    store.remove(id);
+  }
+}
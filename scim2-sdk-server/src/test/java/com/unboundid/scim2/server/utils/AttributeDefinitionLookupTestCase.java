@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.types.EnterpriseUserExtension;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test coverage for attribute definition lookups through the
+ * {@link CompiledSchema} of a resource type.
+ */
+public class AttributeDefinitionLookupTestCase
+{
+  private static final String CORE_URN =
+      "urn:ietf:params:scim:schemas:core:2.0:User";
+
+  private static final String EXTENSION_URN =
+      "urn:ietf:params:scim:schemas:extension:enterprise:2.0:User";
+
+  private ResourceTypeDefinition resourceType;
+
+  /**
+   * Create the resource type definition used by the tests.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    resourceType = new ResourceTypeDefinition.Builder("User", "Users")
+        .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+        .addOptionalSchemaExtension(
+            SchemaUtils.getSchema(EnterpriseUserExtension.class))
+        .build();
+  }
+
+  /**
+   * Ensures that core, common, and extended attributes are found regardless
+   * of case, schema URN, and value filters.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testPathLookup() throws Exception
+  {
+    assertThat(resourceType.getAttributeDefinition(Path.fromString("userName"))
+        .getName()).isEqualTo("userName");
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString("USERNAME")).getName()).isEqualTo("userName");
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString(CORE_URN.toUpperCase() + ":name.givenName"))
+        .getName()).isEqualTo("givenName");
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString("meta.lastModified")).getName())
+        .isEqualTo("lastModified");
+    assertThat(resourceType.getAttributeDefinition(
+        Path.root().attribute("emails", Filter.eq("type", "work"))
+            .attribute("value")).getName()).isEqualTo("value");
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString(EXTENSION_URN + ":manager.displayName")).getName())
+        .isEqualTo("displayName");
+
+    // Undefined attributes, schemas, and the root path have no definition.
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString("undefined"))).isNull();
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString("name.undefined"))).isNull();
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString(EXTENSION_URN + ":userName"))).isNull();
+    assertThat(resourceType.getAttributeDefinition(
+        Path.fromString("urn:undefined:userName"))).isNull();
+    assertThat(resourceType.getAttributeDefinition(Path.root())).isNull();
+    assertThat(resourceType.getAttributeDefinition(
+        Path.root(EXTENSION_URN))).isNull();
+  }
+
+  /**
+   * Ensures that definitions may be found by a sequence of attribute names
+   * or by a beginning portion of a path.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testSegmentLookup() throws Exception
+  {
+    assertThat(resourceType.getAttributeDefinition(null, "name", "FAMILYNAME")
+        .getName()).isEqualTo("familyName");
+    assertThat(resourceType.getAttributeDefinition(CORE_URN, "emails")
+        .getName()).isEqualTo("emails");
+    assertThat(resourceType.getAttributeDefinition(EXTENSION_URN,
+        "employeeNumber").getName()).isEqualTo("employeeNumber");
+    assertThat(resourceType.getAttributeDefinition((String) null)).isNull();
+    assertThat(resourceType.getAttributeDefinition(EXTENSION_URN,
+        "undefined")).isNull();
+
+    Path path = Path.fromString("name.givenName");
+    assertThat(resourceType.getAttributeDefinition(path, 1).getName())
+        .isEqualTo("name");
+    assertThat(resourceType.getAttributeDefinition(path, 2).getName())
+        .isEqualTo("givenName");
+    assertThat(resourceType.getAttributeDefinition(path, 0)).isNull();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.ScimResource;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.types.UserResource;
+import org.testng.annotations.Test;
+import tools.jackson.databind.node.StringNode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test coverage for the {@link CursorCodec} and {@link CursorSnapshotStore}
+ * classes.
+ */
+public class CursorCodecTestCase
+{
+  private static final byte[] KEY =
+      "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+  /**
+   * Ensures that cursors are decoded to the position they were encoded with.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testRoundTrip() throws Exception
+  {
+    CursorCodec codec = new CursorCodec(KEY, 60, CLOCK);
+    List<PageCursor> cursors = List.of(
+        PageCursor.keyset(null, StringNode.valueOf("bjensen"), "2819c223"),
+        PageCursor.keyset("42", null, "2819c223"),
+        PageCursor.offset("snapshot", 25));
+    for (PageCursor cursor : cursors)
+    {
+      String encoded = codec.encode(cursor, "query");
+      assertThat(encoded).matches("[A-Za-z0-9_.-]+");
+      assertThat(encoded).doesNotContain("bjensen");
+      assertThat(codec.decode(encoded, "query")).isEqualTo(cursor);
+    }
+  }
+
+  /**
+   * Ensures that altered, foreign, and expired cursors are rejected.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testInvalidCursors() throws Exception
+  {
+    CursorCodec codec = new CursorCodec(KEY, 60, CLOCK);
+    String cursor = codec.encode(
+        PageCursor.keyset(null, StringNode.valueOf("bjensen"), "1"), "query");
+
+    // A cursor for a different search.
+    assertThatThrownBy(() -> codec.decode(cursor, "other"))
+        .isInstanceOf(BadRequestException.class)
+        .satisfies(e -> assertThat(((BadRequestException) e).getScimError()
+            .getScimType()).isEqualTo(BadRequestException.INVALID_CURSOR));
+
+    // A cursor for a different search with the same string hash code.
+    String colliding = codec.encode(
+        PageCursor.keyset(null, StringNode.valueOf("bjensen"), "1"), "Aa");
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+    assertThatThrownBy(() -> codec.decode(colliding, "BB"))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("is not valid");
+
+    // Altered or malformed cursors.
+    String altered = (cursor.charAt(0) == 'A' ? 'B' : 'A') +
+        cursor.substring(1);
+    for (String invalid : List.of(altered, "2", "", ".", "a.b", cursor + "x"))
+    {
+      assertThatThrownBy(() -> codec.decode(invalid, "query"))
+          .isInstanceOf(BadRequestException.class)
+          .hasMessageContaining("is not valid");
+    }
+
+    // A cursor signed with a different key.
+    CursorCodec otherCodec = new CursorCodec(
+        "fedcba9876543210".getBytes(StandardCharsets.UTF_8), 60, CLOCK);
+    assertThatThrownBy(() -> otherCodec.decode(cursor, "query"))
+        .isInstanceOf(BadRequestException.class);
+
+    // An expired cursor.
+    CursorCodec laterCodec = new CursorCodec(KEY, 60,
+        Clock.offset(CLOCK, Duration.ofSeconds(61)));
+    assertThatThrownBy(() -> laterCodec.decode(cursor, "query"))
+        .isInstanceOf(BadRequestException.class)
+        .satisfies(e -> assertThat(((BadRequestException) e).getScimError()
+            .getScimType()).isEqualTo(BadRequestException.EXPIRED_CURSOR));
+
+    // Cursors never expire without a timeout.
+    CursorCodec noTimeout = new CursorCodec(KEY, null,
+        Clock.offset(CLOCK, Duration.ofDays(365)));
+    assertThat(noTimeout.decode(cursor, "query").getId()).isEqualTo("1");
+
+    assertThatThrownBy(() -> new CursorCodec(new byte[8], null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Ensures that saved results are evicted when the store is full or they
+   * have expired.
+   */
+  @Test
+  public void testSnapshotStore()
+  {
+    List<ScimResource> results = List.of(new UserResource().setUserName("a"));
+    CursorSnapshotStore store = new CursorSnapshotStore(2, 60, CLOCK);
+    String first = store.put(results);
+    String second = store.put(results);
+    assertThat(first).isNotEqualTo(second);
+    assertThat(store.get(first)).isEqualTo(results);
+
+    // The least recently used snapshot is evicted.
+    String third = store.put(results);
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.get(second)).isNull();
+    assertThat(store.get(first)).isNotNull();
+    store.remove(first);
+    assertThat(store.get(first)).isNull();
+
+    // Snapshots expire after the cursor timeout.
+    TestClock clock = new TestClock();
+    CursorSnapshotStore expiringStore = new CursorSnapshotStore(2, 60, clock);
+    String expiring = expiringStore.put(results);
+    clock.instant = clock.instant.plusSeconds(60);
+    assertThat(expiringStore.get(expiring)).isNotNull();
+    clock.instant = clock.instant.plusSeconds(1);
+    assertThat(expiringStore.get(expiring)).isNull();
+    assertThat(expiringStore.size()).isZero();
+    assertThat(store.get(third)).isNotNull();
+  }
+
+  /**
+   * A clock whose time may be changed by the test.
+   */
+  private static final class TestClock extends Clock
+  {
+    private Instant instant = CLOCK.instant();
+
+    @Override
+    public ZoneId getZone()
+    {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone)
+    {
+      return this;
+    }
+
+    @Override
+    public Instant instant()
+    {
+      return instant;
+    }
+  }
+}
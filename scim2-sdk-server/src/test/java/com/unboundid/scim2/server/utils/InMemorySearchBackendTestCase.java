@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test coverage for the {@link InMemorySearchBackend} class.
+ */
+public class InMemorySearchBackendTestCase
+{
+  private ResourceTypeDefinition resourceType;
+
+  private InMemorySearchBackend backend;
+
+  /**
+   * Create the backend used by the tests, holding users with IDs
+   * {@code user-0} through {@code user-9}. Their user names sort in the
+   * reverse order of their IDs.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    resourceType = new ResourceTypeDefinition.Builder("User", "Users")
+        .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+        .build();
+    backend = new InMemorySearchBackend(resourceType);
+    for (int i = 0; i < 10; i++)
+    {
+      UserResource user = new UserResource().setUserName("name-" + (9 - i));
+      user.setId("user-" + i);
+      backend.put(user);
+    }
+  }
+
+  /**
+   * Ensures that filters are evaluated, including the ID lookup, and that
+   * stored resources are not exposed to the caller.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testFilter() throws Exception
+  {
+    SearchBackendResults<GenericScimResource> results =
+        backend.search(query(Filter.eq("id", "user-3"), null, null, null));
+    assertThat(ids(results)).containsExactly("user-3");
+    assertThat(results.getTotalResults()).isEqualTo(1);
+
+    results = backend.search(
+        query(Filter.eq("id", "missing"), null, null, null));
+    assertThat(ids(results)).isEmpty();
+
+    results = backend.search(query(Filter.or(
+        Filter.eq("userName", "NAME-1"), Filter.eq("userName", "name-2")),
+        null, null, null));
+    assertThat(ids(results)).containsExactly("user-7", "user-8");
+
+    results = backend.search(
+        query(Filter.eq("meta.resourceType", "User"), null, null, null));
+    assertThat(results.getTotalResults()).isEqualTo(10);
+
+    results.getResources().iterator().next().getObjectNode().put("id", "x");
+    assertThat(backend.get("user-0")).isNotNull();
+    assertThat(backend.get("user-0").getId()).isEqualTo("user-0");
+  }
+
+  /**
+   * Ensures that sorted pages are read by index and that every resource is
+   * returned exactly once when paging with cursors.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testPaging() throws Exception
+  {
+    SearchBackendResults<GenericScimResource> results = backend.search(
+        new SearchQuery(resourceType, null, Path.root().attribute("userName"),
+            SortOrder.ASCENDING, 3, 2, false, null, Collections.emptySet(),
+            false));
+    assertThat(ids(results)).containsExactly("user-7", "user-6");
+    assertThat(results.getTotalResults()).isEqualTo(10);
+    assertThat(results.getNextCursor()).isNull();
+
+    // Sorted by user name, filtered, and unfiltered in ID order.
+    List<Path> sortBys =
+        Arrays.asList(Path.root().attribute("userName"), null);
+    for (Path sortBy : sortBys)
+    {
+      List<String> seen = new ArrayList<>();
+      PageCursor cursor = null;
+      do
+      {
+        results = backend.search(query(null, sortBy, cursor, 3));
+        assertThat(results.getTotalResults()).isEqualTo(10);
+        seen.addAll(ids(results));
+        cursor = results.getNextCursor();
+      }
+      while (cursor != null);
+
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < 10; i++)
+      {
+        expected.add("user-" + (sortBy == null ? i : 9 - i));
+      }
+      assertThat(seen).isEqualTo(expected);
+    }
+
+    List<String> seen = new ArrayList<>();
+    PageCursor cursor = null;
+    do
+    {
+      results = backend.search(
+          query(Filter.sw("userName", "name-"), null, cursor, 4));
+      seen.addAll(ids(results));
+      cursor = results.getNextCursor();
+    }
+    while (cursor != null);
+    assertThat(seen).hasSize(10).doesNotHaveDuplicates();
+  }
+
+  private SearchQuery query(final Filter filter, final Path sortBy,
+                            final PageCursor cursor, final Integer count)
+  {
+    return new SearchQuery(resourceType, filter, sortBy, null, null, count,
+        true, cursor, Collections.emptySet(), false);
+  }
+
+  private static List<String> ids(
+      final SearchBackendResults<GenericScimResource> results)
+  {
+    List<String> ids = new ArrayList<>();
+    for (GenericScimResource resource : results.getResources())
+    {
+      ids.add(resource.getId());
+    }
+    return ids;
+  }
+}
@@ -39,13 +39,16 @@ import com.unboundid.scim2.common.exceptions.BadRequestException;
 import com.unboundid.scim2.common.messages.PatchOperation;
 import com.unboundid.scim2.common.types.AttributeDefinition;
 import com.unboundid.scim2.common.types.SchemaResource;
+import com.unboundid.scim2.common.types.UserResource;
 import com.unboundid.scim2.common.utils.JsonUtils;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.node.ObjectNode;
 import tools.jackson.databind.node.StringNode;
 
+import java.io.StringWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -343,6 +346,147 @@ public class ResourcePreparerTestCase
 
 
 
+  /**
+   * Ensures that writing a retrieved resource while trimming produces the
+   * same JSON as serializing the trimmed copy of the resource.
+   *
+   * @param attributes The value to test as attributes
+   * @param excludedAttributes the value to test as excludedAttributes.
+   * @throws Exception If an error occurs.
+   */
+  @Test(dataProvider = "dataProvider")
+  public void testStreamingRetrieve(String attributes,
+                                    String excludedAttributes)
+      throws Exception
+  {
+    ResourcePreparer<ScimResource> preparer =
+        new ResourcePreparer<>(resourceTypeDefinition,
+            attributes, excludedAttributes, testBaseUri);
+    ResourceTrimmer trimmer = preparer.getRetrievedResourceTrimmer();
+
+    ObjectNode node = testResource.getObjectNode().deepCopy();
+    // Values that become empty after trimming must be omitted.
+    node.putObject("request").put("never", "here");
+    node.putArray("multi").addObject().put("never", "here");
+    node.putArray("empty");
+
+    ObjectNode expected = trimmer.trimObjectNode(node);
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator =
+             JsonUtils.getObjectWriter().createGenerator(writer))
+    {
+      trimmer.writeObjectNode(generator, node);
+    }
+    assertEquals(JsonUtils.getObjectReader().readTree(writer.toString()),
+        expected);
+    assertEquals(writer.toString(),
+        JsonUtils.getObjectWriter().writeValueAsString(expected));
+  }
+
+
+
+  /**
+   * Ensures that writing a resource while trimming visits each attribute
+   * only once, even when nested values must be omitted because they are
+   * empty after trimming.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @Test
+  public void testStreamingVisitsAttributesOnce() throws Exception
+  {
+    List<String> visited = new ArrayList<>();
+    ResourceTrimmer trimmer = new ResourceTrimmer()
+    {
+      @Override
+      public boolean shouldReturn(final Path path)
+      {
+        visited.add(path.toString());
+        return !path.toString().endsWith("never");
+      }
+    };
+
+    ObjectNode node = JsonUtils.getJsonNodeFactory().objectNode();
+    node.putObject("a").putObject("b").putObject("c").put("d", 1);
+    node.putObject("empty").putObject("nested").put("never", "here");
+    node.putArray("multi").addObject().put("never", "here");
+
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator =
+             JsonUtils.getObjectWriter().createGenerator(writer))
+    {
+      trimmer.writeObjectNode(generator, node);
+    }
+    assertEquals(visited, List.of("a", "a.b", "a.b.c", "a.b.c.d",
+        "empty", "empty.nested", "empty.nested.never",
+        "multi", "multi.never"));
+    assertEquals(writer.toString(), "{\"a\":{\"b\":{\"c\":{\"d\":1}}}}");
+    assertEquals(JsonUtils.getObjectReader().readTree(writer.toString()),
+        trimmer.trimObjectNode(node));
+  }
+
+
+
+  /**
+   * Tests setting the meta.resourceType and meta.location attributes for
+   * resources with IDs that do not need to be encoded.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @Test
+  public void testSetResourceTypeAndLocation() throws Exception
+  {
+    String id = "2819c223-7f76-453a-919d-413861904646";
+    ResourcePreparer<ScimResource> preparer =
+        new ResourcePreparer<>(resourceTypeDefinition, null, null,
+            testBaseUri);
+
+    GenericScimResource generic = new GenericScimResource();
+    generic.getObjectNode().put("id", id);
+    generic.getObjectNode().putObject("meta")
+        .put("created", "2011-08-01T18:29:49.793Z");
+    preparer.setResourceTypeAndLocation(generic);
+    ObjectNode meta = (ObjectNode) generic.getObjectNode().get("meta");
+    assertEquals(meta.get("resourceType").asString(), "test");
+    assertEquals(meta.get("location").asString(),
+        "https://test/scim/" + id);
+    // Other meta values should be untouched.
+    assertEquals(meta.get("created").asString(), "2011-08-01T18:29:49.793Z");
+
+    // Existing values should not be replaced.
+    meta.put("resourceType", "other");
+    meta.put("location", "https://other/" + id);
+    preparer.setResourceTypeAndLocation(generic);
+    assertEquals(meta.get("resourceType").asString(), "other");
+    assertEquals(meta.get("location").asString(), "https://other/" + id);
+
+    // A resource without an ID uses the base URI.
+    GenericScimResource noId = new GenericScimResource();
+    preparer.setResourceTypeAndLocation(noId);
+    assertEquals(noId.getMeta().getLocation(), testBaseUri);
+
+    // Typed resources use the same location.
+    ResourcePreparer<UserResource> userPreparer =
+        new ResourcePreparer<>(resourceTypeDefinition, null, null,
+            URI.create("https://test/scim/"));
+    UserResource user = new UserResource();
+    user.setId(id);
+    userPreparer.setResourceTypeAndLocation(user);
+    assertEquals(user.getMeta().getResourceType(), "test");
+    assertEquals(user.getMeta().getLocation(),
+        URI.create("https://test/scim/" + id));
+
+    assertTrue(ResourcePreparer.isUnreserved(id));
+    assertTrue(ResourcePreparer.isUnreserved("a.b_c~d"));
+    assertFalse(ResourcePreparer.isUnreserved(""));
+    assertFalse(ResourcePreparer.isUnreserved("a b"));
+    assertFalse(ResourcePreparer.isUnreserved("{id}"));
+    assertFalse(ResourcePreparer.isUnreserved("a/b"));
+    assertFalse(ResourcePreparer.isUnreserved("\u00e9"));
+  }
+
+
+
   /**
    * Test trim on create.
    *
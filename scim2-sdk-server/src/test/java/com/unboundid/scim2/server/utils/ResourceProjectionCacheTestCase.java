@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test coverage for the per-resource type {@link ResourceProjectionCache}.
+ */
+public class ResourceProjectionCacheTestCase
+{
+  private ResourceTypeDefinition resourceType;
+
+  /**
+   * Create the resource type definition used by the tests.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    resourceType = new ResourceTypeDefinition.Builder("User", "Users")
+        .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+        .build();
+  }
+
+  /**
+   * Ensures that repeated query parameter values share a single parsed
+   * projection.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testProjectionReuse() throws Exception
+  {
+    ResourceProjectionCache cache = resourceType.getProjectionCache();
+
+    ResourceProjection projection =
+        cache.getProjection("userName,name.givenName", null);
+    assertThat(projection.isExcluded()).isFalse();
+    assertThat(projection.getQueryAttributes()).containsExactly(
+        Path.fromString("userName"), Path.fromString("name.givenName"));
+    assertThat(cache.getProjection("userName,name.givenName", "emails"))
+        .isSameAs(projection);
+
+    // The core schema URN should be normalized away.
+    ResourceProjection excluded = cache.getProjection(null,
+        "urn:ietf:params:scim:schemas:core:2.0:User:emails");
+    assertThat(excluded.isExcluded()).isTrue();
+    assertThat(excluded.getQueryAttributes())
+        .containsExactly(Path.fromString("emails"));
+    assertThat(cache.getProjection("",
+        "urn:ietf:params:scim:schemas:core:2.0:User:emails"))
+        .isSameAs(excluded);
+
+    assertThat(cache.getProjection(null, null))
+        .isSameAs(cache.getProjection(null, null));
+    assertThat(cache.getProjection("", ""))
+        .isSameAs(cache.getProjection(null, null));
+  }
+
+  /**
+   * Ensures that invalid query parameter values are rejected on every request.
+   */
+  @Test
+  public void testInvalidProjection()
+  {
+    ResourceProjectionCache cache = resourceType.getProjectionCache();
+    for (int i = 0; i < 2; i++)
+    {
+      assertThatThrownBy(() -> cache.getProjection("name.", null))
+          .isInstanceOf(BadRequestException.class)
+          .hasMessageContaining("for the attributes parameter");
+      assertThatThrownBy(() -> cache.getProjection(null, "name."))
+          .isInstanceOf(BadRequestException.class)
+          .hasMessageContaining("for the excludedAttributes parameter");
+    }
+  }
+
+  /**
+   * Tests the parsing of template parameter names from endpoint paths.
+   */
+  @Test
+  public void testParseTemplateNames()
+  {
+    assertThat(ResourceProjectionCache.parseTemplateNames("Users")).isEmpty();
+    assertThat(ResourceProjectionCache.parseTemplateNames(
+        "Tenants/{tenant}/Groups/{group: [0-9]+}/Members"))
+        .isEqualTo(List.of("tenant", "group"));
+    assertThat(ResourceProjectionCache.parseTemplateNames("Broken/{x"))
+        .isEmpty();
+  }
+}
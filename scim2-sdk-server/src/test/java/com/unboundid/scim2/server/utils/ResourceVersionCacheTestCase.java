@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.types.Meta;
+import com.unboundid.scim2.common.types.UserResource;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test coverage for the {@link ResourceVersionCache} class.
+ */
+public class ResourceVersionCacheTestCase
+{
+  /**
+   * Ensures that computed versions identify a representation.
+   */
+  @Test
+  public void testComputeVersion()
+  {
+    UserResource user = new UserResource().setUserName("bjensen");
+    user.setId("u1");
+    String version = ResourceVersionCache.computeVersion(user);
+    assertThat(version).matches("\"[A-Za-z0-9_-]{43}\"");
+    assertThat(ResourceVersionCache.computeVersion(
+        user.asGenericScimResource())).isEqualTo(version);
+    assertThat(ResourceVersionCache.getStoredVersion(user)).isNull();
+
+    user.setDisplayName("Barbara Jensen");
+    assertThat(ResourceVersionCache.computeVersion(user))
+        .isNotEqualTo(version);
+
+    user.setMeta(new Meta().setVersion("W/\"3\""));
+    assertThat(ResourceVersionCache.getStoredVersion(user))
+        .isEqualTo("W/\"3\"");
+  }
+
+  /**
+   * Ensures that conditional request headers are compared weakly.
+   */
+  @Test
+  public void testMatches()
+  {
+    assertThat(ResourceVersionCache.matches("W/\"3\"", "W/\"3\"")).isTrue();
+    assertThat(ResourceVersionCache.matches("\"3\"", "W/\"3\"")).isTrue();
+    assertThat(ResourceVersionCache.matches("\"1\", W/\"3\"", "\"3\""))
+        .isTrue();
+    assertThat(ResourceVersionCache.matches("*", "\"3\"")).isTrue();
+    assertThat(ResourceVersionCache.matches("W/\"4\"", "W/\"3\"")).isFalse();
+    assertThat(ResourceVersionCache.matches("\"3\"", "e180ee84")).isFalse();
+    assertThat(ResourceVersionCache.matches("\"e180ee84\"", "e180ee84"))
+        .isTrue();
+
+    assertThat(ResourceVersionCache.toEntityTag("e180ee84"))
+        .isEqualTo("\"e180ee84\"");
+    assertThat(ResourceVersionCache.toEntityTag("W/\"3\""))
+        .isEqualTo("W/\"3\"");
+  }
+
+  /**
+   * Ensures that the least recently used versions are evicted.
+   */
+  @Test
+  public void testEviction()
+  {
+    ResourceVersionCache cache = new ResourceVersionCache(2);
+    cache.put("/Users/1", "W/\"1\"", false);
+    cache.put("/Users/2", "\"abc\"", true);
+    assertThat(cache.get("/Users/1")).isEqualTo(
+        new ResourceVersionCache.Entry("W/\"1\"", false));
+    cache.put("/Users/3", "W/\"3\"", false);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("/Users/2")).isNull();
+
+    cache.remove("/Users/1");
+    assertThat(cache.get("/Users/1")).isNull();
+  }
+
+  /**
+   * Ensures that a version is not cached if the cached version was changed
+   * after the sequence number was retrieved.
+   */
+  @Test
+  public void testPutIfUnchanged()
+  {
+    ResourceVersionCache cache = new ResourceVersionCache(2);
+    long sequence = cache.getSequence();
+    assertThat(cache.putIfUnchanged("/Users/1", "W/\"1\"", false, sequence))
+        .isTrue();
+
+    // A slower request that read an older version.
+    long staleSequence = sequence;
+    sequence = cache.getSequence();
+    cache.put("/Users/1", "W/\"2\"", false);
+    assertThat(cache.putIfUnchanged("/Users/1", "W/\"1\"", false,
+        sequence)).isFalse();
+    assertThat(cache.get("/Users/1").getVersion()).isEqualTo("W/\"2\"");
+
+    // A removal is remembered, so the version read before it is not cached.
+    sequence = cache.getSequence();
+    cache.remove("/Users/1");
+    assertThat(cache.size()).isZero();
+    assertThat(cache.putIfUnchanged("/Users/1", "W/\"2\"", false,
+        sequence)).isFalse();
+    assertThat(cache.get("/Users/1")).isNull();
+
+    // Versions of other resources may still be cached, unless a resource that
+    // may have been the same one was evicted.
+    assertThat(cache.putIfUnchanged("/Users/2", "W/\"1\"", false,
+        staleSequence)).isTrue();
+    cache.put("/Users/3", "W/\"1\"", false);
+    assertThat(cache.putIfUnchanged("/Users/4", "W/\"1\"", false,
+        sequence)).isFalse();
+    assertThat(cache.putIfUnchanged("/Users/4", "W/\"1\"", false,
+        cache.getSequence())).isTrue();
+  }
+}
@@ -58,6 +58,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
@@ -2240,6 +2242,268 @@ public class SchemaCheckerTestCase
     }
   }
 
+  /**
+   * Ensures that a schema checker may be reused, and that it checks resources
+   * in place without modifying them.
+   *
+   * @throws Exception if an error occurs.
+   */
+  @Test
+  public void testReusedCheckerDoesNotModifyResources() throws Exception
+  {
+    SchemaResource enterpriseExtension =
+        SchemaUtils.getSchema(EnterpriseUserExtension.class);
+    ResourceTypeDefinition resourceTypeDefinition =
+        new ResourceTypeDefinition.Builder("test", "/test")
+            .setCoreSchema(coreSchema)
+            .addRequiredSchemaExtension(enterpriseExtension)
+            .build();
+    SchemaChecker checker = new SchemaChecker(resourceTypeDefinition);
+    String coreUrn = coreSchema.getId();
+    String extensionUrn = enterpriseExtension.getId();
+
+    ObjectNode valid = JsonUtils.getJsonNodeFactory().objectNode();
+    valid.putArray("schemas").add(coreUrn).add(extensionUrn);
+    valid.put("userName", "bjensen");
+    valid.putObject(extensionUrn).put("employeeNumber", "701984");
+    ObjectNode validCopy = valid.deepCopy();
+
+    for (int i = 0; i < 2; i++)
+    {
+      SchemaChecker.Results results = checker.checkCreate(valid);
+      assertThat(results.getSyntaxIssues()).isEmpty();
+      assertThat(results.getMutabilityIssues()).isEmpty();
+      assertThat(results.getPathIssues()).isEmpty();
+      assertThat(results.getFilterIssues()).isEmpty();
+      results.throwSchemaExceptions();
+      assertEquals(valid, validCopy);
+    }
+
+    // An extension namespace that is not listed in the schemas attribute and
+    // an undefined attribute in the extension namespace are both reported.
+    ObjectNode invalid = JsonUtils.getJsonNodeFactory().objectNode();
+    invalid.putArray("schemas").add(coreUrn);
+    invalid.put("userName", "bjensen");
+    invalid.putObject(extensionUrn).put("undefined", "value");
+    ObjectNode invalidCopy = invalid.deepCopy();
+
+    SchemaChecker.Results results = checker.checkReplace(invalid, valid);
+    assertThat(results.getSyntaxIssues()).hasSize(2);
+    assertThat(results.getSyntaxIssues().get(0))
+        .contains("must contain schema URI " + extensionUrn);
+    assertThat(results.getSyntaxIssues().get(1))
+        .contains("Extended attributes namespace " + extensionUrn +
+            " must be included in the schemas attribute");
+    assertEquals(invalid, invalidCopy);
+    assertEquals(valid, validCopy);
+  }
+
+  /**
+   * Test that {@link SchemaChecker#checkAndApplyModify} returns the patched
+   * resource and only checks the attributes modified by the patch operations.
+   *
+   * @throws Exception If an error occurred.
+   */
+  @Test
+  public void testCheckAndApplyModify() throws Exception
+  {
+    SchemaResource enterpriseExtension =
+        SchemaUtils.getSchema(EnterpriseUserExtension.class);
+    ResourceTypeDefinition resourceTypeDefinition =
+        new ResourceTypeDefinition.Builder("test", "/test")
+            .setCoreSchema(coreSchema)
+            .addOptionalSchemaExtension(enterpriseExtension)
+            .build();
+    SchemaChecker checker = new SchemaChecker(resourceTypeDefinition);
+    String extensionUrn = enterpriseExtension.getId();
+
+    ObjectNode current = JsonUtils.getJsonNodeFactory().objectNode();
+    current.putArray("schemas").add(coreSchema.getId()).add(extensionUrn);
+    current.put("id", "2819c223");
+    current.putObject("meta").put("resourceType", "test");
+    current.put("userName", "bjensen");
+    current.put("displayName", "Babs");
+    current.putObject(extensionUrn).put("employeeNumber", "701984");
+    ObjectNode currentCopy = current.deepCopy();
+
+    List<PatchOperation> patchOps = List.of(
+        PatchOperation.replace("displayName", "Barbara"),
+        PatchOperation.add(Path.root(extensionUrn).attribute("costCenter"),
+            StringNode.valueOf("4130")),
+        PatchOperation.remove("nickName"));
+    SchemaChecker.Results results =
+        checker.checkAndApplyModify(patchOps, current);
+    results.throwSchemaExceptions();
+    assertEquals(current, currentCopy);
+
+    ObjectNode expected = current.deepCopy();
+    for (PatchOperation patchOp : patchOps)
+    {
+      patchOp.apply(expected);
+    }
+    assertEquals(results.getAppliedObjectNode(), expected);
+
+    // The read-only attributes of the current resource are retained in the
+    // patched resource but patching them is still reported.
+    assertThat(results.getAppliedObjectNode().get("id").asString())
+        .isEqualTo("2819c223");
+    assertThat(results.getAppliedObjectNode().has("meta")).isTrue();
+    assertThat(checker.checkAndApplyModify(
+        List.of(PatchOperation.replace("id", "other")), current)
+        .getMutabilityIssues()).hasSize(1);
+    assertThat(checker.checkModify(patchOps, current).getAppliedObjectNode())
+        .isNull();
+
+    // Removing a required attribute is still reported once the patch is
+    // applied.
+    results = checker.checkAndApplyModify(
+        List.of(PatchOperation.remove("userName")), current);
+    assertThat(results.getSyntaxIssues()).hasSize(2);
+    assertThat(results.getSyntaxIssues().get(1)).startsWith(
+        "Applying patch ops results in an invalid resource: ");
+
+    // Attributes that are not modified are not checked again.
+    current.put("undefined", "value");
+    assertThat(checker.checkModify(patchOps, current).getSyntaxIssues())
+        .hasSize(1);
+    assertThat(checker.checkAndApplyModify(patchOps, current)
+        .getSyntaxIssues()).isEmpty();
+
+    // Adding a namespace also lists it in the schemas attribute, so the
+    // namespace is checked as a whole.
+    current.remove("undefined");
+    current.remove(extensionUrn);
+    ((ArrayNode) current.get("schemas")).remove(1);
+    results = checker.checkAndApplyModify(List.of(
+        PatchOperation.add(Path.root(extensionUrn).attribute("costCenter"),
+            StringNode.valueOf("4130"))), current);
+    assertThat(results.getSyntaxIssues()).isEmpty();
+    assertThat(results.getAppliedObjectNode().get("schemas").toString())
+        .contains(extensionUrn);
+    assertThat(results.getAppliedObjectNode().has("id")).isTrue();
+  }
+
+  /**
+   * Test that {@link SchemaChecker#checkAndApplyModify} does not copy or
+   * check the values of a multi-valued attribute that the patch operations
+   * do not modify.
+   *
+   * @throws Exception If an error occurred.
+   */
+  @Test
+  public void testCheckAndApplyModifySkipsUntouchedValues() throws Exception
+  {
+    ResourceTypeDefinition resourceTypeDefinition =
+        new ResourceTypeDefinition.Builder("test", "/test")
+            .setCoreSchema(coreSchema)
+            .build();
+    SchemaChecker checker = new SchemaChecker(resourceTypeDefinition);
+
+    ObjectNode current = JsonUtils.getJsonNodeFactory().objectNode();
+    current.putArray("schemas").add(coreSchema.getId());
+    current.put("userName", "bjensen");
+    ArrayNode emails = current.putArray("emails");
+    List<CountingObjectNode> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++)
+    {
+      CountingObjectNode value = new CountingObjectNode();
+      value.put("value", "e" + i);
+      value.put("type", "work");
+      emails.add(value);
+      values.add(value);
+    }
+    ObjectNode currentCopy = current.deepCopy();
+    values.forEach(CountingObjectNode::reset);
+
+    // Adding a value does not read, copy, or check the other values.
+    ObjectNode email = JsonUtils.getJsonNodeFactory().objectNode();
+    email.put("value", "new");
+    email.put("type", "home");
+    SchemaChecker.Results results = checker.checkAndApplyModify(
+        List.of(PatchOperation.add("emails",
+            JsonUtils.getJsonNodeFactory().arrayNode().add(email))),
+        current);
+    results.throwSchemaExceptions();
+    for (CountingObjectNode value : values)
+    {
+      assertThat(value.accesses).isZero();
+      assertThat(value.copies).isZero();
+    }
+    assertThat(results.getAppliedObjectNode().get("emails").size())
+        .isEqualTo(1001);
+    assertThat(current).isEqualTo(currentCopy);
+
+    // Replacing a sub-attribute of one value only copies and checks that
+    // value. The filter reads the others.
+    values.forEach(CountingObjectNode::reset);
+    results = checker.checkAndApplyModify(
+        List.of(PatchOperation.replace("emails[value eq \"e5\"].type",
+            "home")), current);
+    results.throwSchemaExceptions();
+    for (CountingObjectNode value : values)
+    {
+      assertThat(value.copies).isEqualTo(value == values.get(5) ? 1 : 0);
+      assertThat(value.checks).isZero();
+    }
+    assertThat(results.getAppliedObjectNode().path("emails").path(5)
+        .path("type").asString()).isEqualTo("home");
+    assertThat(current).isEqualTo(currentCopy);
+
+    // Invalid values that are added are still reported.
+    email.put("type", 5);
+    results = checker.checkAndApplyModify(
+        List.of(PatchOperation.add("emails",
+            JsonUtils.getJsonNodeFactory().arrayNode().add(email))),
+        current);
+    assertThat(results.getSyntaxIssues()).isNotEmpty();
+  }
+
+  /**
+   * An ObjectNode that counts how many times it is read, copied, and
+   * iterated, as the schema checker does to check a value.
+   */
+  private static final class CountingObjectNode extends ObjectNode
+  {
+    private int accesses;
+
+    private int copies;
+
+    private int checks;
+
+    private CountingObjectNode()
+    {
+      super(JsonUtils.getJsonNodeFactory());
+    }
+
+    private void reset()
+    {
+      accesses = 0;
+      copies = 0;
+      checks = 0;
+    }
+
+    @Override
+    public JsonNode get(final String propertyName)
+    {
+      accesses++;
+      return super.get(propertyName);
+    }
+
+    @Override
+    public ObjectNode deepCopy()
+    {
+      copies++;
+      return super.deepCopy();
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonNode>> properties()
+    {
+      checks++;
+      return super.properties();
+    }
+  }
+
   @DataProvider(name="schemaResultsProvider")
   private Object[][] getResultData()
   {
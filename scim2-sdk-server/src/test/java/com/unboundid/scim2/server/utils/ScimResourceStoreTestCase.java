@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.exceptions.ResourceConflictException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.JsonUtils;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test coverage for the {@link ScimResourceStore} class.
+ */
+public class ScimResourceStoreTestCase
+{
+  private ResourceTypeDefinition resourceType;
+
+  /**
+   * Create the resource type definition used by the tests.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    resourceType = new ResourceTypeDefinition.Builder("User", "Users")
+        .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+        .build();
+  }
+
+  /**
+   * Ensures that the default indexes cover the ID, unique strings, and dates.
+   */
+  @Test
+  public void testDefaultIndexes()
+  {
+    assertThat(new ScimResourceStore(resourceType).getIndexedPaths())
+        .contains(Path.root().attribute("id"),
+            Path.root().attribute("userName"),
+            Path.root().attribute("meta").attribute("lastModified"))
+        .doesNotContain(Path.root().attribute("displayName"));
+  }
+
+  /**
+   * Ensures that searches through the indexes return the same results as
+   * searches that scan every resource.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testIndexedFilters() throws Exception
+  {
+    ScimResourceStore store = new ScimResourceStore(resourceType);
+    InMemorySearchBackend scanned = new InMemorySearchBackend(resourceType);
+    for (int i = 0; i < 20; i++)
+    {
+      GenericScimResource user = user("u" + i, "User-" + i, i);
+      if (i % 3 == 0)
+      {
+        user.getObjectNode().put("title", "Engineer");
+      }
+      store.put(user);
+      scanned.put(user);
+    }
+    // A user name that is a date is compared as a date.
+    GenericScimResource user = user("u-date", "2026-01-02T00:00:00Z", 0);
+    store.put(user);
+    scanned.put(user);
+
+    String[] filters = {
+        "userName eq \"USER-3\"",
+        "userName eq \"missing\"",
+        "userName eq \"2026-01-02T01:00:00+01:00\"",
+        "userName sw \"user-1\"",
+        "userName gt \"user-18\"",
+        "userName pr",
+        "id eq \"u7\"",
+        "meta.lastModified gt \"2026-01-10T00:00:00Z\"",
+        "meta.lastModified le \"2026-01-03T01:00:00+01:00\"",
+        "meta.lastModified eq \"2026-01-05T00:00:00Z\"",
+        "userName sw \"user-1\" and meta.lastModified lt \"2026-01-15T00:00:00Z\"",
+        "userName sw \"user-1\" and title eq \"Engineer\"",
+        "userName eq \"user-1\" or userName eq \"user-2\"",
+        "userName eq \"user-1\" or title eq \"Engineer\"",
+        "not (userName sw \"user-1\")",
+    };
+    for (String filter : filters)
+    {
+      assertThat(ids(store.search(query(Filter.fromString(filter)))))
+          .as(filter)
+          .containsExactlyElementsOf(
+              ids(scanned.search(query(Filter.fromString(filter)))));
+    }
+    assertThat(ids(store.search(query(Filter.eq("userName", "user-3")))))
+        .containsExactly("u3");
+    assertThat(ids(store.search(query(
+        Filter.eq("userName", "2026-01-02T01:00:00+01:00")))))
+        .containsExactly("u-date");
+  }
+
+  /**
+   * Ensures that the indexes follow replaced and removed resources, and that
+   * unique attribute values are enforced.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testUpdates() throws Exception
+  {
+    ScimResourceStore store = new ScimResourceStore(resourceType);
+    store.put(user("u1", "alice", 1));
+    store.put(user("u2", "bob", 2));
+
+    assertThatThrownBy(() -> store.put(user("u3", "ALICE", 3)))
+        .isInstanceOf(ResourceConflictException.class);
+    assertThat(store.size()).isEqualTo(2);
+
+    // Replacing a resource may keep or change its unique values.
+    store.put(user("u1", "alice", 4));
+    store.put(user("u1", "carol", 5));
+    assertThat(ids(store.search(query(Filter.eq("userName", "alice")))))
+        .isEmpty();
+    assertThat(ids(store.search(query(Filter.eq("userName", "carol")))))
+        .containsExactly("u1");
+    assertThat(ids(store.search(query(Filter.lt("meta.lastModified",
+        "2026-01-05T00:00:00Z"))))).containsExactly("u2");
+    store.put(user("u3", "alice", 3));
+
+    assertThat(store.remove("u2")).isTrue();
+    assertThat(store.remove("u2")).isFalse();
+    assertThat(store.get("u2")).isNull();
+    assertThat(ids(store.search(query(Filter.pr("userName")))))
+        .containsExactly("u1", "u3");
+
+    // Freed slots are reused.
+    store.put(user("u4", "bob", 6));
+    assertThat(ids(store.search(query(Filter.eq("userName", "bob")))))
+        .containsExactly("u4");
+    assertThat(store.size()).isEqualTo(3);
+  }
+
+  private static GenericScimResource user(final String id,
+                                          final String userName,
+                                          final int day)
+  {
+    ObjectNode node = JsonUtils.getJsonNodeFactory().objectNode();
+    node.putArray("schemas").add("urn:ietf:params:scim:schemas:core:2.0:User");
+    node.put("id", id);
+    node.put("userName", userName);
+    node.putObject("meta").put("lastModified",
+        String.format("2026-01-%02dT00:00:00Z", day + 1));
+    return new GenericScimResource(node);
+  }
+
+  private SearchQuery query(final Filter filter)
+  {
+    return new SearchQuery(resourceType, filter, null, null, null, null,
+        true, null, Collections.emptySet(), false);
+  }
+
+  private static List<String> ids(
+      final SearchBackendResults<GenericScimResource> results)
+  {
+    List<String> ids = new ArrayList<>();
+    for (GenericScimResource resource : results.getResources())
+    {
+      ids.add(resource.getId());
+    }
+    return ids;
+  }
+}
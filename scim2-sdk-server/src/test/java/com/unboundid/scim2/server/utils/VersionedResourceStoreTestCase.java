@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/*
+ * Copyright 2026 Ping Identity Corporation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPLv2 only)
+ * or the terms of the GNU Lesser General Public License (LGPLv2.1 only)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, see <http://www.gnu.org/licenses>.
+ */
+
+package com.unboundid.scim2.server.utils;
+
+import com.unboundid.scim2.common.GenericScimResource;
+import com.unboundid.scim2.common.Path;
+import com.unboundid.scim2.common.exceptions.BadRequestException;
+import com.unboundid.scim2.common.filters.Filter;
+import com.unboundid.scim2.common.messages.SortOrder;
+import com.unboundid.scim2.common.types.UserResource;
+import com.unboundid.scim2.common.utils.SchemaUtils;
+import com.unboundid.scim2.server.SearchBackendResults;
+import com.unboundid.scim2.server.SearchQuery;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test coverage for the {@link VersionedResourceStore} class.
+ */
+public class VersionedResourceStoreTestCase
+{
+  private ResourceTypeDefinition resourceType;
+
+  /**
+   * Create the resource type definition used by the tests.
+   *
+   * @throws Exception If an error occurs.
+   */
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    resourceType = new ResourceTypeDefinition.Builder("User", "Users")
+        .setCoreSchema(SchemaUtils.getSchema(UserResource.class))
+        .build();
+  }
+
+  /**
+   * Ensures that updates create new versions of the store.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testVersions() throws Exception
+  {
+    VersionedResourceStore store =
+        new VersionedResourceStore(resourceType, 10, 60);
+    assertThat(store.getVersion()).isZero();
+
+    GenericScimResource added = store.put(user("u1", "alice"));
+    assertThat(added.getMeta().getVersion()).isEqualTo("W/\"1\"");
+    assertThat(added.getMeta().getResourceType()).isEqualTo("User");
+    store.put(user("u1", "alicia"));
+    assertThat(store.get("u1").getMeta().getVersion()).isEqualTo("W/\"2\"");
+    assertThat(store.get("u1").getObjectNode().path("userName").asString())
+        .isEqualTo("alicia");
+    assertThat(store.size()).isEqualTo(1);
+
+    assertThat(store.remove("u1")).isTrue();
+    assertThat(store.remove("u1")).isFalse();
+    assertThat(store.get("u1")).isNull();
+    assertThat(store.size()).isZero();
+    assertThat(store.getVersion()).isEqualTo(3);
+  }
+
+  /**
+   * Ensures that a cursor-based search returns every resource that matched
+   * when it started exactly once, while resources are updated between pages.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testSnapshotPaging() throws Exception
+  {
+    for (Path sortBy : new Path[] { null, Path.root().attribute("userName") })
+    {
+      VersionedResourceStore store =
+          new VersionedResourceStore(resourceType, 10, 60);
+      for (int i = 0; i < 10; i++)
+      {
+        store.put(user("u" + i, "user-" + (9 - i)));
+      }
+
+      SearchBackendResults<GenericScimResource> results =
+          store.search(query(null, sortBy, null));
+      List<String> seen = new ArrayList<>(userNames(results));
+      assertThat(results.getNextCursor().getSnapshotId()).isNotNull();
+
+      // Update the store in the middle of the walk.
+      store.remove("u2");
+      store.remove("u8");
+      store.put(user("u25", "user-new"));
+      store.put(user("u5", "user-renamed"));
+
+      PageCursor cursor = results.getNextCursor();
+      while (cursor != null)
+      {
+        results = store.search(query(null, sortBy, cursor));
+        assertThat(results.getTotalResults()).isEqualTo(10);
+        seen.addAll(userNames(results));
+        cursor = results.getNextCursor();
+      }
+      assertThat(seen).hasSize(10).doesNotHaveDuplicates()
+          .doesNotContain("user-new", "user-renamed");
+      assertThat(store.getSnapshotCount()).isZero();
+      if (sortBy != null)
+      {
+        assertThat(seen).isSorted();
+      }
+
+      // The removed resources are discarded with the snapshot.
+      assertThat(store.getRevisionCount()).isEqualTo(9);
+
+      // A new search sees the updates.
+      results = store.search(query(null, sortBy, null));
+      assertThat(results.getTotalResults()).isEqualTo(9);
+      assertThat(store.search(query(Filter.eq("userName", "user-renamed"),
+          null, null)).getTotalResults()).isEqualTo(1);
+    }
+  }
+
+  /**
+   * Ensures that snapshots are evicted when they expire, and when there are
+   * too many of them.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  /**
+   * Ensures that removed resources are discarded once no search reads them,
+   * without any snapshots.
+   *
+   * @throws Exception If an unexpected error occurs.
+   */
+  @Test
+  public void testPruneRemovedResources() throws Exception
+  {
+    VersionedResourceStore store =
+        new VersionedResourceStore(resourceType, 10, 60);
+    for (int i = 0; i < 100; i++)
+    {
+      store.put(user("u" + i, "user-" + i));
+    }
+
+    // A search reads the resources while they are removed.
+    long version = store.acquire();
+    for (int i = 0; i < 100; i++)
+    {
+      assertThat(store.remove("u" + i)).isTrue();
+    }
+    assertThat(store.size()).isZero();
+    assertThat(store.getRevisionCount()).isEqualTo(100);
+    assertThat(store.get("u0")).isNull();
+
+    store.release(version);
+    assertThat(store.getRevisionCount()).isZero();
+    assertThat(store.getSnapshotCount()).isZero();
+
+    // Later removals are discarded immediately.
+    store.put(user("u0", "user-0"));
+    assertThat(store.remove("u0")).isTrue();
+    assertThat(store.getRevisionCount()).isZero();
+  }
+
+  @Test
+  public void testSnapshotEviction() throws Exception
+  {
+    TestClock clock = new TestClock();
+    VersionedResourceStore store =
+        new VersionedResourceStore(resourceType, 2, 60, clock);
+    for (int i = 0; i < 10; i++)
+    {
+      store.put(user("u" + i, "user-" + i));
+    }
+
+    PageCursor first = store.search(query(null, null, null)).getNextCursor();
+    PageCursor second = store.search(query(null, null, null)).getNextCursor();
+    PageCursor third = store.search(query(null, null, null)).getNextCursor();
+    assertThat(store.getSnapshotCount()).isEqualTo(2);
+    assertThatThrownBy(() -> store.search(query(null, null, first)))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("expired");
+    assertThat(store.search(query(null, null, second)).getResources())
+        .isNotEmpty();
+
+    clock.instant = clock.instant.plus(Duration.ofSeconds(61));
+    assertThatThrownBy(() -> store.search(query(null, null, third)))
+        .isInstanceOf(BadRequestException.class);
+    assertThat(store.getSnapshotCount()).isZero();
+  }
+
+  private SearchQuery query(final Filter filter, final Path sortBy,
+                            final PageCursor cursor)
+  {
+    return new SearchQuery(resourceType, filter, sortBy, SortOrder.ASCENDING,
+        null, 3, true, cursor, Collections.emptySet(), false);
+  }
+
+  private static UserResource user(final String id, final String userName)
+  {
+    UserResource user = new UserResource().setUserName(userName);
+    user.setId(id);
+    return user;
+  }
+
+  private static List<String> userNames(
+      final SearchBackendResults<GenericScimResource> results)
+  {
+    List<String> userNames = new ArrayList<>();
+    for (GenericScimResource resource : results.getResources())
+    {
+      userNames.add(resource.getObjectNode().path("userName").asString());
+    }
+    return userNames;
+  }
+
+  private static final class TestClock extends Clock
+  {
+    private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Override
+    public ZoneId getZone()
+    {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone)
+    {
+      return this;
+    }
+
+    @Override
+    public Instant instant()
+    {
+      return instant;
+    }
+  }
+}